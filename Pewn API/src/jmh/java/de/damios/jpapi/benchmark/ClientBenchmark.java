@@ -0,0 +1,91 @@
+package de.damios.jpapi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.core.RetryPolicy;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.Rating;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.PewnSimulator.Latency;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+/**
+ * Misst Durchsatz und Antwortzeiten (inkl. Perzentilen) des Clients gegen
+ * einen lokalen {@link PewnSimulator}.
+ * <p>
+ * Die Latenz des Simulators ist log-normalverteilt; bei einer Fehlerrate
+ * größer 0 wird jeweils dieser Anteil der Anfragen mit <code>429</code> bzw.
+ * einem Serverfehler beantwortet, die der Client wiederholt.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ClientBenchmark {
+
+	@Param({ "0", "20" })
+	private int medianLatencyMillis;
+
+	@Param({ "0", "0.05" })
+	private double faultRate;
+
+	private PewnSimulator simulator;
+	private PewnClient client;
+	private int projectCount;
+
+	@Setup
+	public void setup() throws IOException {
+		simulator = new PewnSimulator(new SimulatorDataset(2000, 200, 8568))
+				.start();
+		simulator
+				.setLatency(medianLatencyMillis == 0 ? Latency.none()
+						: Latency.logNormal(medianLatencyMillis, 0.5))
+				.setThrottleRate(faultRate).setErrorRate(faultRate)
+				.setRetryAfter(0);
+		client = simulator.newClientBuilder()
+				.retryPolicy(new RetryPolicy(3, 5, 100, TimeUnit.MILLISECONDS))
+				.build();
+		projectCount = simulator.getDataset().getProjectCount();
+	}
+
+	@TearDown
+	public void tearDown() {
+		simulator.close();
+	}
+
+	@Benchmark
+	public Project getProject() throws IOException {
+		return client.getProjectByProjectId(SimulatorDataset.FIRST_PROJECT_ID
+				+ ThreadLocalRandom.current().nextInt(projectCount));
+	}
+
+	@Benchmark
+	public Rating[] getRatings() throws IOException {
+		return client.getRatingsByProjectId(SimulatorDataset.FIRST_PROJECT_ID
+				+ ThreadLocalRandom.current().nextInt(projectCount));
+	}
+
+}
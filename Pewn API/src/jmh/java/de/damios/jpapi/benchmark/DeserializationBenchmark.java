@@ -0,0 +1,63 @@
+package de.damios.jpapi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+
+import de.damios.jpapi.benchmark.Fixtures.Fixture;
+import de.damios.jpapi.benchmark.Fixtures.Parser;
+
+/**
+ * Misst das Lesen typischer Antworten der Pewn-API.
+ * <p>
+ * Verglichen werden die reflexiven Adapter von Gson mit der Konfiguration aus
+ * {@link de.damios.jpapi.core.PewnClient#createDefaultGsonBuilder()}.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+
+	@Param({ "PROJECTS", "ACTIVITIES", "RATINGS", "TEAM" })
+	private Fixture fixture;
+
+	@Param({ "REFLECTIVE", "DEFAULT" })
+	private Parser parser;
+
+	private Gson gson;
+	private TypeAdapter<?> adapter;
+	private byte[] json;
+
+	@Setup
+	public void setup() {
+		gson = parser.create();
+		adapter = gson.getAdapter(fixture.getType());
+		json = fixture.load();
+	}
+
+	@Benchmark
+	public Object read() throws IOException {
+		return Fixtures.read(gson, adapter, json);
+	}
+
+}
@@ -0,0 +1,125 @@
+package de.damios.jpapi.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.model.Activity;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.Rating;
+import de.damios.jpapi.model.Team;
+
+/**
+ * Stellt die Testdaten der Benchmarks bereit.
+ * <p>
+ * Die Dateien unter <code>fixtures/</code> sind wie Antworten der Pewn-API
+ * aufgebaut ({@link Project#getAll(Project.OrderedBy)},
+ * {@link Activity#getLast(int)}, {@link Rating#getByProjectId(long)} und
+ * {@link Team#getByTeamId(long)}), ihr Inhalt ist jedoch zufällig erzeugt.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public final class Fixtures {
+
+	private Fixtures() {
+	}
+
+	/**
+	 * Die Testdaten und der Typ, als der sie gelesen werden.
+	 */
+	public enum Fixture {
+		PROJECTS("projects.json", Project[].class),
+		ACTIVITIES("activities.json", Activity[].class),
+		RATINGS("ratings.json", Rating[].class),
+		TEAM("team.json", Team.class);
+
+		private final String fileName;
+		private final Class<?> type;
+
+		private Fixture(String fileName, Class<?> type) {
+			this.fileName = fileName;
+			this.type = type;
+		}
+
+		byte[] load() {
+			return Fixtures.load(fileName);
+		}
+
+		Class<?> getType() {
+			return type;
+		}
+	}
+
+	/**
+	 * Die Gson-Parser, mit denen die Testdaten gelesen werden.
+	 */
+	public enum Parser {
+		/**
+		 * Nur das Datumsformat ist gesetzt; alle Modelle werden reflexiv
+		 * gelesen, Zeitangaben über den synchronisierten Adapter von Gson.
+		 */
+		REFLECTIVE {
+			@Override
+			Gson create() {
+				return new GsonBuilder().setDateFormat("yyyy-MM-dd HH:mm:ss")
+						.create();
+			}
+		},
+		/**
+		 * Die Konfiguration, die auch {@link de.damios.jpapi.core.Api}
+		 * verwendet.
+		 */
+		DEFAULT {
+			@Override
+			Gson create() {
+				return PewnClient.createDefaultGsonBuilder().create();
+			}
+		};
+
+		abstract Gson create();
+	}
+
+	/**
+	 * Lädt eine Datei aus <code>fixtures/</code>.
+	 */
+	static byte[] load(String fileName) {
+		try (InputStream in = Fixtures.class.getClassLoader()
+				.getResourceAsStream("fixtures/" + fileName)) {
+			if (in == null)
+				throw new IllegalArgumentException(
+						"Unbekannte Testdaten: " + fileName);
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1)
+				out.write(buffer, 0, read);
+			return out.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Liest die Daten so, wie es der Gson-Konverter von Retrofit mit dem
+	 * Inhalt einer Antwort tut.
+	 */
+	static <T> T read(Gson gson, TypeAdapter<T> adapter, byte[] json)
+			throws IOException {
+		JsonReader reader = gson.newJsonReader(new InputStreamReader(
+				new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+		return adapter.read(reader);
+	}
+
+}
@@ -0,0 +1,76 @@
+package de.damios.jpapi.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Misst das Dekodieren von Bildern, wie es
+ * {@link de.damios.jpapi.ressource.ImageProvider} für jede Antwort tut.
+ * <p>
+ * Die Bilder werden beim Start erzeugt und bestehen aus einem Verlauf mit
+ * Rauschen, damit sie sich ähnlich wie Screenshots komprimieren lassen.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageDecodeBenchmark {
+
+	@Param({ "png", "jpg" })
+	private String format;
+
+	@Param({ "256", "1024" })
+	private int size;
+
+	private byte[] image;
+
+	@Setup
+	public void setup() throws IOException {
+		BufferedImage source = new BufferedImage(size, size,
+				BufferedImage.TYPE_INT_RGB);
+		Random random = new Random(8568);
+		for (int y = 0; y < size; y++)
+			for (int x = 0; x < size; x++) {
+				int noise = random.nextInt(32);
+				int r = (x * 255 / size + noise) & 0xFF;
+				int g = (y * 255 / size + noise) & 0xFF;
+				int b = ((x + y) * 127 / size) & 0xFF;
+				source.setRGB(x, y, (r << 16) | (g << 8) | b);
+			}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (!ImageIO.write(source, format, out))
+			throw new IllegalStateException(
+					"Kein ImageWriter für das Format " + format);
+		image = out.toByteArray();
+	}
+
+	@Benchmark
+	public BufferedImage decode() throws IOException {
+		return ImageIO.read(new ByteArrayInputStream(image));
+	}
+
+}
@@ -0,0 +1,99 @@
+package de.damios.jpapi.benchmark;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+
+import de.damios.jpapi.benchmark.Fixtures.Parser;
+
+/**
+ * Misst die einzelnen Type-Adapter für URLs und Zeitangaben.
+ * <p>
+ * Die Benchmarks laufen mit mehreren Threads, die sich einen Gson-Parser
+ * teilen, da der Adapter, den Gson für
+ * {@link com.google.gson.GsonBuilder#setDateFormat(String) setDateFormat}
+ * verwendet, nur unter Konkurrenz seine Kosten zeigt.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TypeAdapterBenchmark {
+
+	private static final int SIZE = 1000;
+
+	@Param({ "REFLECTIVE", "DEFAULT" })
+	private Parser parser;
+
+	private Gson gson;
+	private TypeAdapter<Timestamp[]> timestampAdapter;
+	private TypeAdapter<URL[]> urlAdapter;
+	private byte[] timestamps;
+	private byte[] urls;
+
+	@Setup
+	public void setup() {
+		gson = parser.create();
+		timestampAdapter = gson.getAdapter(Timestamp[].class);
+		urlAdapter = gson.getAdapter(URL[].class);
+
+		Random random = new Random(8568);
+		StringBuilder timestampJson = new StringBuilder("[");
+		StringBuilder urlJson = new StringBuilder("[");
+		for (int i = 0; i < SIZE; i++) {
+			if (i > 0) {
+				timestampJson.append(',');
+				urlJson.append(',');
+			}
+			timestampJson.append(String.format(
+					"\"%d-%02d-%02d %02d:%02d:%02d\"",
+					2012 + random.nextInt(7), 1 + random.nextInt(12),
+					1 + random.nextInt(28), random.nextInt(24),
+					random.nextInt(60), random.nextInt(60)));
+			// Fehlende URLs als "null", da der Standard-Adapter von Gson
+			// leere Strings nicht akzeptiert
+			urlJson.append(random.nextInt(10) == 0 ? "\"null\""
+					: "\"https://pewn.de/games/" + random.nextInt(10000)
+							+ "/\"");
+		}
+		timestamps = timestampJson.append(']').toString()
+				.getBytes(StandardCharsets.UTF_8);
+		urls = urlJson.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public Timestamp[] readTimestamps() throws IOException {
+		return Fixtures.read(gson, timestampAdapter, timestamps);
+	}
+
+	@Benchmark
+	public URL[] readUrls() throws IOException {
+		return Fixtures.read(gson, urlAdapter, urls);
+	}
+
+}
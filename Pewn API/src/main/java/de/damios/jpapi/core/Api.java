@@ -1,26 +1,20 @@
 package de.damios.jpapi.core;
 
 import java.io.IOException;
-import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.TypeAdapter;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonToken;
-import com.google.gson.stream.JsonWriter;
-import com.google.gson.stream.MalformedJsonException;
-
-import de.damios.jpapi.exception.JpapiInternalException;
+import de.damios.jpapi.model.Project;
 import de.damios.jpapi.model.Token;
 import retrofit2.Call;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Diese Klasse besteht ausschließlich aus statischen Methoden, die zum
  * Ausführen der Anfragen an die <a href="http://pewn.de/papi/">Pewn-API</a>
  * notwendig sind.
+ * <p>
+ * Alle Methoden delegieren an den {@linkplain #getDefaultClient()
+ * Standard-Client}. Für mehrere, unterschiedlich konfigurierte Verbindungen
+ * können zusätzlich eigene {@link PewnClient}s erstellt werden.
  * 
  * @author damios
  * @since 0.1.0
@@ -31,49 +25,47 @@ public class Api {
 	}
 
 	/**
-	 * URL-Type-Adapter.
+	 * Der Client, über den alle statischen Methoden des Wrappers laufen.
 	 * 
-	 * @see #gson
+	 * @see #getDefaultClient()
 	 */
-	private static final TypeAdapter<URL> URL = new TypeAdapter<URL>() {
-		@Override
-		public URL read(JsonReader in) throws IOException {
-			if (in.peek() == JsonToken.NULL) {
-				in.nextNull();
-				return null;
-			}
-			String nextString = in.nextString();
-			return ("".equals(nextString) || "null".equals(nextString)) ? null
-					: new URL(nextString);
-		}
-
-		@Override
-		public void write(JsonWriter out, URL value) throws IOException {
-			out.value(value == null ? null : value.toExternalForm());
-		}
-	};
+	private static volatile PewnClient defaultClient = new PewnClient.Builder()
+			.build();
 
 	/**
-	 * Gson-Parser.
+	 * Liefert den Standard-Client, der von allen statischen Methoden des
+	 * Wrappers (z.B. {@link Project#getByProjectId(long)}) verwendet wird.
+	 * 
+	 * @return Der Standard-Client.
 	 */
-	private static Gson gson = new GsonBuilder()
-			.setDateFormat("yyyy-MM-dd HH:mm:ss")
-			.registerTypeAdapter(URL.class, URL).create();
+	public static PewnClient getDefaultClient() {
+		return defaultClient;
+	}
 
 	/**
-	 * REST-Adapter.
+	 * Ersetzt den Standard-Client, der von allen statischen Methoden des
+	 * Wrappers verwendet wird.
+	 * <p>
+	 * Die Authentifizierungsdaten des bisherigen Standard-Clients werden
+	 * <i>nicht</i> übernommen.
+	 * 
+	 * @param client
+	 *            Der neue Standard-Client.
+	 * @see PewnClient.Builder
 	 */
-	private static Retrofit restAdapter = new Retrofit.Builder()
-			.baseUrl(Constants.HOST + Constants.API_ROOT)
-			.addConverterFactory(GsonConverterFactory.create(gson)).build();
-
-	private static String clientId, clientSecret, refreshToken;
+	public static void setDefaultClient(PewnClient client) {
+		if (client == null)
+			throw new IllegalArgumentException(
+					"Der Client darf nicht null sein");
+		defaultClient = client;
+	}
 
 	/**
 	 * Initialisiert die API für die Authentifizierung.
 	 * <p>
 	 * Die Einrichtung über diese Methode erlaubt auch den Zugriff auf
-	 * geschützte Ressourcen.
+	 * geschützte Ressourcen. Ist einer der Werte <code>null</code>, werden
+	 * die bisherigen Authentifizierungsdaten verworfen.
 	 * 
 	 * @param clientId
 	 *            Die ID der API-Anwendung.
@@ -83,24 +75,44 @@ public class Api {
 	 *            Der nutzer- und anwendungsspezifische Refresh-Token.
 	 * 
 	 * @see #authForFirstTime(String, String, String, String)
+	 * @see PewnClient#initAuth(String, String, String)
 	 */
 	public static void initAuth(String clientId, String clientSecret,
 			String refreshToken) {
-		Api.clientId = clientId;
-		Api.clientSecret = clientSecret;
-		Api.refreshToken = refreshToken;
+		defaultClient.initAuth(clientId, clientSecret, refreshToken);
+	}
+
+	/**
+	 * Erstellt einen weiteren Authentifizierungskontext für den
+	 * Standard-Client.
+	 * 
+	 * @param key
+	 *            Der Schlüssel, z.B. der Name des Nutzers.
+	 * @param clientId
+	 *            Die ID der API-Anwendung.
+	 * @param clientSecret
+	 *            Das Secret der Anwendung.
+	 * @param refreshToken
+	 *            Der nutzer- und anwendungsspezifische Refresh-Token.
+	 * @return Der neue Kontext.
+	 * @see PewnClient#createAuthContext(String, String, String, String)
+	 */
+	public static AuthContext createAuthContext(String key, String clientId,
+			String clientSecret, String refreshToken) {
+		return defaultClient.createAuthContext(key, clientId, clientSecret,
+				refreshToken);
 	}
 
 	public static String getClientId() {
-		return clientId;
+		return defaultClient.getClientId();
 	}
 
 	public static String getClientSecret() {
-		return clientSecret;
+		return defaultClient.getClientSecret();
 	}
 
 	public static String getRefreshToken() {
-		return refreshToken;
+		return defaultClient.getRefreshToken();
 	}
 
 	/**
@@ -125,8 +137,8 @@ public class Api {
 	 */
 	public static String authForFirstTime(String clientId, String clientSecret,
 			String authCode, String redirectUri) throws IOException {
-		Token t = Token.getFirstToken(clientId, clientSecret, authCode,
-				redirectUri);
+		Token t = defaultClient.getFirstToken(clientId, clientSecret,
+				authCode, redirectUri);
 		return t.getRefreshToken();
 	}
 
@@ -139,10 +151,10 @@ public class Api {
 	 * @param service
 	 *            Die Klasse des Service-Interfaces.
 	 * @return Der Service.
-	 * @see #restAdapter
+	 * @see PewnClient#createService(Class)
 	 */
 	public static <T> T createService(Class<T> service) {
-		return restAdapter.create(service);
+		return defaultClient.createService(service);
 	}
 
 	/**
@@ -155,17 +167,24 @@ public class Api {
 	 * @return Die Antwort der Pewn-API.
 	 * @throws IOException
 	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see PewnClient#executeCall(Call)
 	 */
 	public static <T> T executeCall(Call<T> call) throws IOException {
-		try {
-			retrofit2.Response<T> response = call.execute();
-			return response.body();
-		} catch (IOException e) {
-			if (e instanceof MalformedJsonException)
-				throw new JpapiInternalException(e);
-			else
-				throw e;
-		}
+		return defaultClient.executeCall(call);
+	}
+
+	/**
+	 * Führt eine Anfrage an die Pewn-API asynchron aus.
+	 * 
+	 * @param <T>
+	 *            Der Typ der Antwort.
+	 * @param call
+	 *            Die Anfrage.
+	 * @return Ein Future, das die Antwort der Pewn-API liefert.
+	 * @see PewnClient#executeCallAsync(Call)
+	 */
+	public static <T> CompletableFuture<T> executeCallAsync(Call<T> call) {
+		return defaultClient.executeCallAsync(call);
 	}
 
 }
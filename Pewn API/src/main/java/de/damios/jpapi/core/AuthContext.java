@@ -0,0 +1,264 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import de.damios.jpapi.exception.JpapiInternalException;
+import de.damios.jpapi.model.Token;
+
+/**
+ * Die Authentifizierungsdaten eines Nutzers einer API-Anwendung.
+ * <p>
+ * Der Access-Token wird zwischengespeichert, bis er abläuft. Kurz vor Ablauf
+ * wird er im Hintergrund erneuert, während der alte Token weiter verwendet
+ * wird. Es läuft dabei immer höchstens eine Erneuerung gleichzeitig; alle
+ * anderen Threads warten auf deren Ergebnis.
+ * <p>
+ * Ein Client kann neben seinen {@linkplain PewnClient#initAuth(String,
+ * String, String) Standard-Authentifizierungsdaten} beliebig viele weitere
+ * Kontexte verwalten, z.B. um in einem Server für viele Nutzer gleichzeitig
+ * Anfragen zu stellen. Jeder Kontext hat dabei seinen eigenen Token-Cache.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient#initAuth(String, String, String)
+ * @see PewnClient#createAuthContext(String, String, String, String)
+ */
+public final class AuthContext {
+
+	/**
+	 * Zeitspanne vor dem eigentlichen Ablauf, ab der ein Token als abgelaufen
+	 * gilt.
+	 */
+	private static final long EXPIRY_MARGIN_NANOS = TimeUnit.SECONDS
+			.toNanos(10);
+	/**
+	 * Maximale Zeitspanne vor dem Ablauf, ab der ein Token im Hintergrund
+	 * erneuert wird.
+	 */
+	private static final long MAX_REFRESH_AHEAD_NANOS = TimeUnit.SECONDS
+			.toNanos(60);
+
+	/**
+	 * Führt die Erneuerungen im Hintergrund aus. Es werden eigene Threads
+	 * verwendet, damit eine Erneuerung nicht hinter blockierten Anfragen im
+	 * Dispatcher von OkHttp warten muss.
+	 */
+	private static final ExecutorService REFRESH_EXECUTOR = Executors
+			.newCachedThreadPool(r -> {
+				Thread t = new Thread(r, "jpapi-token-refresh");
+				t.setDaemon(true);
+				return t;
+			});
+
+	private final PewnClient client;
+	private final String id;
+	private final String clientId, clientSecret;
+	private volatile String refreshToken;
+
+	private volatile CachedToken token;
+	/**
+	 * Die laufende Erneuerung; <code>null</code>, wenn keine läuft.
+	 */
+	private CompletableFuture<Token> refreshing;
+	private final Object lock = new Object();
+
+	AuthContext(PewnClient client, String id, String clientId,
+			String clientSecret, String refreshToken) {
+		if (clientId == null || clientSecret == null || refreshToken == null)
+			throw new IllegalArgumentException(
+					"Die Authentifizierungsdaten dürfen nicht null sein");
+		this.client = client;
+		this.id = id;
+		this.clientId = clientId;
+		this.clientSecret = clientSecret;
+		this.refreshToken = refreshToken;
+	}
+
+	/**
+	 * @return Liefert den Client, zu dem dieser Kontext gehört.
+	 */
+	public PewnClient getClient() {
+		return client;
+	}
+
+	/**
+	 * @return Liefert den Schlüssel, unter dem dieser Kontext beim Client
+	 *         registriert ist.
+	 * @see PewnClient#getAuthContext(String)
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * @return Liefert die ID der API-Anwendung.
+	 */
+	public String getClientId() {
+		return clientId;
+	}
+
+	/**
+	 * @return Liefert das Secret der Anwendung.
+	 */
+	public String getClientSecret() {
+		return clientSecret;
+	}
+
+	/**
+	 * @return Liefert den aktuellen Refresh-Token. Dieser kann sich ändern,
+	 *         wenn Pewn bei einer Erneuerung einen neuen Refresh-Token
+	 *         ausstellt.
+	 */
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	/**
+	 * Liefert einen gültigen Access-Token.
+	 * <p>
+	 * Ist kein gültiger Token zwischengespeichert, wird ein neuer angefragt.
+	 * Läuft der zwischengespeicherte Token bald ab, wird er im Hintergrund
+	 * erneuert.
+	 *
+	 * @return Der Access-Token.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 */
+	public String getAccessToken() throws IOException {
+		CachedToken t = token;
+		long now = System.nanoTime();
+		if (t != null && now - t.expiresAt < 0) {
+			if (now - t.refreshAt >= 0)
+				refreshAsync();
+			return t.token.getAccessToken();
+		}
+		return refresh().getAccessToken();
+	}
+
+	/**
+	 * Erneuert den Access-Token.
+	 * <p>
+	 * Läuft bereits eine Erneuerung, wird auf deren Ergebnis gewartet.
+	 *
+	 * @return Der neue Token.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 */
+	public Token refresh() throws IOException {
+		CompletableFuture<Token> future;
+		boolean owner = false;
+		synchronized (lock) {
+			if (refreshing == null) {
+				refreshing = new CompletableFuture<>();
+				owner = true;
+			}
+			future = refreshing;
+		}
+		if (owner)
+			doRefresh(future);
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new JpapiInternalException(cause);
+		}
+	}
+
+	/**
+	 * Erneuert den Access-Token im Hintergrund.
+	 * <p>
+	 * Läuft bereits eine Erneuerung, wird deren Future geliefert.
+	 *
+	 * @return Ein Future, das den neuen Token liefert.
+	 */
+	public CompletableFuture<Token> refreshAsync() {
+		CompletableFuture<Token> future;
+		synchronized (lock) {
+			if (refreshing != null)
+				return refreshing;
+			future = refreshing = new CompletableFuture<>();
+		}
+		REFRESH_EXECUTOR.execute(() -> doRefresh(future));
+		return future;
+	}
+
+	/**
+	 * Verwirft den zwischengespeicherten Access-Token, z.B. wenn dieser von
+	 * Pewn nicht mehr akzeptiert wird.
+	 */
+	public void invalidate() {
+		token = null;
+	}
+
+	/**
+	 * Verwirft den zwischengespeicherten Access-Token, sofern es sich dabei
+	 * noch um den übergebenen Token handelt. Ein zwischenzeitlich bereits
+	 * erneuerter Token bleibt so erhalten.
+	 *
+	 * @param accessToken
+	 *            Der ungültige Access-Token.
+	 */
+	void invalidate(String accessToken) {
+		synchronized (lock) {
+			CachedToken t = token;
+			if (t != null && t.token.getAccessToken().equals(accessToken))
+				token = null;
+		}
+	}
+
+	private void doRefresh(CompletableFuture<Token> future) {
+		try {
+			long requestedAt = System.nanoTime();
+			Token t = client.requestRefreshedToken(clientId, clientSecret,
+					refreshToken);
+			if (t == null || t.getAccessToken() == null)
+				throw new IOException(
+						"Der Access-Token konnte nicht erneuert werden");
+
+			if (t.getRefreshToken() != null)
+				refreshToken = t.getRefreshToken();
+			token = new CachedToken(t, requestedAt);
+
+			synchronized (lock) {
+				refreshing = null;
+			}
+			future.complete(t);
+		} catch (Throwable e) {
+			synchronized (lock) {
+				refreshing = null;
+			}
+			future.completeExceptionally(e);
+		}
+	}
+
+	private static class CachedToken {
+		final Token token;
+		final long expiresAt;
+		final long refreshAt;
+
+		CachedToken(Token token, long requestedAt) {
+			this.token = token;
+			long lifetime = token.getExpiresIn() <= 0 ? 0
+					: TimeUnit.SECONDS.toNanos(token.getExpiresIn());
+
+			this.expiresAt = requestedAt + lifetime - EXPIRY_MARGIN_NANOS;
+			this.refreshAt = expiresAt
+					- Math.min(MAX_REFRESH_AHEAD_NANOS, lifetime / 5);
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Fügt Anfragen, die eine Authentifizierung erfordern, den
+ * <code>Authorization</code>-Header hinzu.
+ * <p>
+ * Solche Anfragen werden im Service-Interface durch den Header
+ * {@value Constants#AUTH_CONTEXT_HEADER} markiert, dessen Wert den zu
+ * verwendenden {@linkplain AuthContext#getId() Kontext} angibt. Der Header
+ * wird vor dem Absenden entfernt.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see AuthContext
+ */
+class AuthInterceptor implements Interceptor {
+
+	private final PewnClient client;
+
+	AuthInterceptor(PewnClient client) {
+		this.client = client;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		String context = request.header(Constants.AUTH_CONTEXT_HEADER);
+		if (context == null)
+			return chain.proceed(request);
+
+		AuthContext auth = client.getAuthContext(context);
+		if (auth == null)
+			// Keine RuntimeException, da diese asynchrone Anfragen nie
+			// beenden würde
+			throw new IOException(
+					"Unbekannter Authentifizierungskontext: " + context);
+
+		String accessToken = auth.getAccessToken();
+		Response response = chain.proceed(authorize(request, accessToken));
+		if (response.code() == 401) {
+			// Token wurde vorzeitig ungültig; einmalig erneuern
+			response.close();
+			auth.invalidate(accessToken);
+			response = chain
+					.proceed(authorize(request, auth.getAccessToken()));
+		}
+		return response;
+	}
+
+	private static Request authorize(Request request, String accessToken) {
+		return request.newBuilder()
+				.removeHeader(Constants.AUTH_CONTEXT_HEADER)
+				.header("Authorization", "Bearer " + accessToken).build();
+	}
+
+}
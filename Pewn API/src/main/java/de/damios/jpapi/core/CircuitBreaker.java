@@ -0,0 +1,194 @@
+package de.damios.jpapi.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import de.damios.jpapi.exception.CircuitBreakerOpenException;
+
+/**
+ * Ein Circuit-Breaker, der Anfragen an einen nicht erreichbaren Teil der
+ * Pewn-API sofort fehlschlagen lässt, statt jede Anfrage bis zum Timeout
+ * warten zu lassen.
+ * <p>
+ * Schlagen nacheinander zu viele Anfragen fehl, wird der Breaker
+ * {@linkplain State#OPEN geöffnet}: alle Anfragen schlagen dann mit einer
+ * {@link CircuitBreakerOpenException} fehl. Nach Ablauf der festgelegten
+ * Zeit wird eine einzelne Probe-Anfrage durchgelassen
+ * ({@linkplain State#HALF_OPEN halb offen}). Ist diese erfolgreich, wird der
+ * Breaker wieder geschlossen, ansonsten bleibt er für eine weitere Zeitspanne
+ * geöffnet.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient.Builder#circuitBreaker(int, long, TimeUnit)
+ */
+public class CircuitBreaker {
+
+	/**
+	 * Die Zustände eines Circuit-Breakers.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	public enum State {
+		/**
+		 * Alle Anfragen werden gestellt.
+		 */
+		CLOSED,
+		/**
+		 * Alle Anfragen schlagen sofort fehl.
+		 */
+		OPEN,
+		/**
+		 * Eine einzelne Probe-Anfrage wird gestellt.
+		 */
+		HALF_OPEN;
+	}
+
+	/**
+	 * Liefert die aktuelle Zeit in Nanosekunden.
+	 */
+	private final LongSupplier clock;
+	private final String name;
+	private final int failureThreshold;
+	private final long openNanos;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+	private boolean probing;
+
+	private long rejectedCount;
+
+	/**
+	 * @param name
+	 *            Der Name, z.B. der des Service-Interfaces.
+	 * @param failureThreshold
+	 *            Die Anzahl an aufeinanderfolgenden Fehlern, nach der der
+	 *            Breaker geöffnet wird.
+	 * @param openDuration
+	 *            Die Zeit, die der Breaker geöffnet bleibt.
+	 * @param unit
+	 *            Die Einheit der Zeitangabe.
+	 */
+	public CircuitBreaker(String name, int failureThreshold,
+			long openDuration, TimeUnit unit) {
+		this(name, failureThreshold, openDuration, unit, System::nanoTime);
+	}
+
+	/**
+	 * @param name
+	 *            Der Name, z.B. der des Service-Interfaces.
+	 * @param failureThreshold
+	 *            Die Anzahl an aufeinanderfolgenden Fehlern, nach der der
+	 *            Breaker geöffnet wird.
+	 * @param openDuration
+	 *            Die Zeit, die der Breaker geöffnet bleibt.
+	 * @param unit
+	 *            Die Einheit der Zeitangabe.
+	 * @param clock
+	 *            Liefert die aktuelle Zeit in Nanosekunden.
+	 */
+	CircuitBreaker(String name, int failureThreshold, long openDuration,
+			TimeUnit unit, LongSupplier clock) {
+		if (failureThreshold <= 0)
+			throw new IllegalArgumentException(
+					"Die Anzahl an Fehlern muss positiv sein");
+		if (openDuration < 0)
+			throw new IllegalArgumentException(
+					"Die Zeit darf nicht negativ sein");
+
+		this.clock = clock;
+		this.name = name;
+		this.failureThreshold = failureThreshold;
+		this.openNanos = unit.toNanos(openDuration);
+	}
+
+	/**
+	 * Prüft, ob eine Anfrage gestellt werden darf. Auf jede erlaubte Anfrage
+	 * muss ein Aufruf von {@link #onSuccess()}, {@link #onFailure()} oder
+	 * {@link #onCanceled()} folgen.
+	 *
+	 * @throws CircuitBreakerOpenException
+	 *             wenn der Breaker geöffnet ist.
+	 */
+	public synchronized void acquire() throws CircuitBreakerOpenException {
+		switch (state) {
+		case CLOSED:
+			return;
+		case OPEN:
+			if (clock.getAsLong() - openedAt >= openNanos) {
+				state = State.HALF_OPEN;
+				probing = true;
+				return;
+			}
+			break;
+		case HALF_OPEN:
+			if (!probing) {
+				probing = true;
+				return;
+			}
+			break;
+		}
+		rejectedCount++;
+		throw new CircuitBreakerOpenException(
+				"Circuit-Breaker für " + name + " ist geöffnet");
+	}
+
+	/**
+	 * Wird nach einer erfolgreichen Anfrage aufgerufen.
+	 */
+	public synchronized void onSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		probing = false;
+	}
+
+	/**
+	 * Wird nach einer fehlgeschlagenen Anfrage aufgerufen.
+	 */
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN
+				|| (state == State.CLOSED
+						&& consecutiveFailures >= failureThreshold)) {
+			state = State.OPEN;
+			openedAt = clock.getAsLong();
+		}
+		probing = false;
+	}
+
+	/**
+	 * Wird aufgerufen, wenn eine erlaubte Anfrage vom Aufrufer abgebrochen
+	 * wurde. Dies zählt nicht als Fehler; war die Anfrage die Probe-Anfrage,
+	 * darf die nächste Anfrage die Probe übernehmen.
+	 */
+	public synchronized void onCanceled() {
+		probing = false;
+	}
+
+	/**
+	 * @return Liefert den Namen des Breakers.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return Liefert den aktuellen Zustand. Ein geöffneter Breaker wechselt
+	 *         erst bei der nächsten Anfrage in den Zustand
+	 *         {@link State#HALF_OPEN}.
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, die abgelehnt wurden, weil der
+	 *         Breaker geöffnet war.
+	 */
+	public synchronized long getRejectedCount() {
+		return rejectedCount;
+	}
+
+}
@@ -0,0 +1,128 @@
+package de.damios.jpapi.core;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Begrenzt die Anzahl gleichzeitig laufender asynchroner Aufgaben. Weitere
+ * Aufgaben werden in der Reihenfolge ihres Eintreffens gestartet, sobald
+ * eine laufende Aufgabe abgeschlossen ist.
+ * <p>
+ * Aufgaben, die bereits beim Start abgeschlossen sind (z.B. bei einem
+ * Treffer im Cache), starten die wartenden Aufgaben nicht rekursiv, sondern
+ * werden von dem Aufruf abgearbeitet, der gerade die Warteschlange leert.
+ * Dadurch wächst der Stack auch bei vielen solchen Aufgaben nicht an.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+class ConcurrencyLimiter {
+
+	private final int maxConcurrency;
+	private final Queue<Runnable> pending = new ArrayDeque<>();
+	private int running;
+	/**
+	 * Die Anzahl der freigegebenen Plätze, die noch nicht an eine wartende
+	 * Aufgabe weitergegeben wurden.
+	 */
+	private int released;
+	/**
+	 * Ob die Warteschlange gerade abgearbeitet wird.
+	 */
+	private boolean draining;
+
+	/**
+	 * @param maxConcurrency
+	 *            Die maximale Anzahl gleichzeitig laufender Aufgaben.
+	 */
+	ConcurrencyLimiter(int maxConcurrency) {
+		if (maxConcurrency <= 0)
+			throw new IllegalArgumentException(
+					"Die maximale Anzahl muss positiv sein");
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Startet eine Aufgabe, sobald dies das Limit erlaubt.
+	 *
+	 * @param task
+	 *            Startet die Aufgabe und liefert deren Future.
+	 * @return Ein Future, das das Ergebnis der Aufgabe liefert.
+	 */
+	<T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Runnable start = () -> {
+			if (result.isDone()) { // Bereits abgebrochen
+				release();
+				return;
+			}
+			CompletableFuture<T> future;
+			try {
+				future = task.get();
+			} catch (RuntimeException e) {
+				future = new CompletableFuture<>();
+				future.completeExceptionally(e);
+			}
+			future.whenComplete((r, t) -> {
+				release();
+				if (t != null)
+					result.completeExceptionally(t);
+				else
+					result.complete(r);
+			});
+		};
+
+		synchronized (this) {
+			if (running >= maxConcurrency) {
+				pending.add(start);
+				return result;
+			}
+			running++;
+		}
+		start.run();
+		return result;
+	}
+
+	private void release() {
+		synchronized (this) {
+			released++;
+			if (draining) // Wird von der laufenden Schleife übernommen
+				return;
+			draining = true;
+		}
+
+		while (true) {
+			Runnable next;
+			synchronized (this) {
+				if (released == 0) {
+					draining = false;
+					return;
+				}
+				released--;
+				next = pending.poll();
+				if (next == null) {
+					running--;
+					continue;
+				}
+			}
+			next.run();
+		}
+	}
+
+	/**
+	 * @return Die Anzahl der aktuell laufenden Aufgaben.
+	 */
+	synchronized int getRunningCount() {
+		return running;
+	}
+
+	/**
+	 * @return Die Anzahl der wartenden Aufgaben.
+	 */
+	synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+}
@@ -15,12 +15,30 @@ public final class Constants {
 	 * Adresse des Hosts, an den alle Anfragen gehen ({@value}).
 	 */
 	public static final String HOST = "https://pewn.de/";
+	/**
+	 * System-Property, über die sich der {@linkplain #HOST Host} für alle
+	 * Clients ändern lässt, die keinen eigenen Host setzen ({@value}); z.B. um
+	 * die Tests gegen einen lokalen Server auszuführen.
+	 */
+	public static final String HOST_PROPERTY = "jpapi.host";
 	/**
 	 * Root-Verzeichnis der API ({@value}).
 	 */
 	public static final String API_ROOT = "api/";
 
-	public static final String DOWNLOAD_URL = HOST + API_ROOT
-			+ "v1/analytics/downloads/";
+	/**
+	 * Pfad der Downloads relativ zum {@linkplain #API_ROOT Root-Verzeichnis}
+	 * der API ({@value}).
+	 */
+	public static final String DOWNLOAD_PATH = "v1/analytics/downloads/";
+
+	public static final String DOWNLOAD_URL = HOST + API_ROOT + DOWNLOAD_PATH;
+
+	/**
+	 * Header, mit dem Anfragen markiert werden, die eine Authentifizierung
+	 * erfordern ({@value}). Wird vor dem Absenden durch den
+	 * <code>Authorization</code>-Header ersetzt.
+	 */
+	public static final String AUTH_CONTEXT_HEADER = "Jpapi-Auth-Context";
 
 }
@@ -0,0 +1,283 @@
+package de.damios.jpapi.core;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ein thread-sicherer In-Memory-Cache für dekodierte Bilder mit einer
+ * festen Obergrenze für den belegten Speicher.
+ * <p>
+ * Jeder Eintrag wird mit dem Speicher gewichtet, den seine Pixel belegen
+ * (Breite x Höhe x Bytes pro Pixel). Wird die maximale Größe überschritten,
+ * werden die am längsten nicht mehr verwendeten Einträge entfernt (LRU).
+ * Optional werden diese Einträge danach noch über {@link SoftReference}s
+ * gehalten, sodass sie weiterhin geliefert werden können, bis der Garbage
+ * Collector den Speicher benötigt.
+ * <p>
+ * Die gelieferten Bilder werden von allen Aufrufern geteilt und dürfen
+ * daher nicht verändert werden. Eine Instanz kann von mehreren Clients
+ * geteilt werden, um den Speicher für alle gemeinsam zu begrenzen.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient.Builder#decodedImageCache(DecodedImageCache)
+ */
+public class DecodedImageCache {
+
+	private final long maxBytes;
+	private final boolean softReferences;
+	/**
+	 * Die Einträge nach Schlüssel; in LRU-Reihenfolge.
+	 */
+	private final LinkedHashMap<String, BufferedImage> entries = new LinkedHashMap<>(
+			16, 0.75F, true);
+	/**
+	 * Die entfernten Einträge, solange sie nicht vom Garbage Collector
+	 * freigegeben wurden.
+	 */
+	private final Map<String, KeyedReference> softEntries = new HashMap<>();
+	private final ReferenceQueue<BufferedImage> queue = new ReferenceQueue<>();
+
+	private long size;
+	private long hitCount, softHitCount, missCount, evictionCount;
+
+	/**
+	 * Erstellt einen Cache ohne {@link SoftReference}s.
+	 *
+	 * @param maxBytes
+	 *            Die maximale Größe aller Einträge in Byte.
+	 */
+	public DecodedImageCache(long maxBytes) {
+		this(maxBytes, false);
+	}
+
+	/**
+	 * @param maxBytes
+	 *            Die maximale Größe aller Einträge in Byte.
+	 * @param softReferences
+	 *            Ob entfernte Einträge noch über {@link SoftReference}s
+	 *            gehalten werden. Diese zählen nicht zur maximalen Größe.
+	 */
+	public DecodedImageCache(long maxBytes, boolean softReferences) {
+		if (maxBytes <= 0)
+			throw new IllegalArgumentException(
+					"Die maximale Größe muss positiv sein");
+
+		this.maxBytes = maxBytes;
+		this.softReferences = softReferences;
+	}
+
+	/**
+	 * Liefert ein Bild. Ein Eintrag, der nur noch über eine
+	 * {@link SoftReference} gehalten wird, wird dabei wieder fest in den
+	 * Cache aufgenommen.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @return Das Bild; <code>null</code>, wenn kein Eintrag vorhanden ist.
+	 */
+	public synchronized BufferedImage get(String key) {
+		BufferedImage image = entries.get(key);
+		if (image != null) {
+			hitCount++;
+			return image;
+		}
+
+		expungeSoftEntries();
+		KeyedReference ref = softEntries.remove(key);
+		image = ref == null ? null : ref.get();
+		if (image == null) {
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		softHitCount++;
+		add(key, image);
+		return image;
+	}
+
+	/**
+	 * Fügt ein Bild hinzu bzw. ersetzt einen vorhandenen Eintrag.
+	 * <p>
+	 * Bilder, die größer als die maximale Größe des Caches sind, werden
+	 * höchstens über eine {@link SoftReference} gehalten.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @param image
+	 *            Das Bild; <code>null</code>-Werte werden nicht gespeichert.
+	 */
+	public synchronized void put(String key, BufferedImage image) {
+		if (image == null)
+			return;
+		expungeSoftEntries();
+		softEntries.remove(key);
+		add(key, image);
+	}
+
+	private void add(String key, BufferedImage image) {
+		BufferedImage previous = entries.remove(key);
+		if (previous != null)
+			size -= getWeight(previous);
+
+		long weight = getWeight(image);
+		if (weight > maxBytes) {
+			// Würde alle anderen Einträge verdrängen
+			addSoft(key, image);
+			return;
+		}
+		entries.put(key, image);
+		size += weight;
+
+		Iterator<Map.Entry<String, BufferedImage>> it = entries.entrySet()
+				.iterator();
+		while (size > maxBytes && it.hasNext()) {
+			Map.Entry<String, BufferedImage> eldest = it.next();
+			it.remove();
+			size -= getWeight(eldest.getValue());
+			evictionCount++;
+			addSoft(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	private void addSoft(String key, BufferedImage image) {
+		if (softReferences)
+			softEntries.put(key, new KeyedReference(key, image, queue));
+	}
+
+	/**
+	 * Entfernt die Einträge, deren Bilder bereits vom Garbage Collector
+	 * freigegeben wurden.
+	 */
+	private void expungeSoftEntries() {
+		Reference<? extends BufferedImage> ref;
+		while ((ref = queue.poll()) != null) {
+			KeyedReference keyed = (KeyedReference) ref;
+			softEntries.remove(keyed.key, keyed);
+		}
+	}
+
+	/**
+	 * @param image
+	 *            Das Bild.
+	 * @return Der Speicher, den die Pixel eines Bildes belegen, in Byte.
+	 */
+	public static long getWeight(BufferedImage image) {
+		int bytesPerPixel = (image.getColorModel().getPixelSize() + 7) / 8;
+		return (long) image.getWidth() * image.getHeight() * bytesPerPixel;
+	}
+
+	/**
+	 * Entfernt einen Eintrag.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 */
+	public synchronized void invalidate(String key) {
+		BufferedImage image = entries.remove(key);
+		if (image != null)
+			size -= getWeight(image);
+		softEntries.remove(key);
+	}
+
+	/**
+	 * Entfernt alle Einträge.
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+		softEntries.clear();
+		size = 0;
+	}
+
+	/**
+	 * @return Liefert die maximale Größe aller Einträge in Byte.
+	 */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * @return Liefert den Speicher, den die fest gehaltenen Einträge
+	 *         belegen, in Byte.
+	 */
+	public synchronized long getResidentBytes() {
+		return size;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der fest gehaltenen Einträge.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Einträge, die nur noch über eine
+	 *         {@link SoftReference} gehalten werden (einschließlich bereits
+	 *         freigegebener, die noch nicht entfernt wurden).
+	 */
+	public synchronized int getSoftSize() {
+		expungeSoftEntries();
+		return softEntries.size();
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, die aus dem Cache beantwortet
+	 *         werden konnten.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, die über eine
+	 *         {@link SoftReference} beantwortet werden konnten. Diese sind
+	 *         in {@link #getHitCount()} enthalten.
+	 */
+	public synchronized long getSoftHitCount() {
+		return softHitCount;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, für die kein Eintrag
+	 *         vorhanden war.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Einträge, die wegen der maximalen Größe
+	 *         entfernt wurden.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return Liefert den Anteil der Anfragen, die aus dem Cache beantwortet
+	 *         werden konnten; <code>0</code>, wenn es noch keine Anfragen
+	 *         gab.
+	 */
+	public synchronized double getHitRate() {
+		long total = hitCount + missCount;
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	private static class KeyedReference extends SoftReference<BufferedImage> {
+		final String key;
+
+		KeyedReference(String key, BufferedImage image,
+				ReferenceQueue<BufferedImage> queue) {
+			super(image, queue);
+			this.key = key;
+		}
+	}
+
+}
@@ -0,0 +1,423 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.damios.jpapi.exception.JpapiInternalException;
+
+/**
+ * Ein thread-sicherer Cache für Bilder auf der Festplatte, der auch nach
+ * einem Neustart erhalten bleibt.
+ * <p>
+ * Jeder Eintrag wird als eigene Datei im Verzeichnis des Caches abgelegt.
+ * Wird die maximale Größe überschritten, werden die am längsten nicht mehr
+ * verwendeten Einträge entfernt (LRU). Neue Einträge werden zunächst in eine
+ * temporäre Datei geschrieben und erst danach atomar umbenannt; Lesende
+ * sehen also nie eine unvollständige Datei. Nach einem Absturz werden
+ * übriggebliebene temporäre Dateien beim nächsten Start gelöscht.
+ * <p>
+ * Ein Verzeichnis darf jeweils nur von einer Instanz verwendet werden.
+ * Mehrere Clients können sich eine Instanz jedoch teilen.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient.Builder#imageCache(DiskImageCache)
+ */
+public class DiskImageCache {
+
+	private static final String SUFFIX = ".img";
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private final Path directory;
+	private final long maxBytes;
+	/**
+	 * Die Größe der Einträge, nach Dateiname; in LRU-Reihenfolge.
+	 */
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(
+			16, 0.75F, true);
+
+	private long size;
+	private long hitCount, missCount, evictionCount;
+
+	/**
+	 * Erstellt einen Cache bzw. öffnet einen bestehenden Cache. Die Einträge
+	 * eines bestehenden Caches werden übernommen.
+	 *
+	 * @param directory
+	 *            Das Verzeichnis, in dem die Einträge gespeichert werden.
+	 *            Wird bei Bedarf angelegt.
+	 * @param maxBytes
+	 *            Die maximale Größe aller Einträge in Byte.
+	 * @throws IOException
+	 *             wenn das Verzeichnis nicht angelegt oder gelesen werden
+	 *             kann.
+	 */
+	public DiskImageCache(Path directory, long maxBytes) throws IOException {
+		if (maxBytes <= 0)
+			throw new IllegalArgumentException(
+					"Die maximale Größe muss positiv sein");
+
+		this.directory = Files.createDirectories(directory);
+		this.maxBytes = maxBytes;
+		recover();
+	}
+
+	/**
+	 * Liest die vorhandenen Einträge ein und löscht unvollständige Dateien.
+	 */
+	private synchronized void recover() throws IOException {
+		List<Path> files = new ArrayList<>();
+		Map<Path, BasicFileAttributes> attributes = new LinkedHashMap<>();
+		try (DirectoryStream<Path> stream = Files
+				.newDirectoryStream(directory)) {
+			for (Path file : stream) {
+				String name = file.getFileName().toString();
+				if (name.endsWith(TEMP_SUFFIX))
+					Files.deleteIfExists(file);
+				else if (name.endsWith(SUFFIX)) {
+					files.add(file);
+					attributes.put(file, Files.readAttributes(file,
+							BasicFileAttributes.class));
+				}
+			}
+		}
+
+		// Die Zeit der letzten Änderung entspricht der letzten Verwendung
+		files.sort(Comparator
+				.comparing(file -> attributes.get(file).lastModifiedTime()));
+		for (Path file : files) {
+			long length = attributes.get(file).size();
+			entries.put(file.getFileName().toString(), length);
+			size += length;
+		}
+		evict();
+	}
+
+	/**
+	 * Liefert den Inhalt eines Eintrags.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @return Der Inhalt; <code>null</code>, wenn kein Eintrag vorhanden ist.
+	 * @throws IOException
+	 *             wenn die Datei nicht gelesen werden kann.
+	 * @see #getFile(String)
+	 */
+	public byte[] get(String key) throws IOException {
+		Path file = getFile(key);
+		if (file == null)
+			return null;
+		try {
+			return Files.readAllBytes(file);
+		} catch (NoSuchFileException e) {
+			// In der Zwischenzeit verdrängt
+			return null;
+		}
+	}
+
+	/**
+	 * Liefert die Datei eines Eintrags, damit dieser gelesen werden kann,
+	 * ohne ihn vollständig in den Speicher zu laden.
+	 * <p>
+	 * Die Datei darf nicht verändert werden. Da sie jederzeit durch neue
+	 * Einträge verdrängt werden kann, ist beim Öffnen mit einer
+	 * {@link NoSuchFileException} zu rechnen.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @return Die Datei; <code>null</code>, wenn kein Eintrag vorhanden ist.
+	 */
+	public Path getFile(String key) {
+		String name = getFileName(key);
+		synchronized (this) {
+			if (entries.get(name) == null) {
+				missCount++;
+				return null;
+			}
+		}
+
+		Path file = directory.resolve(name);
+		try {
+			Files.setLastModifiedTime(file,
+					FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (NoSuchFileException e) {
+			// In der Zwischenzeit entfernt
+			synchronized (this) {
+				if (Files.notExists(file))
+					remove(name);
+				missCount++;
+			}
+			return null;
+		} catch (IOException e) {
+			// Nur für die Reihenfolge nach einem Neustart relevant
+		}
+		synchronized (this) {
+			hitCount++;
+		}
+		return file;
+	}
+
+	/**
+	 * Fügt einen Eintrag hinzu bzw. ersetzt einen vorhandenen Eintrag.
+	 * <p>
+	 * Einträge, die größer als die maximale Größe des Caches sind, werden
+	 * nicht gespeichert.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @param data
+	 *            Der Inhalt.
+	 * @throws IOException
+	 *             wenn die Datei nicht geschrieben werden kann.
+	 */
+	public void put(String key, byte[] data) throws IOException {
+		if (data.length > maxBytes)
+			return;
+
+		store(getFileName(key), channel -> {
+			ByteBuffer buffer = ByteBuffer.wrap(data);
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			return true;
+		});
+	}
+
+	/**
+	 * Fügt einen Eintrag hinzu bzw. ersetzt einen vorhandenen Eintrag. Der
+	 * Inhalt wird dabei direkt aus dem Kanal in die Datei geschrieben, ohne
+	 * ihn vollständig im Speicher zu halten.
+	 * <p>
+	 * Überschreitet der Inhalt die maximale Größe des Caches, wird das Lesen
+	 * abgebrochen und der Eintrag nicht gespeichert. Der Rest des Inhalts
+	 * verbleibt dann im Kanal.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @param source
+	 *            Der Kanal, aus dem der Inhalt bis zum Ende gelesen wird.
+	 *            Wird nicht geschlossen.
+	 * @return Die Datei des Eintrags; <code>null</code>, wenn der Inhalt zu
+	 *         groß ist.
+	 * @throws IOException
+	 *             wenn der Kanal nicht gelesen oder die Datei nicht
+	 *             geschrieben werden kann.
+	 * @see #getFile(String)
+	 */
+	public Path put(String key, ReadableByteChannel source)
+			throws IOException {
+		return store(getFileName(key), channel -> {
+			long written = 0;
+			long count;
+			while ((count = channel.transferFrom(source, written,
+					maxBytes + 1 - written)) > 0) {
+				written += count;
+				if (written > maxBytes)
+					return false;
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Schreibt den Inhalt eines Eintrags in eine Datei.
+	 */
+	private interface Content {
+		/**
+		 * @return <code>false</code>, wenn der Inhalt zu groß ist.
+		 */
+		boolean writeTo(FileChannel channel) throws IOException;
+	}
+
+	/**
+	 * Schreibt einen Eintrag zunächst in eine temporäre Datei und benennt
+	 * diese erst danach um.
+	 *
+	 * @return Die Datei des Eintrags; <code>null</code>, wenn der Inhalt zu
+	 *         groß ist.
+	 */
+	private Path store(String name, Content content) throws IOException {
+		Path file = directory.resolve(name);
+		Path temp = Files.createTempFile(directory, name, TEMP_SUFFIX);
+		long length;
+		try {
+			try (FileChannel channel = FileChannel.open(temp,
+					StandardOpenOption.WRITE)) {
+				if (!content.writeTo(channel))
+					length = -1;
+				else {
+					length = channel.size();
+					// Sicherstellen, dass nach einem Absturz keine leere
+					// Datei unter dem endgültigen Namen vorhanden ist
+					channel.force(true);
+				}
+			}
+			if (length < 0) {
+				Files.delete(temp);
+				return null;
+			}
+			move(temp, file);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+
+		synchronized (this) {
+			Long previous = entries.put(name, length);
+			size += length - (previous == null ? 0 : previous);
+			evict();
+		}
+		return file;
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Entfernt die am längsten nicht mehr verwendeten Einträge, bis die
+	 * maximale Größe eingehalten wird.
+	 */
+	private void evict() throws IOException {
+		Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+		while (size > maxBytes && it.hasNext()) {
+			Map.Entry<String, Long> eldest = it.next();
+			it.remove();
+			size -= eldest.getValue();
+			evictionCount++;
+			Files.deleteIfExists(directory.resolve(eldest.getKey()));
+		}
+	}
+
+	private void remove(String name) {
+		Long length = entries.remove(name);
+		if (length != null)
+			size -= length;
+	}
+
+	/**
+	 * Entfernt einen Eintrag.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @throws IOException
+	 *             wenn die Datei nicht gelöscht werden kann.
+	 */
+	public synchronized void invalidate(String key) throws IOException {
+		String name = getFileName(key);
+		remove(name);
+		Files.deleteIfExists(directory.resolve(name));
+	}
+
+	/**
+	 * Entfernt alle Einträge.
+	 *
+	 * @throws IOException
+	 *             wenn eine Datei nicht gelöscht werden kann.
+	 */
+	public synchronized void invalidateAll() throws IOException {
+		for (Iterator<String> it = entries.keySet().iterator(); it
+				.hasNext();) {
+			Files.deleteIfExists(directory.resolve(it.next()));
+			it.remove();
+		}
+		size = 0;
+	}
+
+	/**
+	 * Liefert den Dateinamen zu einem Schlüssel. Da die Schlüssel beliebige
+	 * Zeichen enthalten können, wird deren SHA-256-Hash verwendet.
+	 */
+	private static String getFileName(String key) {
+		byte[] hash;
+		try {
+			hash = MessageDigest.getInstance("SHA-256")
+					.digest(key.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			// Muss von jeder Java-Plattform unterstützt werden
+			throw new JpapiInternalException(e);
+		}
+		StringBuilder name = new StringBuilder(hash.length * 2 + 4);
+		for (byte b : hash)
+			name.append(Character.forDigit((b >> 4) & 0xF, 16))
+					.append(Character.forDigit(b & 0xF, 16));
+		return name.append(SUFFIX).toString();
+	}
+
+	/**
+	 * @return Liefert das Verzeichnis des Caches.
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @return Liefert die maximale Größe aller Einträge in Byte.
+	 */
+	public long getMaxSize() {
+		return maxBytes;
+	}
+
+	/**
+	 * @return Liefert die Größe aller Einträge in Byte.
+	 */
+	public synchronized long getSizeInBytes() {
+		return size;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der aktuell gespeicherten Einträge.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, die aus dem Cache beantwortet
+	 *         werden konnten.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, für die kein Eintrag
+	 *         vorhanden war.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Einträge, die wegen der maximalen Größe
+	 *         entfernt wurden.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+}
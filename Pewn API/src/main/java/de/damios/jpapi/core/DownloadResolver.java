@@ -0,0 +1,154 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import de.damios.jpapi.model.Download;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Ermittelt die URLs, auf die die Downloads eines {@link PewnClient}s
+ * weiterleiten, und speichert sie ggf. im Cache.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient#resolveDownloadUrl(Download)
+ */
+class DownloadResolver {
+
+	private final PewnClient client;
+	/**
+	 * Eine Kopie des OkHttpClients, die Weiterleitungen nicht folgt.
+	 */
+	private final OkHttpClient redirectClient;
+	private final EntityCache<Long, URL> cache;
+
+	/**
+	 * @param client
+	 *            Der Client, dessen Host verwendet wird.
+	 * @param httpClient
+	 *            Der OkHttpClient des Clients.
+	 * @param cache
+	 *            Der Cache für die URLs; <code>null</code>, wenn keiner
+	 *            verwendet werden soll.
+	 */
+	DownloadResolver(PewnClient client, OkHttpClient httpClient,
+			EntityCache<Long, URL> cache) {
+		this.client = client;
+		this.redirectClient = httpClient.newBuilder().followRedirects(false)
+				.followSslRedirects(false).build();
+		this.cache = cache;
+	}
+
+	EntityCache<Long, URL> getCache() {
+		return cache;
+	}
+
+	/**
+	 * @see PewnClient#resolveDownloadUrl(Download)
+	 */
+	URL resolve(Download download) throws IOException {
+		URL url = getCached(download);
+		if (url != null)
+			return url;
+		try (Response response = redirectClient
+				.newCall(createRequest(download)).execute()) {
+			return readResolvedUrl(download, response);
+		}
+	}
+
+	/**
+	 * @see PewnClient#resolveDownloadUrlAsync(Download)
+	 */
+	CompletableFuture<URL> resolveAsync(Download download) {
+		URL cached = getCached(download);
+		if (cached != null)
+			return CompletableFuture.completedFuture(cached);
+
+		CompletableFuture<URL> future = new CompletableFuture<>();
+		okhttp3.Call call = redirectClient
+				.newCall(createRequest(download));
+		future.whenComplete((r, t) -> {
+			if (future.isCancelled())
+				call.cancel();
+		});
+		call.enqueue(new okhttp3.Callback() {
+			@Override
+			public void onResponse(okhttp3.Call c, Response response) {
+				try (Response tmp = response) {
+					future.complete(readResolvedUrl(download, tmp));
+				} catch (IOException e) {
+					future.completeExceptionally(e);
+				}
+			}
+
+			@Override
+			public void onFailure(okhttp3.Call c, IOException e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * @see PewnClient#resolveDownloadUrlsAsync(Download...)
+	 */
+	CompletableFuture<Map<Download, URL>> resolveAll(
+			Collection<Download> downloads) {
+		Map<Download, CompletableFuture<URL>> futures = new LinkedHashMap<>();
+		for (Download download : downloads)
+			futures.computeIfAbsent(download,
+					d -> resolveAsync(d)
+							.exceptionally(t -> client.getDownloadUrl(d)));
+
+		return CompletableFuture
+				.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+				.thenApply(v -> {
+					Map<Download, URL> urls = new LinkedHashMap<>();
+					futures.forEach((d, f) -> urls.put(d, f.join()));
+					return urls;
+				});
+	}
+
+	private URL getCached(Download download) {
+		return cache == null ? null
+				: cache.get(download.getId());
+	}
+
+	private Request createRequest(Download download) {
+		return new Request.Builder().url(client.getDownloadUrl(download)).head()
+				.build();
+	}
+
+	/**
+	 * Wertet die Antwort auf die HEAD-Anfrage an einen Download aus und
+	 * speichert die URL ggf. im Cache.
+	 */
+	private URL readResolvedUrl(Download download, Response response)
+			throws IOException {
+		URL url;
+		if (response.isRedirect()) {
+			String location = response.header("Location");
+			HttpUrl target = location == null ? null
+					: response.request().url().resolve(location);
+			if (target == null)
+				throw new IOException("Ungültige Weiterleitung: " + location);
+			url = target.url();
+		} else if (response.isSuccessful())
+			url = response.request().url().url();
+		else
+			throw new IOException(
+					"Der Download ist nicht verfügbar: " + response.code());
+
+		if (cache != null)
+			cache.put(download.getId(), url);
+		return url;
+	}
+}
@@ -0,0 +1,142 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+
+import de.damios.jpapi.metrics.ApiMetrics;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Eine Anfrage, die dem Endpunkt zugeordnet ist, über den sie gestellt
+ * wurde.
+ * <p>
+ * Retrofit erstellt den OkHttp-Call erst beim Ausführen der Anfrage, und
+ * zwar auf dem aufrufenden Thread. Für die Dauer des Aufrufs wird der
+ * Endpunkt daher in einer {@link ThreadLocal} hinterlegt, aus der ihn der
+ * {@link MetricsEventListener} und der {@link MetricsConverterFactory}
+ * auslesen.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @param <T>
+ *            Der Typ der Antwort.
+ * @see PewnClient#createService(Class)
+ */
+class EndpointCall<T> implements Call<T> {
+
+	private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+	private final Call<T> delegate;
+	private final String endpoint;
+
+	/**
+	 * @param call
+	 *            Die ursprüngliche Anfrage.
+	 * @param endpoint
+	 *            Der Endpunkt.
+	 */
+	EndpointCall(Call<T> call, String endpoint) {
+		this.delegate = call;
+		this.endpoint = endpoint;
+	}
+
+	/**
+	 * @return Der Endpunkt, über den auf dem aktuellen Thread gerade eine
+	 *         Anfrage gestellt wird; {@link ApiMetrics#UNKNOWN_ENDPOINT},
+	 *         wenn keiner bekannt ist.
+	 */
+	static String getCurrentEndpoint() {
+		String endpoint = CURRENT_ENDPOINT.get();
+		return endpoint == null ? ApiMetrics.UNKNOWN_ENDPOINT : endpoint;
+	}
+
+	/**
+	 * Legt den Endpunkt für den aktuellen Thread fest.
+	 *
+	 * @param endpoint
+	 *            Der Endpunkt.
+	 * @return Der vorherige Endpunkt; muss an {@link #exit(String)}
+	 *         übergeben werden.
+	 */
+	static String enter(String endpoint) {
+		String previous = CURRENT_ENDPOINT.get();
+		CURRENT_ENDPOINT.set(endpoint);
+		return previous;
+	}
+
+	/**
+	 * Stellt den vorherigen Endpunkt des aktuellen Threads wieder her.
+	 *
+	 * @param previous
+	 *            Der Rückgabewert von {@link #enter(String)}.
+	 */
+	static void exit(String previous) {
+		if (previous == null)
+			CURRENT_ENDPOINT.remove();
+		else
+			CURRENT_ENDPOINT.set(previous);
+	}
+
+	@Override
+	public Response<T> execute() throws IOException {
+		String previous = enter(endpoint);
+		try {
+			return delegate.execute();
+		} finally {
+			exit(previous);
+		}
+	}
+
+	@Override
+	public void enqueue(Callback<T> callback) {
+		String previous = enter(endpoint);
+		try {
+			delegate.enqueue(new Callback<T>() {
+				@Override
+				public void onResponse(Call<T> call, Response<T> response) {
+					callback.onResponse(EndpointCall.this, response);
+				}
+
+				@Override
+				public void onFailure(Call<T> call, Throwable t) {
+					callback.onFailure(EndpointCall.this, t);
+				}
+			});
+		} finally {
+			exit(previous);
+		}
+	}
+
+	@Override
+	public boolean isExecuted() {
+		return delegate.isExecuted();
+	}
+
+	@Override
+	public void cancel() {
+		delegate.cancel();
+	}
+
+	@Override
+	public boolean isCanceled() {
+		return delegate.isCanceled();
+	}
+
+	@Override
+	public Call<T> clone() {
+		return new EndpointCall<>(delegate.clone(), endpoint);
+	}
+
+	@Override
+	public Request request() {
+		String previous = enter(endpoint);
+		try {
+			return delegate.request();
+		} finally {
+			exit(previous);
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package de.damios.jpapi.core;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Die Gruppen von Endpunkten, unter denen Pewn Ressourcen bereitstellt.
+ * <p>
+ * Für jede Gruppe kann ein eigenes
+ * {@linkplain PewnClient.Builder#rateLimit(EndpointFamily, double, int)
+ * Anfrage-Limit} festgelegt werden.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public enum EndpointFamily {
+	/**
+	 * Die JSON-API unter <code>/api/</code>.
+	 */
+	API,
+	/**
+	 * Die Bilder der Spiele unter <code>/image/projects/</code>.
+	 */
+	IMAGE,
+	/**
+	 * Die Dateien der Nutzer (z.B. Avatare) unter
+	 * <code>/download/users/</code>.
+	 */
+	DOWNLOAD;
+
+	/**
+	 * Ermittelt die Gruppe, zu der eine URL gehört.
+	 *
+	 * @param url
+	 *            Die URL.
+	 * @return Die Gruppe; {@link #API} für alle URLs, die zu keiner anderen
+	 *         Gruppe gehören.
+	 */
+	public static EndpointFamily of(HttpUrl url) {
+		String path = url.encodedPath();
+		if (path.startsWith("/image/projects/"))
+			return IMAGE;
+		if (path.startsWith("/download/users/"))
+			return DOWNLOAD;
+		return API;
+	}
+
+}
@@ -0,0 +1,170 @@
+package de.damios.jpapi.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ein einfacher, thread-sicherer In-Memory-Cache für Objekte der Pewn-API.
+ * <p>
+ * Jeder Eintrag ist für eine festgelegte Zeit (TTL) gültig. Wird die maximale
+ * Größe überschritten, wird der am längsten nicht mehr verwendete Eintrag
+ * entfernt (LRU).
+ *
+ * @author damios
+ * @since 0.7.0
+ * @param <K>
+ *            Der Typ der Schlüssel.
+ * @param <V>
+ *            Der Typ der Werte.
+ * @see PewnClient.Builder#projectCache(long, TimeUnit, int)
+ */
+public class EntityCache<K, V> {
+
+	private final long ttlNanos;
+	private final int maxSize;
+	private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+	private long hitCount, missCount, evictionCount;
+
+	/**
+	 * @param ttl
+	 *            Die Zeit, die ein Eintrag gültig ist.
+	 * @param unit
+	 *            Die Einheit der Zeitangabe.
+	 * @param maxSize
+	 *            Die maximale Anzahl an Einträgen.
+	 */
+	public EntityCache(long ttl, TimeUnit unit, int maxSize) {
+		if (ttl <= 0)
+			throw new IllegalArgumentException("Die TTL muss positiv sein");
+		if (maxSize <= 0)
+			throw new IllegalArgumentException(
+					"Die maximale Größe muss positiv sein");
+
+		this.ttlNanos = unit.toNanos(ttl);
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75F, true) {
+			private static final long serialVersionUID = 100L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<K, CacheEntry<V>> eldest) {
+				if (size() > EntityCache.this.maxSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Liefert den Wert zu einem Schlüssel.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @return Der Wert; <code>null</code>, wenn kein gültiger Eintrag
+	 *         vorhanden ist.
+	 */
+	public synchronized V get(K key) {
+		CacheEntry<V> entry = entries.get(key);
+		if (entry == null) {
+			missCount++;
+			return null;
+		}
+		if (entry.expiresAt - System.nanoTime() <= 0) {
+			entries.remove(key);
+			evictionCount++;
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		return entry.value;
+	}
+
+	/**
+	 * Fügt einen Eintrag hinzu bzw. ersetzt einen vorhandenen Eintrag.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @param value
+	 *            Der Wert; <code>null</code>-Werte werden nicht gespeichert.
+	 */
+	public synchronized void put(K key, V value) {
+		if (value == null)
+			return;
+		entries.put(key,
+				new CacheEntry<>(value, System.nanoTime() + ttlNanos));
+	}
+
+	/**
+	 * Entfernt einen Eintrag.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 */
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * Entfernt alle Einträge.
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+	}
+
+	/**
+	 * @return Liefert die Anzahl der aktuell gespeicherten Einträge
+	 *         (einschließlich abgelaufener, die noch nicht entfernt wurden).
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, die aus dem Cache beantwortet
+	 *         werden konnten.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Anfragen, für die kein gültiger Eintrag
+	 *         vorhanden war.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Einträge, die wegen der maximalen Größe
+	 *         oder ihres Alters entfernt wurden.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return Liefert den Anteil der Anfragen, die aus dem Cache beantwortet
+	 *         werden konnten; <code>0</code>, wenn es noch keine Anfragen
+	 *         gab.
+	 */
+	public synchronized double getHitRate() {
+		long total = hitCount + missCount;
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	private static class CacheEntry<V> {
+		final V value;
+		final long expiresAt;
+
+		CacheEntry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
@@ -0,0 +1,244 @@
+package de.damios.jpapi.core;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import de.damios.jpapi.model.Image;
+import de.damios.jpapi.model.User;
+
+/**
+ * Die Bilder, die über {@link PewnClient#prefetchImages(java.util.Collection,
+ * ImageDecodeOptions)} gleichzeitig heruntergeladen und dekodiert werden.
+ * <p>
+ * Die Ergebnisse können über den {@link #iterator() Iterator} in der
+ * Reihenfolge ihrer Fertigstellung abgerufen werden; dieser blockiert, bis
+ * das nächste Bild verfügbar ist. Alternativ liefert {@link #getAll()} alle
+ * Ergebnisse in der ursprünglichen Reihenfolge, sobald das letzte Bild
+ * verfügbar ist.
+ *
+ * <pre>
+ * for (ImageBatch.Result result : client.prefetchImages(projects)) {
+ * 	if (result.isSuccessful())
+ * 		render(result.getSource(), result.getBufferedImage());
+ * }
+ * </pre>
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public class ImageBatch implements Iterable<ImageBatch.Result> {
+
+	private final List<Result> results;
+	private final List<CompletableFuture<Result>> futures;
+	private final BlockingQueue<Result> completed = new LinkedBlockingQueue<>();
+
+	ImageBatch(List<Result> results) {
+		this.results = Collections.unmodifiableList(results);
+		this.futures = new ArrayList<>(results.size());
+		for (int i = 0; i < results.size(); i++)
+			futures.add(new CompletableFuture<>());
+	}
+
+	/**
+	 * Schließt ein Bild ab.
+	 *
+	 * @param index
+	 *            Der Index des Bildes.
+	 * @param image
+	 *            Das Bild; <code>null</code>, wenn es nicht vorhanden ist
+	 *            oder ein Fehler aufgetreten ist.
+	 * @param failure
+	 *            Der Fehler; <code>null</code>, wenn kein Fehler aufgetreten
+	 *            ist.
+	 */
+	void complete(int index, BufferedImage image, Throwable failure) {
+		Result result = results.get(index);
+		if (failure instanceof CompletionException
+				&& failure.getCause() != null)
+			failure = failure.getCause();
+		CompletableFuture<Result> future = futures.get(index);
+		synchronized (result) {
+			if (future.isDone())
+				return;
+			result.image = image;
+			result.failure = failure;
+			future.complete(result);
+		}
+		completed.add(result);
+	}
+
+	/**
+	 * @param index
+	 *            Der Index des Bildes.
+	 * @return Ob das Bild bereits abgeschlossen bzw. abgebrochen ist.
+	 */
+	boolean isDone(int index) {
+		return futures.get(index).isDone();
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Bilder.
+	 */
+	public int size() {
+		return results.size();
+	}
+
+	/**
+	 * @return Liefert die Anzahl der bereits abgeschlossenen Bilder.
+	 */
+	public int getCompletedCount() {
+		int count = 0;
+		for (CompletableFuture<Result> future : futures)
+			if (future.isDone())
+				count++;
+		return count;
+	}
+
+	/**
+	 * @return Ein Future, das alle Ergebnisse in der ursprünglichen
+	 *         Reihenfolge liefert, sobald das letzte Bild abgeschlossen ist.
+	 */
+	public CompletableFuture<List<Result>> getAll() {
+		return CompletableFuture
+				.allOf(futures.toArray(new CompletableFuture<?>[0]))
+				.thenApply(v -> results);
+	}
+
+	/**
+	 * Bricht die Bilder ab, die noch nicht heruntergeladen wurden. Deren
+	 * Ergebnisse werden als fehlgeschlagen gemeldet.
+	 */
+	public void cancel() {
+		for (int i = 0; i < results.size(); i++)
+			complete(i, null, new CancellationException(
+					"Das Herunterladen wurde abgebrochen"));
+	}
+
+	/**
+	 * Liefert die Ergebnisse in der Reihenfolge ihrer Fertigstellung.
+	 * {@link Iterator#next()} blockiert, bis das nächste Ergebnis
+	 * verfügbar ist. Kann nur einmal durchlaufen werden.
+	 */
+	@Override
+	public Iterator<Result> iterator() {
+		return new Iterator<Result>() {
+			private int returned;
+
+			@Override
+			public boolean hasNext() {
+				return returned < results.size();
+			}
+
+			@Override
+			public Result next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				try {
+					Result result = completed.take();
+					returned++;
+					return result;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CompletionException(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Das Ergebnis für ein einzelnes Bild.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	public static class Result {
+
+		private final Object source;
+		private final Image sourceImage;
+		private final User user;
+		private volatile BufferedImage image;
+		private volatile Throwable failure;
+
+		Result(Object source, Image sourceImage, User user) {
+			this.source = source;
+			this.sourceImage = sourceImage;
+			this.user = user;
+		}
+
+		/**
+		 * @return Liefert das Objekt, zu dem das Bild gehört, also das
+		 *         {@link de.damios.jpapi.model.Project Projekt}, die
+		 *         {@link de.damios.jpapi.model.News Neuigkeit} bzw. das
+		 *         {@link de.damios.jpapi.model.Design Design}. Gehört ein
+		 *         Avatar zu mehreren Objekten, wird nur das erste geliefert.
+		 */
+		public Object getSource() {
+			return source;
+		}
+
+		/**
+		 * @return Liefert die Metadaten des Bildes; <code>null</code>, wenn
+		 *         es sich um einen Avatar handelt.
+		 */
+		public Image getImage() {
+			return sourceImage;
+		}
+
+		/**
+		 * @return Liefert den Nutzer, dessen Avatar das Bild ist;
+		 *         <code>null</code>, wenn es sich um keinen Avatar handelt.
+		 */
+		public User getUser() {
+			return user;
+		}
+
+		/**
+		 * @return Ob es sich um einen Avatar handelt.
+		 */
+		public boolean isAvatar() {
+			return user != null;
+		}
+
+		/**
+		 * @return Liefert das dekodierte Bild; <code>null</code>, wenn es
+		 *         nicht vorhanden ist oder ein Fehler aufgetreten ist.
+		 */
+		public BufferedImage getBufferedImage() {
+			return image;
+		}
+
+		/**
+		 * @return Liefert den aufgetretenen Fehler; <code>null</code>, wenn
+		 *         kein Fehler aufgetreten ist.
+		 */
+		public Throwable getFailure() {
+			return failure;
+		}
+
+		/**
+		 * @return Ob das Bild heruntergeladen und dekodiert werden konnte.
+		 */
+		public boolean isSuccessful() {
+			return image != null;
+		}
+
+		@Override
+		public String toString() {
+			return "Result [source=" + source + ", image="
+					+ (sourceImage == null ? null : sourceImage.getFileName())
+					+ ", user=" + (user == null ? null : user.getName())
+					+ ", successful=" + isSuccessful() + "]";
+		}
+
+	}
+
+}
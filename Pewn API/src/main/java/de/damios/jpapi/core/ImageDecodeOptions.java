@@ -0,0 +1,154 @@
+package de.damios.jpapi.core;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+
+/**
+ * Legt fest, wie ein Bild dekodiert wird, z.B. für Vorschaubilder.
+ * <p>
+ * Statt das vollständige Bild zu dekodieren und danach zu verkleinern, wird
+ * nur jede n-te Zeile bzw. Spalte ("Subsampling") und optional nur ein
+ * Ausschnitt gelesen. Speicherbedarf und Rechenzeit hängen damit von der
+ * Größe des Ergebnisses ab, nicht von der des ursprünglichen Bildes: für
+ * ein 200 Pixel breites Vorschaubild eines 4000x3000 Pixel großen Bildes
+ * werden so statt 48 MB nur etwa 120 KB benötigt.
+ * <p>
+ * Da beim Subsampling nur ganzzahlige Faktoren möglich sind, ist das
+ * Ergebnis bei {@link #fit(int, int)} mindestens so groß wie angegeben und
+ * kann danach bei Bedarf noch exakt skaliert werden.
+ * <p>
+ * Instanzen sind unveränderlich.
+ *
+ * <pre>
+ * BufferedImage preview = ImageProvider.get(project.getId(),
+ * 		image.getFileName(), -1, -1, ImageDecodeOptions.fit(200, 200));
+ * </pre>
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient#getImage(long, String, int, int, ImageDecodeOptions)
+ */
+public class ImageDecodeOptions {
+
+	private final int subsampling;
+	private final int maxWidth, maxHeight;
+	private final Rectangle region;
+
+	private ImageDecodeOptions(int subsampling, int maxWidth, int maxHeight,
+			Rectangle region) {
+		this.subsampling = subsampling;
+		this.maxWidth = maxWidth;
+		this.maxHeight = maxHeight;
+		this.region = region;
+	}
+
+	/**
+	 * Liest nur jede n-te Zeile und Spalte des Bildes.
+	 *
+	 * @param subsampling
+	 *            Der Faktor; <code>1</code> liest das vollständige Bild.
+	 * @return Die Optionen.
+	 */
+	public static ImageDecodeOptions subsampling(int subsampling) {
+		if (subsampling < 1)
+			throw new IllegalArgumentException(
+					"Der Faktor muss mindestens 1 sein");
+		return new ImageDecodeOptions(subsampling, -1, -1, null);
+	}
+
+	/**
+	 * Wählt den größten Faktor für das Subsampling, bei dem das Bild noch
+	 * mindestens so groß ist, wie es für die angegebene Größe (bei
+	 * gleichbleibendem Seitenverhältnis) nötig ist.
+	 *
+	 * @param maxWidth
+	 *            Die Breite, in die das Bild passen soll; <code>-1</code>,
+	 *            wenn diese beliebig ist.
+	 * @param maxHeight
+	 *            Die Höhe, in die das Bild passen soll; <code>-1</code>,
+	 *            wenn diese beliebig ist.
+	 * @return Die Optionen.
+	 */
+	public static ImageDecodeOptions fit(int maxWidth, int maxHeight) {
+		if (maxWidth == 0 || maxHeight == 0)
+			throw new IllegalArgumentException(
+					"Die Größe muss positiv sein");
+		return new ImageDecodeOptions(1, maxWidth, maxHeight, null);
+	}
+
+	/**
+	 * Liest nur einen Ausschnitt des Bildes. Teile des Ausschnitts, die
+	 * außerhalb des Bildes liegen, werden ignoriert.
+	 *
+	 * @param region
+	 *            Der Ausschnitt in Pixeln des ursprünglichen Bildes.
+	 * @return Die Optionen.
+	 */
+	public static ImageDecodeOptions region(Rectangle region) {
+		return subsampling(1).withRegion(region);
+	}
+
+	/**
+	 * @param region
+	 *            Der Ausschnitt in Pixeln des ursprünglichen Bildes;
+	 *            <code>null</code>, wenn das ganze Bild gelesen werden soll.
+	 *            Das Subsampling bzw. die Größe bezieht sich dann nur auf den
+	 *            Ausschnitt.
+	 * @return Neue Optionen mit dem angegebenen Ausschnitt.
+	 * @see #region(Rectangle)
+	 */
+	public ImageDecodeOptions withRegion(Rectangle region) {
+		if (region != null && region.isEmpty())
+			throw new IllegalArgumentException("Der Ausschnitt ist leer");
+		return new ImageDecodeOptions(subsampling, maxWidth, maxHeight,
+				region == null ? null : new Rectangle(region));
+	}
+
+	/**
+	 * Erstellt die Parameter für einen {@link ImageReader}. Dafür wird nur der
+	 * Header des Bildes gelesen.
+	 *
+	 * @param reader
+	 *            Der Reader; die Eingabe muss bereits gesetzt sein.
+	 * @return Die Parameter.
+	 * @throws IOException
+	 *             wenn der Header nicht gelesen werden kann.
+	 */
+	ImageReadParam createReadParam(ImageReader reader) throws IOException {
+		ImageReadParam param = reader.getDefaultReadParam();
+		int width = reader.getWidth(0);
+		int height = reader.getHeight(0);
+
+		if (region != null) {
+			Rectangle clipped = region
+					.intersection(new Rectangle(width, height));
+			if (clipped.isEmpty())
+				throw new IllegalArgumentException(
+						"Der Ausschnitt liegt außerhalb des Bildes");
+			param.setSourceRegion(clipped);
+			width = clipped.width;
+			height = clipped.height;
+		}
+
+		int factor = subsampling;
+		if (maxWidth > 0 || maxHeight > 0) {
+			int x = maxWidth > 0 ? width / maxWidth : 1;
+			int y = maxHeight > 0 ? height / maxHeight : 1;
+			factor = Math.max(1, Math.max(x, y));
+		}
+		if (factor > 1)
+			param.setSourceSubsampling(factor, factor, 0, 0);
+		return param;
+	}
+
+	@Override
+	public String toString() {
+		return "ImageDecodeOptions [subsampling=" + subsampling + ", maxWidth="
+				+ maxWidth + ", maxHeight=" + maxHeight + ", region=" + region
+				+ "]";
+	}
+
+}
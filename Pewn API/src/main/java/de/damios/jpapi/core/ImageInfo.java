@@ -0,0 +1,50 @@
+package de.damios.jpapi.core;
+
+/**
+ * Die Eigenschaften eines Bildes, die ohne Dekodieren der Pixel aus dessen
+ * Header gelesen werden können.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient#getImageInfo(long, String, int, int)
+ */
+public class ImageInfo {
+
+	private final int width, height;
+	private final String format;
+
+	ImageInfo(int width, int height, String format) {
+		this.width = width;
+		this.height = height;
+		this.format = format;
+	}
+
+	/**
+	 * @return Liefert die Breite des Bildes in Pixeln.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return Liefert die Höhe des Bildes in Pixeln.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return Liefert das Format des Bildes in Kleinbuchstaben, z.B.
+	 *         <code>png</code> oder <code>jpeg</code>.
+	 */
+	public String getFormat() {
+		return format;
+	}
+
+	@Override
+	public String toString() {
+		return "ImageInfo [width=" + width + ", height=" + height + ", format="
+				+ format + "]";
+	}
+
+}
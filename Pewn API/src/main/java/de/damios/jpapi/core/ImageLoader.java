@@ -0,0 +1,606 @@
+package de.damios.jpapi.core;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import de.damios.jpapi.model.Design;
+import de.damios.jpapi.model.Image;
+import de.damios.jpapi.model.News;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.User;
+import de.damios.jpapi.ressource.ImageProvider.ImageProviderService;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+/**
+ * Lädt die Bilder eines {@link PewnClient}s, speichert sie in dessen Caches
+ * und dekodiert sie.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient#getImage(long, String, int, int, ImageDecodeOptions)
+ * @see PewnClient#prefetchImages(Collection, ImageDecodeOptions)
+ */
+class ImageLoader {
+
+	/**
+	 * Liest die Bilder bei asynchronen Aufrufen aus dem Cache und dekodiert
+	 * sie beim {@linkplain #prefetch(Collection, ImageDecodeOptions)
+	 * gleichzeitigen Herunterladen}, damit dafür weder der aufrufende Thread
+	 * noch die Threads des Dispatchers blockiert werden. Die Anzahl der
+	 * gleichzeitig dekodierten Bilder wird pro Aufruf begrenzt.
+	 */
+	private static final ExecutorService EXECUTOR = Executors
+			.newCachedThreadPool(r -> {
+				Thread t = new Thread(r, "jpapi-image");
+				t.setDaemon(true);
+				return t;
+			});
+
+	private final PewnClient client;
+	private final ImageProviderService imageProviderService;
+	private final DiskImageCache imageCache;
+	private final DecodedImageCache decodedImageCache;
+	private final int networkParallelism;
+	private final int decodeParallelism;
+
+	/**
+	 * @param client
+	 *            Der Client, über den die Anfragen ausgeführt werden.
+	 * @param imageProviderService
+	 *            Der Service für die Anfragen.
+	 * @param imageCache
+	 *            Der Cache für Bilder; <code>null</code>, wenn keiner
+	 *            verwendet werden soll.
+	 * @param decodedImageCache
+	 *            Der Cache für dekodierte Bilder; <code>null</code>, wenn
+	 *            keiner verwendet werden soll.
+	 * @param networkParallelism
+	 *            Die Anzahl gleichzeitig heruntergeladener Bilder.
+	 * @param decodeParallelism
+	 *            Die Anzahl gleichzeitig dekodierter Bilder.
+	 */
+	ImageLoader(PewnClient client, ImageProviderService imageProviderService,
+			DiskImageCache imageCache, DecodedImageCache decodedImageCache,
+			int networkParallelism, int decodeParallelism) {
+		this.client = client;
+		this.imageProviderService = imageProviderService;
+		this.imageCache = imageCache;
+		this.decodedImageCache = decodedImageCache;
+		this.networkParallelism = networkParallelism;
+		this.decodeParallelism = decodeParallelism;
+	}
+
+	DiskImageCache getImageCache() {
+		return imageCache;
+	}
+
+	DecodedImageCache getDecodedImageCache() {
+		return decodedImageCache;
+	}
+
+	Call<ResponseBody> createImageCall(long gameid, String filename,
+			int width, int height) {
+		return imageProviderService.downloadImage(gameid, filename,
+				(width < 0 || height < 0) ? null : width,
+				(width < 0 || height < 0) ? null : height);
+	}
+
+	static String getImageKey(long gameid, String filename,
+			int width, int height) {
+		if (width < 0 || height < 0)
+			return "image/" + gameid + "/" + filename;
+		return "image/" + gameid + "/" + filename + "/" + width + "x"
+				+ height;
+	}
+
+	Call<ResponseBody> createAvatarCall(User user) {
+		if (user.getProfile().getAvatar() == null)
+			throw new IllegalArgumentException(
+					"Der Avatar des Nutzers darf nicht null sein");
+		return imageProviderService.downloadAvatar(user.getName(),
+				user.getProfile().getAvatar());
+	}
+
+	static String getAvatarKey(User user) {
+		return "avatar/" + user.getName() + "/"
+				+ user.getProfile().getAvatar();
+	}
+
+	/**
+	 * Lädt die Bilder der übergebenen Objekte gleichzeitig herunter.
+	 *
+	 * @see PewnClient#prefetchImages(Collection, ImageDecodeOptions)
+	 */
+	ImageBatch prefetch(Collection<?> sources, ImageDecodeOptions options) {
+		List<ImageBatch.Result> results = new ArrayList<>();
+		List<String> keys = new ArrayList<>();
+		List<Call<ResponseBody>> calls = new ArrayList<>();
+		Set<String> added = new HashSet<>();
+
+		for (Object source : sources) {
+			User author;
+			if (source instanceof Project) {
+				Project project = (Project) source;
+				if (project.getImages() != null) {
+					for (Image image : project.getImages()) {
+						String key = getImageKey(project.getId(),
+								image.getFileName(), -1, -1);
+						if (added.add(key)) {
+							results.add(new ImageBatch.Result(source, image,
+									null));
+							keys.add(key);
+							calls.add(createImageCall(project.getId(),
+									image.getFileName(), -1, -1));
+						}
+					}
+				}
+				author = project.getAuthor();
+			} else if (source instanceof News)
+				author = ((News) source).getAuthor();
+			else if (source instanceof Design)
+				author = ((Design) source).getAuthor();
+			else
+				throw new IllegalArgumentException(
+						"Für diesen Typ können keine Bilder geladen werden: "
+								+ source);
+
+			if (author != null && author.getProfile() != null
+					&& author.getProfile().getAvatar() != null) {
+				String key = getAvatarKey(author);
+				if (added.add(key)) {
+					results.add(new ImageBatch.Result(source, null, author));
+					keys.add(key);
+					calls.add(createAvatarCall(author));
+				}
+			}
+		}
+
+		ImageBatch batch = new ImageBatch(results);
+		ConcurrencyLimiter network = new ConcurrencyLimiter(
+				networkParallelism);
+		ConcurrencyLimiter decode = new ConcurrencyLimiter(
+				decodeParallelism);
+		for (int i = 0; i < results.size(); i++)
+			prefetchImage(batch, i, keys.get(i), calls.get(i), options,
+					network, decode);
+		return batch;
+	}
+
+	private void prefetchImage(ImageBatch batch, int index, String key,
+			Call<ResponseBody> call, ImageDecodeOptions options,
+			ConcurrencyLimiter network, ConcurrencyLimiter decode) {
+		String decodedKey = getDecodedImageKey(key, options);
+		BufferedImage cached = getCachedDecodedImage(decodedKey);
+		if (cached != null) {
+			batch.complete(index, cached, null);
+			return;
+		}
+
+		network.submit(() -> {
+			if (batch.isDone(index)) // Abgebrochen
+				return CompletableFuture.completedFuture(null);
+			return loadBytesAsync(key, call);
+		}).thenCompose(data -> {
+			if (data == null)
+				return CompletableFuture.completedFuture(null);
+			return decode.submit(() -> CompletableFuture.supplyAsync(
+					() -> unchecked(() -> decodeImage(data, options)),
+					EXECUTOR));
+		}).whenComplete((image, t) -> {
+			cacheDecodedImage(decodedKey, image);
+			batch.complete(index, image, t);
+		});
+	}
+
+	/*
+	 * Die folgenden Methoden laden ein Bild aus dem Cache bzw., falls
+	 * dieses dort nicht vorhanden ist, führen die Anfrage aus und speichern
+	 * das Ergebnis. Ist kein Cache aktiviert, wird die Antwort direkt
+	 * verarbeitet.
+	 */
+
+	BufferedImage loadImage(String key, Call<ResponseBody> call,
+			ImageDecodeOptions options) throws IOException {
+		String decodedKey = getDecodedImageKey(key, options);
+		BufferedImage image = getCachedDecodedImage(decodedKey);
+		if (image != null)
+			return image;
+
+		if (imageCache == null)
+			image = decodeImage(client.executeCallDirectly(call), options);
+		else
+			image = decodeImage(loadBytes(key, call), options);
+		cacheDecodedImage(decodedKey, image);
+		return image;
+	}
+
+	CompletableFuture<BufferedImage> loadImageAsync(String key,
+			Call<ResponseBody> call, ImageDecodeOptions options) {
+		String decodedKey = getDecodedImageKey(key, options);
+		BufferedImage cached = getCachedDecodedImage(decodedKey);
+		if (cached != null)
+			return CompletableFuture.completedFuture(cached);
+
+		CompletableFuture<BufferedImage> future;
+		if (imageCache == null)
+			future = client.executeCallAsyncDirectly(call)
+					.thenApply(body -> unchecked(
+							() -> decodeImage(body, options)));
+		else
+			future = loadBytesAsync(key, call).thenApply(
+					data -> unchecked(() -> decodeImage(data, options)));
+		return future.thenApply(image -> {
+			cacheDecodedImage(decodedKey, image);
+			return image;
+		});
+	}
+
+	/**
+	 * Da dasselbe Bild mit unterschiedlichen Optionen dekodiert werden kann,
+	 * sind diese Teil des Schlüssels für dekodierte Bilder.
+	 */
+	private static String getDecodedImageKey(String key,
+			ImageDecodeOptions options) {
+		return options == null ? key : key + "/" + options;
+	}
+
+	private BufferedImage getCachedDecodedImage(String key) {
+		return decodedImageCache == null ? null : decodedImageCache.get(key);
+	}
+
+	private void cacheDecodedImage(String key, BufferedImage image) {
+		if (decodedImageCache != null)
+			decodedImageCache.put(key, image);
+	}
+
+	/**
+	 * Liest den Header eines Bildes. Ist das Bild bereits im Cache, wird
+	 * dieses verwendet; ansonsten wird nur der Anfang der Antwort gelesen
+	 * und das Bild daher auch nicht im Cache gespeichert.
+	 */
+	ImageInfo loadInfo(String key, Call<ResponseBody> call)
+			throws IOException {
+		byte[] data = getCachedImage(key);
+		if (data != null)
+			return readInfo(new ByteArrayInputStream(data));
+		ResponseBody body = client.executeCallDirectly(call);
+		if (body == null)
+			return null;
+		try (ResponseBody tmp = body) {
+			return readInfo(tmp.byteStream());
+		}
+	}
+
+	CompletableFuture<ImageInfo> loadInfoAsync(String key,
+			Call<ResponseBody> call) {
+		return getCachedImageAsync(key).thenCompose(data -> {
+			if (data != null)
+				return CompletableFuture.completedFuture(unchecked(
+						() -> readInfo(new ByteArrayInputStream(data))));
+			return client.executeCallAsyncDirectly(call).thenApply(body -> {
+				if (body == null)
+					return null;
+				try (ResponseBody tmp = body) {
+					return unchecked(() -> readInfo(tmp.byteStream()));
+				}
+			});
+		});
+	}
+
+	byte[] loadBytes(String key, Call<ResponseBody> call)
+			throws IOException {
+		byte[] data = getCachedImage(key);
+		if (data == null) {
+			data = readBytes(client.executeCallDirectly(call));
+			cacheImage(key, data);
+		}
+		return data;
+	}
+
+	CompletableFuture<byte[]> loadBytesAsync(String key,
+			Call<ResponseBody> call) {
+		return getCachedImageAsync(key).thenCompose(data -> {
+			if (data != null)
+				return CompletableFuture.completedFuture(data);
+			return client.executeCallAsyncDirectly(call).thenApply(body -> {
+				byte[] d = readBytesUnchecked(body);
+				cacheImage(key, d);
+				return d;
+			});
+		});
+	}
+
+	InputStream loadStream(String key, Call<ResponseBody> call)
+			throws IOException {
+		return loadFile(key, call, Files::newInputStream,
+				body -> body == null ? null : body.byteStream());
+	}
+
+	long loadToFile(String key, Call<ResponseBody> call,
+			Path target) throws IOException {
+		return loadFile(key, call, file -> copyFile(file, target),
+				body -> writeFile(body, target));
+	}
+
+	/**
+	 * Verarbeitet ein Bild, ohne es vollständig in den Speicher zu laden.
+	 * Ist ein Cache aktiviert, wird die Antwort direkt in dessen Datei
+	 * geschrieben und anschließend diese verarbeitet.
+	 *
+	 * @param fromFile
+	 *            Verarbeitet die Datei des Bildes im Cache.
+	 * @param fromBody
+	 *            Verarbeitet die Antwort, wenn das Bild nicht im Cache
+	 *            gespeichert wird; diese ist <code>null</code>, wenn das
+	 *            Bild nicht vorhanden ist.
+	 */
+	private <T> T loadFile(String key, Call<ResponseBody> call,
+			IOFunction<Path, T> fromFile, IOFunction<ResponseBody, T> fromBody)
+			throws IOException {
+		if (imageCache == null)
+			return fromBody.apply(client.executeCallDirectly(call));
+
+		Path file = imageCache.getFile(key);
+		if (file == null) {
+			ResponseBody body = client.executeCallDirectly(call);
+			if (body == null || body.contentLength() > imageCache.getMaxSize())
+				return fromBody.apply(body);
+			try (ResponseBody tmp = body) {
+				file = imageCache.put(key, tmp.source());
+			}
+			if (file == null) // Die Größe war vorab nicht bekannt
+				return fromBody
+						.apply(client.executeCallDirectly(call.clone()));
+		}
+
+		try {
+			return fromFile.apply(file);
+		} catch (NoSuchFileException e) {
+			if (!file.toString().equals(e.getFile()))
+				throw e;
+			// In der Zwischenzeit verdrängt
+			return fromBody.apply(client.executeCallDirectly(
+					call.isExecuted() ? call.clone() : call));
+		}
+	}
+
+	/**
+	 * @return Das Bild aus dem Cache; <code>null</code>, wenn es dort nicht
+	 *         vorhanden ist oder kein Cache aktiviert ist. Fehler beim
+	 *         Lesen werden wie ein fehlender Eintrag behandelt.
+	 */
+	private byte[] getCachedImage(String key) {
+		if (imageCache == null)
+			return null;
+		try {
+			return imageCache.get(key);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Liest ein Bild im Hintergrund aus dem Cache, damit asynchrone Aufrufe
+	 * nicht durch die Festplatte blockiert werden.
+	 *
+	 * @return Ein Future, das das Bild aus dem Cache liefert bzw.
+	 *         <code>null</code>, wenn es dort nicht vorhanden ist.
+	 */
+	private CompletableFuture<byte[]> getCachedImageAsync(String key) {
+		if (imageCache == null)
+			return CompletableFuture.completedFuture(null);
+		return CompletableFuture.supplyAsync(() -> getCachedImage(key),
+				EXECUTOR);
+	}
+
+	/**
+	 * Speichert ein Bild im Cache. Fehler beim Schreiben werden ignoriert,
+	 * da das Bild bereits heruntergeladen wurde.
+	 */
+	private void cacheImage(String key, byte[] data) {
+		if (imageCache == null || data == null)
+			return;
+		try {
+			imageCache.put(key, data);
+		} catch (IOException e) {
+			// Beim nächsten Mal wird das Bild erneut heruntergeladen
+		}
+	}
+
+	private static BufferedImage decodeImage(ResponseBody body,
+			ImageDecodeOptions options) throws IOException {
+		if (body == null)
+			return null;
+		try (ResponseBody tmp = body) {
+			return decodeImage(tmp.byteStream(), body.contentLength(),
+					options);
+		}
+	}
+
+	private static BufferedImage decodeImage(byte[] data,
+			ImageDecodeOptions options) throws IOException {
+		if (data == null)
+			return null;
+		return decodeImage(new ByteArrayInputStream(data), data.length,
+				options);
+	}
+
+	private static BufferedImage decodeImage(InputStream in, long bytes,
+			ImageDecodeOptions options) throws IOException {
+		Object event = JfrEvents.beginImageDecode();
+		BufferedImage image = null;
+		try {
+			if (options == null)
+				image = ImageIO.read(in);
+			else
+				image = decodeImage(in, options);
+			return image;
+		} finally {
+			JfrEvents.commitImageDecode(event, bytes, image);
+		}
+	}
+
+	/**
+	 * Dekodiert ein Bild mit einem {@link ImageReader}, damit nur die
+	 * benötigten Pixel gelesen werden. Verhält sich ansonsten wie
+	 * {@link ImageIO#read(InputStream)}.
+	 */
+	private static BufferedImage decodeImage(InputStream in,
+			ImageDecodeOptions options) throws IOException {
+		try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+			ImageReader reader = getImageReader(stream);
+			if (reader == null)
+				return null;
+			try {
+				return reader.read(0, options.createReadParam(reader));
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Liest Größe und Format eines Bildes, ohne die Pixel zu dekodieren.
+	 */
+	private static ImageInfo readInfo(InputStream in) throws IOException {
+		try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+			ImageReader reader = getImageReader(stream);
+			if (reader == null)
+				return null;
+			try {
+				return new ImageInfo(reader.getWidth(0), reader.getHeight(0),
+						reader.getFormatName().toLowerCase(Locale.ROOT));
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	/**
+	 * @return Ein Reader für das Format des Bildes, dessen Eingabe bereits
+	 *         gesetzt ist; <code>null</code>, wenn das Format nicht
+	 *         unterstützt wird.
+	 */
+	private static ImageReader getImageReader(ImageInputStream stream) {
+		if (stream == null)
+			return null;
+		Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+		if (!readers.hasNext())
+			return null;
+		ImageReader reader = readers.next();
+		reader.setInput(stream, true, true);
+		return reader;
+	}
+
+	/**
+	 * Eine Aktion, die eine {@link IOException} werfen kann.
+	 */
+	private interface IOSupplier<T> {
+		T get() throws IOException;
+	}
+
+	/**
+	 * Eine Funktion, die eine {@link IOException} werfen kann.
+	 */
+	private interface IOFunction<T, R> {
+		R apply(T t) throws IOException;
+	}
+
+	/**
+	 * Führt eine Aktion innerhalb eines {@link CompletableFuture}s aus und
+	 * verpackt dabei eine {@link IOException} in eine
+	 * {@link CompletionException}.
+	 */
+	private static <T> T unchecked(IOSupplier<T> action) {
+		try {
+			return action.get();
+		} catch (IOException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	private static byte[] readBytes(ResponseBody body) throws IOException {
+		if (body == null)
+			return null;
+		try (ResponseBody tmp = body) {
+			return tmp.bytes();
+		}
+	}
+
+	private static byte[] readBytesUnchecked(ResponseBody body) {
+		try {
+			return readBytes(body);
+		} catch (IOException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * Schreibt den Inhalt einer Antwort in eine Datei. Die Daten werden dabei
+	 * direkt vom Puffer der Verbindung an den {@link FileChannel} übergeben,
+	 * ohne die gesamte Antwort im Speicher zu halten.
+	 *
+	 * @return Die Anzahl an geschriebenen Bytes; <code>-1</code>, wenn die
+	 *         Antwort leer ist.
+	 */
+	private static long writeFile(ResponseBody body, Path target)
+			throws IOException {
+		if (body == null)
+			return -1;
+		try (ResponseBody tmp = body;
+				FileChannel channel = FileChannel.open(target,
+						StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			long written = 0;
+			long count;
+			while ((count = channel.transferFrom(tmp.source(), written,
+					Long.MAX_VALUE)) > 0)
+				written += count;
+			return written;
+		}
+	}
+
+	/**
+	 * Kopiert eine Datei über {@link FileChannel#transferTo(long, long,
+	 * java.nio.channels.WritableByteChannel)}, damit die Daten nicht über
+	 * den Heap kopiert werden.
+	 *
+	 * @return Die Anzahl an geschriebenen Bytes.
+	 */
+	private static long copyFile(Path source, Path target)
+			throws IOException {
+		try (FileChannel in = FileChannel.open(source);
+				FileChannel out = FileChannel.open(target,
+						StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			long size = in.size();
+			long written = 0;
+			while (written < size)
+				written += in.transferTo(written, size - written, out);
+			return written;
+		}
+	}
+}
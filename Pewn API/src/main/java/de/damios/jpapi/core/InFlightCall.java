@@ -0,0 +1,71 @@
+package de.damios.jpapi.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Eine laufende Anfrage, auf deren Ergebnis mehrere Aufrufer warten (siehe
+ * {@link PewnClient.Builder#coalesceRequests(boolean)}).
+ * <p>
+ * Jeder wartende Aufrufer meldet sich mit {@link #attach()} an. Gibt ein
+ * Aufrufer das Warten auf (z.B. weil er sein Future abgebrochen hat), meldet
+ * er sich mit {@link #detach()} wieder ab. Erst wenn kein Aufrufer mehr
+ * wartet, wird die eigentliche Anfrage abgebrochen.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+class InFlightCall extends CompletableFuture<Object> {
+
+	/**
+	 * Die eigentliche Anfrage; <code>null</code>, wenn sie synchron
+	 * ausgeführt wird und daher nicht abgebrochen werden kann.
+	 */
+	private Future<?> request;
+	/**
+	 * Die Anzahl der wartenden Aufrufer; <code>-1</code>, sobald die Anfrage
+	 * abgebrochen wurde.
+	 */
+	private int waiters = 1; // Der Aufrufer, der die Anfrage ausführt
+
+	/**
+	 * Legt die Anfrage fest, die abgebrochen wird, sobald kein Aufrufer mehr
+	 * wartet.
+	 *
+	 * @param request
+	 *            Die Anfrage.
+	 */
+	synchronized void setRequest(Future<?> request) {
+		this.request = request;
+	}
+
+	/**
+	 * Meldet einen weiteren wartenden Aufrufer an.
+	 *
+	 * @return <code>false</code>, wenn die Anfrage bereits abgebrochen wurde;
+	 *         der Aufrufer muss die Anfrage dann selbst ausführen.
+	 */
+	synchronized boolean attach() {
+		if (waiters < 0)
+			return false;
+		waiters++;
+		return true;
+	}
+
+	/**
+	 * Meldet einen Aufrufer ab, der nicht mehr auf das Ergebnis wartet. War
+	 * er der letzte, wird die Anfrage abgebrochen.
+	 */
+	void detach() {
+		Future<?> cancelled = null;
+		synchronized (this) {
+			if (waiters > 0 && --waiters == 0 && request != null) {
+				waiters = -1;
+				cancelled = request;
+			}
+		}
+		if (cancelled != null)
+			cancelled.cancel(true);
+	}
+
+}
@@ -0,0 +1,118 @@
+package de.damios.jpapi.core;
+
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Type;
+
+import okhttp3.Request;
+import retrofit2.Response;
+
+/**
+ * Erzeugt Events für den JDK Flight Recorder (JFR): für jede Anfrage an die
+ * Pewn-API, für das Lesen der JSON-Antworten und für das Dekodieren von
+ * Bildern.
+ * <p>
+ * Der Flight Recorder steht erst ab Java 11 zur Verfügung. Diese Variante
+ * für Java 9 und 10 erzeugt daher keine Events; die eigentliche
+ * Implementation liegt unter <code>src/main/java11</code> und wird über
+ * das Multi-Release-JAR geladen. Die Signaturen beider Varianten müssen
+ * übereinstimmen.
+ * <p>
+ * Jedes Event wird über <code>begin...()</code> gestartet und über
+ * <code>commit...()</code> abgeschlossen. Ist das jeweilige Event nicht
+ * aktiviert, liefert <code>begin...()</code> <code>null</code> und es
+ * fallen keine weiteren Kosten an.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+final class JfrEvents {
+
+	private JfrEvents() {
+	}
+
+	/**
+	 * @return Ob der Flight Recorder zur Verfügung steht. Ist bewusst keine
+	 *         Konstante, da diese beim Kompilieren der übrigen Klassen
+	 *         eingesetzt würde.
+	 */
+	static boolean isAvailable() {
+		return false;
+	}
+
+	/**
+	 * Startet das Event für eine Anfrage an die Pewn-API.
+	 *
+	 * @return Das Event; <code>null</code>, wenn es nicht aktiviert ist.
+	 */
+	static Object beginApiCall() {
+		return null;
+	}
+
+	/**
+	 * Schließt das Event für eine Anfrage an die Pewn-API ab.
+	 *
+	 * @param event
+	 *            Das Event; kann <code>null</code> sein.
+	 * @param request
+	 *            Die Anfrage.
+	 * @param response
+	 *            Die Antwort; <code>null</code>, wenn die Anfrage
+	 *            fehlgeschlagen ist.
+	 * @param failure
+	 *            Der Fehler; <code>null</code>, wenn die Anfrage erfolgreich
+	 *            war.
+	 */
+	static void commitApiCall(Object event, Request request,
+			Response<?> response, Throwable failure) {
+	}
+
+	/**
+	 * Startet das Event für das Lesen einer JSON-Antwort.
+	 *
+	 * @return Das Event; <code>null</code>, wenn es nicht aktiviert ist.
+	 */
+	static Object beginDeserialization() {
+		return null;
+	}
+
+	/**
+	 * Schließt das Event für das Lesen einer JSON-Antwort ab.
+	 *
+	 * @param event
+	 *            Das Event; kann <code>null</code> sein.
+	 * @param type
+	 *            Der Typ, in den die Antwort umgewandelt wurde.
+	 * @param result
+	 *            Das Ergebnis; <code>null</code>, wenn die Antwort nicht
+	 *            gelesen werden konnte.
+	 */
+	static void commitDeserialization(Object event, Type type,
+			Object result) {
+	}
+
+	/**
+	 * Startet das Event für das Dekodieren eines Bildes.
+	 *
+	 * @return Das Event; <code>null</code>, wenn es nicht aktiviert ist.
+	 */
+	static Object beginImageDecode() {
+		return null;
+	}
+
+	/**
+	 * Schließt das Event für das Dekodieren eines Bildes ab.
+	 *
+	 * @param event
+	 *            Das Event; kann <code>null</code> sein.
+	 * @param bytes
+	 *            Die Größe des heruntergeladenen Bildes; <code>-1</code>,
+	 *            wenn diese nicht bekannt ist.
+	 * @param image
+	 *            Das Bild; <code>null</code>, wenn es nicht dekodiert werden
+	 *            konnte.
+	 */
+	static void commitImageDecode(Object event, long bytes,
+			BufferedImage image) {
+	}
+
+}
@@ -0,0 +1,126 @@
+package de.damios.jpapi.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import de.damios.jpapi.exception.JpapiInternalException;
+import okhttp3.ResponseBody;
+
+/**
+ * Liest ein JSON-Array Element für Element aus einer Antwort der Pewn-API.
+ * <p>
+ * Es wird immer nur das aktuelle Element im Speicher gehalten; das Parsen
+ * beginnt, während der Rest der Antwort noch übertragen wird. Wird der
+ * Iterator vorzeitig {@linkplain #close() geschlossen}, wird auch die
+ * Verbindung geschlossen.
+ * <p>
+ * Fehler beim Lesen werden als {@link UncheckedIOException} weitergegeben,
+ * fehlerhaftes JSON als {@link JpapiInternalException}.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @param <T>
+ *            Der Typ der Elemente.
+ */
+class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+	private final ResponseBody body;
+	private final JsonReader reader;
+	private final Gson gson;
+	private final Class<T> type;
+	private boolean closed = false;
+
+	/**
+	 * @param gson
+	 *            Der Gson-Parser.
+	 * @param body
+	 *            Die Antwort; <code>null</code> wird als leeres Array
+	 *            behandelt.
+	 * @param type
+	 *            Der Typ der Elemente.
+	 * @throws IOException
+	 *             wenn der Beginn des Arrays nicht gelesen werden kann.
+	 */
+	JsonArrayIterator(Gson gson, ResponseBody body, Class<T> type)
+			throws IOException {
+		this.gson = gson;
+		this.body = body;
+		this.type = type;
+
+		if (body == null) {
+			this.reader = null;
+			this.closed = true;
+			return;
+		}
+
+		this.reader = gson.newJsonReader(body.charStream());
+		try {
+			if (reader.peek() == JsonToken.NULL) {
+				close();
+				return;
+			}
+			reader.beginArray();
+		} catch (MalformedJsonException | IllegalStateException e) {
+			close();
+			throw new JpapiInternalException(e);
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (closed)
+			return false;
+		try {
+			if (reader.hasNext())
+				return true;
+			reader.endArray();
+			close();
+			return false;
+		} catch (MalformedJsonException | IllegalStateException e) {
+			close();
+			throw new JpapiInternalException(e);
+		} catch (IOException e) {
+			close();
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		try {
+			return gson.fromJson(reader, type);
+		} catch (JsonIOException e) {
+			close();
+			throw new UncheckedIOException(
+					e.getCause() instanceof IOException
+							? (IOException) e.getCause()
+							: new IOException(e));
+		} catch (JsonSyntaxException e) {
+			close();
+			throw new JpapiInternalException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (body != null)
+			body.close();
+		closed = true;
+	}
+
+}
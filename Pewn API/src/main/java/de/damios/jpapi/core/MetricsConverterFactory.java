@@ -0,0 +1,81 @@
+package de.damios.jpapi.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import de.damios.jpapi.metrics.ApiMetrics;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Misst die Zeit, die zum Lesen der Antworten benötigt wird, und übergibt
+ * sie an die {@link ApiMetrics} bzw. den {@linkplain JfrEvents Flight
+ * Recorder}.
+ * <p>
+ * Retrofit erstellt die Converter beim ersten Aufruf einer Methode eines
+ * Service-Interfaces, und zwar innerhalb von
+ * {@link PewnClient#createService(Class)}. Der Endpunkt wird daher bereits
+ * dort festgelegt.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+class MetricsConverterFactory extends Converter.Factory {
+
+	private final Converter.Factory delegate;
+	private final ApiMetrics metrics;
+
+	/**
+	 * @param delegate
+	 *            Die Factory, die die eigentlichen Converter erstellt.
+	 * @param metrics
+	 *            Die Metriken.
+	 */
+	MetricsConverterFactory(Converter.Factory delegate, ApiMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Converter<ResponseBody, ?> responseBodyConverter(Type type,
+			Annotation[] annotations, Retrofit retrofit) {
+		Converter<ResponseBody, ?> converter = delegate
+				.responseBodyConverter(type, annotations, retrofit);
+		if (converter == null)
+			return null;
+
+		String endpoint = EndpointCall.getCurrentEndpoint();
+		return body -> {
+			Object event = JfrEvents.beginDeserialization();
+			long start = System.nanoTime();
+			Object result = null;
+			boolean successful = false;
+			try {
+				result = converter.convert(body);
+				successful = true;
+				return result;
+			} finally {
+				metrics.recordDeserialization(endpoint,
+						System.nanoTime() - start, successful);
+				JfrEvents.commitDeserialization(event, type, result);
+			}
+		};
+	}
+
+	@Override
+	public Converter<?, RequestBody> requestBodyConverter(Type type,
+			Annotation[] parameterAnnotations, Annotation[] methodAnnotations,
+			Retrofit retrofit) {
+		return delegate.requestBodyConverter(type, parameterAnnotations,
+				methodAnnotations, retrofit);
+	}
+
+	@Override
+	public Converter<?, String> stringConverter(Type type,
+			Annotation[] annotations, Retrofit retrofit) {
+		return delegate.stringConverter(type, annotations, retrofit);
+	}
+
+}
@@ -0,0 +1,221 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import de.damios.jpapi.metrics.ApiMetrics;
+import de.damios.jpapi.metrics.ApiMetrics.Phase;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Misst die einzelnen Phasen einer HTTP-Anfrage und übergibt die Messwerte
+ * an die {@link ApiMetrics}. Alle Ereignisse werden zudem an den
+ * EventListener weitergereicht, der zuvor im OkHttpClient gesetzt war.
+ * <p>
+ * OkHttp erstellt pro Anfrage einen eigenen Listener; die Ereignisse einer
+ * Anfrage treten nacheinander auf. Die Anfrage wird erfasst, sobald die
+ * Antwort vollständig gelesen wurde, da OkHttp bei Antworten ohne Inhalt
+ * {@link #callEnd(Call)} nicht aufruft. Folgt OkHttp einer Weiterleitung,
+ * wird somit jede Antwort einzeln erfasst.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see EndpointCall
+ */
+class MetricsEventListener extends EventListener {
+
+	private final ApiMetrics metrics;
+	private final EventListener delegate;
+	private final String endpoint;
+
+	private long exchangeStart;
+	/**
+	 * Ob seit der letzten erfassten Antwort eine weitere Anfrage gestellt
+	 * wurde.
+	 */
+	private boolean pending;
+	private long dnsStart;
+	private long connectStart;
+	private long secureConnectStart;
+	private long requestStart;
+	private int statusCode = -1;
+
+	private MetricsEventListener(ApiMetrics metrics, EventListener delegate,
+			String endpoint) {
+		this.metrics = metrics;
+		this.delegate = delegate;
+		this.endpoint = endpoint;
+	}
+
+	@Override
+	public void callStart(Call call) {
+		exchangeStart = System.nanoTime();
+		pending = true;
+		delegate.callStart(call);
+	}
+
+	@Override
+	public void dnsStart(Call call, String domainName) {
+		dnsStart = System.nanoTime();
+		delegate.dnsStart(call, domainName);
+	}
+
+	@Override
+	public void dnsEnd(Call call, String domainName,
+			List<InetAddress> inetAddressList) {
+		metrics.recordPhase(endpoint, Phase.DNS, System.nanoTime() - dnsStart);
+		delegate.dnsEnd(call, domainName, inetAddressList);
+	}
+
+	@Override
+	public void connectStart(Call call, InetSocketAddress inetSocketAddress,
+			Proxy proxy) {
+		connectStart = System.nanoTime();
+		delegate.connectStart(call, inetSocketAddress, proxy);
+	}
+
+	@Override
+	public void secureConnectStart(Call call) {
+		secureConnectStart = System.nanoTime();
+		delegate.secureConnectStart(call);
+	}
+
+	@Override
+	public void secureConnectEnd(Call call, Handshake handshake) {
+		metrics.recordPhase(endpoint, Phase.TLS,
+				System.nanoTime() - secureConnectStart);
+		delegate.secureConnectEnd(call, handshake);
+	}
+
+	@Override
+	public void connectEnd(Call call, InetSocketAddress inetSocketAddress,
+			Proxy proxy, Protocol protocol) {
+		metrics.recordPhase(endpoint, Phase.CONNECT,
+				System.nanoTime() - connectStart);
+		delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+	}
+
+	@Override
+	public void connectFailed(Call call, InetSocketAddress inetSocketAddress,
+			Proxy proxy, Protocol protocol, IOException ioe) {
+		delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+	}
+
+	@Override
+	public void connectionAcquired(Call call, Connection connection) {
+		delegate.connectionAcquired(call, connection);
+	}
+
+	@Override
+	public void connectionReleased(Call call, Connection connection) {
+		delegate.connectionReleased(call, connection);
+	}
+
+	@Override
+	public void requestHeadersStart(Call call) {
+		requestStart = System.nanoTime();
+		pending = true;
+		delegate.requestHeadersStart(call);
+	}
+
+	@Override
+	public void requestHeadersEnd(Call call, Request request) {
+		delegate.requestHeadersEnd(call, request);
+	}
+
+	@Override
+	public void requestBodyStart(Call call) {
+		delegate.requestBodyStart(call);
+	}
+
+	@Override
+	public void requestBodyEnd(Call call, long byteCount) {
+		delegate.requestBodyEnd(call, byteCount);
+	}
+
+	@Override
+	public void responseHeadersStart(Call call) {
+		metrics.recordPhase(endpoint, Phase.TIME_TO_FIRST_BYTE,
+				System.nanoTime() - requestStart);
+		delegate.responseHeadersStart(call);
+	}
+
+	@Override
+	public void responseHeadersEnd(Call call, Response response) {
+		statusCode = response.code();
+		delegate.responseHeadersEnd(call, response);
+	}
+
+	@Override
+	public void responseBodyStart(Call call) {
+		delegate.responseBodyStart(call);
+	}
+
+	@Override
+	public void responseBodyEnd(Call call, long byteCount) {
+		record(statusCode, byteCount);
+		delegate.responseBodyEnd(call, byteCount);
+	}
+
+	@Override
+	public void callEnd(Call call) {
+		if (pending)
+			record(statusCode, 0);
+		delegate.callEnd(call);
+	}
+
+	@Override
+	public void callFailed(Call call, IOException ioe) {
+		if (pending)
+			record(-1, 0);
+		delegate.callFailed(call, ioe);
+	}
+
+	private void record(int statusCode, long responseBytes) {
+		long now = System.nanoTime();
+		metrics.recordCall(endpoint, now - exchangeStart, statusCode,
+				responseBytes);
+		exchangeStart = now;
+		pending = false;
+	}
+
+	/**
+	 * Erstellt die Listener für die einzelnen Anfragen.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	static class Factory implements EventListener.Factory {
+
+		private final ApiMetrics metrics;
+		private final EventListener.Factory delegate;
+
+		/**
+		 * @param metrics
+		 *            Die Metriken.
+		 * @param delegate
+		 *            Die Factory des zuvor gesetzten EventListeners.
+		 */
+		Factory(ApiMetrics metrics, EventListener.Factory delegate) {
+			this.metrics = metrics;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public EventListener create(Call call) {
+			return new MetricsEventListener(metrics, delegate.create(call),
+					EndpointCall.getCurrentEndpoint());
+		}
+
+	}
+
+}
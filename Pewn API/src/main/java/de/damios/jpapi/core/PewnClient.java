@@ -0,0 +1,2879 @@
+package de.damios.jpapi.core;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import de.damios.jpapi.exception.JpapiInternalException;
+import de.damios.jpapi.metrics.ApiMetrics;
+import de.damios.jpapi.model.Activity;
+import de.damios.jpapi.model.Activity.ActivityService;
+import de.damios.jpapi.model.BlogPost;
+import de.damios.jpapi.model.BlogPost.BlogPostService;
+import de.damios.jpapi.model.Design;
+import de.damios.jpapi.model.Design.DesignService;
+import de.damios.jpapi.model.Download;
+import de.damios.jpapi.model.Hashtag;
+import de.damios.jpapi.model.Hashtag.HashtagService;
+import de.damios.jpapi.model.Image;
+import de.damios.jpapi.model.Image.ImageService;
+import de.damios.jpapi.model.ModelTypeAdapterFactory;
+import de.damios.jpapi.model.News;
+import de.damios.jpapi.model.News.NewsService;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.Project.OrderedBy;
+import de.damios.jpapi.model.Project.ProjectService;
+import de.damios.jpapi.model.ProjectWrapper;
+import de.damios.jpapi.model.ProjectWrapper.ProjectWrapperService;
+import de.damios.jpapi.model.Rating;
+import de.damios.jpapi.model.Rating.RatingService;
+import de.damios.jpapi.model.Release;
+import de.damios.jpapi.model.Release.ReleaseService;
+import de.damios.jpapi.model.Status;
+import de.damios.jpapi.model.Status.StatusService;
+import de.damios.jpapi.model.Team;
+import de.damios.jpapi.model.Team.TeamService;
+import de.damios.jpapi.model.Token;
+import de.damios.jpapi.model.Token.TokenService;
+import de.damios.jpapi.model.User;
+import de.damios.jpapi.model.User.UserService;
+import de.damios.jpapi.model.UserData;
+import de.damios.jpapi.model.UserData.UserDataService;
+import de.damios.jpapi.ressource.ImageProvider.ImageProviderService;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Ein eigenständiger Client für die
+ * <a href="http://pewn.de/papi/">Pewn-API</a>.
+ * <p>
+ * Jeder Client besitzt seinen eigenen {@link OkHttpClient}, seinen eigenen
+ * {@link Gson}-Parser und seinen eigenen {@link Retrofit}-Adapter. Dadurch
+ * können in einer JVM mehrere, unterschiedlich konfigurierte Clients parallel
+ * verwendet werden (z.B. ein Client mit kurzen Timeouts für interaktive
+ * Anfragen und ein Client mit vielen parallelen Verbindungen für einen
+ * Crawler).
+ * <p>
+ * Die statischen Methoden der Modell-Klassen (z.B.
+ * {@link Project#getByProjectId(long)}) verwenden den
+ * {@linkplain Api#getDefaultClient() Standard-Client}.
+ *
+ * <pre>
+ * PewnClient client = new PewnClient.Builder().maxRequestsPerHost(16)
+ * 		.readTimeout(30, TimeUnit.SECONDS).build();
+ * Project project = client.getProjectByProjectId(8568);
+ * </pre>
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see Builder
+ */
+public class PewnClient {
+
+	/**
+	 * URL-Type-Adapter.
+	 *
+	 * @see #createDefaultGsonBuilder()
+	 */
+	private static final TypeAdapter<URL> URL = new TypeAdapter<URL>() {
+		@Override
+		public URL read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			String nextString = in.nextString();
+			return ("".equals(nextString) || "null".equals(nextString)) ? null
+					: new URL(nextString);
+		}
+
+		@Override
+		public void write(JsonWriter out, URL value) throws IOException {
+			out.value(value == null ? null : value.toExternalForm());
+		}
+	};
+
+	/**
+	 * Der Schlüssel der {@linkplain #getAuthContext()
+	 * Standard-Authentifizierungsdaten} des Clients ({@value}). Kann nicht für
+	 * weitere Kontexte verwendet werden.
+	 */
+	public static final String DEFAULT_AUTH_CONTEXT = "default";
+
+	private final OkHttpClient httpClient;
+	/**
+	 * Gson-Parser.
+	 */
+	private final Gson gson;
+	/**
+	 * REST-Adapter.
+	 */
+	private final Retrofit restAdapter;
+	private final String host;
+
+	private final ActivityService activityService;
+	private final BlogPostService blogPostService;
+	private final DesignService designService;
+	private final HashtagService hashtagService;
+	private final ImageService imageService;
+	private final NewsService newsService;
+	private final ProjectService projectService;
+	private final ProjectWrapperService projectWrapperService;
+	private final RatingService ratingService;
+	private final ReleaseService releaseService;
+	private final StatusService statusService;
+	private final TeamService teamService;
+	private final TokenService tokenService;
+	private final UserService userService;
+	private final UserDataService userDataService;
+
+	private final boolean coalesceRequests;
+	/**
+	 * Die laufenden Anfragen, nach {@linkplain #getCoalescingKey(Call)
+	 * Schlüssel}.
+	 */
+	private final ConcurrentHashMap<String, InFlightCall> inFlightCalls;
+
+	private final EntityCache<Long, Project> projectCache;
+	private final EntityCache<Long, User> userCache;
+	private final EntityCache<Long, Team> teamCache;
+	private final EntityCache<Long, Hashtag[]> hashtagCache;
+	/**
+	 * Lädt die Bilder und verwaltet die Caches dafür.
+	 */
+	private final ImageLoader images;
+	/**
+	 * Ermittelt die Weiterleitungen von Downloads.
+	 */
+	private final DownloadResolver downloadResolver;
+
+	private final RateLimiter rateLimiter;
+	private final Map<EndpointFamily, RateLimiter> familyRateLimiters;
+
+	private final RetryPolicy retryPolicy;
+	private final int circuitBreakerThreshold;
+	private final long circuitBreakerOpenNanos;
+	/**
+	 * Die Circuit-Breaker, nach Service-Interface.
+	 */
+	private final ConcurrentHashMap<Class<?>, CircuitBreaker> circuitBreakers;
+
+	private final ApiMetrics metrics;
+
+	/**
+	 * Die Authentifizierungsdaten; <code>null</code>, wenn der Client nicht
+	 * für die Authentifizierung initialisiert wurde.
+	 */
+	private volatile AuthContext authContext;
+	/**
+	 * Die weiteren Authentifizierungskontexte, nach Schlüssel.
+	 */
+	private final ConcurrentHashMap<String, AuthContext> authContexts;
+
+	private PewnClient(Builder builder) {
+		this.host = builder.host;
+		this.gson = builder.gson != null ? builder.gson
+				: createDefaultGsonBuilder().create();
+		this.rateLimiter = builder.rateLimiter;
+		this.familyRateLimiters = Collections
+				.unmodifiableMap(new EnumMap<>(builder.familyRateLimiters));
+		this.retryPolicy = builder.retryPolicy;
+		this.circuitBreakerThreshold = builder.circuitBreakerThreshold;
+		this.circuitBreakerOpenNanos = builder.circuitBreakerOpenNanos;
+		this.circuitBreakers = new ConcurrentHashMap<>();
+		this.metrics = builder.metrics;
+		this.httpClient = builder.buildHttpClient(new AuthInterceptor(this));
+		this.downloadResolver = new DownloadResolver(this, httpClient,
+				builder.downloadUrlCache);
+		this.coalesceRequests = builder.coalesceRequests;
+		this.inFlightCalls = new ConcurrentHashMap<>();
+		this.authContexts = new ConcurrentHashMap<>();
+		this.projectCache = builder.projectCache;
+		this.userCache = builder.userCache;
+		this.teamCache = builder.teamCache;
+		this.hashtagCache = builder.hashtagCache;
+		this.restAdapter = new Retrofit.Builder()
+				.baseUrl(host + Constants.API_ROOT).client(httpClient)
+				.addConverterFactory(
+						metrics == ApiMetrics.NONE && !JfrEvents.isAvailable()
+								? GsonConverterFactory.create(gson)
+								: new MetricsConverterFactory(
+										GsonConverterFactory.create(gson),
+										metrics))
+				.build();
+
+		this.activityService = createService(ActivityService.class);
+		this.blogPostService = createService(BlogPostService.class);
+		this.designService = createService(DesignService.class);
+		this.hashtagService = createService(HashtagService.class);
+		this.imageService = createService(ImageService.class);
+		this.newsService = createService(NewsService.class);
+		this.projectService = createService(ProjectService.class);
+		this.projectWrapperService = createService(
+				ProjectWrapperService.class);
+		this.ratingService = createService(RatingService.class);
+		this.releaseService = createService(ReleaseService.class);
+		this.statusService = createService(StatusService.class);
+		this.teamService = createService(TeamService.class);
+		this.tokenService = createService(TokenService.class);
+		this.userService = createService(UserService.class);
+		this.userDataService = createService(UserDataService.class);
+		this.images = new ImageLoader(this,
+				createService(ImageProviderService.class), builder.imageCache,
+				builder.decodedImageCache, builder.prefetchNetworkParallelism,
+				builder.prefetchDecodeParallelism);
+	}
+
+	/**
+	 * Liefert einen GsonBuilder, der so konfiguriert ist, wie es zum Parsen
+	 * der Antworten der Pewn-API notwendig ist.
+	 * <p>
+	 * Eignet sich als Ausgangspunkt für einen eigenen Gson-Parser, der über
+	 * {@link Builder#gson(Gson)} gesetzt wird.
+	 *
+	 * @return Ein neuer, vorkonfigurierter GsonBuilder.
+	 */
+	public static GsonBuilder createDefaultGsonBuilder() {
+		return new GsonBuilder().setDateFormat("yyyy-MM-dd HH:mm:ss")
+				.registerTypeAdapter(URL.class, URL)
+				.registerTypeAdapter(Timestamp.class, new TimestampAdapter())
+				.registerTypeAdapterFactory(new ModelTypeAdapterFactory());
+	}
+
+	/**
+	 * @return Liefert den OkHttpClient, über den alle Anfragen dieses Clients
+	 *         laufen.
+	 */
+	public OkHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	/**
+	 * @return Liefert den Gson-Parser dieses Clients.
+	 */
+	public Gson getGson() {
+		return gson;
+	}
+
+	/**
+	 * @return Liefert die Adresse des Hosts, an den alle Anfragen gehen.
+	 * @see Builder#host(String)
+	 */
+	public String getHost() {
+		return host;
+	}
+
+	/**
+	 * @return Liefert den Cache für Spiele; <code>null</code>, wenn dieser
+	 *         nicht aktiviert wurde.
+	 * @see Builder#projectCache(long, TimeUnit, int)
+	 */
+	public EntityCache<Long, Project> getProjectCache() {
+		return projectCache;
+	}
+
+	/**
+	 * @return Liefert den Cache für Nutzer; <code>null</code>, wenn dieser
+	 *         nicht aktiviert wurde.
+	 * @see Builder#userCache(long, TimeUnit, int)
+	 */
+	public EntityCache<Long, User> getUserCache() {
+		return userCache;
+	}
+
+	/**
+	 * @return Liefert den Cache für Teams; <code>null</code>, wenn dieser
+	 *         nicht aktiviert wurde.
+	 * @see Builder#teamCache(long, TimeUnit, int)
+	 */
+	public EntityCache<Long, Team> getTeamCache() {
+		return teamCache;
+	}
+
+	/**
+	 * @return Liefert den Cache für die Hashtags eines Spiels (Schlüssel ist
+	 *         die Spiele-ID); <code>null</code>, wenn dieser nicht aktiviert
+	 *         wurde.
+	 * @see Builder#hashtagCache(long, TimeUnit, int)
+	 */
+	public EntityCache<Long, Hashtag[]> getHashtagCache() {
+		return hashtagCache;
+	}
+
+	/**
+	 * @return Liefert den Cache für die aufgelösten URLs von Downloads
+	 *         (Schlüssel ist die Download-ID); <code>null</code>, wenn dieser
+	 *         nicht aktiviert wurde.
+	 * @see Builder#downloadUrlCache(long, TimeUnit, int)
+	 */
+	public EntityCache<Long, URL> getDownloadUrlCache() {
+		return downloadResolver.getCache();
+	}
+
+	/**
+	 * @return Liefert den Cache für Bilder; <code>null</code>, wenn dieser
+	 *         nicht aktiviert wurde.
+	 * @see Builder#imageCache(DiskImageCache)
+	 */
+	public DiskImageCache getImageCache() {
+		return images.getImageCache();
+	}
+
+	/**
+	 * @return Liefert den Cache für dekodierte Bilder; <code>null</code>,
+	 *         wenn dieser nicht aktiviert wurde.
+	 * @see Builder#decodedImageCache(DecodedImageCache)
+	 */
+	public DecodedImageCache getDecodedImageCache() {
+		return images.getDecodedImageCache();
+	}
+
+	/**
+	 * @return Liefert das Limit für alle Anfragen; <code>null</code>, wenn
+	 *         keines festgelegt wurde.
+	 * @see Builder#rateLimit(double, int)
+	 */
+	public RateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * @param family
+	 *            Die Gruppe von Endpunkten.
+	 * @return Liefert das Limit für die Anfragen an eine Gruppe von
+	 *         Endpunkten; <code>null</code>, wenn keines festgelegt wurde.
+	 * @see Builder#rateLimit(EndpointFamily, double, int)
+	 */
+	public RateLimiter getRateLimiter(EndpointFamily family) {
+		return familyRateLimiters.get(family);
+	}
+
+	/**
+	 * @return Liefert die Retry-Policy; <code>null</code>, wenn Anfragen nicht
+	 *         wiederholt werden.
+	 * @see Builder#retryPolicy(RetryPolicy)
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * @return Liefert die Metriken, an die die Messwerte der Anfragen
+	 *         übergeben werden; {@link ApiMetrics#NONE}, wenn keine gesetzt
+	 *         wurden.
+	 * @see Builder#metrics(ApiMetrics)
+	 */
+	public ApiMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param service
+	 *            Die Klasse des Service-Interfaces.
+	 * @return Liefert den Circuit-Breaker eines Service-Interfaces;
+	 *         <code>null</code>, wenn Circuit-Breaker nicht aktiviert wurden.
+	 * @see Builder#circuitBreaker(int, long, TimeUnit)
+	 */
+	public CircuitBreaker getCircuitBreaker(Class<?> service) {
+		if (circuitBreakerThreshold <= 0)
+			return null;
+		return circuitBreakers.computeIfAbsent(service,
+				s -> new CircuitBreaker(s.getSimpleName(),
+						circuitBreakerThreshold, circuitBreakerOpenNanos,
+						TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * Initialisiert den Client für die Authentifizierung.
+	 * <p>
+	 * Die Einrichtung über diese Methode erlaubt auch den Zugriff auf
+	 * geschützte Ressourcen. Ist einer der Werte <code>null</code>, werden
+	 * die bisherigen Authentifizierungsdaten verworfen.
+	 *
+	 * @param clientId
+	 *            Die ID der API-Anwendung.
+	 * @param clientSecret
+	 *            Das Secret der Anwendung.
+	 * @param refreshToken
+	 *            Der nutzer- und anwendungsspezifische Refresh-Token.
+	 * @see Api#initAuth(String, String, String)
+	 */
+	public void initAuth(String clientId, String clientSecret,
+			String refreshToken) {
+		if (clientId == null || clientSecret == null || refreshToken == null)
+			this.authContext = null;
+		else
+			this.authContext = new AuthContext(this, DEFAULT_AUTH_CONTEXT,
+					clientId, clientSecret, refreshToken);
+	}
+
+	/**
+	 * Erstellt einen weiteren Authentifizierungskontext und registriert ihn
+	 * unter dem angegebenen Schlüssel. Ein bereits vorhandener Kontext mit
+	 * demselben Schlüssel wird ersetzt.
+	 * <p>
+	 * So können über einen Client Anfragen im Namen vieler Nutzer gestellt
+	 * werden, z.B. mit {@link #getUserData(AuthContext)}. Jeder Kontext
+	 * speichert und erneuert seinen Access-Token unabhängig von den anderen.
+	 *
+	 * @param key
+	 *            Der Schlüssel, z.B. der Name des Nutzers.
+	 * @param clientId
+	 *            Die ID der API-Anwendung.
+	 * @param clientSecret
+	 *            Das Secret der Anwendung.
+	 * @param refreshToken
+	 *            Der nutzer- und anwendungsspezifische Refresh-Token.
+	 * @return Der neue Kontext.
+	 * @throws IllegalArgumentException
+	 *             wenn der Schlüssel <code>null</code> ist oder
+	 *             {@value #DEFAULT_AUTH_CONTEXT} lautet.
+	 */
+	public AuthContext createAuthContext(String key, String clientId,
+			String clientSecret, String refreshToken)
+			throws IllegalArgumentException {
+		if (key == null || DEFAULT_AUTH_CONTEXT.equals(key))
+			throw new IllegalArgumentException(
+					"Ungültiger Schlüssel für den Authentifizierungskontext");
+		AuthContext auth = new AuthContext(this, key, clientId, clientSecret,
+				refreshToken);
+		authContexts.put(key, auth);
+		return auth;
+	}
+
+	/**
+	 * Liefert einen Authentifizierungskontext.
+	 *
+	 * @param key
+	 *            Der Schlüssel; {@value #DEFAULT_AUTH_CONTEXT} für die
+	 *            Standard-Authentifizierungsdaten.
+	 * @return Der Kontext; <code>null</code>, wenn unter dem Schlüssel keiner
+	 *         registriert ist.
+	 * @see #createAuthContext(String, String, String, String)
+	 */
+	public AuthContext getAuthContext(String key) {
+		if (DEFAULT_AUTH_CONTEXT.equals(key))
+			return authContext;
+		return key == null ? null : authContexts.get(key);
+	}
+
+	/**
+	 * Entfernt einen Authentifizierungskontext. Noch laufende Anfragen mit
+	 * diesem Kontext schlagen fehl.
+	 *
+	 * @param key
+	 *            Der Schlüssel.
+	 * @return Der entfernte Kontext; <code>null</code>, wenn unter dem
+	 *         Schlüssel keiner registriert war.
+	 * @see #createAuthContext(String, String, String, String)
+	 */
+	public AuthContext removeAuthContext(String key) {
+		return key == null ? null : authContexts.remove(key);
+	}
+
+	/**
+	 * @return Liefert die Anzahl der zusätzlich registrierten
+	 *         Authentifizierungskontexte.
+	 */
+	public int getAuthContextCount() {
+		return authContexts.size();
+	}
+
+	/**
+	 * @return Liefert die Authentifizierungsdaten des Clients;
+	 *         <code>null</code>, wenn der Client nicht initialisiert wurde.
+	 * @see #initAuth(String, String, String)
+	 */
+	public AuthContext getAuthContext() {
+		return authContext;
+	}
+
+	public String getClientId() {
+		AuthContext auth = authContext;
+		return auth == null ? null : auth.getClientId();
+	}
+
+	public String getClientSecret() {
+		AuthContext auth = authContext;
+		return auth == null ? null : auth.getClientSecret();
+	}
+
+	public String getRefreshToken() {
+		AuthContext auth = authContext;
+		return auth == null ? null : auth.getRefreshToken();
+	}
+
+	private AuthContext requireAuthContext() throws IllegalStateException {
+		AuthContext auth = authContext;
+		if (auth == null)
+			throw new IllegalStateException("API nicht richtig initialisiert");
+		return auth;
+	}
+
+	/**
+	 * Prüft, ob ein Authentifizierungskontext bei diesem Client registriert
+	 * ist.
+	 */
+	private String requireAuthContext(AuthContext auth)
+			throws IllegalArgumentException {
+		if (auth == null || auth.getClient() != this
+				|| getAuthContext(auth.getId()) != auth)
+			throw new IllegalArgumentException(
+					"Unbekannter Authentifizierungskontext");
+		return auth.getId();
+	}
+
+	/**
+	 * Erstellt eine Implementation der API-Endpunkte, die im übergebenen
+	 * Interface definiert werden.
+	 *
+	 * @param <T>
+	 *            Der Typ des Services.
+	 * @param service
+	 *            Die Klasse des Service-Interfaces.
+	 * @return Der Service. Ist eine {@linkplain Builder#retryPolicy(RetryPolicy)
+	 *         Retry-Policy} oder ein
+	 *         {@linkplain Builder#circuitBreaker(int, long, TimeUnit)
+	 *         Circuit-Breaker} festgelegt, werden diese bei allen Anfragen des
+	 *         Services berücksichtigt. Sind
+	 *         {@linkplain Builder#metrics(ApiMetrics) Metriken} gesetzt,
+	 *         werden die Anfragen der jeweiligen Methode zugeordnet (z.B.
+	 *         <code>ProjectService.getAll</code>).
+	 * @see #restAdapter
+	 */
+	public <T> T createService(Class<T> service) {
+		T delegate = restAdapter.create(service);
+		CircuitBreaker circuitBreaker = getCircuitBreaker(service);
+		if (retryPolicy == null && circuitBreaker == null
+				&& metrics == ApiMetrics.NONE)
+			return delegate;
+
+		Map<Method, String> endpoints = new HashMap<>();
+		for (Method method : service.getMethods())
+			endpoints.put(method,
+					service.getSimpleName() + "." + method.getName());
+
+		return service.cast(Proxy.newProxyInstance(service.getClassLoader(),
+				new Class<?>[] { service }, (proxy, method, args) -> {
+					String endpoint = endpoints.get(method);
+					Object result;
+					// Retrofit erstellt die Converter beim ersten Aufruf
+					String previous = EndpointCall.enter(endpoint);
+					try {
+						result = method.invoke(delegate, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					} finally {
+						EndpointCall.exit(previous);
+					}
+					if (!(result instanceof Call))
+						return result;
+
+					Call<?> call = (Call<?>) result;
+					if (metrics != ApiMetrics.NONE)
+						call = new EndpointCall<>(call, endpoint);
+					if (retryPolicy != null || circuitBreaker != null)
+						call = new ResilientCall<>(call, retryPolicy,
+								circuitBreaker);
+					return call;
+				}));
+	}
+
+	/**
+	 * Führt eine Anfrage an die Pewn-API aus und liefert die Antwort.
+	 *
+	 * @param <T>
+	 *            Der Typ der Antwort.
+	 * @param call
+	 *            Die Anfrage.
+	 * @return Die Antwort der Pewn-API.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Builder#coalesceRequests(boolean)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T executeCall(Call<T> call) throws IOException {
+		String key = getCoalescingKey(call);
+		if (key == null)
+			return executeCallDirectly(call);
+
+		InFlightCall own = new InFlightCall();
+		InFlightCall shared = inFlightCalls.putIfAbsent(key, own);
+		if (shared != null) {
+			if (!shared.attach()) // Bereits abgebrochen
+				return executeCallDirectly(call);
+			Object result;
+			try {
+				result = awaitResult(shared);
+			} catch (InterruptedIOException e) {
+				shared.detach();
+				throw e;
+			}
+			// Antworten, die nur einmal gelesen werden können, nicht teilen
+			if (result instanceof ResponseBody)
+				return executeCallDirectly(call);
+			return (T) result;
+		}
+
+		try {
+			T result = executeCallDirectly(call);
+			own.complete(result);
+			return result;
+		} catch (IOException | RuntimeException | Error e) {
+			own.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightCalls.remove(key, own);
+		}
+	}
+
+	<T> T executeCallDirectly(Call<T> call) throws IOException {
+		Object event = JfrEvents.beginApiCall();
+		try {
+			retrofit2.Response<T> response = call.execute();
+			JfrEvents.commitApiCall(event, call.request(), response, null);
+			return response.body();
+		} catch (IOException e) {
+			JfrEvents.commitApiCall(event, call.request(), null, e);
+			if (e instanceof MalformedJsonException)
+				throw new JpapiInternalException(e);
+			else
+				throw e;
+		}
+	}
+
+	/**
+	 * Führt eine Anfrage an die Pewn-API asynchron aus.
+	 * <p>
+	 * Die Anfrage wird über den Dispatcher des OkHttpClients ausgeführt, es
+	 * wird also kein Thread für die Dauer der Anfrage blockiert. Wird das
+	 * Future abgebrochen, wird auch die Anfrage abgebrochen.
+	 * <p>
+	 * Werden identische Anfragen zusammengefasst, erhält trotzdem jeder
+	 * Aufrufer ein eigenes Future. Bricht ein Aufrufer dieses ab, betrifft
+	 * das nur ihn; die gemeinsame Anfrage wird erst abgebrochen, wenn alle
+	 * wartenden Aufrufer ihr Future abgebrochen haben.
+	 *
+	 * @param <T>
+	 *            Der Typ der Antwort.
+	 * @param call
+	 *            Die Anfrage.
+	 * @return Ein Future, das die Antwort der Pewn-API liefert. Tritt ein
+	 *         Fehler bei der Kommunikation mit Pewn auf, wird es mit einer
+	 *         {@link IOException} abgeschlossen.
+	 * @see #executeCall(Call)
+	 * @see Builder#coalesceRequests(boolean)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> executeCallAsync(Call<T> call) {
+		String key = getCoalescingKey(call);
+		if (key == null)
+			return executeCallAsyncDirectly(call);
+
+		InFlightCall own = new InFlightCall();
+		InFlightCall shared = inFlightCalls.putIfAbsent(key, own);
+		if (shared != null) {
+			if (!shared.attach()) // Bereits abgebrochen
+				return executeCallAsyncDirectly(call);
+			return awaitResultAsync(shared, call, false);
+		}
+
+		CompletableFuture<T> request = executeCallAsyncDirectly(call);
+		own.setRequest(request);
+		request.whenComplete((r, t) -> {
+			inFlightCalls.remove(key, own);
+			if (t != null)
+				own.completeExceptionally(t);
+			else
+				own.complete(r);
+		});
+		return awaitResultAsync(own, call, true);
+	}
+
+	/**
+	 * Liefert ein eigenes Future für einen Aufrufer, der auf eine
+	 * zusammengefasste Anfrage wartet. Wird es abgebrochen, meldet sich der
+	 * Aufrufer ab.
+	 *
+	 * @param shared
+	 *            Die gemeinsame Anfrage.
+	 * @param call
+	 *            Die Anfrage des Aufrufers; wird ausgeführt, wenn die Antwort
+	 *            nicht geteilt werden kann.
+	 * @param leader
+	 *            Ob der Aufrufer die gemeinsame Anfrage gestartet hat und die
+	 *            Antwort daher in jedem Fall erhält.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<T> awaitResultAsync(InFlightCall shared,
+			Call<T> call, boolean leader) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		result.whenComplete((r, t) -> {
+			if (result.isCancelled())
+				shared.detach();
+		});
+		shared.whenComplete((r, t) -> {
+			if (t != null) {
+				result.completeExceptionally(t);
+			} else if (!leader && r instanceof ResponseBody) {
+				// Antworten, die nur einmal gelesen werden können, nicht
+				// teilen
+				if (result.isDone())
+					return;
+				CompletableFuture<T> own = executeCallAsyncDirectly(call);
+				result.whenComplete((r2, t2) -> {
+					if (result.isCancelled())
+						own.cancel(true);
+				});
+				own.whenComplete((r2, t2) -> {
+					if (t2 != null)
+						result.completeExceptionally(t2);
+					else
+						result.complete(r2);
+				});
+			} else {
+				result.complete((T) r);
+			}
+		});
+		return result;
+	}
+
+	<T> CompletableFuture<T> executeCallAsyncDirectly(Call<T> call) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		future.whenComplete((r, t) -> {
+			if (future.isCancelled())
+				call.cancel();
+		});
+
+		Object event = JfrEvents.beginApiCall();
+		call.enqueue(new Callback<T>() {
+			@Override
+			public void onResponse(Call<T> c, retrofit2.Response<T> response) {
+				JfrEvents.commitApiCall(event, c.request(), response, null);
+				future.complete(response.body());
+			}
+
+			@Override
+			public void onFailure(Call<T> c, Throwable t) {
+				JfrEvents.commitApiCall(event, c.request(), null, t);
+				if (t instanceof MalformedJsonException)
+					future.completeExceptionally(
+							new JpapiInternalException(t));
+				else
+					future.completeExceptionally(t);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Liefert den Schlüssel, unter dem gleichzeitige, identische Anfragen
+	 * zusammengefasst werden.
+	 *
+	 * @return Der Schlüssel; <code>null</code>, wenn die Anfrage nicht
+	 *         zusammengefasst werden darf (nur GET-Anfragen ohne
+	 *         Authentifizierung werden zusammengefasst).
+	 */
+	private String getCoalescingKey(Call<?> call) {
+		if (!coalesceRequests)
+			return null;
+		Request request = call.request();
+		if (!"GET".equals(request.method())
+				|| request.header("Authorization") != null
+				|| request.header(Constants.AUTH_CONTEXT_HEADER) != null)
+			return null;
+		return request.url().toString();
+	}
+
+	private static <T> T awaitResult(CompletableFuture<T> future)
+			throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new JpapiInternalException(cause);
+		}
+	}
+
+	/**
+	 * Führt eine Anfrage aus, deren Antwort ein JSON-Array ist, und liefert
+	 * die Elemente als Stream, der beim Lesen der Antwort befüllt wird.
+	 * <p>
+	 * Der Stream muss nach der Benutzung geschlossen werden, damit die
+	 * Verbindung freigegeben wird. Wird er vorzeitig geschlossen, wird der
+	 * Rest der Antwort nicht mehr gelesen.
+	 *
+	 * @param <T>
+	 *            Der Typ der Elemente.
+	 * @param call
+	 *            Die Anfrage; sollte mit {@link retrofit2.http.Streaming}
+	 *            annotiert sein.
+	 * @param type
+	 *            Die Klasse der Elemente.
+	 * @return Die Elemente als Stream; ein leerer Stream, wenn die Antwort
+	 *         leer ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see JsonArrayIterator
+	 */
+	public <T> Stream<T> executeStreamingCall(Call<ResponseBody> call,
+			Class<T> type) throws IOException {
+		JsonArrayIterator<T> iterator = new JsonArrayIterator<>(gson,
+				executeCallDirectly(call), type);
+
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(iterator,
+						Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(iterator::close);
+	}
+
+	/**
+	 * Liefert einen Wert aus dem übergebenen Cache bzw., falls dieser dort
+	 * nicht vorhanden ist, führt die Anfrage aus und speichert das Ergebnis.
+	 *
+	 * @param cache
+	 *            Der Cache; bei <code>null</code> wird die Anfrage immer
+	 *            ausgeführt.
+	 * @param key
+	 *            Der Schlüssel.
+	 * @param call
+	 *            Die Anfrage. Wird nur ausgeführt, wenn kein Eintrag
+	 *            vorhanden ist.
+	 * @return Der zwischengespeicherte Wert. Dieser wird nicht kopiert, alle
+	 *         Aufrufer erhalten also dieselbe Instanz.
+	 */
+	private <T> T executeCachedCall(EntityCache<Long, T> cache, long key,
+			Call<T> call) throws IOException {
+		if (cache == null)
+			return executeCall(call);
+
+		T value = cache.get(key);
+		if (value == null) {
+			value = executeCall(call);
+			cache.put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Asynchrone Variante von
+	 * {@link #executeCachedCall(EntityCache, long, Call)}.
+	 */
+	private <T> CompletableFuture<T> executeCachedCallAsync(
+			EntityCache<Long, T> cache, long key, Call<T> call) {
+		if (cache == null)
+			return executeCallAsync(call);
+
+		T value = cache.get(key);
+		if (value != null)
+			return CompletableFuture.completedFuture(value);
+		return executeCallAsync(call).thenApply(v -> {
+			cache.put(key, v);
+			return v;
+		});
+	}
+
+	/* ACTIVITY */
+	/**
+	 * @param x
+	 *            Die Anzahl der Aktivitäten.
+	 * @return Liefert die letzten Aktivitäten auf Pewn.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Activity#getLast(int)
+	 */
+	public Activity[] getLastActivities(int x) throws IOException {
+		return executeCall(activityService.getLast(x));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getLastActivities(int)}.
+	 *
+	 * @param x
+	 *            Die Anzahl der Aktivitäten.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getLastActivities(int)
+	 */
+	public CompletableFuture<Activity[]> getLastActivitiesAsync(int x) {
+		return executeCallAsync(activityService.getLast(x));
+	}
+
+	/* BLOG POST */
+	/**
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Liefert alle Blog-Posts eines Nutzers.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see BlogPost#getByUserId(long)
+	 */
+	public BlogPost[] getBlogPostsByUserId(long userId) throws IOException {
+		return executeCall(blogPostService.getByUserId(userId));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getBlogPostsByUserId(long)}.
+	 *
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getBlogPostsByUserId(long)
+	 */
+	public CompletableFuture<BlogPost[]> getBlogPostsByUserIdAsync(
+			long userId) {
+		return executeCallAsync(blogPostService.getByUserId(userId));
+	}
+
+	/* DESIGN */
+	/**
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Liefert alle Designs eines Nutzers.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Design#getByUserId(long)
+	 */
+	public Design[] getDesignsByUserId(long userId) throws IOException {
+		return executeCall(designService.getByUserId(userId));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getDesignsByUserId(long)}.
+	 *
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getDesignsByUserId(long)
+	 */
+	public CompletableFuture<Design[]> getDesignsByUserIdAsync(long userId) {
+		return executeCallAsync(designService.getByUserId(userId));
+	}
+
+	/* HASHTAG */
+	/**
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Liefert alle Hashtags eines Spiels.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Hashtag#getByProjectId(long)
+	 */
+	public Hashtag[] getHashtagsByProjectId(long gameid) throws IOException {
+		return executeCachedCall(hashtagCache, gameid,
+				hashtagService.getByProjectId(gameid));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getHashtagsByProjectId(long)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getHashtagsByProjectId(long)
+	 */
+	public CompletableFuture<Hashtag[]> getHashtagsByProjectIdAsync(
+			long gameid) {
+		return executeCachedCallAsync(hashtagCache, gameid,
+				hashtagService.getByProjectId(gameid));
+	}
+
+	/* IMAGE */
+	/**
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Liefert alle Bilder eines Spiels.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Image#getByProjectId(long)
+	 */
+	public Image[] getImagesByProjectId(long gameid) throws IOException {
+		return executeCall(imageService.getByProjectId(gameid));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getImagesByProjectId(long)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getImagesByProjectId(long)
+	 */
+	public CompletableFuture<Image[]> getImagesByProjectIdAsync(long gameid) {
+		return executeCallAsync(imageService.getByProjectId(gameid));
+	}
+
+	/* NEWS */
+	/**
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Liefert alle Neuigkeiten eines Nutzers.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see News#getByUserId(long)
+	 */
+	public News[] getNewsByUserId(long userId) throws IOException {
+		return executeCall(newsService.getByUserId(userId));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getNewsByUserId(long)}.
+	 *
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getNewsByUserId(long)
+	 */
+	public CompletableFuture<News[]> getNewsByUserIdAsync(long userId) {
+		return executeCallAsync(newsService.getByUserId(userId));
+	}
+
+	/* PROJECT */
+	/**
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Liefert ein bestimmtes Spiel; <code>null</code>, wenn das Spiel
+	 *         nicht existiert.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getByProjectId(long)
+	 */
+	public Project getProjectByProjectId(long gameid) throws IOException {
+		return executeCachedCall(projectCache, gameid,
+				projectService.getByProjectId(gameid));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getProjectByProjectId(long)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getProjectByProjectId(long)
+	 */
+	public CompletableFuture<Project> getProjectByProjectIdAsync(long gameid) {
+		return executeCachedCallAsync(projectCache, gameid,
+				projectService.getByProjectId(gameid));
+	}
+
+	/**
+	 * @param userId
+	 *            Die ID des Entwicklers.
+	 * @return Liefert alle Spiele eines bestimmten Nutzers.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getByUserId(long)
+	 */
+	public Project[] getProjectsByUserId(long userId) throws IOException {
+		return executeCall(projectService.getByUserId(userId));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getProjectsByUserId(long)}.
+	 *
+	 * @param userId
+	 *            Die ID des Entwicklers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getProjectsByUserId(long)
+	 */
+	public CompletableFuture<Project[]> getProjectsByUserIdAsync(long userId) {
+		return executeCallAsync(projectService.getByUserId(userId));
+	}
+
+	/**
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Liefert alle Spiele, die ein bestimmter Nutzer gelikt hat.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getLikedProjectsByUserId(long)
+	 */
+	public Project[] getLikedProjectsByUserId(long userId)
+			throws IOException {
+		return executeCall(projectService.getLikedProjectsByUserId(userId));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getLikedProjectsByUserId(long)}.
+	 *
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getLikedProjectsByUserId(long)
+	 */
+	public CompletableFuture<Project[]> getLikedProjectsByUserIdAsync(
+			long userId) {
+		return executeCallAsync(
+				projectService.getLikedProjectsByUserId(userId));
+	}
+
+	/**
+	 * @return Liefert das neueste Spiel.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getLatest()
+	 */
+	public Project getLatestProject() throws IOException {
+		return executeCall(projectService.getLatest());
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getLatestProject()}.
+	 *
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getLatestProject()
+	 */
+	public CompletableFuture<Project> getLatestProjectAsync() {
+		return executeCallAsync(projectService.getLatest());
+	}
+
+	/**
+	 * @return Liefert ein zufälliges Spiel.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getRandom()
+	 */
+	public Project getRandomProject() throws IOException {
+		return executeCall(projectService.getRandom());
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getRandomProject()}.
+	 *
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getRandomProject()
+	 */
+	public CompletableFuture<Project> getRandomProjectAsync() {
+		return executeCallAsync(projectService.getRandom());
+	}
+
+	/**
+	 * @param ord
+	 *            Reihenfolge, in der die Spiele sortiert sein sollen.
+	 * @return Liefert alle Spiele auf Pewn.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getAll(OrderedBy)
+	 */
+	public Project[] getAllProjects(OrderedBy ord) throws IOException {
+		return executeCall(projectService.getAll(ord.getParameter()));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAllProjects(OrderedBy)}.
+	 *
+	 * @param ord
+	 *            Reihenfolge, in der die Spiele sortiert sein sollen.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getAllProjects(OrderedBy)
+	 */
+	public CompletableFuture<Project[]> getAllProjectsAsync(OrderedBy ord) {
+		return executeCallAsync(projectService.getAll(ord.getParameter()));
+	}
+
+	/**
+	 * @param ord
+	 *            Reihenfolge, in der die Spiele sortiert sein sollen.
+	 * @return Liefert alle Spiele auf Pewn als Stream, der während des
+	 *         Empfangens der Antwort gelesen wird.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#streamAll(OrderedBy)
+	 */
+	public Stream<Project> streamAllProjects(OrderedBy ord)
+			throws IOException {
+		return executeStreamingCall(
+				projectService.streamAll(ord.getParameter()), Project.class);
+	}
+
+	/**
+	 * @param userId
+	 *            Die ID des Entwicklers.
+	 * @return Liefert alle Spiele eines bestimmten Nutzers als Stream.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#streamByUserId(long)
+	 */
+	public Stream<Project> streamProjectsByUserId(long userId)
+			throws IOException {
+		return executeStreamingCall(projectService.streamByUserId(userId),
+				Project.class);
+	}
+
+	/**
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Liefert alle Spiele, die ein bestimmter Nutzer gelikt hat, als
+	 *         Stream.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#streamLikedProjectsByUserId(long)
+	 */
+	public Stream<Project> streamLikedProjectsByUserId(long userId)
+			throws IOException {
+		return executeStreamingCall(
+				projectService.streamLikedProjectsByUserId(userId),
+				Project.class);
+	}
+
+	/**
+	 * @return Liefert alle Spiele in der 'Neueste Spiele'-Box.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getInLatestBox()
+	 */
+	public Project[] getProjectsInLatestBox() throws IOException {
+		return executeCall(projectService.getLastUpdateBox());
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getProjectsInLatestBox()}.
+	 *
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getProjectsInLatestBox()
+	 */
+	public CompletableFuture<Project[]> getProjectsInLatestBoxAsync() {
+		return executeCallAsync(projectService.getLastUpdateBox());
+	}
+
+	/**
+	 * @return Liefert alle Spiele in der 'Am meisten gesehen'-Box.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getInMostViewedBox()
+	 */
+	public Project[] getProjectsInMostViewedBox() throws IOException {
+		return executeCall(projectService.getMostViewedBox());
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getProjectsInMostViewedBox()}.
+	 *
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getProjectsInMostViewedBox()
+	 */
+	public CompletableFuture<Project[]> getProjectsInMostViewedBoxAsync() {
+		return executeCallAsync(projectService.getMostViewedBox());
+	}
+
+	/**
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Liefert alle Empfehlungen zu einem Spiel.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Project#getRecommendedProjectsByProjectId(int)
+	 */
+	public Project[] getRecommendedProjectsByProjectId(long gameid)
+			throws IOException {
+		return executeCall(
+				projectService.getRecommendedProjectsByProjectId(gameid));
+	}
+
+	/**
+	 * Asynchrone Variante von
+	 * {@link #getRecommendedProjectsByProjectId(long)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getRecommendedProjectsByProjectId(long)
+	 */
+	public CompletableFuture<Project[]> getRecommendedProjectsByProjectIdAsync(
+			long gameid) {
+		return executeCallAsync(
+				projectService.getRecommendedProjectsByProjectId(gameid));
+	}
+
+	/* PROJECT WRAPPER */
+	/**
+	 * @return Liefert alle Spiele in der 'Top Spiele'-Box.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see ProjectWrapper#getTopProjectBox()
+	 */
+	public ProjectWrapper[] getTopProjectBox() throws IOException {
+		return executeCall(projectWrapperService.getTopProjectBox());
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getTopProjectBox()}.
+	 *
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getTopProjectBox()
+	 */
+	public CompletableFuture<ProjectWrapper[]> getTopProjectBoxAsync() {
+		return executeCallAsync(projectWrapperService.getTopProjectBox());
+	}
+
+	/* RATING */
+	/**
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Liefert alle Bewertungen eines Spiels.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Rating#getByProjectId(long)
+	 */
+	public Rating[] getRatingsByProjectId(long gameid) throws IOException {
+		return executeCall(ratingService.getByProjectId(gameid));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getRatingsByProjectId(long)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getRatingsByProjectId(long)
+	 */
+	public CompletableFuture<Rating[]> getRatingsByProjectIdAsync(
+			long gameid) {
+		return executeCallAsync(ratingService.getByProjectId(gameid));
+	}
+
+	/**
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Liefert alle Bewertungen eines Nutzers.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Rating#getByUserId(long)
+	 */
+	public Rating[] getRatingsByUserId(long userId) throws IOException {
+		return executeCall(ratingService.getByUserId(userId));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getRatingsByUserId(long)}.
+	 *
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getRatingsByUserId(long)
+	 */
+	public CompletableFuture<Rating[]> getRatingsByUserIdAsync(long userId) {
+		return executeCallAsync(ratingService.getByUserId(userId));
+	}
+
+	/* RELEASE */
+	/**
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Liefert alle Releases eines Spiels.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Release#getByProjectId(int)
+	 */
+	public Release[] getReleasesByProjectId(long gameid) throws IOException {
+		return executeCall(releaseService.getByProjectId(gameid));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getReleasesByProjectId(long)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getReleasesByProjectId(long)
+	 */
+	public CompletableFuture<Release[]> getReleasesByProjectIdAsync(
+			long gameid) {
+		return executeCallAsync(releaseService.getByProjectId(gameid));
+	}
+
+	/**
+	 * Liefert die URL, unter der ein Download aufgerufen werden kann. Meist
+	 * erfolgt dabei zunächst noch eine Weiterleitung.
+	 * <p>
+	 * Im Gegensatz zu {@link Download#getDownloadUrl()} wird dabei der
+	 * {@linkplain #getHost() Host} dieses Clients verwendet.
+	 *
+	 * @param download
+	 *            Der Download.
+	 * @return Die URL des Downloads.
+	 * @see ReleaseDownloader
+	 */
+	public URL getDownloadUrl(Download download) {
+		return HttpUrl.parse(host + Constants.API_ROOT
+				+ Constants.DOWNLOAD_PATH + download.getId()).url();
+	}
+
+	/**
+	 * Ermittelt die URL, auf die ein Download weiterleitet, ohne die Datei
+	 * selbst aufzurufen. Dazu wird eine HEAD-Anfrage an die
+	 * {@linkplain #getDownloadUrl(Download) URL des Downloads} gesendet und
+	 * nur deren Weiterleitung ausgewertet.
+	 * <p>
+	 * Ist ein {@linkplain Builder#downloadUrlCache(long, TimeUnit, int)
+	 * Cache} aktiviert, wird die URL von dort geliefert bzw. dort
+	 * gespeichert.
+	 *
+	 * @param download
+	 *            Der Download.
+	 * @return Die URL der Datei; die URL des Downloads selbst, wenn dieser
+	 *         nicht weiterleitet.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt
+	 *             oder der Download nicht verfügbar ist.
+	 * @see #resolveDownloadUrls(Download...)
+	 */
+	public URL resolveDownloadUrl(Download download) throws IOException {
+		return downloadResolver.resolve(download);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #resolveDownloadUrl(Download)}.
+	 *
+	 * @param download
+	 *            Der Download.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #resolveDownloadUrl(Download)
+	 */
+	public CompletableFuture<URL> resolveDownloadUrlAsync(Download download) {
+		return downloadResolver.resolveAsync(download);
+	}
+
+	/**
+	 * Ermittelt die URLs, auf die mehrere Downloads weiterleiten,
+	 * gleichzeitig.
+	 *
+	 * @param downloads
+	 *            Die Downloads.
+	 * @return Die URLs nach Download, in der übergebenen Reihenfolge.
+	 * @throws IOException
+	 *             wenn der Thread beim Warten unterbrochen wird.
+	 * @see #resolveDownloadUrlsAsync(Download...)
+	 */
+	public Map<Download, URL> resolveDownloadUrls(Download... downloads)
+			throws IOException {
+		return awaitResult(resolveDownloadUrlsAsync(downloads));
+	}
+
+	/**
+	 * Ermittelt die URLs, auf die die Downloads mehrerer Releases
+	 * weiterleiten, gleichzeitig.
+	 *
+	 * @param releases
+	 *            Die Releases.
+	 * @return Die URLs nach Download, in der übergebenen Reihenfolge.
+	 * @throws IOException
+	 *             wenn der Thread beim Warten unterbrochen wird.
+	 * @see #resolveDownloadUrlsAsync(Download...)
+	 */
+	public Map<Download, URL> resolveDownloadUrls(Release... releases)
+			throws IOException {
+		return awaitResult(resolveDownloadUrlsAsync(releases));
+	}
+
+	/**
+	 * Ermittelt die URLs, auf die mehrere Downloads weiterleiten,
+	 * gleichzeitig. Wie viele Anfragen dabei tatsächlich parallel laufen,
+	 * legt der {@link Dispatcher} des OkHttpClients fest.
+	 * <p>
+	 * Kann die URL eines Downloads nicht ermittelt werden, wird stattdessen
+	 * dessen {@linkplain #getDownloadUrl(Download) eigene URL} geliefert,
+	 * über die die Datei weiterhin erreichbar ist. Diese wird nicht im Cache
+	 * gespeichert.
+	 *
+	 * @param downloads
+	 *            Die Downloads.
+	 * @return Ein Future, das die URLs nach Download in der übergebenen
+	 *         Reihenfolge liefert.
+	 * @see #resolveDownloadUrl(Download)
+	 */
+	public CompletableFuture<Map<Download, URL>> resolveDownloadUrlsAsync(
+			Download... downloads) {
+		return downloadResolver.resolveAll(Arrays.asList(downloads));
+	}
+
+	/**
+	 * Ermittelt die URLs, auf die die Downloads mehrerer Releases
+	 * weiterleiten, gleichzeitig.
+	 *
+	 * @param releases
+	 *            Die Releases.
+	 * @return Ein Future, das die URLs nach Download in der übergebenen
+	 *         Reihenfolge liefert.
+	 * @see #resolveDownloadUrlsAsync(Download...)
+	 */
+	public CompletableFuture<Map<Download, URL>> resolveDownloadUrlsAsync(
+			Release... releases) {
+		List<Download> downloads = new ArrayList<>();
+		for (Release release : releases) {
+			if (release.getDownloads() != null)
+				downloads.addAll(Arrays.asList(release.getDownloads()));
+		}
+		return downloadResolver.resolveAll(downloads);
+	}
+
+	/* STATUS */
+	/**
+	 * @return Liefert den Status der Pewn-API.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Status#get()
+	 */
+	public Status getStatus() throws IOException {
+		return executeCall(statusService.get());
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getStatus()}.
+	 *
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getStatus()
+	 */
+	public CompletableFuture<Status> getStatusAsync() {
+		return executeCallAsync(statusService.get());
+	}
+
+	/* TEAM */
+	/**
+	 * @param id
+	 *            Die Team-ID.
+	 * @return Liefert ein Team anhand seiner ID.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Team#getByTeamId(long)
+	 */
+	public Team getTeamByTeamId(long id) throws IOException {
+		return executeCachedCall(teamCache, id, teamService.getByTeamId(id));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getTeamByTeamId(long)}.
+	 *
+	 * @param id
+	 *            Die Team-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getTeamByTeamId(long)
+	 */
+	public CompletableFuture<Team> getTeamByTeamIdAsync(long id) {
+		return executeCachedCallAsync(teamCache, id,
+				teamService.getByTeamId(id));
+	}
+
+	/**
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Liefert alle Teams eines bestimmten Nutzers.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Team#getByUserId(long)
+	 */
+	public Team[] getTeamsByUserId(long userId) throws IOException {
+		return executeCall(teamService.getByUserId(userId));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getTeamsByUserId(long)}.
+	 *
+	 * @param userId
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getTeamsByUserId(long)
+	 */
+	public CompletableFuture<Team[]> getTeamsByUserIdAsync(long userId) {
+		return executeCallAsync(teamService.getByUserId(userId));
+	}
+
+	/* TOKEN */
+	/**
+	 * Liefert einen vollständigen Token.
+	 *
+	 * @param clientId
+	 *            Die ID der API-Anwendung.
+	 * @param clientSecret
+	 *            Das Secret der Anwendung.
+	 * @param code
+	 *            Der auth_code.
+	 * @param redirectUri
+	 *            Die redirect_uri, die die Anwendung auf Pewn hinterlegt hat.
+	 * @return Ein vollständiger Token (mit access_token und refresh_token)
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see Token#getFirstToken(String, String, String, String)
+	 */
+	public Token getFirstToken(String clientId, String clientSecret,
+			String code, String redirectUri) throws IOException {
+		return executeCall(tokenService.getFirstToken(clientId, clientSecret,
+				"authorization_code", code, redirectUri));
+	}
+
+	/**
+	 * Asynchrone Variante von
+	 * {@link #getFirstToken(String, String, String, String)}.
+	 *
+	 * @param clientId
+	 *            Die ID der API-Anwendung.
+	 * @param clientSecret
+	 *            Das Secret der Anwendung.
+	 * @param code
+	 *            Der auth_code.
+	 * @param redirectUri
+	 *            Die redirect_uri, die die Anwendung auf Pewn hinterlegt hat.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getFirstToken(String, String, String, String)
+	 */
+	public CompletableFuture<Token> getFirstTokenAsync(String clientId,
+			String clientSecret, String code, String redirectUri) {
+		return executeCallAsync(tokenService.getFirstToken(clientId,
+				clientSecret, "authorization_code", code, redirectUri));
+	}
+
+	/**
+	 * Liefert einen Token ohne refresh_token.
+	 * <p>
+	 * Es wird immer ein neuer Token angefragt; dieser ersetzt den
+	 * zwischengespeicherten Token des {@linkplain #getAuthContext()
+	 * AuthContexts}.
+	 *
+	 * @return Ein Token mit access_token, ohne refresh_token)
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @throws IllegalStateException
+	 *             wenn der Client vorher nicht initialisiert wurde.
+	 * @see #initAuth(String, String, String)
+	 * @see Token#getRefreshedToken()
+	 */
+	public Token getRefreshedToken()
+			throws IOException, IllegalStateException {
+		return requireAuthContext().refresh();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getRefreshedToken()}.
+	 *
+	 * @return Ein Future, das den Token liefert.
+	 * @throws IllegalStateException
+	 *             wenn der Client vorher nicht initialisiert wurde.
+	 * @see #getRefreshedToken()
+	 */
+	public CompletableFuture<Token> getRefreshedTokenAsync()
+			throws IllegalStateException {
+		return requireAuthContext().refreshAsync();
+	}
+
+	/**
+	 * Fragt einen neuen Access-Token an, ohne den Cache zu berücksichtigen.
+	 *
+	 * @see AuthContext#refresh()
+	 */
+	Token requestRefreshedToken(String clientId, String clientSecret,
+			String refreshToken) throws IOException {
+		return executeCallDirectly(tokenService.refreshToken(clientId,
+				clientSecret, "refresh_token", refreshToken));
+	}
+
+	/* USER */
+	/**
+	 * @param userid
+	 *            Die Nutzer-ID.
+	 * @return Liefert einen bestimmten Nutzer; <code>null</code>, wenn der
+	 *         Nutzer nicht existiert.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see User#getByUserId(long)
+	 */
+	public User getUserByUserId(long userid) throws IOException {
+		return executeCachedCall(userCache, userid,
+				userService.getByUserId(userid));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getUserByUserId(long)}.
+	 *
+	 * @param userid
+	 *            Die Nutzer-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getUserByUserId(long)
+	 */
+	public CompletableFuture<User> getUserByUserIdAsync(long userid) {
+		return executeCachedCallAsync(userCache, userid,
+				userService.getByUserId(userid));
+	}
+
+	/**
+	 * @param username
+	 *            Der Name des Nutzers.
+	 * @return Liefert einen bestimmten Nutzer; <code>null</code>, wenn der
+	 *         Nutzer nicht existiert.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see User#getByUsername(String)
+	 */
+	public User getUserByUsername(String username) throws IOException {
+		User user = executeCall(userService.getByUsername(username));
+		if (userCache != null && user != null)
+			userCache.put(user.getId(), user);
+		return user;
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getUserByUsername(String)}.
+	 *
+	 * @param username
+	 *            Der Name des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getUserByUsername(String)
+	 */
+	public CompletableFuture<User> getUserByUsernameAsync(String username) {
+		return executeCallAsync(userService.getByUsername(username))
+				.thenApply(user -> {
+					if (userCache != null && user != null)
+						userCache.put(user.getId(), user);
+					return user;
+				});
+	}
+
+	/* USER DATA */
+	/**
+	 * Liefert die Daten des authentifizierten Nutzers.
+	 * <p>
+	 * Erfordert vorige Authentifizierung und die Zugriffsberechtigung
+	 * 'PROFILE_DATA'.
+	 *
+	 * @return Die Nutzerdaten.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @throws IllegalStateException
+	 *             wenn der Client vorher nicht initialisiert wurde.
+	 * @see UserData#get()
+	 */
+	public UserData getUserData() throws IOException, IllegalStateException {
+		requireAuthContext();
+		return executeCall(userDataService.get(DEFAULT_AUTH_CONTEXT));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getUserData()}.
+	 *
+	 * @return Ein Future, das die Nutzerdaten liefert.
+	 * @throws IllegalStateException
+	 *             wenn der Client vorher nicht initialisiert wurde.
+	 * @see #getUserData()
+	 */
+	public CompletableFuture<UserData> getUserDataAsync()
+			throws IllegalStateException {
+		requireAuthContext();
+		return executeCallAsync(userDataService.get(DEFAULT_AUTH_CONTEXT));
+	}
+
+	/**
+	 * Liefert die Daten des Nutzers, zu dem der übergebene
+	 * Authentifizierungskontext gehört.
+	 * <p>
+	 * Erfordert die Zugriffsberechtigung 'PROFILE_DATA'.
+	 *
+	 * @param auth
+	 *            Der Authentifizierungskontext.
+	 * @return Die Nutzerdaten.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @throws IllegalArgumentException
+	 *             wenn der Kontext nicht bei diesem Client registriert ist.
+	 * @see #createAuthContext(String, String, String, String)
+	 * @see UserData#get(AuthContext)
+	 */
+	public UserData getUserData(AuthContext auth)
+			throws IOException, IllegalArgumentException {
+		return executeCall(userDataService.get(requireAuthContext(auth)));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getUserData(AuthContext)}.
+	 *
+	 * @param auth
+	 *            Der Authentifizierungskontext.
+	 * @return Ein Future, das die Nutzerdaten liefert.
+	 * @throws IllegalArgumentException
+	 *             wenn der Kontext nicht bei diesem Client registriert ist.
+	 * @see #getUserData(AuthContext)
+	 */
+	public CompletableFuture<UserData> getUserDataAsync(AuthContext auth)
+			throws IllegalArgumentException {
+		return executeCallAsync(
+				userDataService.get(requireAuthContext(auth)));
+	}
+
+	/* IMAGE PROVIDER */
+	/**
+	 * Liefert ein Bild, das auf Pewn hochgeladen wurde.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Das Bild; <code>null</code>, wenn das Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des Bilds
+	 *             auftritt.
+	 * @see de.damios.jpapi.ressource.ImageProvider#get(long, String, int,
+	 *      int)
+	 */
+	public BufferedImage getImage(long gameid, String filename, int width,
+			int height) throws IOException {
+		return getImage(gameid, filename, width, height, null);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getImage(long, String, int, int)}.
+	 * <p>
+	 * Das Dekodieren des Bildes erfolgt im Thread, der die Antwort empfängt.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Ein Future, das das Bild liefert.
+	 * @see #getImage(long, String, int, int)
+	 */
+	public CompletableFuture<BufferedImage> getImageAsync(long gameid,
+			String filename, int width, int height) {
+		return getImageAsync(gameid, filename, width, height, null);
+	}
+
+	/**
+	 * Liefert ein Bild, das auf Pewn hochgeladen wurde, und dekodiert dabei
+	 * z.B. nur einen Ausschnitt oder eine verkleinerte Variante.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Das Bild; <code>null</code>, wenn das Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des Bilds
+	 *             auftritt.
+	 * @see #getImage(long, String, int, int)
+	 * @see ImageDecodeOptions
+	 */
+	public BufferedImage getImage(long gameid, String filename, int width,
+			int height, ImageDecodeOptions options) throws IOException {
+		return images.loadImage(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height),
+				options);
+	}
+
+	/**
+	 * Asynchrone Variante von
+	 * {@link #getImage(long, String, int, int, ImageDecodeOptions)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Ein Future, das das Bild liefert.
+	 * @see #getImage(long, String, int, int, ImageDecodeOptions)
+	 */
+	public CompletableFuture<BufferedImage> getImageAsync(long gameid,
+			String filename, int width, int height,
+			ImageDecodeOptions options) {
+		return images.loadImageAsync(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height),
+				options);
+	}
+
+	/**
+	 * Liefert Größe und Format eines Bildes, das auf Pewn hochgeladen wurde.
+	 * Dafür wird nur der Anfang der Datei heruntergeladen und gelesen; die
+	 * Pixel werden nicht dekodiert.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @return Die Eigenschaften des Bildes; <code>null</code>, wenn das Bild
+	 *         nicht vorhanden ist oder das Format nicht unterstützt wird.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des
+	 *             Headers auftritt.
+	 * @see #getImage(long, String, int, int)
+	 */
+	public ImageInfo getImageInfo(long gameid, String filename, int width,
+			int height) throws IOException {
+		return images.loadInfo(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getImageInfo(long, String, int, int)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @return Ein Future, das die Eigenschaften des Bildes liefert.
+	 * @see #getImageInfo(long, String, int, int)
+	 */
+	public CompletableFuture<ImageInfo> getImageInfoAsync(long gameid,
+			String filename, int width, int height) {
+		return images.loadInfoAsync(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height));
+	}
+
+	/**
+	 * Liefert die Datei eines Bildes, das auf Pewn hochgeladen wurde, ohne
+	 * sie zu dekodieren.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #getImage(long, String, int, int)
+	 */
+	public byte[] getImageBytes(long gameid, String filename, int width,
+			int height) throws IOException {
+		return images.loadBytes(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height));
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getImageBytes(long, String, int, int)}.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Ein Future, das den Inhalt der Datei liefert.
+	 * @see #getImageBytes(long, String, int, int)
+	 */
+	public CompletableFuture<byte[]> getImageBytesAsync(long gameid,
+			String filename, int width, int height) {
+		return images.loadBytesAsync(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height));
+	}
+
+	/**
+	 * Liefert die Datei eines Bildes, das auf Pewn hochgeladen wurde, als
+	 * Stream, der beim Lesen aus der Antwort befüllt wird.
+	 * <p>
+	 * Der Stream muss nach der Benutzung geschlossen werden, damit die
+	 * Verbindung freigegeben wird. Ist ein
+	 * {@linkplain Builder#imageCache(DiskImageCache) Cache} aktiviert, wird
+	 * das Bild zunächst direkt in dessen Datei geschrieben und aus dieser
+	 * gelesen.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #getImage(long, String, int, int)
+	 */
+	public InputStream getImageStream(long gameid, String filename,
+			int width, int height) throws IOException {
+		return images.loadStream(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height));
+	}
+
+	/**
+	 * Speichert die Datei eines Bildes, das auf Pewn hochgeladen wurde, ohne
+	 * sie zu dekodieren oder vollständig in den Speicher zu laden.
+	 * <p>
+	 * Eine bestehende Datei wird überschrieben.
+	 *
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @param target
+	 *            Die Datei, in die das Bild geschrieben wird.
+	 * @return Die Anzahl an geschriebenen Bytes; <code>-1</code>, wenn das
+	 *         Bild nicht vorhanden ist. In diesem Fall wird keine Datei
+	 *         angelegt.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Schreiben der
+	 *             Datei auftritt.
+	 * @see #getImage(long, String, int, int)
+	 */
+	public long writeImage(long gameid, String filename, int width,
+			int height, Path target) throws IOException {
+		return images.loadToFile(
+				ImageLoader.getImageKey(gameid, filename, width, height),
+				images.createImageCall(gameid, filename, width, height),
+				target);
+	}
+
+	/**
+	 * Liefert den Avatar eines Nutzers.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Das Bild; <code>null</code>, wenn das Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des Bilds
+	 *             auftritt.
+	 * @see de.damios.jpapi.ressource.ImageProvider#getAvatar(User)
+	 */
+	public BufferedImage getAvatar(User user) throws IOException {
+		return getAvatar(user, null);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatar(User)}.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Ein Future, das das Bild liefert.
+	 * @see #getAvatar(User)
+	 */
+	public CompletableFuture<BufferedImage> getAvatarAsync(User user) {
+		return getAvatarAsync(user, null);
+	}
+
+	/**
+	 * Liefert den Avatar eines Nutzers und dekodiert dabei z.B. nur einen
+	 * Ausschnitt oder eine verkleinerte Variante.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Das Bild; <code>null</code>, wenn das Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des Bilds
+	 *             auftritt.
+	 * @see #getAvatar(User)
+	 * @see ImageDecodeOptions
+	 */
+	public BufferedImage getAvatar(User user, ImageDecodeOptions options)
+			throws IOException {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadImage(ImageLoader.getAvatarKey(user), call, options);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatar(User, ImageDecodeOptions)}.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Ein Future, das das Bild liefert.
+	 * @see #getAvatar(User, ImageDecodeOptions)
+	 */
+	public CompletableFuture<BufferedImage> getAvatarAsync(User user,
+			ImageDecodeOptions options) {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadImageAsync(ImageLoader.getAvatarKey(user), call,
+				options);
+	}
+
+	/**
+	 * Liefert Größe und Format des Avatars eines Nutzers, ohne die Pixel zu
+	 * dekodieren.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Die Eigenschaften des Bildes; <code>null</code>, wenn das Bild
+	 *         nicht vorhanden ist oder das Format nicht unterstützt wird.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des
+	 *             Headers auftritt.
+	 * @see #getImageInfo(long, String, int, int)
+	 */
+	public ImageInfo getAvatarInfo(User user) throws IOException {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadInfo(ImageLoader.getAvatarKey(user), call);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatarInfo(User)}.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Ein Future, das die Eigenschaften des Bildes liefert.
+	 * @see #getAvatarInfo(User)
+	 */
+	public CompletableFuture<ImageInfo> getAvatarInfoAsync(User user) {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadInfoAsync(ImageLoader.getAvatarKey(user), call);
+	}
+
+	/**
+	 * Liefert die Datei des Avatars eines Nutzers, ohne sie zu dekodieren.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #getAvatar(User)
+	 */
+	public byte[] getAvatarBytes(User user) throws IOException {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadBytes(ImageLoader.getAvatarKey(user), call);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatarBytes(User)}.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Ein Future, das den Inhalt der Datei liefert.
+	 * @see #getAvatarBytes(User)
+	 */
+	public CompletableFuture<byte[]> getAvatarBytesAsync(User user) {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadBytesAsync(ImageLoader.getAvatarKey(user), call);
+	}
+
+	/**
+	 * Liefert die Datei des Avatars eines Nutzers als Stream, der beim Lesen
+	 * aus der Antwort befüllt wird.
+	 * <p>
+	 * Der Stream muss nach der Benutzung geschlossen werden, damit die
+	 * Verbindung freigegeben wird. Ist ein
+	 * {@linkplain Builder#imageCache(DiskImageCache) Cache} aktiviert, wird
+	 * das Bild zunächst direkt in dessen Datei geschrieben und aus dieser
+	 * gelesen.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #getAvatar(User)
+	 */
+	public InputStream getAvatarStream(User user) throws IOException {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadStream(ImageLoader.getAvatarKey(user), call);
+	}
+
+	/**
+	 * Speichert die Datei des Avatars eines Nutzers, ohne sie zu dekodieren
+	 * oder vollständig in den Speicher zu laden.
+	 * <p>
+	 * Eine bestehende Datei wird überschrieben.
+	 *
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @param target
+	 *            Die Datei, in die das Bild geschrieben wird.
+	 * @return Die Anzahl an geschriebenen Bytes; <code>-1</code>, wenn das
+	 *         Bild nicht vorhanden ist. In diesem Fall wird keine Datei
+	 *         angelegt.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Schreiben der
+	 *             Datei auftritt.
+	 * @see #getAvatar(User)
+	 */
+	public long writeAvatar(User user, Path target) throws IOException {
+		Call<ResponseBody> call = images.createAvatarCall(user);
+		return images.loadToFile(ImageLoader.getAvatarKey(user), call, target);
+	}
+
+	/**
+	 * Lädt alle Bilder und die Avatare der Ersteller mehrerer Spiele
+	 * gleichzeitig herunter.
+	 *
+	 * @param projects
+	 *            Die Spiele.
+	 * @return Die Bilder.
+	 * @see #prefetchImages(Collection, ImageDecodeOptions)
+	 */
+	public ImageBatch prefetchImages(Project... projects) {
+		return prefetchImages(Arrays.asList(projects), null);
+	}
+
+	/**
+	 * Lädt die Avatare der Autoren mehrerer Neuigkeiten gleichzeitig
+	 * herunter.
+	 *
+	 * @param news
+	 *            Die Neuigkeiten.
+	 * @return Die Bilder.
+	 * @see #prefetchImages(Collection, ImageDecodeOptions)
+	 */
+	public ImageBatch prefetchImages(News... news) {
+		return prefetchImages(Arrays.asList(news), null);
+	}
+
+	/**
+	 * Lädt die Avatare der Autoren mehrerer Designs gleichzeitig herunter.
+	 *
+	 * @param designs
+	 *            Die Designs.
+	 * @return Die Bilder.
+	 * @see #prefetchImages(Collection, ImageDecodeOptions)
+	 */
+	public ImageBatch prefetchImages(Design... designs) {
+		return prefetchImages(Arrays.asList(designs), null);
+	}
+
+	/**
+	 * Lädt alle Bilder, auf die die übergebenen Objekte verweisen,
+	 * gleichzeitig herunter und dekodiert sie.
+	 * <p>
+	 * Für {@linkplain Project Spiele} sind das deren
+	 * {@linkplain Project#getImages() Bilder} und der Avatar des Erstellers,
+	 * für {@linkplain News Neuigkeiten} und {@linkplain Design Designs} der
+	 * Avatar des Autors. Die Bilder von Neuigkeiten können über die API
+	 * nicht heruntergeladen werden. Jedes Bild wird nur einmal geladen, auch
+	 * wenn mehrere Objekte darauf verweisen.
+	 * <p>
+	 * Wie viele Bilder gleichzeitig heruntergeladen bzw. dekodiert werden,
+	 * wird über {@link Builder#prefetchParallelism(int, int)} festgelegt.
+	 * Die Caches für Bilder werden dabei wie bei
+	 * {@link #getImage(long, String, int, int, ImageDecodeOptions)}
+	 * verwendet; der Cache auf der Festplatte wird allerdings erst im
+	 * Hintergrund gelesen, sodass diese Methode nicht blockiert.
+	 *
+	 * @param sources
+	 *            Die Spiele, Neuigkeiten und Designs.
+	 * @param options
+	 *            Legt fest, wie die Bilder dekodiert werden;
+	 *            <code>null</code>, wenn sie vollständig dekodiert werden
+	 *            sollen.
+	 * @return Die Bilder; die Ergebnisse können abgerufen werden, sobald sie
+	 *         verfügbar sind.
+	 * @throws IllegalArgumentException
+	 *             wenn eines der Objekte kein Spiel, keine Neuigkeit und kein
+	 *             Design ist.
+	 */
+	public ImageBatch prefetchImages(Collection<?> sources,
+			ImageDecodeOptions options) throws IllegalArgumentException {
+		return images.prefetch(sources, options);
+	}
+
+	/**
+	 * Erstellt einen {@link PewnClient}.
+	 * <p>
+	 * Alle Einstellungen sind optional; nicht gesetzte Werte werden durch die
+	 * Standardwerte von OkHttp bzw. jpapi ersetzt.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	public static class Builder {
+
+		private OkHttpClient httpClient;
+		private Gson gson;
+		private String host = getDefaultHost();
+		private int maxRequests = -1;
+		private int maxRequestsPerHost = -1;
+		private long connectTimeoutMillis = -1;
+		private long readTimeoutMillis = -1;
+		private long writeTimeoutMillis = -1;
+		private boolean coalesceRequests = false;
+		private EntityCache<Long, Project> projectCache;
+		private EntityCache<Long, User> userCache;
+		private EntityCache<Long, Team> teamCache;
+		private EntityCache<Long, Hashtag[]> hashtagCache;
+		private EntityCache<Long, URL> downloadUrlCache;
+		private DiskImageCache imageCache;
+		private DecodedImageCache decodedImageCache;
+		private int prefetchNetworkParallelism = 8;
+		private int prefetchDecodeParallelism = Runtime.getRuntime()
+				.availableProcessors();
+		private RateLimiter rateLimiter;
+		private final EnumMap<EndpointFamily, RateLimiter> familyRateLimiters = new EnumMap<>(
+				EndpointFamily.class);
+		private RetryPolicy retryPolicy;
+		private int circuitBreakerThreshold = -1;
+		private long circuitBreakerOpenNanos;
+		private ApiMetrics metrics = ApiMetrics.NONE;
+
+		/**
+		 * Setzt den OkHttpClient, auf dem der Client aufbaut. Über diesen
+		 * lassen sich u.a. der Connection-Pool, Interceptors und Proxies
+		 * festlegen.
+		 * <p>
+		 * Die übrigen Einstellungen dieses Builders werden auf einer
+		 * {@linkplain OkHttpClient#newBuilder() Kopie} des übergebenen Clients
+		 * angewandt; dieser selbst wird nicht verändert.
+		 *
+		 * @param httpClient
+		 *            Der OkHttpClient.
+		 * @return Dieser Builder.
+		 */
+		public Builder httpClient(OkHttpClient httpClient) {
+			this.httpClient = httpClient;
+			return this;
+		}
+
+		/**
+		 * Setzt den Gson-Parser des Clients.
+		 *
+		 * @param gson
+		 *            Der Gson-Parser.
+		 * @return Dieser Builder.
+		 * @see PewnClient#createDefaultGsonBuilder()
+		 */
+		public Builder gson(Gson gson) {
+			this.gson = gson;
+			return this;
+		}
+
+		/**
+		 * Setzt die Adresse des Hosts, an den alle Anfragen gehen.
+		 * Standardmäßig wird {@link Constants#HOST} bzw. der Wert der
+		 * System-Property {@value Constants#HOST_PROPERTY} verwendet.
+		 *
+		 * @param host
+		 *            Die Adresse; muss mit einem '/' enden.
+		 * @return Dieser Builder.
+		 * @see Constants#HOST
+		 */
+		public Builder host(String host) {
+			if (!host.endsWith("/"))
+				throw new IllegalArgumentException(
+						"Der Host muss mit '/' enden");
+			this.host = host;
+			return this;
+		}
+
+		private static String getDefaultHost() {
+			String host = System.getProperty(Constants.HOST_PROPERTY);
+			if (host == null || host.isEmpty())
+				return Constants.HOST;
+			return host.endsWith("/") ? host : host + "/";
+		}
+
+		/**
+		 * @param maxRequests
+		 *            Die maximale Anzahl an gleichzeitigen Anfragen.
+		 * @return Dieser Builder.
+		 * @see Dispatcher#setMaxRequests(int)
+		 */
+		public Builder maxRequests(int maxRequests) {
+			this.maxRequests = maxRequests;
+			return this;
+		}
+
+		/**
+		 * @param maxRequestsPerHost
+		 *            Die maximale Anzahl an gleichzeitigen Anfragen pro Host.
+		 * @return Dieser Builder.
+		 * @see Dispatcher#setMaxRequestsPerHost(int)
+		 */
+		public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+			this.maxRequestsPerHost = maxRequestsPerHost;
+			return this;
+		}
+
+		/**
+		 * @param timeout
+		 *            Der Timeout für den Verbindungsaufbau.
+		 * @param unit
+		 *            Die Einheit des Timeouts.
+		 * @return Dieser Builder.
+		 */
+		public Builder connectTimeout(long timeout, TimeUnit unit) {
+			this.connectTimeoutMillis = unit.toMillis(timeout);
+			return this;
+		}
+
+		/**
+		 * @param timeout
+		 *            Der Timeout beim Lesen der Antwort.
+		 * @param unit
+		 *            Die Einheit des Timeouts.
+		 * @return Dieser Builder.
+		 */
+		public Builder readTimeout(long timeout, TimeUnit unit) {
+			this.readTimeoutMillis = unit.toMillis(timeout);
+			return this;
+		}
+
+		/**
+		 * @param timeout
+		 *            Der Timeout beim Senden der Anfrage.
+		 * @param unit
+		 *            Die Einheit des Timeouts.
+		 * @return Dieser Builder.
+		 */
+		public Builder writeTimeout(long timeout, TimeUnit unit) {
+			this.writeTimeoutMillis = unit.toMillis(timeout);
+			return this;
+		}
+
+		/**
+		 * Legt fest, ob gleichzeitige, identische GET-Anfragen
+		 * zusammengefasst werden sollen.
+		 * <p>
+		 * Ist dies aktiviert, wird für alle Aufrufer, die dieselbe Ressource
+		 * anfragen, während eine Anfrage an diese bereits läuft, keine neue
+		 * Anfrage gestellt. Stattdessen erhalten alle das Ergebnis der
+		 * laufenden Anfrage. Die Aufrufer teilen sich dabei dieselben
+		 * Objekte, diese (insbesondere Arrays) sollten also nicht verändert
+		 * werden.
+		 * <p>
+		 * Anfragen mit Authentifizierung sowie Bilder und
+		 * {@linkplain PewnClient#executeStreamingCall(Call, Class) Streams}
+		 * werden nie zusammengefasst.
+		 *
+		 * @param coalesceRequests
+		 *            Ob Anfragen zusammengefasst werden sollen;
+		 *            standardmäßig <code>false</code>.
+		 * @return Dieser Builder.
+		 */
+		public Builder coalesceRequests(boolean coalesceRequests) {
+			this.coalesceRequests = coalesceRequests;
+			return this;
+		}
+
+		/**
+		 * Aktiviert einen Cache für
+		 * {@link PewnClient#getProjectByProjectId(long) Spiele}.
+		 * <p>
+		 * Zwischengespeicherte Objekte werden nicht kopiert: Alle Aufrufer
+		 * erhalten dieselbe Instanz. Die Modellklassen bieten keine Setter,
+		 * die von ihnen gelieferten Arrays (z.B. {@link Project#getImages()})
+		 * dürfen jedoch nicht verändert werden, da sich dies sonst auf alle
+		 * späteren Abfragen auswirkt. Das gilt ebenso für die anderen Caches
+		 * dieses Builders.
+		 *
+		 * @param ttl
+		 *            Die Zeit, die ein Spiel im Cache gültig ist.
+		 * @param unit
+		 *            Die Einheit der Zeitangabe.
+		 * @param maxSize
+		 *            Die maximale Anzahl an Spielen im Cache.
+		 * @return Dieser Builder.
+		 */
+		public Builder projectCache(long ttl, TimeUnit unit, int maxSize) {
+			this.projectCache = new EntityCache<>(ttl, unit, maxSize);
+			return this;
+		}
+
+		/**
+		 * Aktiviert einen Cache für {@link PewnClient#getUserByUserId(long)
+		 * Nutzer}.
+		 *
+		 * @param ttl
+		 *            Die Zeit, die ein Nutzer im Cache gültig ist.
+		 * @param unit
+		 *            Die Einheit der Zeitangabe.
+		 * @param maxSize
+		 *            Die maximale Anzahl an Nutzern im Cache.
+		 * @return Dieser Builder.
+		 */
+		public Builder userCache(long ttl, TimeUnit unit, int maxSize) {
+			this.userCache = new EntityCache<>(ttl, unit, maxSize);
+			return this;
+		}
+
+		/**
+		 * Aktiviert einen Cache für {@link PewnClient#getTeamByTeamId(long)
+		 * Teams}.
+		 *
+		 * @param ttl
+		 *            Die Zeit, die ein Team im Cache gültig ist.
+		 * @param unit
+		 *            Die Einheit der Zeitangabe.
+		 * @param maxSize
+		 *            Die maximale Anzahl an Teams im Cache.
+		 * @return Dieser Builder.
+		 */
+		public Builder teamCache(long ttl, TimeUnit unit, int maxSize) {
+			this.teamCache = new EntityCache<>(ttl, unit, maxSize);
+			return this;
+		}
+
+		/**
+		 * Aktiviert einen Cache für die
+		 * {@link PewnClient#getHashtagsByProjectId(long) Hashtags eines
+		 * Spiels}.
+		 * <p>
+		 * Wie bei {@link #projectCache(long, TimeUnit, int)} wird auch das
+		 * gelieferte Array geteilt und darf nicht verändert werden.
+		 *
+		 * @param ttl
+		 *            Die Zeit, die die Hashtags eines Spiels im Cache gültig
+		 *            sind.
+		 * @param unit
+		 *            Die Einheit der Zeitangabe.
+		 * @param maxSize
+		 *            Die maximale Anzahl an Spielen, deren Hashtags im Cache
+		 *            gehalten werden.
+		 * @return Dieser Builder.
+		 */
+		public Builder hashtagCache(long ttl, TimeUnit unit, int maxSize) {
+			this.hashtagCache = new EntityCache<>(ttl, unit, maxSize);
+			return this;
+		}
+
+		/**
+		 * Aktiviert einen Cache für die
+		 * {@linkplain PewnClient#resolveDownloadUrl(Download) aufgelösten
+		 * URLs} von Downloads.
+		 * <p>
+		 * Da die Ziele der Weiterleitungen z.B. zeitlich begrenzt gültige
+		 * Links sein können, sollte die TTL entsprechend kurz gewählt
+		 * werden.
+		 *
+		 * @param ttl
+		 *            Die Zeit, die eine URL im Cache gültig ist.
+		 * @param unit
+		 *            Die Einheit der Zeitangabe.
+		 * @param maxSize
+		 *            Die maximale Anzahl an URLs im Cache.
+		 * @return Dieser Builder.
+		 */
+		public Builder downloadUrlCache(long ttl, TimeUnit unit,
+				int maxSize) {
+			this.downloadUrlCache = new EntityCache<>(ttl, unit, maxSize);
+			return this;
+		}
+
+		/**
+		 * Aktiviert einen Cache auf der Festplatte für
+		 * {@link PewnClient#getImage(long, String, int, int) Bilder} und
+		 * {@link PewnClient#getAvatar(User) Avatare}.
+		 * <p>
+		 * Die Bilder werden nach Spiel, Dateiname und angeforderter Größe
+		 * bzw. nach Nutzer und Dateiname des Avatars gespeichert. Da sich
+		 * hochgeladene Bilder nicht ändern, verfallen die Einträge nicht.
+		 *
+		 * <pre>
+		 * new PewnClient.Builder().imageCache(
+		 * 		new DiskImageCache(Paths.get("cache"), 512 * 1024 * 1024))
+		 * 		.build();
+		 * </pre>
+		 *
+		 * @param imageCache
+		 *            Der Cache; kann von mehreren Clients geteilt werden.
+		 * @return Dieser Builder.
+		 */
+		public Builder imageCache(DiskImageCache imageCache) {
+			this.imageCache = imageCache;
+			return this;
+		}
+
+		/**
+		 * Aktiviert einen Cache für die dekodierten Bilder, die von
+		 * {@link PewnClient#getImage(long, String, int, int)},
+		 * {@link PewnClient#getAvatar(User)} und deren Varianten geliefert
+		 * werden.
+		 * <p>
+		 * Die Bilder werden nach denselben Parametern wie beim Herunterladen
+		 * sowie nach den {@link ImageDecodeOptions} gespeichert. Da die
+		 * Bilder von allen Aufrufern geteilt werden, dürfen sie nicht
+		 * verändert werden.
+		 *
+		 * <pre>
+		 * new PewnClient.Builder()
+		 * 		.decodedImageCache(
+		 * 				new DecodedImageCache(64 * 1024 * 1024, true))
+		 * 		.build();
+		 * </pre>
+		 *
+		 * @param decodedImageCache
+		 *            Der Cache; kann von mehreren Clients geteilt werden, um
+		 *            den Speicher für alle gemeinsam zu begrenzen.
+		 * @return Dieser Builder.
+		 */
+		public Builder decodedImageCache(
+				DecodedImageCache decodedImageCache) {
+			this.decodedImageCache = decodedImageCache;
+			return this;
+		}
+
+		/**
+		 * Legt fest, wie viele Bilder bei
+		 * {@link PewnClient#prefetchImages(Collection, ImageDecodeOptions)}
+		 * gleichzeitig heruntergeladen bzw. dekodiert werden. Die Limits
+		 * gelten jeweils pro Aufruf. Standardmäßig werden 8 Bilder
+		 * gleichzeitig heruntergeladen und so viele dekodiert, wie
+		 * Prozessoren zur Verfügung stehen.
+		 * <p>
+		 * Die Anzahl gleichzeitiger Verbindungen wird zusätzlich durch
+		 * {@link #maxRequestsPerHost(int)} begrenzt.
+		 *
+		 * @param network
+		 *            Die Anzahl gleichzeitig heruntergeladener Bilder.
+		 * @param decode
+		 *            Die Anzahl gleichzeitig dekodierter Bilder.
+		 * @return Dieser Builder.
+		 */
+		public Builder prefetchParallelism(int network, int decode) {
+			if (network <= 0 || decode <= 0)
+				throw new IllegalArgumentException(
+						"Die Anzahl muss positiv sein");
+			this.prefetchNetworkParallelism = network;
+			this.prefetchDecodeParallelism = decode;
+			return this;
+		}
+
+		/**
+		 * Begrenzt die Anzahl aller Anfragen pro Sekunde.
+		 * <p>
+		 * Ist das Limit erreicht, blockieren die aufrufenden Threads (bzw.
+		 * bei asynchronen Anfragen die Threads des Dispatchers), bis wieder
+		 * Anfragen gestellt werden dürfen. Meldet Pewn eine Überlastung
+		 * (Status-Code 429), wird die Rate automatisch verringert und die
+		 * Anfrage nach der angegebenen Wartezeit wiederholt.
+		 *
+		 * @param permitsPerSecond
+		 *            Die maximale Anzahl an Anfragen pro Sekunde.
+		 * @param burst
+		 *            Die Anzahl an Anfragen, die auf einmal gestellt werden
+		 *            dürfen.
+		 * @return Dieser Builder.
+		 * @see RateLimiter
+		 */
+		public Builder rateLimit(double permitsPerSecond, int burst) {
+			this.rateLimiter = new RateLimiter(permitsPerSecond, burst);
+			return this;
+		}
+
+		/**
+		 * Begrenzt die Anzahl der Anfragen pro Sekunde an eine Gruppe von
+		 * Endpunkten. Gilt zusätzlich zu einem
+		 * {@linkplain #rateLimit(double, int) globalen Limit}.
+		 *
+		 * @param family
+		 *            Die Gruppe von Endpunkten.
+		 * @param permitsPerSecond
+		 *            Die maximale Anzahl an Anfragen pro Sekunde.
+		 * @param burst
+		 *            Die Anzahl an Anfragen, die auf einmal gestellt werden
+		 *            dürfen.
+		 * @return Dieser Builder.
+		 * @see #rateLimit(double, int)
+		 */
+		public Builder rateLimit(EndpointFamily family,
+				double permitsPerSecond, int burst) {
+			familyRateLimiters.put(family,
+					new RateLimiter(permitsPerSecond, burst));
+			return this;
+		}
+
+		/**
+		 * Legt fest, wie fehlgeschlagene Anfragen wiederholt werden.
+		 * Standardmäßig werden Anfragen nicht wiederholt.
+		 *
+		 * <pre>
+		 * new PewnClient.Builder()
+		 * 		.retryPolicy(new RetryPolicy(3, 100, 5000, TimeUnit.MILLISECONDS))
+		 * 		.build();
+		 * </pre>
+		 *
+		 * @param retryPolicy
+		 *            Die Retry-Policy.
+		 * @return Dieser Builder.
+		 */
+		public Builder retryPolicy(RetryPolicy retryPolicy) {
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
+		/**
+		 * Aktiviert für jedes Service-Interface (z.B. {@link ProjectService}
+		 * oder {@link ImageProviderService}) einen eigenen
+		 * {@link CircuitBreaker}.
+		 *
+		 * @param failureThreshold
+		 *            Die Anzahl an aufeinanderfolgenden Fehlern, nach der ein
+		 *            Breaker geöffnet wird.
+		 * @param openDuration
+		 *            Die Zeit, die ein Breaker geöffnet bleibt, bevor eine
+		 *            Probe-Anfrage gestellt wird.
+		 * @param unit
+		 *            Die Einheit der Zeitangabe.
+		 * @return Dieser Builder.
+		 * @see PewnClient#getCircuitBreaker(Class)
+		 */
+		public Builder circuitBreaker(int failureThreshold,
+				long openDuration, TimeUnit unit) {
+			if (failureThreshold <= 0)
+				throw new IllegalArgumentException(
+						"Die Anzahl an Fehlern muss positiv sein");
+			this.circuitBreakerThreshold = failureThreshold;
+			this.circuitBreakerOpenNanos = unit.toNanos(openDuration);
+			return this;
+		}
+
+		/**
+		 * Legt fest, an wen die Messwerte der Anfragen (Antwortzeiten, Dauer
+		 * der einzelnen Phasen, Statuscodes, Größe der Antworten und Dauer
+		 * des Lesens) übergeben werden. Standardmäßig wird nichts gemessen.
+		 *
+		 * <pre>
+		 * InMemoryApiMetrics metrics = new InMemoryApiMetrics();
+		 * new PewnClient.Builder().metrics(metrics).build();
+		 * </pre>
+		 *
+		 * @param metrics
+		 *            Die Metriken.
+		 * @return Dieser Builder.
+		 * @see de.damios.jpapi.metrics.InMemoryApiMetrics
+		 */
+		public Builder metrics(ApiMetrics metrics) {
+			this.metrics = Objects.requireNonNull(metrics);
+			return this;
+		}
+
+		private OkHttpClient buildHttpClient(AuthInterceptor authInterceptor) {
+			OkHttpClient.Builder builder = httpClient == null
+					? new OkHttpClient.Builder()
+					: httpClient.newBuilder();
+
+			if (maxRequests > 0 || maxRequestsPerHost > 0) {
+				// Eigener Dispatcher, damit die Limits nicht den übergebenen
+				// Client beeinflussen
+				Dispatcher dispatcher = new Dispatcher();
+				if (maxRequests > 0)
+					dispatcher.setMaxRequests(maxRequests);
+				if (maxRequestsPerHost > 0)
+					dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+				builder.dispatcher(dispatcher);
+			}
+			if (connectTimeoutMillis >= 0)
+				builder.connectTimeout(connectTimeoutMillis,
+						TimeUnit.MILLISECONDS);
+			if (readTimeoutMillis >= 0)
+				builder.readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS);
+			if (writeTimeoutMillis >= 0)
+				builder.writeTimeout(writeTimeoutMillis,
+						TimeUnit.MILLISECONDS);
+
+			if (rateLimiter != null || !familyRateLimiters.isEmpty())
+				builder.addInterceptor(new RateLimitInterceptor(rateLimiter,
+						new EnumMap<>(familyRateLimiters)));
+			builder.addInterceptor(authInterceptor);
+			if (metrics != ApiMetrics.NONE)
+				builder.eventListenerFactory(new MetricsEventListener.Factory(
+						metrics, httpClient == null
+								? call -> EventListener.NONE
+								: httpClient.eventListenerFactory()));
+
+			return builder.build();
+		}
+
+		/**
+		 * @return Der neue Client.
+		 */
+		public PewnClient build() {
+			return new PewnClient(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,808 @@
+package de.damios.jpapi.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.damios.jpapi.model.Hashtag;
+import de.damios.jpapi.model.Image;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.Project.OrderedBy;
+import de.damios.jpapi.model.User;
+
+/**
+ * Ein lokaler, schreibgeschützter Katalog aller Spiele, der in einer
+ * kompakten Binärdatei gespeichert und über {@link FileChannel#map
+ * Memory-Mapping} gelesen wird.
+ * <p>
+ * Jedes Spiel belegt einen Eintrag fester Größe; Texte werden in einem
+ * eigenen Abschnitt nur einmal gespeichert, Beschreibungen, Bilder und
+ * Hashtags in einem weiteren Abschnitt. Über einen nach ID sortierten Index
+ * können Spiele per Binärsuche gefunden werden. Die gelieferten
+ * {@link Entry Einträge} lesen ihre Werte erst beim Zugriff direkt aus der
+ * Datei, sodass der Speicherbedarf im Heap nicht mit der Größe des Katalogs
+ * wächst.
+ *
+ * <pre>
+ * ProjectCatalog catalog = ProjectCatalog.download(client,
+ * 		Paths.get("catalog.bin"), OrderedBy.CREATION_DATE);
+ * ProjectCatalog.Entry entry = catalog.getById(8568);
+ * </pre>
+ *
+ * Über {@link #sync(PewnClient, Path)} kann ein Katalog inkrementell
+ * aktualisiert werden, sodass nur die seitdem geänderten Spiele
+ * heruntergeladen werden. Gelöschte Spiele werden dabei allerdings nicht
+ * erkannt; dafür muss der Katalog gelegentlich vollständig neu
+ * heruntergeladen werden (siehe
+ * {@link #sync(PewnClient, Path, long, TimeUnit)}).
+ * <p>
+ * Die Datei darf höchstens 2 GB groß sein. Das Mapping bleibt bestehen, bis
+ * der Katalog vom Garbage Collector freigegeben wird. Unter Windows kann
+ * eine gemappte Datei so lange weder gelöscht noch überschrieben werden.
+ * Wird sie z.B. durch {@link #sync(PewnClient, Path)} ersetzt, wird sie
+ * daher zunächst umbenannt und erst beim nächsten Schreiben gelöscht; bereits
+ * geöffnete Kataloge bleiben dabei lesbar.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public class ProjectCatalog {
+
+	/**
+	 * Kennzeichnet die Datei ("JPC1").
+	 */
+	private static final int MAGIC = 0x4A504331;
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_SIZE = 56;
+	private static final int RECORD_SIZE = 72;
+	private static final int INDEX_ENTRY_SIZE = 12;
+	private static final long NULL_TIME = Long.MIN_VALUE;
+	private static final int NULL_REF = -1;
+	/**
+	 * Die Endung von Dateien, die beim Ersetzen noch gemappt waren.
+	 */
+	private static final String RETIRED_SUFFIX = ".old";
+
+	// Die Positionen der Werte innerhalb eines Eintrags
+	private static final int ID = 0;
+	private static final int CREATION_DATE = 8;
+	private static final int LAST_UPDATE_DATE = 16;
+	private static final int AUTHOR_ID = 24;
+	private static final int TEAM_ID = 32;
+	private static final int RATING = 40;
+	private static final int NAME = 44;
+	private static final int VERSION = 48;
+	private static final int ADVERTISEMENT = 52;
+	private static final int AUTHOR_NAME = 56;
+	private static final int DESCRIPTION = 60;
+	private static final int HASHTAGS = 64;
+	private static final int IMAGES = 68;
+
+	private final ByteBuffer buffer;
+	private final int size;
+	private final long creationTime;
+	private final long highWaterMark;
+	private final int records, index, strings, blobs;
+
+	private ProjectCatalog(ByteBuffer buffer) throws IOException {
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+			throw new IOException("Die Datei ist kein Katalog");
+		if (buffer.getInt(4) != FORMAT_VERSION)
+			throw new IOException("Nicht unterstütztes Format: "
+					+ buffer.getInt(4));
+		if (buffer.getInt(12) != RECORD_SIZE)
+			throw new IOException("Ungültige Größe der Einträge: "
+					+ buffer.getInt(12));
+
+		this.buffer = buffer;
+		this.size = buffer.getInt(8);
+		this.creationTime = buffer.getLong(16);
+		this.highWaterMark = buffer.getLong(24);
+		this.records = HEADER_SIZE;
+		this.index = (int) buffer.getLong(32);
+		this.strings = (int) buffer.getLong(40);
+		this.blobs = (int) buffer.getLong(48);
+		if (index != records + (long) size * RECORD_SIZE
+				|| strings != index + (long) size * INDEX_ENTRY_SIZE
+				|| blobs < strings || blobs > buffer.capacity())
+			throw new IOException("Die Datei ist beschädigt");
+	}
+
+	/**
+	 * Öffnet einen Katalog.
+	 *
+	 * @param file
+	 *            Die Datei.
+	 * @return Der Katalog.
+	 * @throws IOException
+	 *             wenn die Datei nicht gelesen werden kann oder kein
+	 *             gültiger Katalog ist.
+	 */
+	public static ProjectCatalog open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException("Die Datei ist zu groß");
+			return new ProjectCatalog(channel
+					.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Lädt alle Spiele herunter, speichert sie als Katalog und öffnet
+	 * diesen. Die Spiele werden dabei {@linkplain
+	 * PewnClient#streamAllProjects(OrderedBy) beim Empfangen} in den
+	 * Katalog geschrieben.
+	 *
+	 * @param client
+	 *            Der Client, über den die Spiele abgerufen werden.
+	 * @param file
+	 *            Die Datei. Eine bestehende Datei wird erst ersetzt, wenn
+	 *            alle Spiele heruntergeladen wurden.
+	 * @param ord
+	 *            Die Reihenfolge der Spiele im Katalog.
+	 * @return Der Katalog.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn oder beim
+	 *             Schreiben der Datei auftritt.
+	 */
+	public static ProjectCatalog download(PewnClient client, Path file,
+			OrderedBy ord) throws IOException {
+		try (Stream<Project> projects = client.streamAllProjects(ord)) {
+			write(file, projects);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return open(file);
+	}
+
+	/**
+	 * Aktualisiert einen Katalog inkrementell und öffnet diesen.
+	 * <p>
+	 * Dazu werden die Spiele {@linkplain OrderedBy#UPDATE_DATE nach dem
+	 * letzten Update sortiert} abgerufen. Das Lesen der Antwort wird
+	 * abgebrochen, sobald ein Spiel erreicht ist, das vor der
+	 * {@linkplain #getHighWaterMark() letzten Änderung im Katalog}
+	 * aktualisiert wurde. Zusätzlich werden die Spiele der
+	 * {@linkplain PewnClient#getProjectsInLatestBox() 'Neueste
+	 * Spiele'-Box} berücksichtigt, die häufig aktueller ist. Nur die
+	 * geänderten Spiele werden dabei geparst; die übrigen Einträge werden
+	 * aus dem bisherigen Katalog übernommen.
+	 * <p>
+	 * Die geänderten Spiele werden an den Anfang des Katalogs gestellt. Ein
+	 * Katalog, der nach dem letzten Update sortiert ist, bleibt daher
+	 * sortiert. Existiert die Datei noch nicht, wird der Katalog
+	 * {@linkplain #download(PewnClient, Path, OrderedBy) vollständig
+	 * heruntergeladen}.
+	 * <p>
+	 * Spiele, die gelöscht oder nicht mehr veröffentlicht wurden, tauchen in
+	 * der Antwort nicht mehr auf und verbleiben daher im Katalog. Um sie zu
+	 * entfernen, sollte der Katalog in regelmäßigen Abständen vollständig
+	 * neu heruntergeladen werden, z.B. über
+	 * {@link #sync(PewnClient, Path, long, TimeUnit)}.
+	 *
+	 * @param client
+	 *            Der Client, über den die Spiele abgerufen werden.
+	 * @param file
+	 *            Die Datei. Diese wird nur ersetzt, wenn sich Spiele
+	 *            geändert haben.
+	 * @return Der aktualisierte Katalog.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn oder beim
+	 *             Lesen bzw. Schreiben der Datei auftritt.
+	 */
+	public static ProjectCatalog sync(PewnClient client, Path file)
+			throws IOException {
+		if (!Files.exists(file))
+			return download(client, file, OrderedBy.UPDATE_DATE);
+		return sync(client, file, open(file));
+	}
+
+	/**
+	 * Aktualisiert einen Katalog wie {@link #sync(PewnClient, Path)}, lädt
+	 * ihn aber vollständig neu herunter, wenn der
+	 * {@linkplain #getCreationTime() letzte vollständige Download} länger
+	 * als die angegebene Zeit zurückliegt. Dabei werden auch gelöschte
+	 * Spiele aus dem Katalog entfernt.
+	 *
+	 * @param client
+	 *            Der Client, über den die Spiele abgerufen werden.
+	 * @param file
+	 *            Die Datei.
+	 * @param maxAge
+	 *            Das maximale Alter des Katalogs, bevor dieser neu
+	 *            heruntergeladen wird.
+	 * @param unit
+	 *            Die Einheit von <code>maxAge</code>.
+	 * @return Der aktualisierte Katalog.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn oder beim
+	 *             Lesen bzw. Schreiben der Datei auftritt.
+	 */
+	public static ProjectCatalog sync(PewnClient client, Path file,
+			long maxAge, TimeUnit unit) throws IOException {
+		if (!Files.exists(file))
+			return download(client, file, OrderedBy.UPDATE_DATE);
+		ProjectCatalog catalog = open(file);
+		if (System.currentTimeMillis() - catalog.creationTime > unit
+				.toMillis(maxAge))
+			return download(client, file, OrderedBy.UPDATE_DATE);
+		return sync(client, file, catalog);
+	}
+
+	private static ProjectCatalog sync(PewnClient client, Path file,
+			ProjectCatalog catalog) throws IOException {
+		long highWaterMark = catalog.highWaterMark;
+		Map<Long, Project> changed = new LinkedHashMap<>();
+		// Spiele mit demselben Zeitpunkt wie die letzte Änderung können noch
+		// fehlen, daher >=
+		Predicate<Project> isRecent = p -> Writer
+				.getTime(p.getLastUpdateDate()) >= highWaterMark;
+		Predicate<Project> isChanged = p -> {
+			Entry entry = catalog.getById(p.getId());
+			return entry == null || entry.getTime(
+					LAST_UPDATE_DATE) != Writer.getTime(p.getLastUpdateDate());
+		};
+
+		for (Project project : client.getProjectsInLatestBox()) {
+			if (isRecent.test(project) && isChanged.test(project))
+				changed.putIfAbsent(project.getId(), project);
+		}
+		try (Stream<Project> projects = client
+				.streamAllProjects(OrderedBy.UPDATE_DATE)) {
+			projects.takeWhile(isRecent).filter(isChanged)
+					.forEachOrdered(p -> changed.putIfAbsent(p.getId(), p));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (changed.isEmpty())
+			return catalog;
+
+		// Die Box ist nicht zwingend in derselben Reihenfolge sortiert
+		List<Project> sorted = new ArrayList<>(changed.values());
+		sorted.sort(Comparator.comparingLong(
+				(Project p) -> Writer.getTime(p.getLastUpdateDate()))
+				.reversed());
+		Writer writer = new Writer();
+		writer.creationTime = catalog.creationTime;
+		sorted.forEach(writer::add);
+		catalog.stream().forEachOrdered(writer::add);
+		writer.writeTo(file);
+		return open(file);
+	}
+
+	/**
+	 * Speichert Spiele als Katalog. Spiele, deren ID bereits enthalten ist,
+	 * werden übersprungen.
+	 *
+	 * @param file
+	 *            Die Datei. Diese wird erst ersetzt, wenn alle Spiele
+	 *            geschrieben wurden.
+	 * @param projects
+	 *            Die Spiele in der Reihenfolge, in der sie im Katalog
+	 *            abgelegt werden.
+	 * @throws IOException
+	 *             wenn ein Fehler beim Schreiben der Datei auftritt.
+	 */
+	public static void write(Path file, Stream<Project> projects)
+			throws IOException {
+		Writer writer = new Writer();
+		projects.forEachOrdered(writer::add);
+		writer.writeTo(file);
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Spiele.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return Liefert den Zeitpunkt, zu dem der Katalog vollständig
+	 *         heruntergeladen bzw. geschrieben wurde, in Millisekunden seit
+	 *         1970. Bei einer {@linkplain #sync(PewnClient, Path)
+	 *         inkrementellen Aktualisierung} bleibt dieser erhalten.
+	 */
+	public long getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * @return Liefert den Zeitpunkt des letzten Updates des zuletzt
+	 *         aktualisierten Spiels in Millisekunden seit 1970;
+	 *         {@link Long#MIN_VALUE}, wenn dieser nicht bekannt ist.
+	 * @see #sync(PewnClient, Path)
+	 */
+	public long getHighWaterMark() {
+		return highWaterMark;
+	}
+
+	/**
+	 * @param position
+	 *            Die Position im Katalog.
+	 * @return Liefert das Spiel an einer Position.
+	 * @throws IndexOutOfBoundsException
+	 *             wenn die Position ungültig ist.
+	 */
+	public Entry getAt(int position) {
+		if (position < 0 || position >= size)
+			throw new IndexOutOfBoundsException("Position: " + position);
+		return new Entry(records + position * RECORD_SIZE);
+	}
+
+	/**
+	 * Sucht ein Spiel per Binärsuche im Index.
+	 *
+	 * @param id
+	 *            Die Spiele-ID.
+	 * @return Das Spiel; <code>null</code>, wenn es nicht im Katalog
+	 *         enthalten ist.
+	 */
+	public Entry getById(long id) {
+		int low = 0, high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			long midId = buffer.getLong(index + mid * INDEX_ENTRY_SIZE);
+			if (midId < id)
+				low = mid + 1;
+			else if (midId > id)
+				high = mid - 1;
+			else
+				return getAt(
+						buffer.getInt(index + mid * INDEX_ENTRY_SIZE + 8));
+		}
+		return null;
+	}
+
+	/**
+	 * @return Liefert alle Spiele in der Reihenfolge des Katalogs.
+	 */
+	public Stream<Entry> stream() {
+		return IntStream.range(0, size).mapToObj(this::getAt);
+	}
+
+	private String readString(int ref) {
+		if (ref == NULL_REF)
+			return null;
+		return readUtf8(strings + ref);
+	}
+
+	private String readUtf8(int position) {
+		int length = buffer.getInt(position);
+		byte[] bytes = new byte[length];
+		ByteBuffer view = buffer.duplicate();
+		view.position(position + 4);
+		view.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public String toString() {
+		return "ProjectCatalog [size=" + size + ", bytes="
+				+ buffer.capacity() + "]";
+	}
+
+	/**
+	 * Ein Spiel im Katalog. Die Werte werden bei jedem Zugriff aus der
+	 * Datei gelesen.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 * @see Project
+	 */
+	public final class Entry {
+
+		private final int offset;
+
+		private Entry(int offset) {
+			this.offset = offset;
+		}
+
+		/**
+		 * @return Liefert die ID des Spiels.
+		 * @see Project#getId()
+		 */
+		public long getId() {
+			return buffer.getLong(offset + ID);
+		}
+
+		/**
+		 * @return Liefert den Namen des Spiels.
+		 * @see Project#getName()
+		 */
+		public String getName() {
+			return readString(buffer.getInt(offset + NAME));
+		}
+
+		/**
+		 * @return Liefert das Erstellungsdatum des Spiels.
+		 * @see Project#getCreationDate()
+		 */
+		public Timestamp getCreationDate() {
+			return readTimestamp(CREATION_DATE);
+		}
+
+		/**
+		 * @return Liefert den Zeitpunkt des letzten Updates.
+		 * @see Project#getLastUpdateDate()
+		 */
+		public Timestamp getLastUpdateDate() {
+			return readTimestamp(LAST_UPDATE_DATE);
+		}
+
+		private Timestamp readTimestamp(int field) {
+			long time = getTime(field);
+			return time == NULL_TIME ? null : new Timestamp(time);
+		}
+
+		private long getTime(int field) {
+			return buffer.getLong(offset + field);
+		}
+
+		/**
+		 * @return Liefert die ID des Erstellers; <code>-1</code>, wenn
+		 *         dieser nicht bekannt ist.
+		 * @see Project#getAuthor()
+		 */
+		public long getAuthorId() {
+			return buffer.getLong(offset + AUTHOR_ID);
+		}
+
+		/**
+		 * @return Liefert den Namen des Erstellers.
+		 * @see Project#getAuthor()
+		 */
+		public String getAuthorName() {
+			return readString(buffer.getInt(offset + AUTHOR_NAME));
+		}
+
+		/**
+		 * @return Liefert die ID des Entwickler-Teams; <code>-1</code>,
+		 *         wenn das Spiel keinem Team gehört.
+		 * @see Project#getTeam()
+		 */
+		public long getTeamId() {
+			return buffer.getLong(offset + TEAM_ID);
+		}
+
+		/**
+		 * @return Liefert die Durchschnitts-Bewertung des Spiels.
+		 * @see Project#getRating()
+		 */
+		public int getRating() {
+			return buffer.getInt(offset + RATING);
+		}
+
+		/**
+		 * @return Liefert die Version des Spiels.
+		 * @see Project#getVersion()
+		 */
+		public String getVersion() {
+			return readString(buffer.getInt(offset + VERSION));
+		}
+
+		/**
+		 * @return Liefert die Kurzbeschreibung des Spiels.
+		 * @see Project#getAdvertisement()
+		 */
+		public String getAdvertisement() {
+			return readString(buffer.getInt(offset + ADVERTISEMENT));
+		}
+
+		/**
+		 * @return Liefert die Beschreibung des Spiels.
+		 * @see Project#getDescriptionText()
+		 */
+		public String getDescriptionText() {
+			int ref = buffer.getInt(offset + DESCRIPTION);
+			return ref == NULL_REF ? null : readUtf8(blobs + ref);
+		}
+
+		/**
+		 * @return Liefert die IDs der Hashtags des Spiels.
+		 * @see Project#getHashtags()
+		 */
+		public long[] getHashtagIds() {
+			return readIds(HASHTAGS);
+		}
+
+		/**
+		 * @return Liefert die Namen der Hashtags des Spiels.
+		 * @see Project#getHashtags()
+		 */
+		public String[] getHashtagNames() {
+			return readNames(HASHTAGS);
+		}
+
+		/**
+		 * @return Liefert die IDs der Bilder des Spiels.
+		 * @see Project#getImages()
+		 */
+		public long[] getImageIds() {
+			return readIds(IMAGES);
+		}
+
+		/**
+		 * @return Liefert die Dateinamen der Bilder des Spiels.
+		 * @see Project#getImages()
+		 */
+		public String[] getImageFileNames() {
+			return readNames(IMAGES);
+		}
+
+		/*
+		 * Bilder und Hashtags werden als Anzahl, gefolgt von Paaren aus ID
+		 * und Verweis auf den Namen gespeichert.
+		 */
+		private long[] readIds(int field) {
+			int position = blobs + buffer.getInt(offset + field);
+			long[] ids = new long[buffer.getInt(position)];
+			for (int i = 0; i < ids.length; i++)
+				ids[i] = buffer.getLong(position + 4 + i * 12);
+			return ids;
+		}
+
+		private String[] readNames(int field) {
+			int position = blobs + buffer.getInt(offset + field);
+			String[] names = new String[buffer.getInt(position)];
+			for (int i = 0; i < names.length; i++)
+				names[i] = readString(buffer.getInt(position + 4 + i * 12 + 8));
+			return names;
+		}
+
+		@Override
+		public String toString() {
+			return "Entry [id=" + getId() + ", name=" + getName() + "]";
+		}
+
+	}
+
+	/**
+	 * Sammelt die Abschnitte eines Katalogs, bevor dieser geschrieben wird.
+	 */
+	private static final class Writer {
+
+		private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+		private final ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+		private final ByteArrayOutputStream blobBytes = new ByteArrayOutputStream();
+		private final DataOutputStream records = new DataOutputStream(
+				recordBytes);
+		private final DataOutputStream strings = new DataOutputStream(
+				stringBytes);
+		private final DataOutputStream blobs = new DataOutputStream(
+				blobBytes);
+		/**
+		 * Die Verweise auf die bereits gespeicherten Texte.
+		 */
+		private final Map<String, Integer> stringRefs = new HashMap<>();
+		private final Set<Long> ids = new HashSet<>();
+		private long[] index = new long[16];
+		private int size;
+		private long highWaterMark = NULL_TIME;
+		private long creationTime = System.currentTimeMillis();
+
+		void add(Project project) {
+			Hashtag[] hashtags = project.getHashtags() == null
+					? new Hashtag[0]
+					: project.getHashtags();
+			Image[] images = project.getImages() == null ? new Image[0]
+					: project.getImages();
+			User author = project.getAuthor();
+			add(project.getId(), getTime(project.getCreationDate()),
+					getTime(project.getLastUpdateDate()),
+					author == null ? -1 : author.getId(),
+					project.getTeam() == null ? -1
+							: project.getTeam().getId(),
+					project.getRating(), project.getName(),
+					project.getVersion(), project.getAdvertisement(),
+					author == null ? null : author.getName(),
+					project.getDescriptionText(),
+					Arrays.stream(hashtags).mapToLong(Hashtag::getId)
+							.toArray(),
+					Arrays.stream(hashtags).map(Hashtag::getName)
+							.toArray(String[]::new),
+					Arrays.stream(images).mapToLong(Image::getId).toArray(),
+					Arrays.stream(images).map(Image::getFileName)
+							.toArray(String[]::new));
+		}
+
+		/**
+		 * Übernimmt einen Eintrag aus einem bestehenden Katalog.
+		 */
+		void add(Entry entry) {
+			add(entry.getId(), entry.getTime(CREATION_DATE),
+					entry.getTime(LAST_UPDATE_DATE), entry.getAuthorId(),
+					entry.getTeamId(), entry.getRating(), entry.getName(),
+					entry.getVersion(), entry.getAdvertisement(),
+					entry.getAuthorName(), entry.getDescriptionText(),
+					entry.getHashtagIds(), entry.getHashtagNames(),
+					entry.getImageIds(), entry.getImageFileNames());
+		}
+
+		private void add(long id, long creationDate, long lastUpdateDate,
+				long authorId, long teamId, int rating, String name,
+				String version, String advertisement, String authorName,
+				String description, long[] hashtagIds,
+				String[] hashtagNames, long[] imageIds,
+				String[] imageFileNames) {
+			if (!ids.add(id))
+				return;
+			try {
+				records.writeLong(id);
+				records.writeLong(creationDate);
+				records.writeLong(lastUpdateDate);
+				records.writeLong(authorId);
+				records.writeLong(teamId);
+				records.writeInt(rating);
+				records.writeInt(addString(name));
+				records.writeInt(addString(version));
+				records.writeInt(addString(advertisement));
+				records.writeInt(addString(authorName));
+				records.writeInt(addBlob(description));
+				records.writeInt(addList(hashtagIds, hashtagNames));
+				records.writeInt(addList(imageIds, imageFileNames));
+			} catch (IOException e) {
+				// Wird von ByteArrayOutputStream nicht geworfen
+				throw new UncheckedIOException(e);
+			}
+
+			if (size == index.length)
+				index = Arrays.copyOf(index, size * 2);
+			index[size++] = id;
+			highWaterMark = Math.max(highWaterMark, lastUpdateDate);
+		}
+
+		static long getTime(Timestamp timestamp) {
+			return timestamp == null ? NULL_TIME : timestamp.getTime();
+		}
+
+		private int addString(String s) throws IOException {
+			if (s == null)
+				return NULL_REF;
+			Integer ref = stringRefs.get(s);
+			if (ref == null) {
+				ref = strings.size();
+				writeUtf8(strings, s);
+				stringRefs.put(s, ref);
+			}
+			return ref;
+		}
+
+		private int addBlob(String s) throws IOException {
+			if (s == null)
+				return NULL_REF;
+			int ref = blobs.size();
+			writeUtf8(blobs, s);
+			return ref;
+		}
+
+		/**
+		 * Speichert die IDs und Namen von Bildern bzw. Hashtags.
+		 */
+		private int addList(long[] ids, String[] names) throws IOException {
+			int ref = blobs.size();
+			blobs.writeInt(ids.length);
+			for (int i = 0; i < ids.length; i++) {
+				blobs.writeLong(ids[i]);
+				blobs.writeInt(addString(names[i]));
+			}
+			return ref;
+		}
+
+		private static void writeUtf8(DataOutputStream out, String s)
+				throws IOException {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		/**
+		 * Schreibt den Katalog zunächst in eine temporäre Datei, damit die
+		 * bestehende Datei erst ersetzt wird, wenn der Katalog vollständig
+		 * ist.
+		 */
+		void writeTo(Path file) throws IOException {
+			deleteRetired(file);
+			Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+			try (OutputStream out = new BufferedOutputStream(
+					Files.newOutputStream(temp))) {
+				writeTo(out);
+			}
+			try {
+				ReleaseDownloader.move(temp, file);
+			} catch (FileSystemException e) {
+				if (!Files.exists(file))
+					throw e;
+				// Unter Windows noch gemappt; umbenennen ist aber möglich
+				Files.move(file, file.resolveSibling(file.getFileName() + "."
+						+ System.nanoTime() + RETIRED_SUFFIX));
+				ReleaseDownloader.move(temp, file);
+			}
+		}
+
+		/**
+		 * Löscht die Dateien, die beim Ersetzen umbenannt wurden, sobald sie
+		 * nicht mehr gemappt sind.
+		 */
+		private static void deleteRetired(Path file) throws IOException {
+			String prefix = file.getFileName() + ".";
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+					file.toAbsolutePath().getParent(), f -> {
+						String name = f.getFileName().toString();
+						return name.startsWith(prefix)
+								&& name.endsWith(RETIRED_SUFFIX);
+					})) {
+				for (Path retired : stream) {
+					try {
+						Files.delete(retired);
+					} catch (IOException e) {
+						// Noch gemappt; wird beim nächsten Mal gelöscht
+					}
+				}
+			}
+		}
+
+		private void writeTo(OutputStream stream) throws IOException {
+			long indexOffset = HEADER_SIZE + (long) size * RECORD_SIZE;
+			long stringsOffset = indexOffset
+					+ (long) size * INDEX_ENTRY_SIZE;
+			long blobsOffset = stringsOffset + stringBytes.size();
+			if (blobsOffset + blobBytes.size() > Integer.MAX_VALUE)
+				throw new IOException("Der Katalog ist zu groß");
+
+			DataOutputStream out = new DataOutputStream(stream);
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(size);
+			out.writeInt(RECORD_SIZE);
+			out.writeLong(creationTime);
+			out.writeLong(highWaterMark);
+			out.writeLong(indexOffset);
+			out.writeLong(stringsOffset);
+			out.writeLong(blobsOffset);
+			recordBytes.writeTo(out);
+
+			// Der Index enthält Paare aus ID und Position, sortiert nach ID
+			Integer[] positions = new Integer[size];
+			for (int i = 0; i < size; i++)
+				positions[i] = i;
+			Arrays.sort(positions, Comparator.comparingLong(i -> index[i]));
+			for (int position : positions) {
+				out.writeLong(index[position]);
+				out.writeInt(position);
+			}
+
+			stringBytes.writeTo(out);
+			blobBytes.writeTo(out);
+			out.flush();
+		}
+
+	}
+
+}
@@ -0,0 +1,129 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Begrenzt die Anfragen eines Clients über {@link RateLimiter}.
+ * <p>
+ * Vor jeder Anfrage wird eine Erlaubnis vom globalen Limit und vom Limit der
+ * jeweiligen {@linkplain EndpointFamily Gruppe} eingeholt; der Thread
+ * blockiert, bis diese verfügbar sind. Antwortet Pewn mit dem Status-Code
+ * 429 (bzw. 503 mit <code>Retry-After</code>-Header), werden die Limits
+ * gedrosselt und die Anfrage bis zu {@value #MAX_THROTTLED_RETRIES} Mal
+ * wiederholt. Da Pewn solche Anfragen nicht bearbeitet hat, ist dies auch
+ * für Anfragen zulässig, die keine GET-Anfragen sind.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+class RateLimitInterceptor implements Interceptor {
+
+	static final int MAX_THROTTLED_RETRIES = 3;
+	/**
+	 * Die Pause in Millisekunden, wenn Pewn keinen
+	 * <code>Retry-After</code>-Header sendet.
+	 */
+	private static final long DEFAULT_RETRY_AFTER_MILLIS = 1000;
+
+	private final RateLimiter globalLimiter;
+	private final Map<EndpointFamily, RateLimiter> familyLimiters;
+
+	/**
+	 * @param globalLimiter
+	 *            Das Limit für alle Anfragen; kann <code>null</code> sein.
+	 * @param familyLimiters
+	 *            Die Limits für die einzelnen Gruppen.
+	 */
+	RateLimitInterceptor(RateLimiter globalLimiter,
+			Map<EndpointFamily, RateLimiter> familyLimiters) {
+		this.globalLimiter = globalLimiter;
+		this.familyLimiters = familyLimiters;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		RateLimiter familyLimiter = familyLimiters
+				.get(EndpointFamily.of(request.url()));
+
+		for (int attempt = 0;; attempt++) {
+			acquire(globalLimiter);
+			acquire(familyLimiter);
+
+			Response response = chain.proceed(request);
+			long retryAfterMillis = getRetryAfterMillis(response);
+			if (retryAfterMillis < 0) {
+				if (globalLimiter != null)
+					globalLimiter.onSuccess();
+				if (familyLimiter != null)
+					familyLimiter.onSuccess();
+				return response;
+			}
+
+			if (globalLimiter != null)
+				globalLimiter.throttle(retryAfterMillis,
+						TimeUnit.MILLISECONDS);
+			if (familyLimiter != null)
+				familyLimiter.throttle(retryAfterMillis,
+						TimeUnit.MILLISECONDS);
+
+			if (attempt >= MAX_THROTTLED_RETRIES)
+				return response;
+			response.close();
+		}
+	}
+
+	private static void acquire(RateLimiter limiter)
+			throws InterruptedIOException {
+		if (limiter == null)
+			return;
+		try {
+			limiter.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+	}
+
+	/**
+	 * @return Die Zeit in Millisekunden, die Pewn zu warten bittet;
+	 *         <code>-1</code>, wenn keine Überlastung gemeldet wurde.
+	 */
+	static long getRetryAfterMillis(Response response) {
+		String retryAfter = response.header("Retry-After");
+		if (response.code() != 429
+				&& (response.code() != 503 || retryAfter == null))
+			return -1;
+		if (retryAfter == null)
+			return DEFAULT_RETRY_AFTER_MILLIS;
+
+		retryAfter = retryAfter.trim();
+		try {
+			return Math.max(0,
+					TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter)));
+		} catch (NumberFormatException e) {
+			// Kann auch ein Datum sein
+		}
+		try {
+			ZonedDateTime date = ZonedDateTime.parse(retryAfter,
+					DateTimeFormatter.RFC_1123_DATE_TIME);
+			return Math.max(0, Duration
+					.between(ZonedDateTime.now(date.getZone()), date)
+					.toMillis());
+		} catch (DateTimeParseException e) {
+			return DEFAULT_RETRY_AFTER_MILLIS;
+		}
+	}
+
+}
@@ -0,0 +1,226 @@
+package de.damios.jpapi.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Begrenzt die Anzahl der Anfragen pro Sekunde nach dem
+ * Token-Bucket-Verfahren.
+ * <p>
+ * Es stehen bis zu <code>burst</code> Erlaubnisse auf einmal zur Verfügung,
+ * die mit der festgelegten Rate nachgefüllt werden. Ist keine Erlaubnis
+ * vorhanden, blockiert {@link #acquire()}, bis die nächste verfügbar ist;
+ * die Erlaubnisse werden dabei in der Reihenfolge der Anfragen vergeben.
+ * <p>
+ * Meldet Pewn eine Überlastung ({@link #throttle(long, TimeUnit)}), wird die
+ * Rate halbiert und es werden für die angegebene Zeit keine Erlaubnisse
+ * vergeben. Danach steigt die Rate mit jeder erfolgreichen Anfrage langsam
+ * wieder an, jedoch höchstens bis knapp unter die Rate, bei der die
+ * Überlastung auftrat. So pendelt sich die Rate unterhalb der Grenze ein,
+ * statt diese immer wieder zu überschreiten. Nach
+ * {@value #CEILING_RESET_SECONDS} Sekunden ohne Überlastung wird diese
+ * Obergrenze wieder aufgehoben.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient.Builder#rateLimit(double, int)
+ */
+public class RateLimiter {
+
+	/**
+	 * Der Faktor, um den die Rate bei einer Überlastung verringert wird.
+	 */
+	private static final double DECREASE_FACTOR = 0.5;
+	/**
+	 * Der Anteil der maximalen Rate, um den die Rate pro erfolgreicher
+	 * Anfrage steigt.
+	 */
+	private static final double INCREASE_STEP = 0.01;
+	/**
+	 * Der Anteil der Rate bei der letzten Überlastung, bis zu dem die Rate
+	 * wieder steigt.
+	 */
+	private static final double CEILING_FACTOR = 0.9;
+	/**
+	 * Die Zeit in Sekunden, nach der die Obergrenze aus der letzten
+	 * Überlastung aufgehoben wird ({@value}).
+	 */
+	public static final long CEILING_RESET_SECONDS = 300;
+	private static final long CEILING_RESET_NANOS = TimeUnit.SECONDS
+			.toNanos(CEILING_RESET_SECONDS);
+
+	/**
+	 * Liefert die aktuelle Zeit in Nanosekunden.
+	 */
+	private final LongSupplier clock;
+	private final double maxRate;
+	private final double minRate;
+	private final int burst;
+
+	/**
+	 * Die aktuelle Rate in Erlaubnissen pro Nanosekunde.
+	 */
+	private double rate;
+	/**
+	 * Die Rate, bis zu der nach einer Überlastung wieder erhöht wird.
+	 */
+	private double ceiling;
+	private long throttledAt;
+	/**
+	 * Die verfügbaren Erlaubnisse; negativ, wenn bereits Erlaubnisse für die
+	 * Zukunft vergeben wurden.
+	 */
+	private double permits;
+	/**
+	 * Der Zeitpunkt, bis zu dem die Erlaubnisse nachgefüllt wurden. Liegt
+	 * während einer Pause in der Zukunft.
+	 */
+	private long refilledAt;
+
+	private long throttleCount;
+
+	/**
+	 * @param permitsPerSecond
+	 *            Die maximale Anzahl an Anfragen pro Sekunde.
+	 * @param burst
+	 *            Die Anzahl an Anfragen, die auf einmal gestellt werden
+	 *            dürfen.
+	 */
+	public RateLimiter(double permitsPerSecond, int burst) {
+		this(permitsPerSecond, burst, System::nanoTime);
+	}
+
+	/**
+	 * @param permitsPerSecond
+	 *            Die maximale Anzahl an Anfragen pro Sekunde.
+	 * @param burst
+	 *            Die Anzahl an Anfragen, die auf einmal gestellt werden
+	 *            dürfen.
+	 * @param clock
+	 *            Liefert die aktuelle Zeit in Nanosekunden.
+	 */
+	RateLimiter(double permitsPerSecond, int burst, LongSupplier clock) {
+		if (!(permitsPerSecond > 0))
+			throw new IllegalArgumentException("Die Rate muss positiv sein");
+		if (burst <= 0)
+			throw new IllegalArgumentException(
+					"Die Anzahl an Anfragen muss positiv sein");
+
+		this.clock = clock;
+		this.maxRate = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.minRate = maxRate / 64;
+		this.burst = burst;
+		this.rate = maxRate;
+		this.ceiling = maxRate;
+		this.permits = burst;
+		this.refilledAt = clock.getAsLong();
+	}
+
+	/**
+	 * Wartet, bis eine Erlaubnis verfügbar ist, und verbraucht diese.
+	 *
+	 * @throws InterruptedException
+	 *             wenn der Thread beim Warten unterbrochen wird.
+	 */
+	public void acquire() throws InterruptedException {
+		long waitNanos = reserve();
+		if (waitNanos > 0)
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+	}
+
+	/**
+	 * Reserviert eine Erlaubnis.
+	 *
+	 * @return Die Zeit in Nanosekunden, bis die Erlaubnis gültig ist.
+	 */
+	synchronized long reserve() {
+		long now = clock.getAsLong();
+		refill(now);
+		permits -= 1;
+
+		long waitNanos = Math.max(0, refilledAt - now);
+		if (permits < 0)
+			waitNanos += (long) (-permits / rate);
+		return waitNanos;
+	}
+
+	/**
+	 * Wird aufgerufen, nachdem eine Anfrage ohne Überlastung beantwortet
+	 * wurde. Erhöht die Rate schrittweise wieder.
+	 */
+	public synchronized void onSuccess() {
+		long now = clock.getAsLong();
+		if (ceiling < maxRate && now - throttledAt > CEILING_RESET_NANOS)
+			ceiling = maxRate;
+		if (rate < ceiling) {
+			refill(now);
+			rate = Math.min(ceiling, rate + maxRate * INCREASE_STEP);
+		}
+	}
+
+	/**
+	 * Wird aufgerufen, wenn Pewn eine Überlastung meldet (Status-Code 429).
+	 * Verringert die Rate und vergibt für die angegebene Zeit keine
+	 * Erlaubnisse.
+	 *
+	 * @param pause
+	 *            Die Zeit, die gewartet werden soll, z.B. aus dem
+	 *            <code>Retry-After</code>-Header.
+	 * @param unit
+	 *            Die Einheit der Zeitangabe.
+	 */
+	public synchronized void throttle(long pause, TimeUnit unit) {
+		long now = clock.getAsLong();
+		refill(now);
+
+		// Gleichzeitig abgewiesene Anfragen verringern die Rate nur einmal
+		if (now - throttledAt > TimeUnit.SECONDS.toNanos(1)
+				|| throttleCount == 0) {
+			ceiling = Math.max(minRate, rate * CEILING_FACTOR);
+			rate = Math.max(minRate, rate * DECREASE_FACTOR);
+		}
+		throttledAt = now;
+		throttleCount++;
+
+		permits = Math.min(permits, 0);
+		refilledAt = Math.max(refilledAt, now + unit.toNanos(pause));
+	}
+
+	private void refill(long now) {
+		long elapsed = now - refilledAt;
+		if (elapsed > 0) {
+			permits = Math.min(burst, permits + elapsed * rate);
+			refilledAt = now;
+		}
+	}
+
+	/**
+	 * @return Liefert die aktuelle Rate in Anfragen pro Sekunde.
+	 */
+	public synchronized double getRate() {
+		return rate * TimeUnit.SECONDS.toNanos(1);
+	}
+
+	/**
+	 * @return Liefert die maximale Rate in Anfragen pro Sekunde.
+	 */
+	public double getMaxRate() {
+		return maxRate * TimeUnit.SECONDS.toNanos(1);
+	}
+
+	/**
+	 * @return Liefert die Anzahl an Anfragen, die auf einmal gestellt werden
+	 *         dürfen.
+	 */
+	public int getBurst() {
+		return burst;
+	}
+
+	/**
+	 * @return Liefert, wie oft Pewn bisher eine Überlastung gemeldet hat.
+	 */
+	public synchronized long getThrottleCount() {
+		return throttleCount;
+	}
+
+}
@@ -0,0 +1,650 @@
+package de.damios.jpapi.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.damios.jpapi.exception.JpapiInternalException;
+import de.damios.jpapi.model.Download;
+import de.damios.jpapi.model.Release;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSource;
+
+/**
+ * Lädt die Dateien von {@linkplain Release#getDownloads() Releases} über
+ * mehrere gleichzeitige HTTP-Range-Anfragen herunter.
+ * <p>
+ * Die Weiterleitung der {@linkplain PewnClient#getDownloadUrl(Download)
+ * Download-Adresse} wird einmal zu Beginn aufgelöst. Danach wird die Datei
+ * in Abschnitte aufgeteilt, die gleichzeitig heruntergeladen und direkt an
+ * ihre Position in einer vorab angelegten Datei geschrieben werden.
+ * <p>
+ * Bis zum Abschluss wird in die Datei <code>&lt;Ziel&gt;.part</code>
+ * geschrieben; welche Abschnitte bereits vollständig sind, wird in
+ * <code>&lt;Ziel&gt;.part.state</code> festgehalten. Schlägt das
+ * Herunterladen fehl oder wird der Prozess beendet, wird beim nächsten
+ * Aufruf mit demselben Ziel an dieser Stelle fortgesetzt, sofern sich die
+ * Datei auf dem Server nicht geändert hat (<code>ETag</code> bzw.
+ * <code>Last-Modified</code>). Zum Schluss werden Länge und optional die
+ * SHA-256-Prüfsumme überprüft und die Datei umbenannt.
+ * <p>
+ * Unterstützt der Server keine Range-Anfragen, wird die Datei über eine
+ * einzelne Anfrage heruntergeladen; ein Fortsetzen ist dann nicht möglich.
+ *
+ * <pre>
+ * ReleaseDownloader downloader = new ReleaseDownloader(client, 4,
+ * 		8 * 1024 * 1024, 10 * 1024 * 1024);
+ * downloader.download(release.getDownloads()[0], Paths.get("game.zip"));
+ * </pre>
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public class ReleaseDownloader {
+
+	/**
+	 * Die standardmäßige Größe der Abschnitte in Byte ({@value}).
+	 */
+	public static final long DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+	/**
+	 * Die standardmäßige Anzahl gleichzeitiger Anfragen ({@value}).
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+	/**
+	 * Die Anzahl der Wiederholungen pro Abschnitt.
+	 */
+	private static final int MAX_RETRIES = 3;
+	/**
+	 * Die Größe der Blöcke, in denen gelesen wird; entspricht einer
+	 * Erlaubnis des {@link RateLimiter}s für die Bandbreite.
+	 */
+	private static final int BLOCK_SIZE = 16 * 1024;
+	private static final String PART_SUFFIX = ".part";
+	private static final String STATE_SUFFIX = ".part.state";
+	private static final Pattern CONTENT_RANGE = Pattern
+			.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+	private final PewnClient client;
+	private final int parallelism;
+	private final long chunkSize;
+	/**
+	 * Begrenzt die Bandbreite; <code>null</code>, wenn diese unbegrenzt ist.
+	 */
+	private final RateLimiter bandwidth;
+
+	/**
+	 * Erstellt einen Downloader mit {@value #DEFAULT_PARALLELISM}
+	 * gleichzeitigen Anfragen, Abschnitten von 8 MB und unbegrenzter
+	 * Bandbreite.
+	 *
+	 * @param client
+	 *            Der Client, über den die Anfragen gestellt werden.
+	 */
+	public ReleaseDownloader(PewnClient client) {
+		this(client, DEFAULT_PARALLELISM, DEFAULT_CHUNK_SIZE, -1);
+	}
+
+	/**
+	 * @param client
+	 *            Der Client, über den die Anfragen gestellt werden.
+	 * @param parallelism
+	 *            Die Anzahl gleichzeitiger Anfragen pro Datei.
+	 * @param chunkSize
+	 *            Die Größe der Abschnitte in Byte. Wird beim Fortsetzen die
+	 *            Größe geändert, wird von vorne begonnen.
+	 * @param maxBytesPerSecond
+	 *            Die maximale Bandbreite für alle Downloads dieses
+	 *            Downloaders in Byte pro Sekunde; <code>-1</code>, wenn diese
+	 *            unbegrenzt ist.
+	 */
+	public ReleaseDownloader(PewnClient client, int parallelism,
+			long chunkSize, long maxBytesPerSecond) {
+		if (parallelism <= 0)
+			throw new IllegalArgumentException(
+					"Die Anzahl gleichzeitiger Anfragen muss positiv sein");
+		if (chunkSize < BLOCK_SIZE)
+			throw new IllegalArgumentException(
+					"Die Abschnitte müssen mindestens " + BLOCK_SIZE
+							+ " Byte groß sein");
+		if (maxBytesPerSecond == 0 || maxBytesPerSecond < -1)
+			throw new IllegalArgumentException(
+					"Die Bandbreite muss positiv oder -1 sein");
+
+		this.client = Objects.requireNonNull(client);
+		this.parallelism = parallelism;
+		this.chunkSize = chunkSize;
+		if (maxBytesPerSecond > 0) {
+			// Erlaubt Schwankungen von bis zu einer Sekunde
+			double blocksPerSecond = (double) maxBytesPerSecond / BLOCK_SIZE;
+			this.bandwidth = new RateLimiter(blocksPerSecond,
+					(int) Math.max(1, Math.min(Integer.MAX_VALUE,
+							blocksPerSecond)));
+		} else
+			this.bandwidth = null;
+	}
+
+	/**
+	 * Lädt die Datei eines Downloads herunter bzw. setzt einen
+	 * unterbrochenen Download fort.
+	 *
+	 * @param download
+	 *            Der Download.
+	 * @param target
+	 *            Die Datei, in die geschrieben wird. Eine bestehende Datei
+	 *            wird überschrieben.
+	 * @return Das Ergebnis.
+	 * @throws IOException
+	 *             wenn ein Fehler bei einer Anfrage oder beim Schreiben der
+	 *             Datei auftritt. Der bisherige Fortschritt bleibt erhalten.
+	 */
+	public Result download(Download download, Path target) throws IOException {
+		return download(download, target, null);
+	}
+
+	/**
+	 * Lädt die Datei eines Downloads herunter bzw. setzt einen
+	 * unterbrochenen Download fort und überprüft deren Prüfsumme.
+	 *
+	 * @param download
+	 *            Der Download.
+	 * @param target
+	 *            Die Datei, in die geschrieben wird. Eine bestehende Datei
+	 *            wird überschrieben.
+	 * @param sha256
+	 *            Die erwartete SHA-256-Prüfsumme als Hex-String;
+	 *            <code>null</code>, wenn diese nicht überprüft werden soll.
+	 * @return Das Ergebnis.
+	 * @throws IOException
+	 *             wenn ein Fehler bei einer Anfrage oder beim Schreiben der
+	 *             Datei auftritt oder die Prüfsumme nicht übereinstimmt. Im
+	 *             letzten Fall wird der bisherige Fortschritt verworfen.
+	 */
+	public Result download(Download download, Path target, String sha256)
+			throws IOException {
+		Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+		Path statePath = target
+				.resolveSibling(target.getFileName() + STATE_SUFFIX);
+
+		Probe probe = probe(HttpUrl.get(client.getDownloadUrl(download)));
+		long resumed = 0;
+		if (probe.length < 0) {
+			// Keine Range-Anfragen möglich
+			Files.deleteIfExists(statePath);
+			writeAll(probe.url, part);
+		} else {
+			State state = State.load(statePath);
+			if (state != null && state.matches(probe, chunkSize)
+					&& Files.exists(part))
+				resumed = state.getCompletedBytes();
+			else {
+				state = new State(probe.length, chunkSize, probe.validator);
+				Files.deleteIfExists(part);
+			}
+			writeChunks(probe, part, state, statePath);
+		}
+
+		long length = Files.size(part);
+		if (probe.length >= 0 && length != probe.length)
+			throw new IOException("Die Datei ist " + length
+					+ " statt " + probe.length + " Byte groß");
+		String actual = getSha256(part);
+		if (sha256 != null && !sha256.equalsIgnoreCase(actual)) {
+			Files.deleteIfExists(part);
+			Files.deleteIfExists(statePath);
+			throw new IOException("Die Prüfsumme der Datei stimmt nicht "
+					+ "überein: " + actual + " statt " + sha256);
+		}
+
+		move(part, target);
+		Files.deleteIfExists(statePath);
+		return new Result(target, probe.url.toString(), length, actual,
+				resumed);
+	}
+
+	/**
+	 * Folgt der Weiterleitung und ermittelt, ob der Server Range-Anfragen
+	 * unterstützt. Dafür wird nur das erste Byte angefragt.
+	 */
+	private Probe probe(HttpUrl url) throws IOException {
+		Request request = new Request.Builder().url(url)
+				.header("Range", "bytes=0-0").build();
+		try (Response response = getHttpClient().newCall(request)
+				.execute()) {
+			if (!response.isSuccessful())
+				throw new IOException("Der Download ist nicht verfügbar: "
+						+ response.code());
+
+			HttpUrl resolved = response.request().url();
+			String validator = response.header("ETag");
+			if (validator == null)
+				validator = response.header("Last-Modified");
+			if (response.code() == 206) {
+				Matcher matcher = CONTENT_RANGE
+						.matcher(response.header("Content-Range", ""));
+				if (matcher.matches() && !"*".equals(matcher.group(3)))
+					return new Probe(resolved,
+							Long.parseLong(matcher.group(3)), validator);
+			}
+			return new Probe(resolved, -1, validator);
+		}
+	}
+
+	/**
+	 * Lädt die Datei über eine einzelne Anfrage herunter.
+	 */
+	private void writeAll(HttpUrl url, Path part) throws IOException {
+		Request request = new Request.Builder().url(url).build();
+		try (Response response = getHttpClient().newCall(request).execute();
+				FileChannel channel = FileChannel.open(part,
+						StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			if (!response.isSuccessful())
+				throw new IOException("Der Download ist nicht verfügbar: "
+						+ response.code());
+			copy(response.body().source(), channel, 0, Long.MAX_VALUE);
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Lädt alle noch fehlenden Abschnitte gleichzeitig herunter.
+	 */
+	private void writeChunks(Probe probe, Path part, State state,
+			Path statePath) throws IOException {
+		state.save(statePath);
+		try (FileChannel channel = FileChannel.open(part,
+				StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			// Legt die Datei in voller Größe an, damit alle Abschnitte direkt
+			// an ihre Position geschrieben werden können
+			if (channel.size() > probe.length)
+				channel.truncate(probe.length);
+			else if (channel.size() < probe.length)
+				channel.write(ByteBuffer.allocate(1), probe.length - 1);
+
+			ExecutorService executor = Executors
+					.newFixedThreadPool(parallelism, r -> {
+						Thread t = new Thread(r, "jpapi-release-download");
+						t.setDaemon(true);
+						return t;
+					});
+			try {
+				List<Future<?>> futures = new ArrayList<>();
+				for (int chunk : state.getMissingChunks())
+					futures.add(executor.submit(() -> {
+						writeChunk(probe, channel, chunk);
+						// Ein Abschnitt darf erst als vollständig vermerkt
+						// werden, wenn seine Daten auf dem Datenträger sind
+						channel.force(false);
+						state.complete(chunk);
+						state.save(statePath);
+						return null;
+					}));
+				for (Future<?> future : futures)
+					future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(
+						"Der Download wurde unterbrochen");
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException)
+					throw (IOException) cause;
+				throw new JpapiInternalException(cause);
+			} finally {
+				executor.shutdownNow();
+			}
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Lädt einen Abschnitt herunter. Schlägt eine Anfrage fehl, wird an der
+	 * zuletzt geschriebenen Position fortgesetzt. Der Abschnitt wird hier
+	 * noch nicht als vollständig vermerkt.
+	 */
+	private void writeChunk(Probe probe, FileChannel channel, int chunk)
+			throws IOException {
+		long position = chunk * chunkSize;
+		long end = Math.min(position + chunkSize, probe.length) - 1;
+
+		for (int attempt = 0;; attempt++) {
+			Request.Builder request = new Request.Builder().url(probe.url)
+					.header("Range", "bytes=" + position + "-" + end);
+			if (probe.validator != null)
+				request.header("If-Range", probe.validator);
+			try (Response response = getHttpClient()
+					.newCall(request.build()).execute()) {
+				if (response.code() != 206)
+					throw new IOException(
+							"Der Server hat den Abschnitt nicht geliefert: "
+									+ response.code());
+				Matcher matcher = CONTENT_RANGE
+						.matcher(response.header("Content-Range", ""));
+				if (!matcher.matches()
+						|| Long.parseLong(matcher.group(1)) != position)
+					throw new IOException("Ungültiger Abschnitt: "
+							+ response.header("Content-Range"));
+
+				position += copy(response.body().source(), channel, position,
+						end - position + 1);
+				if (position <= end)
+					throw new EOFException("Der Abschnitt ist unvollständig");
+				return;
+			} catch (InterruptedIOException e) {
+				throw e;
+			} catch (IOException e) {
+				if (attempt >= MAX_RETRIES)
+					throw e;
+				sleep(100L << attempt);
+			}
+		}
+	}
+
+	/**
+	 * Schreibt den Inhalt einer Antwort an eine Position der Datei.
+	 * <p>
+	 * Da eine Erlaubnis der Bandbreite für {@value #BLOCK_SIZE} Byte steht,
+	 * wird jeder Block vollständig gefüllt, bevor er geschrieben wird; okio
+	 * liefert pro Aufruf von {@link BufferedSource#read(ByteBuffer)} unter
+	 * Umständen deutlich weniger.
+	 *
+	 * @return Die Anzahl an geschriebenen Bytes. Kann bei einem Fehler
+	 *         geringer sein; die bis dahin gelesenen Bytes sind dann bereits
+	 *         geschrieben.
+	 */
+	private long copy(BufferedSource source, FileChannel channel,
+			long position, long count) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+		long written = 0;
+		while (written < count) {
+			if (bandwidth != null) {
+				try {
+					bandwidth.acquire();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException(
+							"Der Download wurde unterbrochen");
+				}
+			}
+			buffer.clear();
+			buffer.limit((int) Math.min(BLOCK_SIZE, count - written));
+			boolean eof = false;
+			while (buffer.hasRemaining() && !eof)
+				eof = source.read(buffer) < 0;
+			buffer.flip();
+			while (buffer.hasRemaining())
+				written += channel.write(buffer, position + written);
+			if (eof)
+				break;
+		}
+		return written;
+	}
+
+	private OkHttpClient getHttpClient() {
+		return client.getHttpClient();
+	}
+
+	private static String getSha256(Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Muss von jeder Java-Plattform unterstützt werden
+			throw new JpapiInternalException(e);
+		}
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest())
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+					.append(Character.forDigit(b & 0xF, 16));
+		return hex.toString();
+	}
+
+	static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void sleep(long millis) throws InterruptedIOException {
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(
+					"Der Download wurde unterbrochen");
+		}
+	}
+
+	/**
+	 * Das Ergebnis eines Downloads.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	public static class Result {
+
+		private final Path file;
+		private final String url;
+		private final long length;
+		private final String sha256;
+		private final long resumedBytes;
+
+		Result(Path file, String url, long length, String sha256,
+				long resumedBytes) {
+			this.file = file;
+			this.url = url;
+			this.length = length;
+			this.sha256 = sha256;
+			this.resumedBytes = resumedBytes;
+		}
+
+		/**
+		 * @return Liefert die heruntergeladene Datei.
+		 */
+		public Path getFile() {
+			return file;
+		}
+
+		/**
+		 * @return Liefert die Adresse, auf die der Download weitergeleitet
+		 *         hat.
+		 */
+		public String getUrl() {
+			return url;
+		}
+
+		/**
+		 * @return Liefert die Größe der Datei in Byte.
+		 */
+		public long getLength() {
+			return length;
+		}
+
+		/**
+		 * @return Liefert die SHA-256-Prüfsumme der Datei als Hex-String.
+		 */
+		public String getSha256() {
+			return sha256;
+		}
+
+		/**
+		 * @return Liefert die Anzahl an Bytes, die bereits bei einem
+		 *         vorherigen Versuch heruntergeladen wurden.
+		 */
+		public long getResumedBytes() {
+			return resumedBytes;
+		}
+
+		@Override
+		public String toString() {
+			return "Result [file=" + file + ", url=" + url + ", length="
+					+ length + ", sha256=" + sha256 + ", resumedBytes="
+					+ resumedBytes + "]";
+		}
+
+	}
+
+	/**
+	 * Die Eigenschaften der Datei auf dem Server.
+	 */
+	private static final class Probe {
+		final HttpUrl url;
+		/**
+		 * Die Größe der Datei; <code>-1</code>, wenn keine Range-Anfragen
+		 * unterstützt werden.
+		 */
+		final long length;
+		/**
+		 * Der <code>ETag</code> bzw. das Datum der letzten Änderung;
+		 * <code>null</code>, wenn keines von beiden bekannt ist.
+		 */
+		final String validator;
+
+		Probe(HttpUrl url, long length, String validator) {
+			this.url = url;
+			this.length = length;
+			this.validator = validator;
+		}
+	}
+
+	/**
+	 * Der Fortschritt eines Downloads, der in einer Datei neben dem Ziel
+	 * gespeichert wird.
+	 */
+	private static final class State {
+		final long length;
+		final long chunkSize;
+		final String validator;
+		final BitSet completed;
+
+		State(long length, long chunkSize, String validator) {
+			this(length, chunkSize, validator, new BitSet());
+		}
+
+		private State(long length, long chunkSize, String validator,
+				BitSet completed) {
+			this.length = length;
+			this.chunkSize = chunkSize;
+			this.validator = validator;
+			this.completed = completed;
+		}
+
+		/**
+		 * @return Der gespeicherte Fortschritt; <code>null</code>, wenn
+		 *         keiner vorhanden oder dieser nicht lesbar ist.
+		 */
+		static State load(Path path) throws IOException {
+			Properties properties = new Properties();
+			try (InputStream in = Files.newInputStream(path)) {
+				properties.load(in);
+			} catch (NoSuchFileException e) {
+				return null;
+			}
+			try {
+				return new State(
+						Long.parseLong(properties.getProperty("length")),
+						Long.parseLong(properties.getProperty("chunkSize")),
+						properties.getProperty("validator"),
+						BitSet.valueOf(Base64.getDecoder().decode(
+								properties.getProperty("completed"))));
+			} catch (RuntimeException e) {
+				return null;
+			}
+		}
+
+		boolean matches(Probe probe, long chunkSize) {
+			// Ohne Validator kann eine Änderung nicht erkannt werden
+			return validator != null && validator.equals(probe.validator)
+					&& length == probe.length && this.chunkSize == chunkSize;
+		}
+
+		int getChunkCount() {
+			return (int) ((length + chunkSize - 1) / chunkSize);
+		}
+
+		synchronized List<Integer> getMissingChunks() {
+			List<Integer> missing = new ArrayList<>();
+			int count = getChunkCount();
+			for (int i = completed.nextClearBit(0); i < count; i = completed
+					.nextClearBit(i + 1))
+				missing.add(i);
+			return missing;
+		}
+
+		synchronized long getCompletedBytes() {
+			long bytes = 0;
+			int count = getChunkCount();
+			for (int i = completed.nextSetBit(0); i >= 0
+					&& i < count; i = completed.nextSetBit(i + 1))
+				bytes += Math.min(chunkSize, length - i * chunkSize);
+			return bytes;
+		}
+
+		synchronized void complete(int chunk) {
+			completed.set(chunk);
+		}
+
+		/**
+		 * Speichert den Fortschritt. Es wird zunächst in eine temporäre
+		 * Datei geschrieben, damit nach einem Absturz kein unvollständiger
+		 * Fortschritt gelesen wird.
+		 */
+		synchronized void save(Path path) throws IOException {
+			Properties properties = new Properties();
+			properties.setProperty("length", Long.toString(length));
+			properties.setProperty("chunkSize", Long.toString(chunkSize));
+			if (validator != null)
+				properties.setProperty("validator", validator);
+			properties.setProperty("completed", Base64.getEncoder()
+					.encodeToString(completed.toByteArray()));
+
+			Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				properties.store(out, null);
+			}
+			move(temp, path);
+		}
+	}
+
+}
@@ -0,0 +1,463 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import de.damios.jpapi.exception.JpapiInternalException;
+import de.damios.jpapi.model.Download;
+import de.damios.jpapi.model.Release;
+
+/**
+ * Spiegelt die Dateien von {@linkplain Release#getDownloads() Releases} in
+ * ein lokales Verzeichnis, z.B. um sie ohne Internetverbindung verteilen zu
+ * können.
+ * <p>
+ * Die Dateien werden nach ihrer SHA-256-Prüfsumme unter
+ * <code>objects/</code> abgelegt, sodass Dateien, die zu mehreren Releases
+ * bzw. Plattformen gehören, nur einmal gespeichert werden. Unter
+ * <code>files/&lt;Release-ID&gt;/</code> wird für jeden Download ein
+ * Hard-Link auf die entsprechende Datei angelegt. Unterstützt das
+ * Dateisystem keine Hard-Links, wird der Download nur im Index
+ * referenziert; {@link #getFile(Download)} liefert dann die Datei unter
+ * <code>objects/</code>.
+ * <p>
+ * Die Downloads eines Releases werden nur erneut heruntergeladen, wenn sich
+ * dessen {@linkplain Release#getLastUpdateDate() Änderungsdatum} geändert
+ * hat oder eine Datei fehlt. Unterbrochene Downloads werden über den
+ * {@link ReleaseDownloader} fortgesetzt.
+ *
+ * <pre>
+ * ReleaseMirror mirror = new ReleaseMirror(client, Paths.get("mirror"));
+ * ReleaseMirror.Result result = mirror
+ * 		.sync(client.getReleasesByProjectId(8568));
+ * </pre>
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public class ReleaseMirror {
+
+	/**
+	 * Die standardmäßige Anzahl gleichzeitig heruntergeladener Dateien
+	 * ({@value}).
+	 */
+	public static final int DEFAULT_PARALLELISM = 2;
+	private static final String INDEX_FILE = "mirror.properties";
+	private static final String RELEASE_PREFIX = "release.";
+	private static final String DOWNLOAD_PREFIX = "download.";
+
+	private final ReleaseDownloader downloader;
+	private final int parallelism;
+	private final Path objects, files, tmp, indexPath;
+	/**
+	 * Die Änderungsdaten der gespiegelten Releases und die Prüfsummen der
+	 * gespiegelten Downloads.
+	 */
+	private final Properties index = new Properties();
+
+	/**
+	 * Erstellt einen Spiegel, der {@value #DEFAULT_PARALLELISM} Dateien
+	 * gleichzeitig über einen
+	 * {@linkplain ReleaseDownloader#ReleaseDownloader(PewnClient) Downloader
+	 * mit Standardeinstellungen} herunterlädt.
+	 *
+	 * @param client
+	 *            Der Client, über den die Anfragen gestellt werden.
+	 * @param directory
+	 *            Das Verzeichnis des Spiegels.
+	 * @throws IOException
+	 *             wenn das Verzeichnis nicht angelegt oder der Index nicht
+	 *             gelesen werden kann.
+	 */
+	public ReleaseMirror(PewnClient client, Path directory)
+			throws IOException {
+		this(new ReleaseDownloader(client), directory, DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * @param downloader
+	 *            Der Downloader, über den die Dateien heruntergeladen
+	 *            werden.
+	 * @param directory
+	 *            Das Verzeichnis des Spiegels.
+	 * @param parallelism
+	 *            Die Anzahl gleichzeitig heruntergeladener Dateien.
+	 * @throws IOException
+	 *             wenn das Verzeichnis nicht angelegt oder der Index nicht
+	 *             gelesen werden kann.
+	 */
+	public ReleaseMirror(ReleaseDownloader downloader, Path directory,
+			int parallelism) throws IOException {
+		if (parallelism <= 0)
+			throw new IllegalArgumentException(
+					"Die Anzahl gleichzeitiger Downloads muss positiv sein");
+
+		this.downloader = Objects.requireNonNull(downloader);
+		this.parallelism = parallelism;
+		this.objects = directory.resolve("objects");
+		this.files = directory.resolve("files");
+		this.tmp = directory.resolve("tmp");
+		this.indexPath = directory.resolve(INDEX_FILE);
+		Files.createDirectories(objects);
+		Files.createDirectories(files);
+		Files.createDirectories(tmp);
+		try (InputStream in = Files.newInputStream(indexPath)) {
+			index.load(in);
+		} catch (NoSuchFileException e) {
+			// Neuer Spiegel
+		}
+	}
+
+	/**
+	 * Spiegelt die Downloads mehrerer Releases.
+	 *
+	 * @param releases
+	 *            Die Releases.
+	 * @return Das Ergebnis.
+	 * @throws IOException
+	 *             wenn der Index nicht geschrieben werden kann.
+	 * @see #sync(Collection)
+	 */
+	public Result sync(Release... releases) throws IOException {
+		return sync(Arrays.asList(releases));
+	}
+
+	/**
+	 * Spiegelt die Downloads mehrerer Releases. Releases, deren
+	 * Änderungsdatum sich seit dem letzten Aufruf nicht geändert hat und
+	 * deren Dateien vollständig vorhanden sind, werden übersprungen.
+	 * <p>
+	 * Schlägt das Herunterladen einer Datei fehl, werden die übrigen
+	 * Dateien trotzdem heruntergeladen; der Fehler wird im Ergebnis
+	 * gemeldet und das Release beim nächsten Aufruf erneut gespiegelt.
+	 *
+	 * @param releases
+	 *            Die Releases.
+	 * @return Das Ergebnis.
+	 * @throws IOException
+	 *             wenn der Index nicht geschrieben werden kann.
+	 * @throws InterruptedIOException
+	 *             wenn der Thread beim Warten unterbrochen wird.
+	 */
+	public Result sync(Collection<Release> releases) throws IOException {
+		Result result = new Result();
+		Map<Download, Release> pending = new LinkedHashMap<>();
+		List<Release> changed = new ArrayList<>();
+		for (Release release : releases) {
+			Download[] downloads = release.getDownloads() == null
+					? new Download[0]
+					: release.getDownloads();
+			if (isUpToDate(release, downloads)) {
+				result.skippedReleases++;
+				continue;
+			}
+			changed.add(release);
+			for (Download download : downloads)
+				pending.putIfAbsent(download, release);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+				r -> {
+					Thread t = new Thread(r, "jpapi-release-mirror");
+					t.setDaemon(true);
+					return t;
+				});
+		try {
+			Map<Download, Future<?>> futures = new LinkedHashMap<>();
+			pending.forEach((download, release) -> futures.put(download,
+					executor.submit(() -> {
+						mirror(release, download, result);
+						return null;
+					})));
+			for (Map.Entry<Download, Future<?>> entry : futures.entrySet()) {
+				try {
+					entry.getValue().get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (!(cause instanceof IOException))
+						throw new JpapiInternalException(cause);
+					result.failures.put(entry.getKey(), (IOException) cause);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(
+					"Das Spiegeln wurde unterbrochen");
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (Release release : changed) {
+			if (release.getDownloads() == null || Collections.disjoint(
+					result.failures.keySet(),
+					Arrays.asList(release.getDownloads())))
+				index.setProperty(RELEASE_PREFIX + release.getId(),
+						getVersion(release));
+		}
+		saveIndex();
+		return result;
+	}
+
+	private boolean isUpToDate(Release release, Download[] downloads) {
+		if (!getVersion(release)
+				.equals(index.getProperty(RELEASE_PREFIX + release.getId())))
+			return false;
+		for (Download download : downloads) {
+			Path file = getFile(download);
+			if (file == null || !Files.exists(file))
+				return false;
+		}
+		return true;
+	}
+
+	private static String getVersion(Release release) {
+		Timestamp date = release.getLastUpdateDate();
+		return date == null ? "" : String.valueOf(date.getTime());
+	}
+
+	/**
+	 * Lädt eine Datei herunter, legt sie unter ihrer Prüfsumme ab und
+	 * verknüpft sie mit dem Download.
+	 */
+	private void mirror(Release release, Download download, Result result)
+			throws IOException {
+		Path temp = tmp.resolve(String.valueOf(download.getId()));
+		ReleaseDownloader.Result downloaded = downloader.download(download,
+				temp);
+		String sha256 = downloaded.getSha256();
+		Path object = getObject(sha256);
+
+		boolean duplicate;
+		synchronized (this) {
+			duplicate = Files.exists(object);
+			if (duplicate)
+				Files.delete(temp);
+			else {
+				Files.createDirectories(object.getParent());
+				ReleaseDownloader.move(temp, object);
+			}
+		}
+
+		Path link = files.resolve(String.valueOf(release.getId()))
+				.resolve(getFileName(download, downloaded.getUrl()));
+		String reference = sha256;
+		try {
+			Files.createDirectories(link.getParent());
+			if (!Files.exists(link) || !Files.isSameFile(link, object)) {
+				Files.deleteIfExists(link);
+				Files.createLink(link, object);
+			}
+			reference += "/" + files.relativize(link).toString()
+					.replace(link.getFileSystem().getSeparator(), "/");
+		} catch (UnsupportedOperationException | IOException e) {
+			// Keine Hard-Links möglich; nur über den Index referenzieren
+		}
+
+		synchronized (this) {
+			index.setProperty(DOWNLOAD_PREFIX + download.getId(), reference);
+			saveIndex();
+		}
+		synchronized (result) {
+			if (duplicate)
+				result.deduplicatedCount++;
+			else {
+				result.downloadedCount++;
+				result.downloadedBytes += downloaded.getLength()
+						- downloaded.getResumedBytes();
+			}
+		}
+	}
+
+	/**
+	 * @return Der Dateiname des Downloads; dieser setzt sich aus der ID und
+	 *         dem Dateinamen in der Adresse der Weiterleitung zusammen.
+	 */
+	private static String getFileName(Download download, String url)
+			throws IOException {
+		String name = new URL(url).getPath();
+		name = name.substring(name.lastIndexOf('/') + 1)
+				.replaceAll("[^A-Za-z0-9._-]", "_");
+		if (name.isEmpty() || name.startsWith("."))
+			return String.valueOf(download.getId());
+		return download.getId() + "-" + name;
+	}
+
+	private Path getObject(String sha256) {
+		return objects.resolve(sha256.substring(0, 2)).resolve(sha256);
+	}
+
+	/**
+	 * Liefert die gespiegelte Datei eines Downloads.
+	 *
+	 * @param download
+	 *            Der Download.
+	 * @return Der Hard-Link unter <code>files/</code> bzw. die Datei unter
+	 *         <code>objects/</code>, wenn kein Hard-Link angelegt werden
+	 *         konnte; <code>null</code>, wenn der Download noch nicht
+	 *         gespiegelt wurde.
+	 */
+	public synchronized Path getFile(Download download) {
+		String reference = index
+				.getProperty(DOWNLOAD_PREFIX + download.getId());
+		if (reference == null)
+			return null;
+		int separator = reference.indexOf('/');
+		if (separator < 0)
+			return getObject(reference);
+		return files.resolve(reference.substring(separator + 1));
+	}
+
+	/**
+	 * Liefert die SHA-256-Prüfsumme der gespiegelten Datei eines Downloads.
+	 *
+	 * @param download
+	 *            Der Download.
+	 * @return Die Prüfsumme als Hex-String; <code>null</code>, wenn der
+	 *         Download noch nicht gespiegelt wurde.
+	 */
+	public synchronized String getSha256(Download download) {
+		String reference = index
+				.getProperty(DOWNLOAD_PREFIX + download.getId());
+		return reference == null ? null : parseSha256(reference);
+	}
+
+	/**
+	 * Entfernt alle Dateien unter <code>objects/</code>, auf die kein
+	 * Download mehr verweist, z.B. weil sich die Datei eines Releases
+	 * geändert hat.
+	 *
+	 * @return Die Anzahl der entfernten Dateien.
+	 * @throws IOException
+	 *             wenn ein Fehler beim Löschen auftritt.
+	 */
+	public synchronized int prune() throws IOException {
+		Set<String> referenced = new HashSet<>();
+		for (String key : index.stringPropertyNames()) {
+			if (key.startsWith(DOWNLOAD_PREFIX))
+				referenced.add(parseSha256(index.getProperty(key)));
+		}
+
+		int count = 0;
+		try (Stream<Path> stream = Files.walk(objects)) {
+			for (Path object : (Iterable<Path>) stream::iterator) {
+				if (Files.isRegularFile(object) && !referenced
+						.contains(object.getFileName().toString())) {
+					Files.delete(object);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return Die Prüfsumme aus einem Eintrag des Index; dieser hat die Form
+	 *         <code>&lt;SHA-256&gt;[/&lt;Hard-Link&gt;]</code>.
+	 */
+	private static String parseSha256(String reference) {
+		int separator = reference.indexOf('/');
+		return separator < 0 ? reference : reference.substring(0, separator);
+	}
+
+	private synchronized void saveIndex() throws IOException {
+		Path temp = indexPath.resolveSibling(INDEX_FILE + ".tmp");
+		try (OutputStream out = Files.newOutputStream(temp,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			index.store(out, null);
+		}
+		ReleaseDownloader.move(temp, indexPath);
+	}
+
+	/**
+	 * Das Ergebnis einer Spiegelung.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	public static class Result {
+
+		private int downloadedCount, deduplicatedCount, skippedReleases;
+		private long downloadedBytes;
+		private final Map<Download, IOException> failures = Collections
+				.synchronizedMap(new LinkedHashMap<>());
+
+		Result() {
+		}
+
+		/**
+		 * @return Liefert die Anzahl der heruntergeladenen Dateien, die noch
+		 *         nicht im Spiegel vorhanden waren.
+		 */
+		public synchronized int getDownloadedCount() {
+			return downloadedCount;
+		}
+
+		/**
+		 * @return Liefert die Anzahl der heruntergeladenen Dateien, die
+		 *         bereits im Spiegel vorhanden waren und daher nur verknüpft
+		 *         wurden.
+		 */
+		public synchronized int getDeduplicatedCount() {
+			return deduplicatedCount;
+		}
+
+		/**
+		 * @return Liefert die Anzahl der Releases, die sich seit der letzten
+		 *         Spiegelung nicht geändert haben.
+		 */
+		public synchronized int getSkippedReleases() {
+			return skippedReleases;
+		}
+
+		/**
+		 * @return Liefert die Anzahl der in diesem Aufruf heruntergeladenen
+		 *         Bytes.
+		 */
+		public synchronized long getDownloadedBytes() {
+			return downloadedBytes;
+		}
+
+		/**
+		 * @return Liefert die Fehler nach Download.
+		 */
+		public Map<Download, IOException> getFailures() {
+			return Collections.unmodifiableMap(failures);
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "Result [downloadedCount=" + downloadedCount
+					+ ", deduplicatedCount=" + deduplicatedCount
+					+ ", skippedReleases=" + skippedReleases
+					+ ", downloadedBytes=" + downloadedBytes + ", failures="
+					+ failures.size() + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,270 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Eine Anfrage, die bei Fehlern nach einer {@link RetryPolicy} wiederholt
+ * wird und einen {@link CircuitBreaker} berücksichtigt.
+ * <p>
+ * Jeder Versuch wird über eine {@linkplain Call#clone() Kopie} der
+ * ursprünglichen Anfrage gestellt. Asynchrone Wiederholungen werden nach
+ * Ablauf der Wartezeit erneut an den Dispatcher übergeben, es wird also
+ * kein Thread blockiert.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @param <T>
+ *            Der Typ der Antwort.
+ * @see PewnClient#createService(Class)
+ */
+class ResilientCall<T> implements Call<T> {
+
+	/**
+	 * Übergibt asynchrone Wiederholungen nach Ablauf der Wartezeit wieder an
+	 * den Dispatcher.
+	 */
+	private static final ScheduledExecutorService RETRY_SCHEDULER = Executors
+			.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "jpapi-retry");
+				t.setDaemon(true);
+				return t;
+			});
+
+	private final Call<T> original;
+	private final RetryPolicy retryPolicy;
+	private final CircuitBreaker circuitBreaker;
+
+	/**
+	 * Der aktuelle Versuch.
+	 */
+	private volatile Call<T> current;
+	private volatile boolean canceled;
+	private boolean executed;
+
+	/**
+	 * @param call
+	 *            Die ursprüngliche Anfrage.
+	 * @param retryPolicy
+	 *            Die Retry-Policy; <code>null</code>, wenn nicht wiederholt
+	 *            werden soll.
+	 * @param circuitBreaker
+	 *            Der Circuit-Breaker; kann <code>null</code> sein.
+	 */
+	ResilientCall(Call<T> call, RetryPolicy retryPolicy,
+			CircuitBreaker circuitBreaker) {
+		this.original = call;
+		this.current = call;
+		this.retryPolicy = retryPolicy;
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	@Override
+	public Response<T> execute() throws IOException {
+		markExecuted();
+		boolean retryable = isRetryable();
+
+		for (int retry = 0;; retry++) {
+			if (canceled)
+				throw new IOException("Canceled");
+			if (circuitBreaker != null)
+				circuitBreaker.acquire();
+
+			Call<T> call = nextCall(retry);
+			Response<T> response;
+			try {
+				response = call.execute();
+			} catch (IOException e) {
+				onFailure(call);
+				if (retryable && retryPolicy.isRetryable(e)
+						&& canRetry(retry + 1)) {
+					sleep(retry + 1);
+					continue;
+				}
+				throw e;
+			} catch (RuntimeException | Error e) {
+				onFailure(call);
+				throw e;
+			}
+
+			if (!isServerError(response)) {
+				onSuccess();
+				return response;
+			}
+			onFailure();
+			if (!retryable || !retryPolicy.isRetryable(response.code())
+					|| !canRetry(retry + 1))
+				return response;
+			closeErrorBody(response);
+			sleep(retry + 1);
+		}
+	}
+
+	@Override
+	public void enqueue(Callback<T> callback) {
+		markExecuted();
+		enqueue(callback, isRetryable(), 0);
+	}
+
+	private void enqueue(Callback<T> callback, boolean retryable,
+			int retry) {
+		if (canceled) {
+			callback.onFailure(this, new IOException("Canceled"));
+			return;
+		}
+		if (circuitBreaker != null) {
+			try {
+				circuitBreaker.acquire();
+			} catch (IOException e) {
+				callback.onFailure(this, e);
+				return;
+			}
+		}
+
+		nextCall(retry).enqueue(new Callback<T>() {
+			@Override
+			public void onResponse(Call<T> call, Response<T> response) {
+				if (!isServerError(response)) {
+					ResilientCall.this.onSuccess();
+					callback.onResponse(ResilientCall.this, response);
+					return;
+				}
+				ResilientCall.this.onFailure();
+				if (retryable && retryPolicy.isRetryable(response.code())
+						&& canRetry(retry + 1)) {
+					closeErrorBody(response);
+					schedule(callback, retry + 1);
+				} else {
+					callback.onResponse(ResilientCall.this, response);
+				}
+			}
+
+			@Override
+			public void onFailure(Call<T> call, Throwable t) {
+				ResilientCall.this.onFailure(call);
+				if (retryable && !canceled && t instanceof IOException
+						&& retryPolicy.isRetryable((IOException) t)
+						&& canRetry(retry + 1))
+					schedule(callback, retry + 1);
+				else
+					callback.onFailure(ResilientCall.this, t);
+			}
+		});
+	}
+
+	/**
+	 * Prüft, ob noch eine Wiederholung möglich ist. Wurde der Circuit-Breaker
+	 * durch den letzten Fehler geöffnet, wird dieser Fehler geliefert statt
+	 * einer {@link de.damios.jpapi.exception.CircuitBreakerOpenException}.
+	 */
+	private boolean canRetry(int retry) {
+		if (circuitBreaker != null
+				&& circuitBreaker.getState() != CircuitBreaker.State.CLOSED)
+			return false;
+		return retryPolicy.tryRetry(retry);
+	}
+
+	private void schedule(Callback<T> callback, int retry) {
+		RETRY_SCHEDULER.schedule(() -> enqueue(callback, true, retry),
+				retryPolicy.getBackoffNanos(retry), TimeUnit.NANOSECONDS);
+	}
+
+	private boolean isRetryable() {
+		if (retryPolicy == null)
+			return false;
+		retryPolicy.onRequest();
+		return retryPolicy.isRetryable(original.request());
+	}
+
+	private Call<T> nextCall(int retry) {
+		Call<T> call = retry == 0 ? original : original.clone();
+		current = call;
+		if (canceled)
+			call.cancel();
+		return call;
+	}
+
+	private void sleep(int retry) throws InterruptedIOException {
+		try {
+			TimeUnit.NANOSECONDS.sleep(retryPolicy.getBackoffNanos(retry));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+	}
+
+	private void onSuccess() {
+		if (circuitBreaker != null)
+			circuitBreaker.onSuccess();
+	}
+
+	private void onFailure() {
+		if (circuitBreaker != null)
+			circuitBreaker.onFailure();
+	}
+
+	/**
+	 * Wird aufgerufen, wenn ein Versuch mit einem Fehler beendet wurde. Ein
+	 * Abbruch durch den Aufrufer zählt dabei nicht als Fehler, da er nichts
+	 * über den Zustand von Pewn aussagt.
+	 */
+	private void onFailure(Call<T> call) {
+		if (canceled || call.isCanceled()) {
+			if (circuitBreaker != null)
+				circuitBreaker.onCanceled();
+		} else {
+			onFailure();
+		}
+	}
+
+	private static boolean isServerError(Response<?> response) {
+		return response.code() >= 500;
+	}
+
+	private static void closeErrorBody(Response<?> response) {
+		if (response.errorBody() != null)
+			response.errorBody().close();
+	}
+
+	private synchronized void markExecuted() {
+		if (executed)
+			throw new IllegalStateException("Already executed.");
+		executed = true;
+	}
+
+	@Override
+	public synchronized boolean isExecuted() {
+		return executed;
+	}
+
+	@Override
+	public void cancel() {
+		canceled = true;
+		current.cancel();
+	}
+
+	@Override
+	public boolean isCanceled() {
+		return canceled;
+	}
+
+	@Override
+	public Call<T> clone() {
+		return new ResilientCall<>(original.clone(), retryPolicy,
+				circuitBreaker);
+	}
+
+	@Override
+	public Request request() {
+		return original.request();
+	}
+
+}
@@ -0,0 +1,197 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.stream.MalformedJsonException;
+
+import de.damios.jpapi.exception.CircuitBreakerOpenException;
+import okhttp3.Request;
+
+/**
+ * Legt fest, wie fehlgeschlagene Anfragen wiederholt werden.
+ * <p>
+ * Es werden nur idempotente Anfragen (GET und HEAD) wiederholt, und zwar bei
+ * Verbindungsfehlern, Timeouts und den Status-Codes 500, 502, 503 und 504.
+ * Zwischen den Versuchen wird exponentiell länger gewartet; die tatsächliche
+ * Wartezeit wird dabei zufällig zwischen 0 und diesem Wert gewählt ("full
+ * jitter"), damit nicht alle Clients gleichzeitig erneut anfragen.
+ * <p>
+ * Damit Wiederholungen einen ohnehin überlasteten Server nicht zusätzlich
+ * belasten, gibt es ein Budget: jede Anfrage fügt diesem einen festgelegten
+ * Anteil einer Wiederholung hinzu, jede Wiederholung verbraucht eine ganze.
+ * Bei einem Anteil von <code>0.2</code> kommen so auf Dauer höchstens 20%
+ * zusätzliche Anfragen hinzu.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient.Builder#retryPolicy(RetryPolicy)
+ */
+public class RetryPolicy {
+
+	/**
+	 * Der Anteil einer Wiederholung, den jede Anfrage dem Budget standardmäßig
+	 * hinzufügt ({@value}).
+	 */
+	public static final double DEFAULT_RETRY_BUDGET_RATIO = 0.2;
+	/**
+	 * Die Anzahl der Wiederholungen, die zu Beginn im Budget sind. Erlaubt
+	 * Wiederholungen, bevor genug Anfragen gestellt wurden.
+	 */
+	private static final double MIN_RETRY_BUDGET = 10;
+	/**
+	 * Die maximale Anzahl an Wiederholungen im Budget.
+	 */
+	private static final double MAX_RETRY_BUDGET = 100;
+
+	private final int maxRetries;
+	private final long initialBackoffNanos;
+	private final long maxBackoffNanos;
+	private final double retryBudgetRatio;
+
+	private double retryBudget = MIN_RETRY_BUDGET;
+	private long retryCount;
+
+	/**
+	 * @param maxRetries
+	 *            Die maximale Anzahl an Wiederholungen pro Anfrage.
+	 * @param initialBackoff
+	 *            Die maximale Wartezeit vor der ersten Wiederholung.
+	 * @param maxBackoff
+	 *            Die maximale Wartezeit vor einer Wiederholung.
+	 * @param unit
+	 *            Die Einheit der Zeitangaben.
+	 */
+	public RetryPolicy(int maxRetries, long initialBackoff, long maxBackoff,
+			TimeUnit unit) {
+		this(maxRetries, initialBackoff, maxBackoff, unit,
+				DEFAULT_RETRY_BUDGET_RATIO);
+	}
+
+	/**
+	 * @param maxRetries
+	 *            Die maximale Anzahl an Wiederholungen pro Anfrage.
+	 * @param initialBackoff
+	 *            Die maximale Wartezeit vor der ersten Wiederholung.
+	 * @param maxBackoff
+	 *            Die maximale Wartezeit vor einer Wiederholung.
+	 * @param unit
+	 *            Die Einheit der Zeitangaben.
+	 * @param retryBudgetRatio
+	 *            Der Anteil einer Wiederholung, den jede Anfrage dem Budget
+	 *            hinzufügt.
+	 */
+	public RetryPolicy(int maxRetries, long initialBackoff, long maxBackoff,
+			TimeUnit unit, double retryBudgetRatio) {
+		if (maxRetries < 0)
+			throw new IllegalArgumentException(
+					"Die Anzahl an Wiederholungen darf nicht negativ sein");
+		if (initialBackoff < 0 || maxBackoff < initialBackoff)
+			throw new IllegalArgumentException("Ungültige Wartezeiten");
+		if (retryBudgetRatio < 0)
+			throw new IllegalArgumentException(
+					"Der Anteil darf nicht negativ sein");
+
+		this.maxRetries = maxRetries;
+		this.initialBackoffNanos = unit.toNanos(initialBackoff);
+		this.maxBackoffNanos = unit.toNanos(maxBackoff);
+		this.retryBudgetRatio = retryBudgetRatio;
+	}
+
+	/**
+	 * @param request
+	 *            Die Anfrage.
+	 * @return Ob die Anfrage wiederholt werden darf.
+	 */
+	public boolean isRetryable(Request request) {
+		return "GET".equals(request.method())
+				|| "HEAD".equals(request.method());
+	}
+
+	/**
+	 * @param e
+	 *            Der Fehler.
+	 * @return Ob eine Anfrage nach diesem Fehler wiederholt werden soll.
+	 */
+	public boolean isRetryable(IOException e) {
+		if (e instanceof MalformedJsonException
+				|| e instanceof CircuitBreakerOpenException)
+			return false;
+		// Eine Unterbrechung des Threads ist kein Fehler der Verbindung
+		return !(e instanceof InterruptedIOException)
+				|| e instanceof SocketTimeoutException;
+	}
+
+	/**
+	 * @param code
+	 *            Der Status-Code der Antwort.
+	 * @return Ob eine Anfrage nach dieser Antwort wiederholt werden soll.
+	 */
+	public boolean isRetryable(int code) {
+		return code == 500 || code == 502 || code == 503 || code == 504;
+	}
+
+	/**
+	 * Wird für jede Anfrage (ohne Wiederholungen) aufgerufen und füllt das
+	 * Budget auf.
+	 */
+	synchronized void onRequest() {
+		retryBudget = Math.min(MAX_RETRY_BUDGET,
+				retryBudget + retryBudgetRatio);
+	}
+
+	/**
+	 * Prüft, ob eine weitere Wiederholung erlaubt ist, und verbraucht diese
+	 * gegebenenfalls aus dem Budget.
+	 *
+	 * @param retry
+	 *            Die Nummer der Wiederholung, beginnend bei <code>1</code>.
+	 * @return Ob wiederholt werden darf.
+	 */
+	synchronized boolean tryRetry(int retry) {
+		if (retry > maxRetries || retryBudget < 1)
+			return false;
+		retryBudget -= 1;
+		retryCount++;
+		return true;
+	}
+
+	/**
+	 * @param retry
+	 *            Die Nummer der Wiederholung, beginnend bei <code>1</code>.
+	 * @return Die zufällige Wartezeit in Nanosekunden vor der Wiederholung.
+	 */
+	long getBackoffNanos(int retry) {
+		long backoff = initialBackoffNanos << Math.min(retry - 1, 30);
+		if (backoff < 0 || backoff > maxBackoffNanos)
+			backoff = maxBackoffNanos;
+		return backoff == 0 ? 0
+				: ThreadLocalRandom.current().nextLong(backoff + 1);
+	}
+
+	/**
+	 * @return Liefert die maximale Anzahl an Wiederholungen pro Anfrage.
+	 */
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der Wiederholungen, die aktuell im Budget
+	 *         sind.
+	 */
+	public synchronized double getRetryBudget() {
+		return retryBudget;
+	}
+
+	/**
+	 * @return Liefert die Anzahl der bisherigen Wiederholungen.
+	 */
+	public synchronized long getRetryCount() {
+		return retryCount;
+	}
+
+}
@@ -0,0 +1,216 @@
+package de.damios.jpapi.core;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.util.ISO8601Utils;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Liest und schreibt die Zeitangaben der Pewn-API im Format
+ * {@value #PATTERN}.
+ * <p>
+ * Anders als der über
+ * {@link com.google.gson.GsonBuilder#setDateFormat(String) setDateFormat}
+ * konfigurierte Adapter von Gson, der ein
+ * {@link SimpleDateFormat} in einem <code>synchronized</code>-Block
+ * verwendet, kommt dieser Adapter ohne Sperren aus: gültige Zeitangaben
+ * werden direkt Zeichen für Zeichen gelesen. Nur abweichende Angaben werden
+ * wie bisher über ein (thread-lokales) {@link SimpleDateFormat} gelesen und,
+ * falls auch das fehlschlägt, wie bei Gson als ISO-8601-Angabe, sodass sich
+ * das Ergebnis nicht ändert.
+ * <p>
+ * Die Zeitangaben werden, wie bei Gson, in der Standard-Zeitzone der JVM
+ * interpretiert. Als {@link java.time.Instant} lassen sie sich über
+ * {@link Timestamp#toInstant()} verwenden.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see PewnClient#createDefaultGsonBuilder()
+ */
+public final class TimestampAdapter extends TypeAdapter<Timestamp> {
+
+	/**
+	 * Das Format der Zeitangaben ({@value}).
+	 */
+	public static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+	private static final long INVALID = Long.MIN_VALUE;
+	/**
+	 * Das erste vollständige Jahr des gregorianischen Kalenders. Davor
+	 * verwendet {@link SimpleDateFormat} den julianischen Kalender.
+	 */
+	private static final int MIN_YEAR = 1583;
+
+	private final ZoneId zone;
+	private final ZoneRules rules;
+	private final ThreadLocal<SimpleDateFormat> fallbackFormat;
+
+	/**
+	 * Erstellt einen Adapter für die aktuelle Standard-Zeitzone der JVM.
+	 */
+	public TimestampAdapter() {
+		this(ZoneId.systemDefault());
+	}
+
+	/**
+	 * @param zone
+	 *            Die Zeitzone, in der die Zeitangaben interpretiert werden.
+	 */
+	public TimestampAdapter(ZoneId zone) {
+		this.zone = zone;
+		this.rules = zone.getRules();
+		this.fallbackFormat = ThreadLocal.withInitial(() -> {
+			SimpleDateFormat format = new SimpleDateFormat(PATTERN, Locale.US);
+			format.setTimeZone(TimeZone.getTimeZone(zone));
+			return format;
+		});
+	}
+
+	@Override
+	public Timestamp read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return parse(in.nextString());
+	}
+
+	@Override
+	public void write(JsonWriter out, Timestamp value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.value(format(value));
+	}
+
+	/**
+	 * Liest eine Zeitangabe.
+	 *
+	 * @param value
+	 *            Die Zeitangabe im Format {@value #PATTERN} oder im
+	 *            ISO-8601-Format.
+	 * @return Die Zeitangabe als Timestamp.
+	 * @throws JsonSyntaxException
+	 *             wenn die Zeitangabe nicht gelesen werden kann.
+	 */
+	public Timestamp parse(String value) throws JsonSyntaxException {
+		long millis = parseFixedWidth(value);
+		if (millis != INVALID)
+			return new Timestamp(millis);
+
+		try {
+			return new Timestamp(fallbackFormat.get().parse(value).getTime());
+		} catch (ParseException ignored) {
+			// Wie bei Gson zuletzt als ISO-8601 versuchen
+		}
+		try {
+			return new Timestamp(
+					ISO8601Utils.parse(value, new ParsePosition(0)).getTime());
+		} catch (ParseException e) {
+			throw new JsonSyntaxException(value, e);
+		}
+	}
+
+	/**
+	 * Schreibt eine Zeitangabe.
+	 *
+	 * @param value
+	 *            Die Zeitangabe.
+	 * @return Die Zeitangabe im Format {@value #PATTERN}.
+	 */
+	public String format(Timestamp value) {
+		LocalDateTime time = LocalDateTime.ofInstant(
+				Instant.ofEpochMilli(value.getTime()), zone);
+		if (time.getYear() < MIN_YEAR || time.getYear() > 9999)
+			return fallbackFormat.get().format(value);
+
+		char[] chars = new char[19];
+		writeDigits(chars, 0, time.getYear(), 4);
+		chars[4] = '-';
+		writeDigits(chars, 5, time.getMonthValue(), 2);
+		chars[7] = '-';
+		writeDigits(chars, 8, time.getDayOfMonth(), 2);
+		chars[10] = ' ';
+		writeDigits(chars, 11, time.getHour(), 2);
+		chars[13] = ':';
+		writeDigits(chars, 14, time.getMinute(), 2);
+		chars[16] = ':';
+		writeDigits(chars, 17, time.getSecond(), 2);
+		return new String(chars);
+	}
+
+	/**
+	 * @return Die Millisekunden seit 1970; {@link #INVALID}, wenn die
+	 *         Zeitangabe nicht genau dem Format entspricht, ungültige Werte
+	 *         enthält oder in eine Zeitumstellung fällt.
+	 */
+	private long parseFixedWidth(String value) {
+		if (value.length() != 19 || value.charAt(4) != '-'
+				|| value.charAt(7) != '-' || value.charAt(10) != ' '
+				|| value.charAt(13) != ':' || value.charAt(16) != ':')
+			return INVALID;
+
+		int year = readDigits(value, 0, 4);
+		int month = readDigits(value, 5, 2);
+		int day = readDigits(value, 8, 2);
+		int hour = readDigits(value, 11, 2);
+		int minute = readDigits(value, 14, 2);
+		int second = readDigits(value, 17, 2);
+		if ((year | month | day | hour | minute | second) < 0
+				|| year < MIN_YEAR)
+			return INVALID;
+
+		LocalDateTime time;
+		try {
+			time = LocalDateTime.of(year, month, day, hour, minute, second);
+		} catch (DateTimeException e) {
+			// z.B. "0000-00-00 00:00:00"; wird wie bisher nachsichtig
+			// gelesen
+			return INVALID;
+		}
+		if (rules.getTransition(time) != null)
+			// Uhrzeit liegt in einer Zeitumstellung; wird wie bisher
+			// aufgelöst
+			return INVALID;
+		return time.toEpochSecond(rules.getOffset(time)) * 1000;
+	}
+
+	/**
+	 * @return Die gelesene Zahl; <code>-1</code>, wenn ein Zeichen keine
+	 *         Ziffer ist.
+	 */
+	private static int readDigits(String value, int offset, int length) {
+		int result = 0;
+		for (int i = offset; i < offset + length; i++) {
+			int digit = value.charAt(i) - '0';
+			if (digit < 0 || digit > 9)
+				return -1;
+			result = result * 10 + digit;
+		}
+		return result;
+	}
+
+	private static void writeDigits(char[] chars, int offset, int value,
+			int length) {
+		for (int i = offset + length - 1; i >= offset; i--) {
+			chars[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+
+}
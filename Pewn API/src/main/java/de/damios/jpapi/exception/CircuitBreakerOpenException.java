@@ -0,0 +1,30 @@
+package de.damios.jpapi.exception;
+
+import java.io.IOException;
+
+/**
+ * Wird geschmissen, wenn eine Anfrage nicht gestellt wird, weil der
+ * Circuit-Breaker des zuständigen Service-Interfaces nach wiederholten
+ * Fehlern geöffnet ist.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see de.damios.jpapi.core.CircuitBreaker
+ */
+public class CircuitBreakerOpenException extends IOException {
+
+	private static final long serialVersionUID = 100L;
+
+	/**
+	 * Erstellt eine neue CircuitBreakerOpenException mit der übergebenen
+	 * Fehlermeldung.
+	 *
+	 * @param message
+	 *            Die Fehlermeldung.
+	 * @see IOException#IOException(String) IOException(String)
+	 */
+	public CircuitBreakerOpenException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,113 @@
+package de.damios.jpapi.metrics;
+
+/**
+ * Nimmt Messwerte über die Anfragen eines
+ * {@linkplain de.damios.jpapi.core.PewnClient Clients} entgegen.
+ * <p>
+ * Die Messwerte werden dem jeweiligen Endpunkt zugeordnet, d.h. der Methode
+ * des Service-Interfaces, über die die Anfrage gestellt wurde (z.B.
+ * <code>ProjectService.getAll</code> oder
+ * <code>ImageProviderService.downloadImage</code>). Anfragen, die nicht über
+ * ein Service-Interface gestellt wurden, werden {@link #UNKNOWN_ENDPOINT}
+ * zugeordnet.
+ * <p>
+ * Die Methoden werden direkt von den Threads aufgerufen, die die Anfragen
+ * ausführen; Implementationen müssen daher thread-sicher sein und sollten
+ * nicht blockieren. Alle Methoden sind standardmäßig leer.
+ *
+ * @author damios
+ * @since 0.7.0
+ * @see de.damios.jpapi.core.PewnClient.Builder#metrics(ApiMetrics)
+ * @see InMemoryApiMetrics
+ */
+public interface ApiMetrics {
+
+	/**
+	 * Verwirft alle Messwerte. Wird verwendet, wenn keine Metriken gesetzt
+	 * sind.
+	 */
+	ApiMetrics NONE = new ApiMetrics() {
+	};
+
+	/**
+	 * Der Endpunkt für Anfragen, die keiner Methode eines Service-Interfaces
+	 * zugeordnet werden können ({@value}).
+	 */
+	String UNKNOWN_ENDPOINT = "unknown";
+
+	/**
+	 * Die einzelnen Phasen einer Anfrage.
+	 */
+	enum Phase {
+		/**
+		 * Die Namensauflösung. Entfällt, wenn eine bestehende Verbindung
+		 * wiederverwendet wird.
+		 */
+		DNS,
+		/**
+		 * Der Verbindungsaufbau (inkl. {@link #TLS}). Entfällt, wenn eine
+		 * bestehende Verbindung wiederverwendet wird.
+		 */
+		CONNECT,
+		/**
+		 * Der TLS-Handshake.
+		 */
+		TLS,
+		/**
+		 * Die Zeit vom Senden der Anfrage bis zum Empfang der ersten Antwort
+		 * (Time to First Byte).
+		 */
+		TIME_TO_FIRST_BYTE
+	}
+
+	/**
+	 * Wird aufgerufen, sobald die Antwort auf eine HTTP-Anfrage vollständig
+	 * gelesen wurde oder die Anfrage fehlgeschlagen ist. Bei Weiterleitungen
+	 * und Wiederholungen wird jede Antwort einzeln erfasst.
+	 *
+	 * @param endpoint
+	 *            Der Endpunkt.
+	 * @param latencyNanos
+	 *            Die Dauer der Anfrage, vom Start (bzw. dem Ende der
+	 *            vorherigen Weiterleitung) bis die Antwort vollständig
+	 *            gelesen wurde.
+	 * @param statusCode
+	 *            Der HTTP-Statuscode der Antwort; <code>-1</code>, wenn die
+	 *            Anfrage fehlgeschlagen ist.
+	 * @param responseBytes
+	 *            Die Größe des Inhalts der Antwort.
+	 */
+	default void recordCall(String endpoint, long latencyNanos, int statusCode,
+			long responseBytes) {
+	}
+
+	/**
+	 * Wird nach dem Abschluss einer Phase einer Anfrage aufgerufen.
+	 *
+	 * @param endpoint
+	 *            Der Endpunkt.
+	 * @param phase
+	 *            Die Phase.
+	 * @param nanos
+	 *            Die Dauer der Phase.
+	 */
+	default void recordPhase(String endpoint, Phase phase, long nanos) {
+	}
+
+	/**
+	 * Wird aufgerufen, nachdem eine JSON-Antwort gelesen wurde.
+	 *
+	 * @param endpoint
+	 *            Der Endpunkt.
+	 * @param nanos
+	 *            Die Dauer des Lesens; da der Inhalt nicht zwischengespeichert
+	 *            wird, ist darin auch dessen Empfang enthalten.
+	 * @param successful
+	 *            <code>false</code>, wenn die Antwort nicht gelesen werden
+	 *            konnte (z.B. bei fehlerhaftem JSON).
+	 */
+	default void recordDeserialization(String endpoint, long nanos,
+			boolean successful) {
+	}
+
+}
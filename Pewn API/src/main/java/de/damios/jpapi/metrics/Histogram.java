@@ -0,0 +1,145 @@
+package de.damios.jpapi.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ein thread-sicheres Histogramm für Zeitspannen in Nanosekunden, aus dem
+ * sich Perzentile (z.B. p50, p99, p999) ablesen lassen.
+ * <p>
+ * Wie bei einem HDR-Histogramm sind die Buckets log-linear angeordnet: Werte
+ * unter {@value #LINEAR_LIMIT} werden exakt gezählt, darüber wird jede
+ * Zweierpotenz in {@value #SUB_BUCKETS} gleich große Buckets unterteilt. Der
+ * relative Fehler der Perzentile liegt damit unter 1,6 %, unabhängig von
+ * der Größenordnung der Werte. Werte über ca. 18 Minuten werden dem letzten
+ * Bucket zugeordnet.
+ * <p>
+ * Das Erfassen eines Werts benötigt keine Sperren und erzeugt keine
+ * Objekte.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public final class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+	/**
+	 * 2<sup>40</sup> ns sind ca. 18 Minuten.
+	 */
+	private static final int MAX_EXPONENT = 40;
+	private static final int BUCKET_COUNT = LINEAR_LIMIT
+			+ (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Erfasst einen Wert.
+	 *
+	 * @param nanos
+	 *            Der Wert; negative Werte werden als <code>0</code> erfasst.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(getIndex(value));
+		count.increment();
+		sum.add(value);
+		if (value > max.get())
+			max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * @return Die Anzahl der erfassten Werte.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return Der größte erfasste Wert; <code>0</code>, wenn noch kein Wert
+	 *         erfasst wurde.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return Der Mittelwert; <code>0</code>, wenn noch kein Wert erfasst
+	 *         wurde.
+	 */
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Liefert ein Perzentil der erfassten Werte.
+	 *
+	 * @param percentile
+	 *            Das Perzentil zwischen <code>0</code> und <code>100</code>,
+	 *            z.B. <code>99.9</code>.
+	 * @return Der größte Wert, der in denselben Bucket fällt wie das
+	 *         Perzentil (höchstens jedoch der größte erfasste Wert);
+	 *         <code>0</code>, wenn noch kein Wert erfasst wurde.
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException(
+					"Das Perzentil muss zwischen 0 und 100 liegen");
+
+		long[] snapshot = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++)
+			total += snapshot[i] = counts.get(i);
+		if (total == 0)
+			return 0;
+
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += snapshot[i];
+			if (seen >= target)
+				return Math.min(getHighestValue(i), getMax());
+		}
+		return getMax();
+	}
+
+	static int getIndex(long value) {
+		if (value < LINEAR_LIMIT)
+			return (int) value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent >= MAX_EXPONENT)
+			return BUCKET_COUNT - 1;
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS))
+				- SUB_BUCKETS;
+		return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS
+				+ subBucket;
+	}
+
+	/**
+	 * @return Der größte Wert, der dem Bucket zugeordnet wird.
+	 */
+	static long getHighestValue(int index) {
+		if (index < LINEAR_LIMIT)
+			return index;
+		if (index == BUCKET_COUNT - 1)
+			return Long.MAX_VALUE;
+		int offset = index - LINEAR_LIMIT;
+		int shift = offset / SUB_BUCKETS + 1;
+		long subBucket = SUB_BUCKETS + offset % SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	@Override
+	public String toString() {
+		return "Histogram [count=" + getCount() + ", p50="
+				+ getPercentile(50) + ", p99=" + getPercentile(99)
+				+ ", p999=" + getPercentile(99.9) + ", max=" + getMax() + "]";
+	}
+
+}
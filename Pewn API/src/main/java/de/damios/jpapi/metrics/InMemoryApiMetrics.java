@@ -0,0 +1,193 @@
+package de.damios.jpapi.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sammelt die Messwerte im Speicher, getrennt nach Endpunkt.
+ * <p>
+ * Für jeden Endpunkt werden die Anzahl an Anfragen und Fehlern, die
+ * empfangene Datenmenge sowie {@linkplain Histogram Histogramme} der
+ * Antwortzeiten, der einzelnen {@linkplain ApiMetrics.Phase Phasen} und des
+ * Lesens der JSON-Antworten erfasst.
+ *
+ * <pre>
+ * InMemoryApiMetrics metrics = new InMemoryApiMetrics();
+ * PewnClient client = new PewnClient.Builder().metrics(metrics).build();
+ * // ...
+ * Histogram latency = metrics.getEndpoint("ProjectService.getAll")
+ * 		.getLatency();
+ * System.out.println(latency.getPercentile(99));
+ * </pre>
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public class InMemoryApiMetrics implements ApiMetrics {
+
+	private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+	@Override
+	public void recordCall(String endpoint, long latencyNanos, int statusCode,
+			long responseBytes) {
+		EndpointMetrics metrics = getOrCreate(endpoint);
+		metrics.latency.record(latencyNanos);
+		metrics.calls.increment();
+		if (statusCode < 0 || statusCode >= 400)
+			metrics.errors.increment();
+		if (responseBytes > 0)
+			metrics.responseBytes.add(responseBytes);
+	}
+
+	@Override
+	public void recordPhase(String endpoint, Phase phase, long nanos) {
+		getOrCreate(endpoint).phases.get(phase).record(nanos);
+	}
+
+	@Override
+	public void recordDeserialization(String endpoint, long nanos,
+			boolean successful) {
+		EndpointMetrics metrics = getOrCreate(endpoint);
+		metrics.deserialization.record(nanos);
+		if (!successful)
+			metrics.errors.increment();
+	}
+
+	private EndpointMetrics getOrCreate(String endpoint) {
+		EndpointMetrics metrics = endpoints.get(endpoint);
+		if (metrics == null)
+			metrics = endpoints.computeIfAbsent(endpoint,
+					e -> new EndpointMetrics());
+		return metrics;
+	}
+
+	/**
+	 * @param endpoint
+	 *            Der Endpunkt, z.B. <code>ProjectService.getAll</code>.
+	 * @return Die Messwerte des Endpunkts; <code>null</code>, wenn für
+	 *         diesen noch nichts erfasst wurde.
+	 */
+	public EndpointMetrics getEndpoint(String endpoint) {
+		return endpoints.get(endpoint);
+	}
+
+	/**
+	 * @return Die Messwerte aller Endpunkte, nach Namen sortiert.
+	 */
+	public Map<String, EndpointMetrics> getEndpoints() {
+		return Collections.unmodifiableMap(new TreeMap<>(endpoints));
+	}
+
+	/**
+	 * Verwirft alle bisher erfassten Messwerte.
+	 */
+	public void reset() {
+		endpoints.clear();
+	}
+
+	/**
+	 * Liefert eine Übersicht aller Endpunkte; eine Zeile pro Endpunkt, die
+	 * Zeiten in Millisekunden.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		getEndpoints().forEach((name, metrics) -> {
+			Histogram latency = metrics.getLatency();
+			builder.append(name).append(" calls=").append(metrics.getCalls())
+					.append(" errors=").append(metrics.getErrors())
+					.append(" bytes=").append(metrics.getResponseBytes())
+					.append(" p50=").append(toMillis(latency.getPercentile(50)))
+					.append(" p99=").append(toMillis(latency.getPercentile(99)))
+					.append(" p999=")
+					.append(toMillis(latency.getPercentile(99.9)))
+					.append(" max=").append(toMillis(latency.getMax()))
+					.append(" deserialization_p99=")
+					.append(toMillis(
+							metrics.getDeserialization().getPercentile(99)))
+					.append('\n');
+		});
+		return builder.toString();
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f",
+				nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	/**
+	 * Die Messwerte eines Endpunkts.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	public static final class EndpointMetrics {
+
+		private final Histogram latency = new Histogram();
+		private final Histogram deserialization = new Histogram();
+		private final EnumMap<Phase, Histogram> phases = new EnumMap<>(
+				Phase.class);
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder responseBytes = new LongAdder();
+
+		private EndpointMetrics() {
+			for (Phase phase : Phase.values())
+				phases.put(phase, new Histogram());
+		}
+
+		/**
+		 * @return Die Antwortzeiten.
+		 */
+		public Histogram getLatency() {
+			return latency;
+		}
+
+		/**
+		 * @param phase
+		 *            Die Phase.
+		 * @return Die Dauer der übergebenen Phase.
+		 */
+		public Histogram getPhase(Phase phase) {
+			return phases.get(phase);
+		}
+
+		/**
+		 * @return Die Dauer des Lesens der JSON-Antworten.
+		 */
+		public Histogram getDeserialization() {
+			return deserialization;
+		}
+
+		/**
+		 * @return Die Anzahl an HTTP-Anfragen.
+		 */
+		public long getCalls() {
+			return calls.sum();
+		}
+
+		/**
+		 * @return Die Anzahl an Fehlern, d.h. fehlgeschlagene Anfragen,
+		 *         Antworten mit einem Statuscode ab <code>400</code> und
+		 *         Antworten, die nicht gelesen werden konnten.
+		 */
+		public long getErrors() {
+			return errors.sum();
+		}
+
+		/**
+		 * @return Die Größe aller empfangenen Antworten in Byte.
+		 */
+		public long getResponseBytes() {
+			return responseBytes.sum();
+		}
+
+	}
+
+}
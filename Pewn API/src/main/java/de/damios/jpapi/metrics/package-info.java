@@ -0,0 +1,7 @@
+/**
+ * Beinhaltet die Schnittstelle für Metriken über die Anfragen an Pewn sowie
+ * eine Implementation, die diese im Speicher sammelt.
+ *
+ * @see de.damios.jpapi.core.PewnClient.Builder#metrics(ApiMetrics)
+ */
+package de.damios.jpapi.metrics;
\ No newline at end of file
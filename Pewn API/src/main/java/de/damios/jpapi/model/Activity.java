@@ -2,6 +2,13 @@ package de.damios.jpapi.model;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -18,13 +25,6 @@ import retrofit2.http.Query;
  */
 public class Activity implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static ActivityService service = Api
-			.createService(ActivityService.class);
-
 	private static final long serialVersionUID = 110L;
 	private String type;
 	private BlogPost blogPost;
@@ -103,7 +103,19 @@ public class Activity implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Activity[] getLast(int x) throws IOException {
-		return Api.executeCall(service.getLast(x));
+		return Api.getDefaultClient().getLastActivities(x);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getLast(int)}.
+	 * 
+	 * @param x
+	 *            Die Anzahl der Aktivitäten.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getLast(int)
+	 */
+	public static CompletableFuture<Activity[]> getLastAsync(int x) {
+		return Api.getDefaultClient().getLastActivitiesAsync(x);
 	}
 
 	/**
@@ -113,11 +125,93 @@ public class Activity implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface ActivityService {
+	public interface ActivityService {
 
 		@GET("v1/contents/activities?format=json")
 		Call<Activity[]> getLast(@Query("size") int size);
 
 	}
 
+	/**
+	 * Liest und schreibt {@link Activity}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Activity> {
+
+		private final TypeAdapter<BlogPost> blogPostAdapter;
+		private final TypeAdapter<DesignComment> designCommentAdapter;
+		private final TypeAdapter<NewsComment> newsCommentAdapter;
+		private final TypeAdapter<ProjectComment> projectCommentAdapter;
+		private final TypeAdapter<ForumTopic> forumTopicAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.blogPostAdapter = gson.getAdapter(BlogPost.class);
+			this.designCommentAdapter = gson.getAdapter(DesignComment.class);
+			this.newsCommentAdapter = gson.getAdapter(NewsComment.class);
+			this.projectCommentAdapter = gson.getAdapter(ProjectComment.class);
+			this.forumTopicAdapter = gson.getAdapter(ForumTopic.class);
+		}
+
+		@Override
+		public Activity read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Activity activity = new Activity();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "type":
+					activity.type = ModelAdapters.nextString(in);
+					break;
+				case "blogPost":
+					activity.blogPost = blogPostAdapter.read(in);
+					break;
+				case "designComment":
+					activity.designComment = designCommentAdapter.read(in);
+					break;
+				case "newsComment":
+					activity.newsComment = newsCommentAdapter.read(in);
+					break;
+				case "projectComment":
+					activity.projectComment = projectCommentAdapter.read(in);
+					break;
+				case "forumTopic":
+					activity.forumTopic = forumTopicAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return activity;
+		}
+
+		@Override
+		public void write(JsonWriter out, Activity value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("type").value(value.type);
+			out.name("blogPost");
+			blogPostAdapter.write(out, value.blogPost);
+			out.name("designComment");
+			designCommentAdapter.write(out, value.designComment);
+			out.name("newsComment");
+			newsCommentAdapter.write(out, value.newsComment);
+			out.name("projectComment");
+			projectCommentAdapter.write(out, value.projectComment);
+			out.name("forumTopic");
+			forumTopicAdapter.write(out, value.forumTopic);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -19,13 +25,6 @@ import retrofit2.http.Path;
  */
 public class BlogPost implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static BlogPostService service = Api
-			.createService(BlogPostService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	@SerializedName("content")
@@ -134,7 +133,19 @@ public class BlogPost implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static BlogPost[] getByUserId(long id) throws IOException {
-		return Api.executeCall(service.getByUserId(id));
+		return Api.getDefaultClient().getBlogPostsByUserId(id);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUserId(long)}.
+	 * 
+	 * @param id
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUserId(long)
+	 */
+	public static CompletableFuture<BlogPost[]> getByUserIdAsync(long id) {
+		return Api.getDefaultClient().getBlogPostsByUserIdAsync(id);
 	}
 
 	/**
@@ -144,11 +155,97 @@ public class BlogPost implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface BlogPostService {
+	public interface BlogPostService {
 
 		@GET("v1/users/id/{id}/blogs?format=json")
 		Call<BlogPost[]> getByUserId(@Path("id") long id);
 
 	}
 
+	/**
+	 * Liest und schreibt {@link BlogPost}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<BlogPost> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<Hashtag[]> hashtagArrayAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+			this.hashtagArrayAdapter = gson.getAdapter(Hashtag[].class);
+		}
+
+		@Override
+		public BlogPost read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			BlogPost blogPost = new BlogPost();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					blogPost.id = ModelAdapters.nextLong(in, blogPost.id);
+					break;
+				case "content":
+					blogPost.text = ModelAdapters.nextString(in);
+					break;
+				case "headline":
+					blogPost.title = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					blogPost.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					blogPost.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					blogPost.author = userAdapter.read(in);
+					break;
+				case "hashtags":
+					blogPost.hashtags = hashtagArrayAdapter.read(in);
+					break;
+				case "projectId":
+					blogPost.projectId = ModelAdapters.nextLong(in,
+							blogPost.projectId);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return blogPost;
+		}
+
+		@Override
+		public void write(JsonWriter out, BlogPost value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("content").value(value.text);
+			out.name("headline").value(value.title);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("hashtags");
+			hashtagArrayAdapter.write(out, value.hashtags);
+			out.name("projectId").value(value.projectId);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -19,13 +25,6 @@ import retrofit2.http.Path;
  */
 public class Design implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static DesignService service = Api
-			.createService(DesignService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	private String description;
@@ -118,7 +117,19 @@ public class Design implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Design[] getByUserId(long id) throws IOException {
-		return Api.executeCall(service.getByUserId(id));
+		return Api.getDefaultClient().getDesignsByUserId(id);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUserId(long)}.
+	 * 
+	 * @param id
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUserId(long)
+	 */
+	public static CompletableFuture<Design[]> getByUserIdAsync(long id) {
+		return Api.getDefaultClient().getDesignsByUserIdAsync(id);
 	}
 
 	/**
@@ -128,11 +139,99 @@ public class Design implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface DesignService {
+	public interface DesignService {
 
 		@GET("v1/users/id/{id}/designs?format=json")
 		Call<Design[]> getByUserId(@Path("id") long id);
 
 	}
 
+	/**
+	 * Liest und schreibt {@link Design}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Design> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<Hashtag[]> hashtagArrayAdapter;
+		private final TypeAdapter<Image> imageAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+			this.hashtagArrayAdapter = gson.getAdapter(Hashtag[].class);
+			this.imageAdapter = gson.getAdapter(Image.class);
+		}
+
+		@Override
+		public Design read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Design design = new Design();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					design.id = ModelAdapters.nextLong(in, design.id);
+					break;
+				case "description":
+					design.description = ModelAdapters.nextString(in);
+					break;
+				case "title":
+					design.title = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					design.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					design.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					design.author = userAdapter.read(in);
+					break;
+				case "hashtags":
+					design.hashtags = hashtagArrayAdapter.read(in);
+					break;
+				case "fileContainer":
+					design.image = imageAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return design;
+		}
+
+		@Override
+		public void write(JsonWriter out, Design value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("description").value(value.description);
+			out.name("title").value(value.title);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("hashtags");
+			hashtagArrayAdapter.write(out, value.hashtags);
+			out.name("fileContainer");
+			imageAdapter.write(out, value.image);
+			out.endObject();
+		}
+
+	}
+
 }
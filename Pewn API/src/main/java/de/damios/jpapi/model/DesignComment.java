@@ -1,9 +1,15 @@
 package de.damios.jpapi.model;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * <i>Java-Modell des JSON-Design-Kommentar-Objekts.</i>
@@ -73,4 +79,78 @@ public class DesignComment implements Serializable {
 	 * return Api.executeCall(service.get(designId)); }
 	 */
 
+	/**
+	 * Liest und schreibt {@link DesignComment}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<DesignComment> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<Design> designAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+			this.designAdapter = gson.getAdapter(Design.class);
+		}
+
+		@Override
+		public DesignComment read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			DesignComment designComment = new DesignComment();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "content":
+					designComment.text = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					designComment.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					designComment.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					designComment.author = userAdapter.read(in);
+					break;
+				case "design":
+					designComment.design = designAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return designComment;
+		}
+
+		@Override
+		public void write(JsonWriter out, DesignComment value)
+				throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("content").value(value.text);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("design");
+			designAdapter.write(out, value.design);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -1,10 +1,17 @@
 package de.damios.jpapi.model;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.Timestamp;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
 import de.damios.jpapi.core.Constants;
 
 /**
@@ -104,4 +111,70 @@ public class Download implements Serializable {
 		return this.id == ((Download) obj).id;
 	}
 
+	/**
+	 * Liest und schreibt {@link Download}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Download> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+		}
+
+		@Override
+		public Download read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Download download = new Download();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					download.id = ModelAdapters.nextLong(in, download.id);
+					break;
+				case "title":
+					download.title = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					download.creationDate = timestampAdapter.read(in);
+					break;
+				case "icon":
+					download.icon = ModelAdapters.nextString(in);
+					break;
+				case "count":
+					download.count = ModelAdapters.nextLong(in, download.count);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return download;
+		}
+
+		@Override
+		public void write(JsonWriter out, Download value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("title").value(value.title);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("icon").value(value.icon);
+			out.name("count").value(value.count);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -1,9 +1,15 @@
 package de.damios.jpapi.model;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * <i>Java-Modell des JSON-Neuigkeiten-Kommentar-Objekts.</i>
@@ -123,4 +129,100 @@ public class ForumTopic implements Serializable {
 	 * Api.executeCall(service.getByTopicId(id)); }
 	 */
 
+	/**
+	 * Liest und schreibt {@link ForumTopic}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<ForumTopic> {
+
+		private final TypeAdapter<Hashtag[]> hashtagArrayAdapter;
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.hashtagArrayAdapter = gson.getAdapter(Hashtag[].class);
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+		}
+
+		@Override
+		public ForumTopic read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			ForumTopic forumTopic = new ForumTopic();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					forumTopic.id = ModelAdapters.nextLong(in, forumTopic.id);
+					break;
+				case "content":
+					forumTopic.text = ModelAdapters.nextString(in);
+					break;
+				case "headline":
+					forumTopic.title = ModelAdapters.nextString(in);
+					break;
+				case "forumSectionId":
+					forumTopic.forumSectionId = ModelAdapters.nextLong(in,
+							forumTopic.forumSectionId);
+					break;
+				case "hashtags":
+					forumTopic.hashtags = hashtagArrayAdapter.read(in);
+					break;
+				case "sticky":
+					forumTopic.sticky = ModelAdapters.nextBoolean(in,
+							forumTopic.sticky);
+					break;
+				case "locked":
+					forumTopic.locked = ModelAdapters.nextBoolean(in,
+							forumTopic.locked);
+					break;
+				case "creationDate":
+					forumTopic.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					forumTopic.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					forumTopic.author = userAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return forumTopic;
+		}
+
+		@Override
+		public void write(JsonWriter out, ForumTopic value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("content").value(value.text);
+			out.name("headline").value(value.title);
+			out.name("forumSectionId").value(value.forumSectionId);
+			out.name("hashtags");
+			hashtagArrayAdapter.write(out, value.hashtags);
+			out.name("sticky").value(value.sticky);
+			out.name("locked").value(value.locked);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -2,8 +2,13 @@ package de.damios.jpapi.model;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -21,13 +26,6 @@ import retrofit2.http.Path;
  */
 public class Hashtag implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static HashtagService service = Api
-			.createService(HashtagService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	private String name;
@@ -118,7 +116,20 @@ public class Hashtag implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Hashtag[] getByProjectId(long gameid) throws IOException {
-		return Api.executeCall(service.getByProjectId(gameid));
+		return Api.getDefaultClient().getHashtagsByProjectId(gameid);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByProjectId(long)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByProjectId(long)
+	 */
+	public static CompletableFuture<Hashtag[]> getByProjectIdAsync(
+			long gameid) {
+		return Api.getDefaultClient().getHashtagsByProjectIdAsync(gameid);
 	}
 
 	/**
@@ -182,11 +193,125 @@ public class Hashtag implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface HashtagService {
+	public interface HashtagService {
 
 		@GET("v1/games/id/{id}/hashtags?format=json")
 		Call<Hashtag[]> getByProjectId(@Path("id") long id);
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Liest und schreibt {@link Hashtag}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Hashtag> {
+
+		@Override
+		public Hashtag read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Hashtag hashtag = new Hashtag();
+			readInto(in, hashtag);
+			return hashtag;
+		}
+
+		private HashtagMetatag readMetatag(JsonReader in, Hashtag outer)
+				throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			HashtagMetatag metaTag = outer.new HashtagMetatag();
+			readInto(in, metaTag);
+			return metaTag;
+		}
+
+		private void readInto(JsonReader in, Hashtag hashtag)
+				throws IOException {
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					hashtag.id = ModelAdapters.nextLong(in, hashtag.id);
+					break;
+				case "name":
+					hashtag.name = ModelAdapters.nextString(in);
+					break;
+				case "usedInProjectsCount":
+					hashtag.usedInProjectsCount = ModelAdapters.nextInt(in,
+							hashtag.usedInProjectsCount);
+					break;
+				case "hashtagCategory":
+					hashtag.category = readHashtagCategory(in, hashtag);
+					break;
+				case "hashtagMetaTag":
+					hashtag.metaTag = readMetatag(in, hashtag);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+		}
+
+		private HashtagCategory readHashtagCategory(JsonReader in,
+				Hashtag outer) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			HashtagCategory category = outer.new HashtagCategory();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					category.id = ModelAdapters.nextLong(in, category.id);
+					break;
+				case "name":
+					category.name = ModelAdapters.nextString(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return category;
+		}
+
+		private void writeHashtagCategory(JsonWriter out,
+				HashtagCategory category) throws IOException {
+			if (category == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(category.id);
+			out.name("name").value(category.name);
+			out.endObject();
+		}
+
+		@Override
+		public void write(JsonWriter out, Hashtag value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("name").value(value.name);
+			out.name("usedInProjectsCount").value(value.usedInProjectsCount);
+			out.name("hashtagCategory");
+			writeHashtagCategory(out, value.category);
+			out.name("hashtagMetaTag");
+			write(out, value.metaTag);
+			out.endObject();
+		}
+
+	}
+
+}
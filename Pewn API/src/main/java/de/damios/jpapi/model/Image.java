@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -30,12 +36,6 @@ import retrofit2.http.Path;
  */
 public class Image implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static ImageService service = Api.createService(ImageService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	private String fileName;
@@ -106,7 +106,19 @@ public class Image implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Image[] getByProjectId(long gameid) throws IOException {
-		return Api.executeCall(service.getByProjectId(gameid));
+		return Api.getDefaultClient().getImagesByProjectId(gameid);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByProjectId(long)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByProjectId(long)
+	 */
+	public static CompletableFuture<Image[]> getByProjectIdAsync(long gameid) {
+		return Api.getDefaultClient().getImagesByProjectIdAsync(gameid);
 	}
 
 	/**
@@ -116,11 +128,80 @@ public class Image implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface ImageService {
+	public interface ImageService {
 
 		@GET("v1/games/id/{id}/images?format=json")
 		Call<Image[]> getByProjectId(@Path("id") long id);
 
 	}
 
+	/**
+	 * Liest und schreibt {@link Image}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Image> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+		}
+
+		@Override
+		public Image read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Image image = new Image();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					image.id = ModelAdapters.nextLong(in, image.id);
+					break;
+				case "fileName":
+					image.fileName = ModelAdapters.nextString(in);
+					break;
+				case "fileSize":
+					image.fileSize = ModelAdapters.nextInt(in, image.fileSize);
+					break;
+				case "uploadDate":
+					image.uploadDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					image.author = userAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return image;
+		}
+
+		@Override
+		public void write(JsonWriter out, Image value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("fileName").value(value.fileName);
+			out.name("fileSize").value(value.fileSize);
+			out.name("uploadDate");
+			timestampAdapter.write(out, value.uploadDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.endObject();
+		}
+
+	}
+
 }
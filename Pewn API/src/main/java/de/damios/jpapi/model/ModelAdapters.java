@@ -0,0 +1,107 @@
+package de.damios.jpapi.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Hilfsmethoden für die {@linkplain ModelTypeAdapterFactory TypeAdapter} der
+ * Modell-Klassen.
+ * <p>
+ * Die Methoden verhalten sich wie die Standard-Adapter von Gson: Zahlen und
+ * Wahrheitswerte werden auch als Strings akzeptiert und ein
+ * <code>null</code>-Wert lässt primitive Felder unverändert.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+final class ModelAdapters {
+
+	private ModelAdapters() {
+	}
+
+	static String nextString(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		if (token == JsonToken.BOOLEAN)
+			return Boolean.toString(in.nextBoolean());
+		return in.nextString();
+	}
+
+	static long nextLong(JsonReader in, long fallback) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return fallback;
+		}
+		try {
+			return in.nextLong();
+		} catch (NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		}
+	}
+
+	static int nextInt(JsonReader in, int fallback) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return fallback;
+		}
+		try {
+			return in.nextInt();
+		} catch (NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		}
+	}
+
+	static boolean nextBoolean(JsonReader in, boolean fallback)
+			throws IOException {
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL) {
+			in.nextNull();
+			return fallback;
+		}
+		if (token == JsonToken.STRING)
+			return Boolean.parseBoolean(in.nextString());
+		return in.nextBoolean();
+	}
+
+	/**
+	 * Liest ein Array von Ganzzahlen, ohne diese zwischenzeitlich in
+	 * {@link Long}-Objekte umzuwandeln.
+	 */
+	static long[] nextLongArray(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		long[] values = new long[8];
+		int size = 0;
+		in.beginArray();
+		while (in.hasNext()) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = nextLong(in, 0);
+		}
+		in.endArray();
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+	static void writeLongArray(JsonWriter out, long[] values)
+			throws IOException {
+		if (values == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (long value : values)
+			out.value(value);
+		out.endArray();
+	}
+
+}
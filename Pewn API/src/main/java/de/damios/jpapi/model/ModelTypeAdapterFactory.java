@@ -0,0 +1,80 @@
+package de.damios.jpapi.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Liefert für alle Modell-Klassen handgeschriebene {@link TypeAdapter}, die
+ * ohne Reflection auskommen.
+ * <p>
+ * Gegenüber den reflexiven Adaptern von Gson werden keine Felder per
+ * Reflection gesetzt und keine Objekte ohne Konstruktor erzeugt; vor allem
+ * große Arrays (z.B. {@link Project#getAll(Project.OrderedBy)}) werden so
+ * deutlich schneller gelesen. Datumsangaben und verschachtelte Objekte
+ * werden weiterhin über die Adapter des jeweiligen Gson-Parsers gelesen,
+ * dessen Konfiguration also berücksichtigt.
+ * <p>
+ * Wird bereits von
+ * {@link de.damios.jpapi.core.PewnClient#createDefaultGsonBuilder()}
+ * registriert.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public final class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+		Class<? super T> raw = type.getRawType();
+		TypeAdapter<?> adapter;
+
+		if (raw == Activity.class)
+			adapter = new Activity.GsonAdapter(gson);
+		else if (raw == BlogPost.class)
+			adapter = new BlogPost.GsonAdapter(gson);
+		else if (raw == Design.class)
+			adapter = new Design.GsonAdapter(gson);
+		else if (raw == DesignComment.class)
+			adapter = new DesignComment.GsonAdapter(gson);
+		else if (raw == Download.class)
+			adapter = new Download.GsonAdapter(gson);
+		else if (raw == ForumTopic.class)
+			adapter = new ForumTopic.GsonAdapter(gson);
+		else if (raw == Hashtag.class)
+			adapter = new Hashtag.GsonAdapter();
+		else if (raw == Image.class)
+			adapter = new Image.GsonAdapter(gson);
+		else if (raw == News.class)
+			adapter = new News.GsonAdapter(gson);
+		else if (raw == NewsComment.class)
+			adapter = new NewsComment.GsonAdapter(gson);
+		else if (raw == Project.class)
+			adapter = new Project.GsonAdapter(gson);
+		else if (raw == ProjectComment.class)
+			adapter = new ProjectComment.GsonAdapter(gson);
+		else if (raw == ProjectWrapper.class)
+			adapter = new ProjectWrapper.GsonAdapter(gson);
+		else if (raw == Rating.class)
+			adapter = new Rating.GsonAdapter(gson);
+		else if (raw == Release.class)
+			adapter = new Release.GsonAdapter(gson);
+		else if (raw == Status.class)
+			adapter = new Status.GsonAdapter(gson);
+		else if (raw == Team.class)
+			adapter = new Team.GsonAdapter(gson);
+		else if (raw == Token.class)
+			adapter = new Token.GsonAdapter();
+		else if (raw == User.class)
+			adapter = new User.GsonAdapter(gson);
+		else if (raw == UserData.class)
+			adapter = new UserData.GsonAdapter();
+		else
+			return null;
+
+		return (TypeAdapter<T>) adapter;
+	}
+
+}
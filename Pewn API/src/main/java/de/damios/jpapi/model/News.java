@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -19,12 +25,6 @@ import retrofit2.http.Path;
  */
 public class News implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static NewsService service = Api.createService(NewsService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	@SerializedName("content")
@@ -121,7 +121,19 @@ public class News implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static News[] getByUserId(long id) throws IOException {
-		return Api.executeCall(service.getByUserId(id));
+		return Api.getDefaultClient().getNewsByUserId(id);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUserId(long)}.
+	 * 
+	 * @param id
+	 *            Die ID des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUserId(long)
+	 */
+	public static CompletableFuture<News[]> getByUserIdAsync(long id) {
+		return Api.getDefaultClient().getNewsByUserIdAsync(id);
 	}
 
 	/**
@@ -131,11 +143,99 @@ public class News implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface NewsService {
+	public interface NewsService {
 
 		@GET("v1/users/id/{id}/news?format=json")
 		Call<News[]> getByUserId(@Path("id") long id);
 
 	}
 
+	/**
+	 * Liest und schreibt {@link News}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<News> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<Hashtag[]> hashtagArrayAdapter;
+		private final TypeAdapter<Image[]> imageArrayAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+			this.hashtagArrayAdapter = gson.getAdapter(Hashtag[].class);
+			this.imageArrayAdapter = gson.getAdapter(Image[].class);
+		}
+
+		@Override
+		public News read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			News news = new News();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					news.id = ModelAdapters.nextLong(in, news.id);
+					break;
+				case "content":
+					news.text = ModelAdapters.nextString(in);
+					break;
+				case "headline":
+					news.title = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					news.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					news.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					news.author = userAdapter.read(in);
+					break;
+				case "hashtags":
+					news.hashtags = hashtagArrayAdapter.read(in);
+					break;
+				case "fileContainer":
+					news.images = imageArrayAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return news;
+		}
+
+		@Override
+		public void write(JsonWriter out, News value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("content").value(value.text);
+			out.name("headline").value(value.title);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("hashtags");
+			hashtagArrayAdapter.write(out, value.hashtags);
+			out.name("fileContainer");
+			imageArrayAdapter.write(out, value.images);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -1,9 +1,15 @@
 package de.damios.jpapi.model;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * <i>Java-Modell des JSON-Neuigkeiten-Kommentar-Objekts.</i>
@@ -57,4 +63,78 @@ public class NewsComment implements Serializable {
 		return news;
 	}
 
+	/**
+	 * Liest und schreibt {@link NewsComment}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<NewsComment> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<News> newsAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+			this.newsAdapter = gson.getAdapter(News.class);
+		}
+
+		@Override
+		public NewsComment read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			NewsComment newsComment = new NewsComment();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "content":
+					newsComment.text = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					newsComment.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					newsComment.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					newsComment.author = userAdapter.read(in);
+					break;
+				case "news":
+					newsComment.news = newsAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return newsComment;
+		}
+
+		@Override
+		public void write(JsonWriter out, NewsComment value)
+				throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("content").value(value.text);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("news");
+			newsAdapter.write(out, value.news);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -3,14 +3,23 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 /**
  * <i>Java-Modell des JSON-Projekt-Objekts.</i>
@@ -22,13 +31,6 @@ import retrofit2.http.Query;
  */
 public class Project implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static ProjectService service = Api
-			.createService(ProjectService.class);
-
 	private static final long serialVersionUID = 110L;
 	/**
 	 * Die individuelle ID eines jeden Spiels. Ist in der URL des Spiels auf
@@ -210,7 +212,19 @@ public class Project implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Project getByProjectId(long gameid) throws IOException {
-		return Api.executeCall(service.getByProjectId(gameid));
+		return Api.getDefaultClient().getProjectByProjectId(gameid);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByProjectId(long)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByProjectId(long)
+	 */
+	public static CompletableFuture<Project> getByProjectIdAsync(long gameid) {
+		return Api.getDefaultClient().getProjectByProjectIdAsync(gameid);
 	}
 
 	/**
@@ -226,7 +240,37 @@ public class Project implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Project[] getByUserId(long userId) throws IOException {
-		return Api.executeCall(service.getByUserId(userId));
+		return Api.getDefaultClient().getProjectsByUserId(userId);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUserId(long)}.
+	 * 
+	 * @param userId
+	 *            Die ID des Entwicklers, dessen Spiele abgerufen werden sollen.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUserId(long)
+	 */
+	public static CompletableFuture<Project[]> getByUserIdAsync(long userId) {
+		return Api.getDefaultClient().getProjectsByUserIdAsync(userId);
+	}
+
+	/**
+	 * Liefert alle Spiele eines bestimmten Nutzers als Stream.
+	 * <p>
+	 * Der Stream muss nach der Benutzung geschlossen werden.
+	 * 
+	 * @param userId
+	 *            Die ID des Entwicklers, dessen Spiele abgerufen werden sollen.
+	 * @return Die Spiele als Stream.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see #getByUserId(long)
+	 * @see #streamAll(OrderedBy)
+	 */
+	public static Stream<Project> streamByUserId(long userId)
+			throws IOException {
+		return Api.getDefaultClient().streamProjectsByUserId(userId);
 	}
 
 	/**
@@ -243,7 +287,40 @@ public class Project implements Serializable {
 	 */
 	public static Project[] getLikedProjectsByUserId(long userId)
 			throws IOException {
-		return Api.executeCall(service.getLikedProjectsByUserId(userId));
+		return Api.getDefaultClient().getLikedProjectsByUserId(userId);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getLikedProjectsByUserId(long)}.
+	 * 
+	 * @param userId
+	 *            Die ID des Entwicklers, dessen gelikte Spiele abgerufen werden
+	 *            sollen.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getLikedProjectsByUserId(long)
+	 */
+	public static CompletableFuture<Project[]> getLikedProjectsByUserIdAsync(
+			long userId) {
+		return Api.getDefaultClient().getLikedProjectsByUserIdAsync(userId);
+	}
+
+	/**
+	 * Liefert alle Spiele, die ein bestimmter Benutzer gelikt hat, als Stream.
+	 * <p>
+	 * Der Stream muss nach der Benutzung geschlossen werden.
+	 * 
+	 * @param userId
+	 *            Die ID des Nutzers, dessen gelikte Spiele abgerufen werden
+	 *            sollen.
+	 * @return Die Spiele als Stream.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see #getLikedProjectsByUserId(long)
+	 * @see #streamAll(OrderedBy)
+	 */
+	public static Stream<Project> streamLikedProjectsByUserId(long userId)
+			throws IOException {
+		return Api.getDefaultClient().streamLikedProjectsByUserId(userId);
 	}
 
 	/**
@@ -255,7 +332,17 @@ public class Project implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Project getLatest() throws IOException {
-		return Api.executeCall(service.getLatest());
+		return Api.getDefaultClient().getLatestProject();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getLatest()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getLatest()
+	 */
+	public static CompletableFuture<Project> getLatestAsync() {
+		return Api.getDefaultClient().getLatestProjectAsync();
 	}
 
 	/**
@@ -267,7 +354,17 @@ public class Project implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Project getRandom() throws IOException {
-		return Api.executeCall(service.getRandom());
+		return Api.getDefaultClient().getRandomProject();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getRandom()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getRandom()
+	 */
+	public static CompletableFuture<Project> getRandomAsync() {
+		return Api.getDefaultClient().getRandomProjectAsync();
 	}
 
 	/**
@@ -282,7 +379,44 @@ public class Project implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Project[] getAll(OrderedBy ord) throws IOException {
-		return Api.executeCall(service.getAll(ord.parameter));
+		return Api.getDefaultClient().getAllProjects(ord);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAll(OrderedBy)}.
+	 * 
+	 * @param ord
+	 *            Reihenfolge, in der die Spiele sortiert sein sollen.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getAll(OrderedBy)
+	 */
+	public static CompletableFuture<Project[]> getAllAsync(OrderedBy ord) {
+		return Api.getDefaultClient().getAllProjectsAsync(ord);
+	}
+
+	/**
+	 * Liefert alle Spiele auf Pewn in einer {@link OrderedBy bestimmten
+	 * Reihenfolge} als Stream.
+	 * <p>
+	 * Im Gegensatz zu {@link #getAll(OrderedBy)} wird die Antwort Spiel für
+	 * Spiel gelesen, während sie noch übertragen wird; es befindet sich also
+	 * nie der gesamte Katalog im Speicher. Der Stream muss nach der Benutzung
+	 * geschlossen werden (z.B. über <code>try-with-resources</code>), damit
+	 * die Verbindung freigegeben wird.
+	 * <p>
+	 * Fehler bei der Übertragung, die erst während des Lesens auftreten,
+	 * werden als {@link java.io.UncheckedIOException UncheckedIOException}
+	 * weitergegeben.
+	 * 
+	 * @param ord
+	 *            Reihenfolge, in der die Spiele sortiert sein sollen.
+	 * @return Alle Spiele als Stream.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see #getAll(OrderedBy)
+	 */
+	public static Stream<Project> streamAll(OrderedBy ord) throws IOException {
+		return Api.getDefaultClient().streamAllProjects(ord);
 	}
 
 	/**
@@ -294,7 +428,17 @@ public class Project implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Project[] getInLatestBox() throws IOException {
-		return Api.executeCall(service.getLastUpdateBox());
+		return Api.getDefaultClient().getProjectsInLatestBox();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getInLatestBox()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getInLatestBox()
+	 */
+	public static CompletableFuture<Project[]> getInLatestBoxAsync() {
+		return Api.getDefaultClient().getProjectsInLatestBoxAsync();
 	}
 
 	/**
@@ -306,7 +450,17 @@ public class Project implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Project[] getInMostViewedBox() throws IOException {
-		return Api.executeCall(service.getMostViewedBox());
+		return Api.getDefaultClient().getProjectsInMostViewedBox();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getInMostViewedBox()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getInMostViewedBox()
+	 */
+	public static CompletableFuture<Project[]> getInMostViewedBoxAsync() {
+		return Api.getDefaultClient().getProjectsInMostViewedBoxAsync();
 	}
 
 	/**
@@ -321,8 +475,22 @@ public class Project implements Serializable {
 	 */
 	public static Project[] getRecommendedProjectsByProjectId(int gameid)
 			throws IOException {
-		return Api
-				.executeCall(service.getRecommendedProjectsByProjectId(gameid));
+		return Api.getDefaultClient()
+				.getRecommendedProjectsByProjectId(gameid);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getRecommendedProjectsByProjectId(int)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getRecommendedProjectsByProjectId(int)
+	 */
+	public static CompletableFuture<Project[]> getRecommendedProjectsByProjectIdAsync(
+			int gameid) {
+		return Api.getDefaultClient()
+				.getRecommendedProjectsByProjectIdAsync(gameid);
 	}
 
 	/**
@@ -362,6 +530,14 @@ public class Project implements Serializable {
 		OrderedBy(String parameter) {
 			this.parameter = parameter;
 		}
+
+		/**
+		 * @return Liefert den Wert des Query-Parameters, der an die API
+		 *         übergeben wird.
+		 */
+		public String getParameter() {
+			return parameter;
+		}
 	}
 
 	/**
@@ -371,7 +547,7 @@ public class Project implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface ProjectService {
+	public interface ProjectService {
 
 		@GET("v1/contents/games/views?format=json")
 		Call<Project[]> getMostViewedBox();
@@ -397,8 +573,129 @@ public class Project implements Serializable {
 		@GET("v1/users/id/{id}/likes?format=json")
 		Call<Project[]> getLikedProjectsByUserId(@Path("id") long userId);
 
+		@Streaming
+		@GET("v1/games/all?format=json")
+		Call<ResponseBody> streamAll(@Query("order") String order);
+
+		@Streaming
+		@GET("v1/users/id/{id}/games?format=json")
+		Call<ResponseBody> streamByUserId(@Path("id") long userId);
+
+		@Streaming
+		@GET("v1/users/id/{id}/likes?format=json")
+		Call<ResponseBody> streamLikedProjectsByUserId(
+				@Path("id") long userId);
+
 		@GET("v1/games/id/{id}/recommendations?format=json")
 		Call<Project[]> getRecommendedProjectsByProjectId(@Path("id") long id);
 
 	}
+
+	/**
+	 * Liest und schreibt {@link Project}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Project> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<Image[]> imageArrayAdapter;
+		private final TypeAdapter<Hashtag[]> hashtagArrayAdapter;
+		private final TypeAdapter<Team> teamAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+			this.imageArrayAdapter = gson.getAdapter(Image[].class);
+			this.hashtagArrayAdapter = gson.getAdapter(Hashtag[].class);
+			this.teamAdapter = gson.getAdapter(Team.class);
+		}
+
+		@Override
+		public Project read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Project project = new Project();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					project.id = ModelAdapters.nextLong(in, project.id);
+					break;
+				case "content":
+					project.description = ModelAdapters.nextString(in);
+					break;
+				case "headline":
+					project.title = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					project.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					project.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					project.author = userAdapter.read(in);
+					break;
+				case "rating":
+					project.rating = ModelAdapters.nextInt(in, project.rating);
+					break;
+				case "version":
+					project.version = ModelAdapters.nextString(in);
+					break;
+				case "fileContainers":
+					project.images = imageArrayAdapter.read(in);
+					break;
+				case "hashtags":
+					project.hashtags = hashtagArrayAdapter.read(in);
+					break;
+				case "team":
+					project.team = teamAdapter.read(in);
+					break;
+				case "advertisement":
+					project.advertisement = ModelAdapters.nextString(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return project;
+		}
+
+		@Override
+		public void write(JsonWriter out, Project value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("content").value(value.description);
+			out.name("headline").value(value.title);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("rating").value(value.rating);
+			out.name("version").value(value.version);
+			out.name("fileContainers");
+			imageArrayAdapter.write(out, value.images);
+			out.name("hashtags");
+			hashtagArrayAdapter.write(out, value.hashtags);
+			out.name("team");
+			teamAdapter.write(out, value.team);
+			out.name("advertisement").value(value.advertisement);
+			out.endObject();
+		}
+
+	}
+
 }
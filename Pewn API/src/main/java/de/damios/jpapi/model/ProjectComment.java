@@ -1,9 +1,15 @@
 package de.damios.jpapi.model;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * <i>Java-Modell des JSON-Projekt-Kommentar-Objekts.</i>
@@ -57,4 +63,78 @@ public class ProjectComment implements Serializable {
 		return project;
 	}
 
+	/**
+	 * Liest und schreibt {@link ProjectComment}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<ProjectComment> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<Project> projectAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+			this.projectAdapter = gson.getAdapter(Project.class);
+		}
+
+		@Override
+		public ProjectComment read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			ProjectComment projectComment = new ProjectComment();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "content":
+					projectComment.text = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					projectComment.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					projectComment.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customer":
+					projectComment.author = userAdapter.read(in);
+					break;
+				case "project":
+					projectComment.project = projectAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return projectComment;
+		}
+
+		@Override
+		public void write(JsonWriter out, ProjectComment value)
+				throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("content").value(value.text);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("project");
+			projectAdapter.write(out, value.project);
+			out.endObject();
+		}
+
+	}
+
 }
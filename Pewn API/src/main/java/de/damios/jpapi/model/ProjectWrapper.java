@@ -2,6 +2,13 @@ package de.damios.jpapi.model;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -18,13 +25,6 @@ import retrofit2.http.GET;
  */
 public class ProjectWrapper implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static ProjectWrapperService service = Api
-			.createService(ProjectWrapperService.class);
-
 	private static final long serialVersionUID = 110L;
 	private String reason;
 	private Project project;
@@ -54,7 +54,17 @@ public class ProjectWrapper implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static ProjectWrapper[] getTopProjectBox() throws IOException {
-		return Api.executeCall(service.getTopProjectBox());
+		return Api.getDefaultClient().getTopProjectBox();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getTopProjectBox()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getTopProjectBox()
+	 */
+	public static CompletableFuture<ProjectWrapper[]> getTopProjectBoxAsync() {
+		return Api.getDefaultClient().getTopProjectBoxAsync();
 	}
 
 	/**
@@ -64,10 +74,66 @@ public class ProjectWrapper implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface ProjectWrapperService {
+	public interface ProjectWrapperService {
 
 		@GET("v1/contents/games/top?format=json")
 		Call<ProjectWrapper[]> getTopProjectBox();
 
 	}
+
+	/**
+	 * Liest und schreibt {@link ProjectWrapper}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<ProjectWrapper> {
+
+		private final TypeAdapter<Project> projectAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.projectAdapter = gson.getAdapter(Project.class);
+		}
+
+		@Override
+		public ProjectWrapper read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			ProjectWrapper projectWrapper = new ProjectWrapper();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "reason":
+					projectWrapper.reason = ModelAdapters.nextString(in);
+					break;
+				case "project":
+					projectWrapper.project = projectAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return projectWrapper;
+		}
+
+		@Override
+		public void write(JsonWriter out, ProjectWrapper value)
+				throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("reason").value(value.reason);
+			out.name("project");
+			projectAdapter.write(out, value.project);
+			out.endObject();
+		}
+
+	}
+
 }
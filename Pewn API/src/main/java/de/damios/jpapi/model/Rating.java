@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -19,13 +25,6 @@ import retrofit2.http.Path;
  */
 public class Rating implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static RatingService service = Api
-			.createService(RatingService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	private int rating;
@@ -132,7 +131,19 @@ public class Rating implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Rating[] getByProjectId(long gameid) throws IOException {
-		return Api.executeCall(service.getByProjectId(gameid));
+		return Api.getDefaultClient().getRatingsByProjectId(gameid);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByProjectId(long)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByProjectId(long)
+	 */
+	public static CompletableFuture<Rating[]> getByProjectIdAsync(long gameid) {
+		return Api.getDefaultClient().getRatingsByProjectIdAsync(gameid);
 	}
 
 	/**
@@ -148,7 +159,20 @@ public class Rating implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Rating[] getByUserId(long userId) throws IOException {
-		return Api.executeCall(service.getByUserId(userId));
+		return Api.getDefaultClient().getRatingsByUserId(userId);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUserId(long)}.
+	 * 
+	 * @param userId
+	 *            Die ID des Entwicklers, dessen Bewertungen abgerufen werden
+	 *            sollen.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUserId(long)
+	 */
+	public static CompletableFuture<Rating[]> getByUserIdAsync(long userId) {
+		return Api.getDefaultClient().getRatingsByUserIdAsync(userId);
 	}
 
 	/**
@@ -209,7 +233,7 @@ public class Rating implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface RatingService {
+	public interface RatingService {
 
 		@GET("v1/games/id/{id}/ratings?format=json")
 		Call<Rating[]> getByProjectId(@Path("id") long id);
@@ -219,4 +243,133 @@ public class Rating implements Serializable {
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Liest und schreibt {@link Rating}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Rating> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<User> userAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.userAdapter = gson.getAdapter(User.class);
+		}
+
+		@Override
+		public Rating read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Rating rating = new Rating();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					rating.id = ModelAdapters.nextLong(in, rating.id);
+					break;
+				case "rating":
+					rating.rating = ModelAdapters.nextInt(in, rating.rating);
+					break;
+				case "ratingDate":
+					rating.date = timestampAdapter.read(in);
+					break;
+				case "customer":
+					rating.author = userAdapter.read(in);
+					break;
+				case "ratingReason":
+					rating.text = ModelAdapters.nextString(in);
+					break;
+				case "ratingComment":
+					rating.comment = readRatingComment(in, rating);
+					break;
+				case "ratedVersion":
+					rating.ratedVersion = ModelAdapters.nextString(in);
+					break;
+				case "curated":
+					rating.curated = ModelAdapters.nextBoolean(in,
+							rating.curated);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return rating;
+		}
+
+		private RatingComment readRatingComment(JsonReader in, Rating outer)
+				throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			RatingComment comment = outer.new RatingComment();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					comment.id = ModelAdapters.nextLong(in, comment.id);
+					break;
+				case "content":
+					comment.text = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					comment.date = timestampAdapter.read(in);
+					break;
+				case "customer":
+					comment.author = userAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return comment;
+		}
+
+		private void writeRatingComment(JsonWriter out, RatingComment comment)
+				throws IOException {
+			if (comment == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(comment.id);
+			out.name("content").value(comment.text);
+			out.name("creationDate");
+			timestampAdapter.write(out, comment.date);
+			out.name("customer");
+			userAdapter.write(out, comment.author);
+			out.endObject();
+		}
+
+		@Override
+		public void write(JsonWriter out, Rating value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("rating").value(value.rating);
+			out.name("ratingDate");
+			timestampAdapter.write(out, value.date);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("ratingReason").value(value.text);
+			out.name("ratingComment");
+			writeRatingComment(out, value.comment);
+			out.name("ratedVersion").value(value.ratedVersion);
+			out.name("curated").value(value.curated);
+			out.endObject();
+		}
+
+	}
+
+}
@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -21,13 +27,6 @@ import retrofit2.http.Path;
  */
 public class Release implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static ReleaseService service = Api
-			.createService(ReleaseService.class);
-
 	private static final long serialVersionUID = 110L;
 	private long id;
 	@SerializedName("customer")
@@ -131,7 +130,19 @@ public class Release implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Release[] getByProjectId(int gameid) throws IOException {
-		return Api.executeCall(service.getByProjectId(gameid));
+		return Api.getDefaultClient().getReleasesByProjectId(gameid);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByProjectId(int)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByProjectId(int)
+	 */
+	public static CompletableFuture<Release[]> getByProjectIdAsync(int gameid) {
+		return Api.getDefaultClient().getReleasesByProjectIdAsync(gameid);
 	}
 
 	/**
@@ -141,11 +152,97 @@ public class Release implements Serializable {
 	 * @author damios
 	 * @since 0.6.0
 	 */
-	interface ReleaseService {
+	public interface ReleaseService {
 
 		@GET("v1/games/id/{id}/releases?format=json")
 		Call<Release[]> getByProjectId(@Path("id") long id);
 
 	}
 
+	/**
+	 * Liest und schreibt {@link Release}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Release> {
+
+		private final TypeAdapter<User> userAdapter;
+		private final TypeAdapter<Timestamp> timestampAdapter;
+		private final TypeAdapter<Download[]> downloadArrayAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.userAdapter = gson.getAdapter(User.class);
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+			this.downloadArrayAdapter = gson.getAdapter(Download[].class);
+		}
+
+		@Override
+		public Release read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Release release = new Release();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					release.id = ModelAdapters.nextLong(in, release.id);
+					break;
+				case "customer":
+					release.author = userAdapter.read(in);
+					break;
+				case "title":
+					release.title = ModelAdapters.nextString(in);
+					break;
+				case "description":
+					release.description = ModelAdapters.nextString(in);
+					break;
+				case "releaseDate":
+					release.releaseDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					release.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "projectId":
+					release.projectId = ModelAdapters.nextLong(in,
+							release.projectId);
+					break;
+				case "downloads":
+					release.downloads = downloadArrayAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return release;
+		}
+
+		@Override
+		public void write(JsonWriter out, Release value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("customer");
+			userAdapter.write(out, value.author);
+			out.name("title").value(value.title);
+			out.name("description").value(value.description);
+			out.name("releaseDate");
+			timestampAdapter.write(out, value.releaseDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("projectId").value(value.projectId);
+			out.name("downloads");
+			downloadArrayAdapter.write(out, value.downloads);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -3,6 +3,13 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -16,13 +23,6 @@ import retrofit2.http.GET;
  */
 public class Status implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static StatusService service = Api
-			.createService(StatusService.class);
-
 	private static final long serialVersionUID = 100L;
 	private String status;
 	private Timestamp lastUpdated;
@@ -50,7 +50,17 @@ public class Status implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Status get() throws IOException {
-		return Api.executeCall(service.get());
+		return Api.getDefaultClient().getStatus();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #get()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #get()
+	 */
+	public static CompletableFuture<Status> getAsync() {
+		return Api.getDefaultClient().getStatusAsync();
 	}
 
 	/**
@@ -60,11 +70,65 @@ public class Status implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface StatusService {
+	public interface StatusService {
 
 		@GET("status?format=json")
 		Call<Status> get();
 
 	}
 
+	/**
+	 * Liest und schreibt {@link Status}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Status> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+		}
+
+		@Override
+		public Status read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Status status = new Status();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "status":
+					status.status = ModelAdapters.nextString(in);
+					break;
+				case "lastUpdated":
+					status.lastUpdated = timestampAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return status;
+		}
+
+		@Override
+		public void write(JsonWriter out, Status value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("status").value(value.status);
+			out.name("lastUpdated");
+			timestampAdapter.write(out, value.lastUpdated);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -19,12 +25,6 @@ import retrofit2.http.Path;
  */
 public class Team implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static TeamService service = Api.createService(TeamService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	@SerializedName("teamName")
@@ -152,7 +152,19 @@ public class Team implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Team getByTeamId(long id) throws IOException {
-		return Api.executeCall(service.getByTeamId(id));
+		return Api.getDefaultClient().getTeamByTeamId(id);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByTeamId(long)}.
+	 * 
+	 * @param id
+	 *            Die Team-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByTeamId(long)
+	 */
+	public static CompletableFuture<Team> getByTeamIdAsync(long id) {
+		return Api.getDefaultClient().getTeamByTeamIdAsync(id);
 	}
 
 	/**
@@ -167,7 +179,19 @@ public class Team implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static Team[] getByUserId(long userId) throws IOException {
-		return Api.executeCall(service.getByUserId(userId));
+		return Api.getDefaultClient().getTeamsByUserId(userId);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUserId(long)}.
+	 * 
+	 * @param userId
+	 *            Die ID des Nutzers, dessen Teams abgerufen werden sollen.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUserId(long)
+	 */
+	public static CompletableFuture<Team[]> getByUserIdAsync(long userId) {
+		return Api.getDefaultClient().getTeamsByUserIdAsync(userId);
 	}
 
 	/**
@@ -177,7 +201,7 @@ public class Team implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface TeamService {
+	public interface TeamService {
 
 		@GET("v1/teams/id/{id}?format=json")
 		Call<Team> getByTeamId(@Path("id") long id);
@@ -187,4 +211,85 @@ public class Team implements Serializable {
 
 	}
 
+	/**
+	 * Liest und schreibt {@link Team}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Team> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+		}
+
+		@Override
+		public Team read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Team team = new Team();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					team.id = ModelAdapters.nextLong(in, team.id);
+					break;
+				case "teamName":
+					team.name = ModelAdapters.nextString(in);
+					break;
+				case "description":
+					team.description = ModelAdapters.nextString(in);
+					break;
+				case "creationDate":
+					team.creationDate = timestampAdapter.read(in);
+					break;
+				case "lastUpdate":
+					team.lastUpdateDate = timestampAdapter.read(in);
+					break;
+				case "customerFounderId":
+					team.founderId = ModelAdapters.nextLong(in, team.founderId);
+					break;
+				case "customerMemberId":
+					team.memberIds = ModelAdapters.nextLongArray(in);
+					break;
+				case "projectId":
+					team.projectIds = ModelAdapters.nextLongArray(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return team;
+		}
+
+		@Override
+		public void write(JsonWriter out, Team value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("teamName").value(value.name);
+			out.name("description").value(value.description);
+			out.name("creationDate");
+			timestampAdapter.write(out, value.creationDate);
+			out.name("lastUpdate");
+			timestampAdapter.write(out, value.lastUpdateDate);
+			out.name("customerFounderId").value(value.founderId);
+			out.name("customerMemberId");
+			ModelAdapters.writeLongArray(out, value.memberIds);
+			out.name("projectId");
+			ModelAdapters.writeLongArray(out, value.projectIds);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -2,6 +2,12 @@ package de.damios.jpapi.model;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import retrofit2.Call;
@@ -19,12 +25,6 @@ import retrofit2.http.POST;
  */
 public class Token implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static TokenService service = Api.createService(TokenService.class);
-
 	private static final long serialVersionUID = 110L;
 	private String access_token;
 	private String refresh_token;
@@ -44,6 +44,18 @@ public class Token implements Serializable {
 		return username;
 	}
 
+	/**
+	 * @return Liefert die Gültigkeitsdauer des Access-Tokens in Sekunden;
+	 *         <code>-1</code>, wenn diese nicht bekannt ist.
+	 */
+	public long getExpiresIn() {
+		try {
+			return expires_in == null ? -1 : Long.parseLong(expires_in.trim());
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
 	/**
 	 * Liefert einen vollständigen Token.
 	 * <p>
@@ -65,8 +77,29 @@ public class Token implements Serializable {
 	 */
 	public static Token getFirstToken(String clientId, String clientSecret,
 			String code, String redirectUri) throws IOException {
-		return Api.executeCall(service.getFirstToken(clientId, clientSecret,
-				"authorization_code", code, redirectUri));
+		return Api.getDefaultClient().getFirstToken(clientId, clientSecret,
+				code, redirectUri);
+	}
+
+	/**
+	 * Asynchrone Variante von
+	 * {@link #getFirstToken(String, String, String, String)}.
+	 * 
+	 * @param clientId
+	 *            Die ID der API-Anwendung.
+	 * @param clientSecret
+	 *            Das Secret der Anwendung.
+	 * @param code
+	 *            Der auth_code.
+	 * @param redirectUri
+	 *            Die redirect_uri, die die Anwendung auf Pewn hinterlegt hat.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getFirstToken(String, String, String, String)
+	 */
+	public static CompletableFuture<Token> getFirstTokenAsync(String clientId,
+			String clientSecret, String code, String redirectUri) {
+		return Api.getDefaultClient().getFirstTokenAsync(clientId,
+				clientSecret, code, redirectUri);
 	}
 
 	/**
@@ -84,12 +117,20 @@ public class Token implements Serializable {
 	 */
 	public static Token getRefreshedToken()
 			throws IOException, IllegalStateException {
-		if (Api.getClientId() == null || Api.getClientSecret() == null
-				|| Api.getRefreshToken() == null) {
-			throw new IllegalStateException("API nicht richtig initialisiert");
-		}
-		return Api.executeCall(service.refreshToken(Api.getClientId(),
-				Api.getClientSecret(), "refresh_token", Api.getRefreshToken()));
+		return Api.getDefaultClient().getRefreshedToken();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getRefreshedToken()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @throws IllegalStateException
+	 *             wenn die API vorher nicht initialisiert wurde.
+	 * @see #getRefreshedToken()
+	 */
+	public static CompletableFuture<Token> getRefreshedTokenAsync()
+			throws IllegalStateException {
+		return Api.getDefaultClient().getRefreshedTokenAsync();
 	}
 
 	/**
@@ -99,7 +140,7 @@ public class Token implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface TokenService {
+	public interface TokenService {
 
 		@FormUrlEncoded
 		@POST("v1/oauth/token")
@@ -118,4 +159,63 @@ public class Token implements Serializable {
 
 	}
 
+	/**
+	 * Liest und schreibt {@link Token}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<Token> {
+
+		@Override
+		public Token read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Token token = new Token();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "access_token":
+					token.access_token = ModelAdapters.nextString(in);
+					break;
+				case "refresh_token":
+					token.refresh_token = ModelAdapters.nextString(in);
+					break;
+				case "token_type":
+					token.token_type = ModelAdapters.nextString(in);
+					break;
+				case "expires_in":
+					token.expires_in = ModelAdapters.nextString(in);
+					break;
+				case "username":
+					token.username = ModelAdapters.nextString(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return token;
+		}
+
+		@Override
+		public void write(JsonWriter out, Token value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("access_token").value(value.access_token);
+			out.name("refresh_token").value(value.refresh_token);
+			out.name("token_type").value(value.token_type);
+			out.name("expires_in").value(value.expires_in);
+			out.name("username").value(value.username);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -3,8 +3,14 @@ package de.damios.jpapi.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.concurrent.CompletableFuture;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
 import de.damios.jpapi.ressource.ImageProvider;
@@ -20,12 +26,6 @@ import retrofit2.http.Path;
  */
 public class User implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static UserService service = Api.createService(UserService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	private String username;
@@ -139,7 +139,19 @@ public class User implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static User getByUserId(long userid) throws IOException {
-		return Api.executeCall(service.getByUserId(userid));
+		return Api.getDefaultClient().getUserByUserId(userid);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUserId(long)}.
+	 * 
+	 * @param userid
+	 *            Die Nutzer-ID.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUserId(long)
+	 */
+	public static CompletableFuture<User> getByUserIdAsync(long userid) {
+		return Api.getDefaultClient().getUserByUserIdAsync(userid);
 	}
 
 	/**
@@ -153,7 +165,19 @@ public class User implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static User getByUsername(String username) throws IOException {
-		return Api.executeCall(service.getByUsername(username));
+		return Api.getDefaultClient().getUserByUsername(username);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getByUsername(String)}.
+	 * 
+	 * @param username
+	 *            Der Name des Nutzers.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getByUsername(String)
+	 */
+	public static CompletableFuture<User> getByUsernameAsync(String username) {
+		return Api.getDefaultClient().getUserByUsernameAsync(username);
 	}
 
 	/**
@@ -205,7 +229,7 @@ public class User implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface UserService {
+	public interface UserService {
 
 		@GET("v1/users/id/{id}?format=json")
 		Call<User> getByUserId(@Path("id") long id);
@@ -215,4 +239,115 @@ public class User implements Serializable {
 
 	}
 
+	/**
+	 * Liest und schreibt {@link User}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<User> {
+
+		private final TypeAdapter<Timestamp> timestampAdapter;
+
+		GsonAdapter(Gson gson) {
+			this.timestampAdapter = gson.getAdapter(Timestamp.class);
+		}
+
+		@Override
+		public User read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			User user = new User();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					user.id = ModelAdapters.nextLong(in, user.id);
+					break;
+				case "username":
+					user.username = ModelAdapters.nextString(in);
+					break;
+				case "profile":
+					user.profile = readProfile(in, user);
+					break;
+				case "gamificationLevel":
+					user.level = ModelAdapters.nextInt(in, user.level);
+					break;
+				case "xp":
+					user.xp = ModelAdapters.nextInt(in, user.xp);
+					break;
+				case "registrationDate":
+					user.registrationDate = timestampAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return user;
+		}
+
+		private Profile readProfile(JsonReader in, User outer)
+				throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			Profile profile = outer.new Profile();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "about":
+					profile.about = ModelAdapters.nextString(in);
+					break;
+				case "website":
+					profile.website = ModelAdapters.nextString(in);
+					break;
+				case "avatar":
+					profile.avatar = ModelAdapters.nextString(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return profile;
+		}
+
+		private void writeProfile(JsonWriter out, Profile profile)
+				throws IOException {
+			if (profile == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("about").value(profile.about);
+			out.name("website").value(profile.website);
+			out.name("avatar").value(profile.avatar);
+			out.endObject();
+		}
+
+		@Override
+		public void write(JsonWriter out, User value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("username").value(value.username);
+			out.name("profile");
+			writeProfile(out, value.profile);
+			out.name("gamificationLevel").value(value.level);
+			out.name("xp").value(value.xp);
+			out.name("registrationDate");
+			timestampAdapter.write(out, value.registrationDate);
+			out.endObject();
+		}
+
+	}
+
 }
@@ -2,8 +2,17 @@ package de.damios.jpapi.model;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import de.damios.jpapi.core.Api;
+import de.damios.jpapi.core.AuthContext;
+import de.damios.jpapi.core.Constants;
+import de.damios.jpapi.core.PewnClient;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Header;
@@ -16,13 +25,6 @@ import retrofit2.http.Header;
  */
 public class UserData implements Serializable {
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static UserDataService service = Api
-			.createService(UserDataService.class);
-
 	private static final long serialVersionUID = 100L;
 	private long id;
 	private String username;
@@ -63,8 +65,49 @@ public class UserData implements Serializable {
 	 * @see Api#executeCall(Call)
 	 */
 	public static UserData get() throws IOException, IllegalStateException {
-		Token token = Token.getRefreshedToken();
-		return Api.executeCall(service.get("Bearer " + token.getAccessToken()));
+		return Api.getDefaultClient().getUserData();
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #get()}.
+	 * 
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @throws IllegalStateException
+	 *             wenn die API vorher nicht initialisiert wurde.
+	 * @see #get()
+	 */
+	public static CompletableFuture<UserData> getAsync()
+			throws IllegalStateException {
+		return Api.getDefaultClient().getUserDataAsync();
+	}
+
+	/**
+	 * Liefert die Daten des Nutzers, zu dem der übergebene
+	 * Authentifizierungskontext gehört.
+	 * <p>
+	 * Erfordert die Zugriffsberechtigung 'PROFILE_DATA'.
+	 * 
+	 * @param auth
+	 *            Der Authentifizierungskontext.
+	 * @return Die Nutzerdaten.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Kommunikation mit Pewn auftritt.
+	 * @see PewnClient#createAuthContext(String, String, String, String)
+	 */
+	public static UserData get(AuthContext auth) throws IOException {
+		return auth.getClient().getUserData(auth);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #get(AuthContext)}.
+	 * 
+	 * @param auth
+	 *            Der Authentifizierungskontext.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #get(AuthContext)
+	 */
+	public static CompletableFuture<UserData> getAsync(AuthContext auth) {
+		return auth.getClient().getUserDataAsync(auth);
 	}
 
 	/**
@@ -74,10 +117,62 @@ public class UserData implements Serializable {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface UserDataService {
+	public interface UserDataService {
 
 		@GET("v1/self/details?format=json")
-		Call<UserData> get(@Header("Authorization") String token);
+		Call<UserData> get(
+				@Header(Constants.AUTH_CONTEXT_HEADER) String authContext);
+
+	}
+
+	/**
+	 * Liest und schreibt {@link UserData}-Objekte ohne Reflection.
+	 * 
+	 * @author damios
+	 * @since 0.7.0
+	 * @see ModelTypeAdapterFactory
+	 */
+	static final class GsonAdapter extends TypeAdapter<UserData> {
+
+		@Override
+		public UserData read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			UserData userData = new UserData();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "id":
+					userData.id = ModelAdapters.nextLong(in, userData.id);
+					break;
+				case "username":
+					userData.username = ModelAdapters.nextString(in);
+					break;
+				case "email":
+					userData.email = ModelAdapters.nextString(in);
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return userData;
+		}
+
+		@Override
+		public void write(JsonWriter out, UserData value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id").value(value.id);
+			out.name("username").value(value.username);
+			out.name("email").value(value.email);
+			out.endObject();
+		}
 
 	}
 
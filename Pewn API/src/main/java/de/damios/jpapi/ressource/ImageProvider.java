@@ -2,12 +2,20 @@ package de.damios.jpapi.ressource;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import javax.imageio.ImageIO;
 
 import de.damios.jpapi.core.Api;
+import de.damios.jpapi.core.ImageBatch;
+import de.damios.jpapi.core.ImageDecodeOptions;
+import de.damios.jpapi.core.ImageInfo;
+import de.damios.jpapi.model.Design;
 import de.damios.jpapi.model.Image;
+import de.damios.jpapi.model.News;
 import de.damios.jpapi.model.Project;
 import de.damios.jpapi.model.User;
 import okhttp3.ResponseBody;
@@ -19,6 +27,20 @@ import retrofit2.http.Query;
 /**
  * Beinhaltet ausschließlich statische Methoden zum Herunterladen der auf Pewn
  * gespeicherten Bilder.
+ * <p>
+ * Wird nur die Datei eines Bildes benötigt (z.B. zum Speichern oder
+ * Weiterleiten), sollten {@link #getBytes(long, String, int, int)},
+ * {@link #getStream(long, String, int, int)} oder
+ * {@link #write(long, String, int, int, java.nio.file.Path)} verwendet
+ * werden, da das Dekodieren ein Vielfaches an Speicher und Rechenzeit
+ * benötigt. Für Vorschaubilder können über {@link ImageDecodeOptions} auch
+ * nur eine verkleinerte Variante oder ein Ausschnitt dekodiert werden;
+ * {@link #getInfo(long, String, int, int)} liefert die Größe eines Bildes,
+ * ohne es zu dekodieren.
+ * <p>
+ * Werden mehrere Bilder auf einmal benötigt (z.B. für die Seite eines
+ * Spiels), sollten diese über {@link #prefetch(Project...)} gleichzeitig
+ * heruntergeladen werden.
  * 
  * @author damios
  * @since 0.1.0
@@ -28,13 +50,6 @@ public class ImageProvider {
 	private ImageProvider() {
 	}
 
-	/**
-	 * Der Service, der die Verbindung zu den benötigten API-Endpunkten
-	 * beinhaltet.
-	 */
-	private static ImageProviderService service = Api
-			.createService(ImageProviderService.class);
-
 	/**
 	 * Liefert ein Bild, das auf Pewn hochgeladen wurde.
 	 * <p>
@@ -63,11 +78,126 @@ public class ImageProvider {
 	 */
 	public static BufferedImage get(long gameid, String filename, int width,
 			int height) throws IOException {
-		ResponseBody tmp = Api.executeCall(service.downloadImage(gameid,
-				filename, (width < 0 || height < 0) ? null : width,
-				(width < 0 || height < 0) ? null : height));
+		return Api.getDefaultClient().getImage(gameid, filename, width,
+				height);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #get(long, String, int, int)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #get(long, String, int, int)
+	 */
+	public static CompletableFuture<BufferedImage> getAsync(long gameid,
+			String filename, int width, int height) {
+		return Api.getDefaultClient().getImageAsync(gameid, filename, width,
+				height);
+	}
 
-		return tmp == null ? null : ImageIO.read(tmp.byteStream());
+	/**
+	 * Liefert ein Bild, das auf Pewn hochgeladen wurde, und dekodiert dabei
+	 * z.B. nur einen Ausschnitt oder eine verkleinerte Variante.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Das Bild; <code>null</code>, wenn das Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des Bilds
+	 *             auftritt.
+	 * @see #get(long, String, int, int)
+	 * @see ImageDecodeOptions
+	 */
+	public static BufferedImage get(long gameid, String filename, int width,
+			int height, ImageDecodeOptions options) throws IOException {
+		return Api.getDefaultClient().getImage(gameid, filename, width,
+				height, options);
+	}
+
+	/**
+	 * Asynchrone Variante von
+	 * {@link #get(long, String, int, int, ImageDecodeOptions)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #get(long, String, int, int, ImageDecodeOptions)
+	 */
+	public static CompletableFuture<BufferedImage> getAsync(long gameid,
+			String filename, int width, int height,
+			ImageDecodeOptions options) {
+		return Api.getDefaultClient().getImageAsync(gameid, filename, width,
+				height, options);
+	}
+
+	/**
+	 * Liefert Größe und Format eines Bildes, das auf Pewn hochgeladen wurde,
+	 * ohne die Pixel zu dekodieren.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @return Die Eigenschaften des Bildes; <code>null</code>, wenn das Bild
+	 *         nicht vorhanden ist oder das Format nicht unterstützt wird.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des
+	 *             Headers auftritt.
+	 * @see #get(long, String, int, int)
+	 */
+	public static ImageInfo getInfo(long gameid, String filename, int width,
+			int height) throws IOException {
+		return Api.getDefaultClient().getImageInfo(gameid, filename, width,
+				height);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getInfo(long, String, int, int)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite, in der das Bild angefragt wird.
+	 * @param height
+	 *            Die Bildhöhe, in der das Bild angefragt wird.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getInfo(long, String, int, int)
+	 */
+	public static CompletableFuture<ImageInfo> getInfoAsync(long gameid,
+			String filename, int width, int height) {
+		return Api.getDefaultClient().getImageInfoAsync(gameid, filename,
+				width, height);
 	}
 
 	/**
@@ -139,6 +269,136 @@ public class ImageProvider {
 		return get(project, image, -1, -1);
 	}
 
+	/**
+	 * Asynchrone Variante von {@link #get(Project, Image, int, int)}.
+	 * 
+	 * @param project
+	 *            Das Spiel, zu dem das Bild gehört.
+	 * @param image
+	 *            Das Image-Objekt des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #get(Project, Image, int, int)
+	 */
+	public static CompletableFuture<BufferedImage> getAsync(Project project,
+			Image image, int width, int height) {
+		return getAsync(project.getId(), image.getFileName(), width, height);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #get(Project, Image)}.
+	 * 
+	 * @param project
+	 *            Das Spiel, zu dem das Bild gehört.
+	 * @param image
+	 *            Das Image-Objekt des Bildes.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #get(Project, Image)
+	 */
+	public static CompletableFuture<BufferedImage> getAsync(Project project,
+			Image image) {
+		return getAsync(project, image, -1, -1);
+	}
+
+	/**
+	 * Liefert die Datei eines Bildes, das auf Pewn hochgeladen wurde, ohne
+	 * sie zu dekodieren.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #get(long, String, int, int)
+	 */
+	public static byte[] getBytes(long gameid, String filename, int width,
+			int height) throws IOException {
+		return Api.getDefaultClient().getImageBytes(gameid, filename, width,
+				height);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getBytes(long, String, int, int)}.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getBytes(long, String, int, int)
+	 */
+	public static CompletableFuture<byte[]> getBytesAsync(long gameid,
+			String filename, int width, int height) {
+		return Api.getDefaultClient().getImageBytesAsync(gameid, filename,
+				width, height);
+	}
+
+	/**
+	 * Liefert die Datei eines Bildes, das auf Pewn hochgeladen wurde, als
+	 * Stream. Dieser muss nach der Benutzung geschlossen werden.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #get(long, String, int, int)
+	 */
+	public static InputStream getStream(long gameid, String filename,
+			int width, int height) throws IOException {
+		return Api.getDefaultClient().getImageStream(gameid, filename, width,
+				height);
+	}
+
+	/**
+	 * Speichert die Datei eines Bildes, das auf Pewn hochgeladen wurde, ohne
+	 * sie zu dekodieren oder vollständig in den Speicher zu laden.
+	 * 
+	 * @param gameid
+	 *            Die Spiele-ID.
+	 * @param filename
+	 *            Der Dateiname des Bildes.
+	 * @param width
+	 *            Die Bildbreite.
+	 * @param height
+	 *            Die Bildhöhe.
+	 * @param target
+	 *            Die Datei, in die das Bild geschrieben wird. Eine
+	 *            bestehende Datei wird überschrieben.
+	 * @return Die Anzahl an geschriebenen Bytes; <code>-1</code>, wenn das
+	 *         Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Schreiben der
+	 *             Datei auftritt.
+	 * @see #get(long, String, int, int)
+	 */
+	public static long write(long gameid, String filename, int width,
+			int height, java.nio.file.Path target) throws IOException {
+		return Api.getDefaultClient().writeImage(gameid, filename, width,
+				height, target);
+	}
+
 	/**
 	 * Liefert den Avatar eines Nutzers.
 	 * 
@@ -153,13 +413,216 @@ public class ImageProvider {
 	 * @see ImageIO#read(URL)
 	 */
 	public static BufferedImage getAvatar(User user) throws IOException {
-		if (user.getProfile().getAvatar() == null)
-			throw new IllegalArgumentException(
-					"Der Avatar des Nutzers darf nicht null sein");
-		ResponseBody tmp = Api.executeCall(service
-				.downloadAvatar(user.getName(), user.getProfile().getAvatar()));
+		return Api.getDefaultClient().getAvatar(user);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatar(User)}.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getAvatar(User)
+	 */
+	public static CompletableFuture<BufferedImage> getAvatarAsync(User user) {
+		return Api.getDefaultClient().getAvatarAsync(user);
+	}
+
+	/**
+	 * Liefert den Avatar eines Nutzers und dekodiert dabei z.B. nur einen
+	 * Ausschnitt oder eine verkleinerte Variante.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Das Bild; <code>null</code>, wenn das Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des Bilds
+	 *             auftritt.
+	 * @see #getAvatar(User)
+	 * @see ImageDecodeOptions
+	 */
+	public static BufferedImage getAvatar(User user,
+			ImageDecodeOptions options) throws IOException {
+		return Api.getDefaultClient().getAvatar(user, options);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatar(User, ImageDecodeOptions)}.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @param options
+	 *            Legt fest, wie das Bild dekodiert wird; <code>null</code>,
+	 *            wenn es vollständig dekodiert werden soll.
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getAvatar(User, ImageDecodeOptions)
+	 */
+	public static CompletableFuture<BufferedImage> getAvatarAsync(User user,
+			ImageDecodeOptions options) {
+		return Api.getDefaultClient().getAvatarAsync(user, options);
+	}
+
+	/**
+	 * Liefert Größe und Format des Avatars eines Nutzers, ohne die Pixel zu
+	 * dekodieren.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Die Eigenschaften des Bildes; <code>null</code>, wenn das Bild
+	 *         nicht vorhanden ist oder das Format nicht unterstützt wird.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Lesen des
+	 *             Headers auftritt.
+	 * @see #getAvatar(User)
+	 */
+	public static ImageInfo getAvatarInfo(User user) throws IOException {
+		return Api.getDefaultClient().getAvatarInfo(user);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatarInfo(User)}.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getAvatarInfo(User)
+	 */
+	public static CompletableFuture<ImageInfo> getAvatarInfoAsync(User user) {
+		return Api.getDefaultClient().getAvatarInfoAsync(user);
+	}
+
+	/**
+	 * Liefert die Datei des Avatars eines Nutzers, ohne sie zu dekodieren.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #getAvatar(User)
+	 */
+	public static byte[] getAvatarBytes(User user) throws IOException {
+		return Api.getDefaultClient().getAvatarBytes(user);
+	}
+
+	/**
+	 * Asynchrone Variante von {@link #getAvatarBytes(User)}.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Ein Future, das das Ergebnis liefert.
+	 * @see #getAvatarBytes(User)
+	 */
+	public static CompletableFuture<byte[]> getAvatarBytesAsync(User user) {
+		return Api.getDefaultClient().getAvatarBytesAsync(user);
+	}
 
-		return tmp == null ? null : ImageIO.read(tmp.byteStream());
+	/**
+	 * Liefert die Datei des Avatars eines Nutzers als Stream. Dieser muss
+	 * nach der Benutzung geschlossen werden.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @return Der Inhalt der Datei; <code>null</code>, wenn das Bild nicht
+	 *         vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage auftritt.
+	 * @see #getAvatar(User)
+	 */
+	public static InputStream getAvatarStream(User user) throws IOException {
+		return Api.getDefaultClient().getAvatarStream(user);
+	}
+
+	/**
+	 * Speichert die Datei des Avatars eines Nutzers, ohne sie zu dekodieren
+	 * oder vollständig in den Speicher zu laden.
+	 * 
+	 * @param user
+	 *            Der jeweilige Nutzer. Der Avatar des Nutzers darf nicht
+	 *            <code>null</code> sein!
+	 * @param target
+	 *            Die Datei, in die das Bild geschrieben wird. Eine
+	 *            bestehende Datei wird überschrieben.
+	 * @return Die Anzahl an geschriebenen Bytes; <code>-1</code>, wenn das
+	 *         Bild nicht vorhanden ist.
+	 * @throws IOException
+	 *             wenn ein Fehler bei der Anfrage oder beim Schreiben der
+	 *             Datei auftritt.
+	 * @see #getAvatar(User)
+	 */
+	public static long writeAvatar(User user, java.nio.file.Path target)
+			throws IOException {
+		return Api.getDefaultClient().writeAvatar(user, target);
+	}
+
+	/**
+	 * Lädt alle Bilder und die Avatare der Ersteller mehrerer Spiele
+	 * gleichzeitig herunter.
+	 * 
+	 * @param projects
+	 *            Die Spiele.
+	 * @return Die Bilder.
+	 * @see #prefetch(Collection, ImageDecodeOptions)
+	 */
+	public static ImageBatch prefetch(Project... projects) {
+		return Api.getDefaultClient().prefetchImages(projects);
+	}
+
+	/**
+	 * Lädt die Avatare der Autoren mehrerer Neuigkeiten gleichzeitig
+	 * herunter.
+	 * 
+	 * @param news
+	 *            Die Neuigkeiten.
+	 * @return Die Bilder.
+	 * @see #prefetch(Collection, ImageDecodeOptions)
+	 */
+	public static ImageBatch prefetch(News... news) {
+		return Api.getDefaultClient().prefetchImages(news);
+	}
+
+	/**
+	 * Lädt die Avatare der Autoren mehrerer Designs gleichzeitig herunter.
+	 * 
+	 * @param designs
+	 *            Die Designs.
+	 * @return Die Bilder.
+	 * @see #prefetch(Collection, ImageDecodeOptions)
+	 */
+	public static ImageBatch prefetch(Design... designs) {
+		return Api.getDefaultClient().prefetchImages(designs);
+	}
+
+	/**
+	 * Lädt alle Bilder, auf die die übergebenen Spiele, Neuigkeiten und
+	 * Designs verweisen, gleichzeitig herunter und dekodiert sie. Die
+	 * Ergebnisse können abgerufen werden, sobald sie verfügbar sind.
+	 * 
+	 * @param sources
+	 *            Die Spiele, Neuigkeiten und Designs.
+	 * @param options
+	 *            Legt fest, wie die Bilder dekodiert werden;
+	 *            <code>null</code>, wenn sie vollständig dekodiert werden
+	 *            sollen.
+	 * @return Die Bilder.
+	 * @see de.damios.jpapi.core.PewnClient#prefetchImages(Collection,
+	 *      ImageDecodeOptions)
+	 */
+	public static ImageBatch prefetch(Collection<?> sources,
+			ImageDecodeOptions options) {
+		return Api.getDefaultClient().prefetchImages(sources, options);
 	}
 
 	/**
@@ -169,7 +632,7 @@ public class ImageProvider {
 	 * @author damios
 	 * @since 0.5.0
 	 */
-	interface ImageProviderService {
+	public interface ImageProviderService {
 
 		@GET("/image/projects/{gameid}/files/{filename}")
 		Call<ResponseBody> downloadImage(@Path("gameid") long gameid,
@@ -0,0 +1,199 @@
+package de.damios.jpapi.core;
+
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * Erzeugt Events für den JDK Flight Recorder (JFR): für jede Anfrage an die
+ * Pewn-API, für das Lesen der JSON-Antworten und für das Dekodieren von
+ * Bildern.
+ * <p>
+ * Diese Variante wird ab Java 11 über das Multi-Release-JAR anstelle der
+ * leeren Variante unter <code>src/main/java</code> geladen. Die Signaturen
+ * beider Varianten müssen übereinstimmen.
+ * <p>
+ * Die Events sind standardmäßig aktiviert, werden aber nur erzeugt, wenn
+ * eine Aufzeichnung läuft (z.B. mit
+ * <code>-XX:StartFlightRecording</code>). Ist das jeweilige Event nicht
+ * aktiviert, liefert <code>begin...()</code> <code>null</code> und es
+ * fallen keine weiteren Kosten an.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+final class JfrEvents {
+
+	private JfrEvents() {
+	}
+
+	/**
+	 * @return Ob der Flight Recorder zur Verfügung steht. Ist bewusst keine
+	 *         Konstante, da diese beim Kompilieren der übrigen Klassen
+	 *         eingesetzt würde.
+	 */
+	static boolean isAvailable() {
+		return true;
+	}
+
+	static Object beginApiCall() {
+		ApiCallEvent event = new ApiCallEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	static void commitApiCall(Object event, Request request,
+			Response<?> response, Throwable failure) {
+		if (event == null)
+			return;
+		ApiCallEvent e = (ApiCallEvent) event;
+		e.end();
+		if (!e.shouldCommit())
+			return;
+
+		e.method = request.method();
+		e.endpoint = request.url().encodedPath();
+		e.parameters = request.url().query();
+		if (response != null) {
+			e.statusCode = response.code();
+			ResponseBody body = response.raw().body();
+			e.bytes = body == null ? -1 : body.contentLength();
+		} else {
+			e.statusCode = -1;
+			e.bytes = -1;
+		}
+		e.failure = failure == null ? null : failure.toString();
+		e.commit();
+	}
+
+	static Object beginDeserialization() {
+		DeserializationEvent event = new DeserializationEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	static void commitDeserialization(Object event, Type type,
+			Object result) {
+		if (event == null)
+			return;
+		DeserializationEvent e = (DeserializationEvent) event;
+		e.end();
+		if (!e.shouldCommit())
+			return;
+
+		e.type = type.getTypeName();
+		if (result == null)
+			e.elementCount = 0;
+		else if (result.getClass().isArray())
+			e.elementCount = Array.getLength(result);
+		else if (result instanceof Collection)
+			e.elementCount = ((Collection<?>) result).size();
+		else
+			e.elementCount = 1;
+		e.successful = result != null;
+		e.commit();
+	}
+
+	static Object beginImageDecode() {
+		ImageDecodeEvent event = new ImageDecodeEvent();
+		if (!event.isEnabled())
+			return null;
+		event.begin();
+		return event;
+	}
+
+	static void commitImageDecode(Object event, long bytes,
+			BufferedImage image) {
+		if (event == null)
+			return;
+		ImageDecodeEvent e = (ImageDecodeEvent) event;
+		e.end();
+		if (!e.shouldCommit())
+			return;
+
+		e.bytes = bytes;
+		if (image != null) {
+			e.width = image.getWidth();
+			e.height = image.getHeight();
+		}
+		e.commit();
+	}
+
+	@Name("de.damios.jpapi.ApiCall")
+	@Label("Pewn-API-Anfrage")
+	@Description("Eine Anfrage an die Pewn-API, inkl. Lesen der Antwort")
+	@Category("jpapi")
+	static class ApiCallEvent extends Event {
+
+		@Label("Methode")
+		String method;
+
+		@Label("Endpunkt")
+		String endpoint;
+
+		@Label("Parameter")
+		String parameters;
+
+		@Label("Statuscode")
+		int statusCode;
+
+		@Label("Größe der Antwort")
+		@DataAmount
+		long bytes;
+
+		@Label("Fehler")
+		String failure;
+
+	}
+
+	@Name("de.damios.jpapi.Deserialization")
+	@Label("JSON-Deserialisierung")
+	@Description("Das Lesen einer JSON-Antwort der Pewn-API")
+	@Category("jpapi")
+	static class DeserializationEvent extends Event {
+
+		@Label("Typ")
+		String type;
+
+		@Label("Anzahl an Elementen")
+		int elementCount;
+
+		@Label("Erfolgreich")
+		boolean successful;
+
+	}
+
+	@Name("de.damios.jpapi.ImageDecode")
+	@Label("Bild-Dekodierung")
+	@Description("Das Herunterladen und Dekodieren eines Bildes")
+	@Category("jpapi")
+	static class ImageDecodeEvent extends Event {
+
+		@Label("Größe")
+		@DataAmount
+		long bytes;
+
+		@Label("Breite")
+		int width;
+
+		@Label("Höhe")
+		int height;
+
+	}
+
+}
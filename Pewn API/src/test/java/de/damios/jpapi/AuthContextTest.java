@@ -0,0 +1,101 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.AuthContext;
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+public class AuthContextTest {
+
+	@Test
+	public void test() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(10, 5, 8568)).start()) {
+			simulator.setLatency(PewnSimulator.Latency.fixed(200));
+			PewnClient client = simulator.newClientBuilder().build();
+
+			// Unvollständige Daten setzen die Authentifizierung zurück
+			client.initAuth(null, null, null);
+			assertNull(client.getAuthContext());
+			assertThrows(IllegalStateException.class, client::getUserData);
+
+			client.initAuth("id", "secret", "refresh");
+			AuthContext auth = client.getAuthContext();
+
+			// Gleichzeitige Anfragen ohne Token fordern nur einen an
+			Set<String> tokens = runConcurrently(executor, 16,
+					auth::getAccessToken);
+			assertEquals(1, tokens.size());
+			assertEquals(1, simulator.getTokenCount());
+
+			// Ebenso gleichzeitige Erneuerungen
+			String first = tokens.iterator().next();
+			tokens = runConcurrently(executor, 16,
+					() -> auth.refresh().getAccessToken());
+			assertEquals(1, tokens.size());
+			assertEquals(2, simulator.getTokenCount());
+			String second = tokens.iterator().next();
+			assertNotEquals(first, second);
+			assertEquals(second, auth.getAccessToken());
+
+			// Wird der Token abgewiesen, wird er einmalig erneuert
+			simulator.revokeTokens();
+			long requests = simulator.getRequestCount();
+			assertEquals("damios", client.getUserData().getUsername());
+			assertEquals(3, simulator.getTokenCount());
+			assertEquals(requests + 3, simulator.getRequestCount());
+			assertNotEquals(second, auth.getAccessToken());
+
+			// ... aber nicht öfter
+			simulator.setRejectTokens(true);
+			requests = simulator.getRequestCount();
+			assertNull(client.getUserData());
+			assertEquals(4, simulator.getTokenCount());
+			assertEquals(requests + 3, simulator.getRequestCount());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Führt eine Aufgabe in mehreren Threads möglichst gleichzeitig aus.
+	 *
+	 * @return Die unterschiedlichen Ergebnisse.
+	 */
+	private static Set<String> runConcurrently(ExecutorService executor,
+			int threads, Callable<String> task) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				return task.call();
+			}));
+		}
+		start.countDown();
+
+		Set<String> results = new HashSet<>();
+		for (Future<String> f : futures)
+			results.add(f.get());
+		return results;
+	}
+
+}
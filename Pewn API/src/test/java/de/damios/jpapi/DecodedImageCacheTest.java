@@ -0,0 +1,61 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.DecodedImageCache;
+
+public class DecodedImageCacheTest {
+
+	@Test
+	public void test() {
+		BufferedImage a = new BufferedImage(10, 10,
+				BufferedImage.TYPE_INT_ARGB);
+		BufferedImage b = new BufferedImage(10, 10,
+				BufferedImage.TYPE_INT_ARGB);
+		BufferedImage c = new BufferedImage(10, 10,
+				BufferedImage.TYPE_BYTE_GRAY);
+		assertEquals(400, DecodedImageCache.getWeight(a));
+		assertEquals(100, DecodedImageCache.getWeight(c));
+
+		DecodedImageCache cache = new DecodedImageCache(500);
+		cache.put("a", a);
+		cache.put("c", c);
+		// c ist danach der am längsten nicht verwendete Eintrag
+		assertSame(a, cache.get("a"));
+		cache.put("b", b);
+
+		assertNull(cache.get("a"));
+		assertNull(cache.get("c"));
+		assertSame(b, cache.get("b"));
+		assertEquals(400, cache.getResidentBytes());
+		assertEquals(2, cache.getEvictionCount());
+		// Zu groß
+		cache.put("big", new BufferedImage(20, 20,
+				BufferedImage.TYPE_INT_ARGB));
+		assertSame(b, cache.get("b"));
+		assertEquals(3, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+
+		// Entfernte Einträge bleiben über SoftReferences erhalten
+		DecodedImageCache soft = new DecodedImageCache(500, true);
+		soft.put("a", a);
+		soft.put("b", b);
+		assertEquals(1, soft.getSoftSize());
+		assertSame(a, soft.get("a"));
+		assertEquals(1, soft.getSoftHitCount());
+		// b wird jetzt nur noch über eine SoftReference gehalten
+		assertEquals(1, soft.size());
+		assertSame(b, soft.get("b"));
+
+		soft.invalidateAll();
+		assertNull(soft.get("a"));
+		assertEquals(0, soft.getResidentBytes());
+	}
+
+}
@@ -0,0 +1,74 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.DiskImageCache;
+
+public class DiskImageCacheTest {
+
+	@Test
+	public void test() throws IOException {
+		Path dir = Files.createTempDirectory("jpapi");
+		try {
+			DiskImageCache cache = new DiskImageCache(dir, 10);
+
+			cache.put("a", new byte[] { 1, 2, 3, 4 });
+			cache.put("b", new byte[] { 5, 6, 7, 8 });
+			assertArrayEquals(new byte[] { 1, 2, 3, 4 }, cache.get("a"));
+			cache.put("c", new byte[] { 9, 10, 11, 12 }); // Verdrängt b
+
+			assertNull(cache.get("b"));
+			assertEquals(2, cache.size());
+			assertEquals(8, cache.getSizeInBytes());
+			assertEquals(1, cache.getEvictionCount());
+			cache.put("d", new byte[11]); // Zu groß
+			assertNull(cache.get("d"));
+
+			// Übriggebliebene temporäre Datei nach einem Absturz
+			Files.write(dir.resolve("crash.tmp"), new byte[] { 1 });
+
+			DiskImageCache reopened = new DiskImageCache(dir, 10);
+			assertTrue(Files.notExists(dir.resolve("crash.tmp")));
+			assertEquals(2, reopened.size());
+			assertArrayEquals(new byte[] { 9, 10, 11, 12 },
+					reopened.get("c"));
+
+			// Einträge, die nicht im Speicher gehalten werden
+			Path file = reopened.put("e", Channels.newChannel(
+					new ByteArrayInputStream(new byte[] { 1, 2, 3 })));
+			assertEquals(file, reopened.getFile("e"));
+			assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(file));
+			assertEquals(7, reopened.getSizeInBytes());
+			assertNull(reopened.put("f", Channels
+					.newChannel(new ByteArrayInputStream(new byte[11]))));
+			assertNull(reopened.getFile("f"));
+			try (Stream<Path> files = Files.list(dir)) {
+				assertEquals(2, files.count());
+			}
+
+			reopened.invalidate("c");
+			assertNull(reopened.get("c"));
+			reopened.invalidateAll();
+			assertEquals(0, reopened.getSizeInBytes());
+		} finally {
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path f : (Iterable<Path>) files::iterator)
+					Files.delete(f);
+			}
+			Files.delete(dir);
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.EntityCache;
+
+public class EntityCacheTest {
+
+	@Test
+	public void test() throws InterruptedException {
+		EntityCache<Long, String> cache = new EntityCache<>(1, TimeUnit.HOURS,
+				2);
+
+		cache.put(1L, "a");
+		cache.put(2L, "b");
+		// 1 ist jetzt der zuletzt verwendete Eintrag
+		assertEquals("a", cache.get(1L));
+		cache.put(3L, "c");
+
+		assertNull(cache.get(2L));
+		assertEquals("a", cache.get(1L));
+		assertEquals("c", cache.get(3L));
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(3, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		cache.invalidate(1L);
+		assertNull(cache.get(1L));
+
+		EntityCache<Long, String> shortLived = new EntityCache<>(10,
+				TimeUnit.MILLISECONDS, 10);
+		shortLived.put(1L, "a");
+		Thread.sleep(20);
+		assertNull(shortLived.get(1L));
+		assertEquals(0, shortLived.size());
+	}
+
+}
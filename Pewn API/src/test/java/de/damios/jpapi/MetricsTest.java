@@ -0,0 +1,102 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.core.RetryPolicy;
+import de.damios.jpapi.metrics.ApiMetrics.Phase;
+import de.damios.jpapi.metrics.Histogram;
+import de.damios.jpapi.metrics.InMemoryApiMetrics;
+import de.damios.jpapi.metrics.InMemoryApiMetrics.EndpointMetrics;
+import de.damios.jpapi.model.Project.OrderedBy;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.PewnSimulator.Latency;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+public class MetricsTest {
+
+	@Test
+	public void test() throws IOException {
+		// Histogramm
+		Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getPercentile(99));
+		for (int i = 1; i <= 100000; i++)
+			histogram.record(i * 1000L);
+		assertEquals(100000, histogram.getCount());
+		assertEquals(100000000, histogram.getMax());
+		assertEquals(50000500, histogram.getMean(), 1);
+		assertEquals(50000000, histogram.getPercentile(50), 50000000 * 0.016);
+		assertEquals(99000000, histogram.getPercentile(99), 99000000 * 0.016);
+		assertEquals(99900000, histogram.getPercentile(99.9),
+				99900000 * 0.016);
+		assertEquals(100000000, histogram.getPercentile(100));
+		histogram.record(TimeUnit.HOURS.toNanos(2));
+		assertEquals(TimeUnit.HOURS.toNanos(2), histogram.getPercentile(100));
+
+		// Anfragen
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(200, 20, 8568)).start()) {
+			InMemoryApiMetrics metrics = new InMemoryApiMetrics();
+			PewnClient client = simulator.newClientBuilder().metrics(metrics)
+					.retryPolicy(new RetryPolicy(3, 1, 10,
+							TimeUnit.MILLISECONDS))
+					.build();
+			assertEquals(metrics, client.getMetrics());
+
+			simulator.setLatency(Latency.fixed(5));
+			for (int i = 0; i < 20; i++)
+				client.getProjectByProjectId(8568 + i);
+			assertNotNull(client.getAllProjects(OrderedBy.CREATION_DATE));
+
+			EndpointMetrics get = metrics
+					.getEndpoint("ProjectService.getByProjectId");
+			assertEquals(20, get.getCalls());
+			assertEquals(0, get.getErrors());
+			assertTrue(get.getResponseBytes() > 0);
+			assertTrue(get.getLatency()
+					.getPercentile(50) >= TimeUnit.MILLISECONDS.toNanos(5));
+			assertEquals(20, get.getDeserialization().getCount());
+			assertEquals(20,
+					get.getPhase(Phase.TIME_TO_FIRST_BYTE).getCount());
+			assertTrue(get.getPhase(Phase.CONNECT).getCount() >= 1);
+			assertEquals(0, get.getPhase(Phase.TLS).getCount());
+			assertEquals(1,
+					metrics.getEndpoint("ProjectService.getAll").getCalls());
+			assertNull(metrics.getEndpoint("UserService.getByUserId"));
+
+			// Fehlerhafte Antworten
+			simulator.setLatency(Latency.none()).setMalformedJsonRate(1);
+			assertThrows(Exception.class, () -> client.getUserByUserId(1));
+			EndpointMetrics user = metrics
+					.getEndpoint("UserService.getByUserId");
+			assertEquals(1, user.getErrors());
+			assertEquals(1, user.getDeserialization().getCount());
+
+			// Wiederholte Anfragen werden einzeln erfasst
+			simulator.setMalformedJsonRate(0).setRetryAfter(0)
+					.setErrorRate(1);
+			try {
+				client.getTeamByTeamId(1);
+			} catch (IOException e) {
+				// erwartet
+			}
+			EndpointMetrics team = metrics
+					.getEndpoint("TeamService.getByTeamId");
+			assertEquals(4, team.getCalls());
+			assertEquals(4, team.getErrors());
+
+			assertTrue(metrics.toString()
+					.contains("ProjectService.getByProjectId calls=20"));
+		}
+	}
+
+}
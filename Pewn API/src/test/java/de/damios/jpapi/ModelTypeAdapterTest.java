@@ -0,0 +1,87 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.model.Activity;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.Rating;
+import de.damios.jpapi.model.Release;
+import de.damios.jpapi.model.Token;
+
+public class ModelTypeAdapterTest {
+
+	private static final String USER = "{\"id\":\"42\",\"username\":\"damios\","
+			+ "\"profile\":{\"about\":\"Hi\",\"website\":null,\"avatar\":\"a.png\"},"
+			+ "\"gamificationLevel\":7,\"xp\":1200,"
+			+ "\"registrationDate\":\"2014-03-01 12:00:00\",\"unknown\":[1,{}]}";
+
+	private static final String PROJECT = "{\"id\":8568,\"content\":\"Text\","
+			+ "\"headline\":\"Titel\",\"creationDate\":\"2016-01-02 03:04:05\","
+			+ "\"lastUpdate\":\"2018-06-07 08:09:10\",\"customer\":" + USER
+			+ ",\"rating\":\"4\",\"version\":null,\"fileContainers\":[{\"id\":1,"
+			+ "\"fileName\":\"a.png\",\"fileSize\":123,"
+			+ "\"uploadDate\":\"2016-01-02 03:04:05\",\"customer\":null}],"
+			+ "\"hashtags\":[{\"id\":3,\"name\":\"rpg\",\"usedInProjectsCount\":10,"
+			+ "\"hashtagCategory\":{\"id\":1,\"name\":\"Genre\"},"
+			+ "\"hashtagMetaTag\":{\"id\":4,\"name\":\"Rollenspiel\"}}],"
+			+ "\"team\":{\"id\":5,\"teamName\":\"Team\",\"customerFounderId\":42,"
+			+ "\"customerMemberId\":[42,43],\"projectId\":[8568]},"
+			+ "\"advertisement\":\"\"}";
+
+	@Test
+	public void test() {
+		Gson reflective = new GsonBuilder()
+				.setDateFormat("yyyy-MM-dd HH:mm:ss").create();
+		Gson generated = PewnClient.createDefaultGsonBuilder().create();
+
+		assertSameResult(reflective, generated, "[" + PROJECT + "]",
+				Project[].class);
+		assertSameResult(reflective, generated,
+				"[{\"id\":1,\"rating\":5,\"ratingDate\":\"2017-01-01 00:00:00\","
+						+ "\"customer\":" + USER + ",\"ratingReason\":\"Gut\","
+						+ "\"ratingComment\":{\"id\":2,\"content\":\"Danke\","
+						+ "\"creationDate\":\"2017-01-02 00:00:00\"},"
+						+ "\"ratedVersion\":\"1.0\",\"curated\":\"true\"}]",
+				Rating[].class);
+		assertSameResult(reflective, generated,
+				"[{\"type\":\"projectComment\",\"projectComment\":{"
+						+ "\"content\":\"Cool\",\"project\":" + PROJECT + "}},"
+						+ "{\"type\":\"blogPost\",\"blogPost\":null}]",
+				Activity[].class);
+		assertSameResult(reflective, generated,
+				"{\"id\":9,\"title\":\"v1\",\"projectId\":null,\"downloads\":[{"
+						+ "\"id\":1,\"title\":\"Windows\",\"count\":17}]}",
+				Release.class);
+		assertSameResult(reflective, generated,
+				"{\"access_token\":\"abc\",\"expires_in\":3600}",
+				Token.class);
+
+		Project project = generated.fromJson(PROJECT, Project.class);
+		assertEquals("Genre",
+				project.getHashtags()[0].getCategory().getName());
+		assertNotNull(project.getHashtags()[0].getMetatag());
+		assertEquals("a.png", project.getAuthor().getProfile().getAvatar());
+	}
+
+	/**
+	 * Prüft, ob die handgeschriebenen Adapter dasselbe Ergebnis liefern wie
+	 * die reflexiven Adapter und ob sie dieses wieder verlustfrei schreiben.
+	 */
+	private static <T> void assertSameResult(Gson reflective, Gson generated,
+			String json, Class<T> type) {
+		String expected = reflective.toJson(reflective.fromJson(json, type));
+		T result = generated.fromJson(json, type);
+
+		assertEquals(expected, reflective.toJson(result));
+		assertEquals(expected, reflective
+				.toJson(generated.fromJson(generated.toJson(result), type)));
+	}
+
+}
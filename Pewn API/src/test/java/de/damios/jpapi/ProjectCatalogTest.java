@@ -0,0 +1,169 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.core.ProjectCatalog;
+import de.damios.jpapi.model.Hashtag;
+import de.damios.jpapi.model.Image;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.Project.OrderedBy;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.PewnSimulator.Latency;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+public class ProjectCatalogTest {
+
+	@Test
+	public void test() throws IOException, InterruptedException {
+		Path dir = Files.createTempDirectory("jpapi");
+		Path file = dir.resolve("catalog.bin");
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(500, 60, 8568)).start()) {
+			PewnClient client = simulator.newClientBuilder().build();
+			ProjectCatalog catalog = ProjectCatalog.download(client, file,
+					OrderedBy.RATING);
+			Project[] projects = client.getAllProjects(OrderedBy.RATING);
+			assertEquals(projects.length, catalog.size());
+
+			for (int i = 0; i < projects.length; i++) {
+				Project project = projects[i];
+				ProjectCatalog.Entry entry = catalog.getAt(i);
+				assertEquals(project.getId(), entry.getId());
+				assertEquals(project.getName(), entry.getName());
+				assertEquals(project.getCreationDate(),
+						entry.getCreationDate());
+				assertEquals(project.getLastUpdateDate(),
+						entry.getLastUpdateDate());
+				assertEquals(project.getAuthor().getId(),
+						entry.getAuthorId());
+				assertEquals(project.getAuthor().getName(),
+						entry.getAuthorName());
+				assertEquals(project.getTeam() == null ? -1
+						: project.getTeam().getId(), entry.getTeamId());
+				assertEquals(project.getRating(), entry.getRating());
+				assertEquals(project.getVersion(), entry.getVersion());
+				assertEquals(project.getAdvertisement(),
+						entry.getAdvertisement());
+				assertEquals(project.getDescriptionText(),
+						entry.getDescriptionText());
+				assertArrayEquals(Arrays.stream(project.getHashtags())
+						.mapToLong(Hashtag::getId).toArray(),
+						entry.getHashtagIds());
+				assertArrayEquals(Arrays.stream(project.getHashtags())
+						.map(Hashtag::getName).toArray(),
+						entry.getHashtagNames());
+				assertArrayEquals(Arrays.stream(project.getImages())
+						.map(Image::getFileName).toArray(),
+						entry.getImageFileNames());
+				assertEquals(project.getId(),
+						catalog.getById(project.getId()).getId());
+			}
+			assertNull(catalog.getById(1));
+
+			// Erneut öffnen
+			assertArrayEquals(
+					Arrays.stream(projects).mapToLong(Project::getId)
+							.toArray(),
+					ProjectCatalog.open(file).stream()
+							.mapToLong(ProjectCatalog.Entry::getId)
+							.toArray());
+
+			// Inkrementelle Aktualisierung
+			Project[] updated = client.getAllProjects(OrderedBy.UPDATE_DATE);
+			ProjectCatalog.write(file, Arrays.stream(updated).skip(15));
+			ProjectCatalog old = ProjectCatalog.open(file);
+			assertEquals(updated.length - 15, old.size());
+			// Beim Ersetzen umbenannte Datei, die nicht mehr gemappt ist
+			Path retired = dir.resolve("catalog.bin.1.old");
+			Files.write(retired, new byte[] { 1 });
+			catalog = ProjectCatalog.sync(client, file);
+			assertTrue(Files.notExists(retired));
+			// Der bisherige Katalog bleibt lesbar
+			assertEquals(updated.length - 15, old.size());
+			assertEquals(updated[15].getId(), old.getAt(0).getId());
+			assertArrayEquals(
+					Arrays.stream(updated).mapToLong(Project::getId)
+							.toArray(),
+					catalog.stream().mapToLong(ProjectCatalog.Entry::getId)
+							.toArray());
+			assertEquals(updated[0].getLastUpdateDate().getTime(),
+					catalog.getHighWaterMark());
+			assertEquals(updated[3].getDescriptionText(),
+					catalog.getAt(3).getDescriptionText());
+			assertEquals(updated[20].getName(), catalog.getAt(20).getName());
+
+			// Unverändert; die Datei wird nicht ersetzt
+			Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+			assertEquals(catalog.getCreationTime(),
+					ProjectCatalog.sync(client, file).getCreationTime());
+			assertEquals(0, Files.getLastModifiedTime(file).toMillis());
+
+			// Ein bestehendes Spiel wurde aktualisiert; das Lesen der Antwort
+			// wird trotz langsamer Verbindung vorzeitig abgebrochen
+			long id = updated[100].getId();
+			simulator.getDataset().updateProject(id);
+			simulator.setProjectLatency(Latency.fixed(2));
+			long served = simulator.getServedProjectCount();
+			long creationTime = catalog.getCreationTime();
+			catalog = ProjectCatalog.sync(client, file);
+			assertTrue(simulator.getServedProjectCount()
+					- served < updated.length / 2);
+			simulator.setProjectLatency(Latency.none());
+			assertEquals(updated.length, catalog.size());
+			assertEquals(id, catalog.getAt(0).getId());
+			assertEquals(updated[0].getId(), catalog.getAt(1).getId());
+			assertEquals(client.getProjectByProjectId(id).getLastUpdateDate(),
+					catalog.getById(id).getLastUpdateDate());
+			assertEquals(catalog.getAt(0).getLastUpdateDate().getTime(),
+					catalog.getHighWaterMark());
+			assertEquals(creationTime, catalog.getCreationTime());
+
+			// Regelmäßig vollständig herunterladen
+			assertEquals(creationTime, ProjectCatalog
+					.sync(client, file, 1, TimeUnit.DAYS).getCreationTime());
+			// Der Simulator schreibt nach einem Abbruch ggf. noch kurz weiter
+			do {
+				served = simulator.getServedProjectCount();
+				Thread.sleep(200);
+			} while (served != simulator.getServedProjectCount());
+			catalog = ProjectCatalog.sync(client, file, 0,
+					TimeUnit.MILLISECONDS);
+			assertEquals(updated.length,
+					simulator.getServedProjectCount() - served);
+			assertEquals(updated.length, catalog.size());
+
+			// Keine Katalog-Datei
+			Path invalid = dir.resolve("invalid.bin");
+			Files.write(invalid, new byte[64]);
+			assertThrows(IOException.class,
+					() -> ProjectCatalog.open(invalid));
+		} finally {
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path f : (Iterable<Path>) files::iterator) {
+					try {
+						Files.delete(f);
+					} catch (IOException e) {
+						// Unter Windows ggf. noch gemappt
+					}
+				}
+			}
+			dir.toFile().delete();
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.core.ReleaseDownloader;
+import de.damios.jpapi.model.Download;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+public class ReleaseDownloaderTest {
+
+	@Test
+	public void test() throws IOException, InterruptedException,
+			NoSuchAlgorithmException {
+		Path dir = Files.createTempDirectory("jpapi");
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(100, 20, 42)).start()) {
+			PewnClient client = simulator.newClientBuilder().build();
+			Download download = client.getReleasesByProjectId(8568)[0]
+					.getDownloads()[0];
+			byte[] content = simulator.getDownloadContent(download.getId());
+			StringBuilder sha256 = new StringBuilder();
+			for (byte b : MessageDigest.getInstance("SHA-256")
+					.digest(content))
+				sha256.append(String.format("%02x", b));
+			Path file = dir.resolve("game.zip");
+
+			// Unterbrochener Download
+			ReleaseDownloader throttled = new ReleaseDownloader(client, 2,
+					16 * 1024, 64 * 1024);
+			AtomicReference<IOException> failure = new AtomicReference<>();
+			Thread thread = new Thread(() -> {
+				try {
+					throttled.download(download, file);
+				} catch (IOException e) {
+					failure.set(e);
+				}
+			});
+			thread.start();
+			Thread.sleep(1000);
+			thread.interrupt();
+			thread.join();
+			assertTrue(failure.get() instanceof InterruptedIOException,
+					String.valueOf(failure.get()));
+			assertTrue(Files.exists(dir.resolve("game.zip.part.state")));
+
+			// Fortsetzen
+			ReleaseDownloader downloader = new ReleaseDownloader(client, 4,
+					16 * 1024, -1);
+			ReleaseDownloader.Result result = downloader.download(download,
+					file, sha256.toString());
+			assertTrue(result.getResumedBytes() > 0);
+			assertTrue(result.getResumedBytes() < content.length);
+			assertEquals(content.length, result.getLength());
+			assertEquals(sha256.toString(), result.getSha256());
+			assertTrue(result.getUrl().contains("/files/downloads/"));
+			assertArrayEquals(content, Files.readAllBytes(file));
+			try (Stream<Path> files = Files.list(dir)) {
+				assertEquals(1, files.count());
+			}
+
+			// Falsche Prüfsumme
+			assertThrows(IOException.class,
+					() -> downloader.download(download, file, "00"));
+			try (Stream<Path> files = Files.list(dir)) {
+				assertEquals(1, files.count());
+			}
+
+			// Die Bandbreite wird eingehalten, aber auch ausgenutzt; nur die
+			// erste Sekunde darf sofort geladen werden
+			byte[] large = new byte[2 * 1024 * 1024];
+			new Random(8568).nextBytes(large);
+			simulator.setDownloadContent(download.getId(), large);
+			long maxBytesPerSecond = 512 * 1024;
+			ReleaseDownloader limited = new ReleaseDownloader(client, 4,
+					64 * 1024, maxBytesPerSecond);
+			long start = System.nanoTime();
+			limited.download(download, dir.resolve("large.zip"));
+			double seconds = (System.nanoTime() - start)
+					/ (double) TimeUnit.SECONDS.toNanos(1);
+			double rate = (large.length - maxBytesPerSecond) / seconds;
+			assertTrue(rate <= maxBytesPerSecond * 1.1,
+					rate + " Byte/s statt höchstens " + maxBytesPerSecond);
+			assertTrue(rate >= maxBytesPerSecond * 0.7,
+					rate + " Byte/s statt etwa " + maxBytesPerSecond);
+			assertArrayEquals(large,
+					Files.readAllBytes(dir.resolve("large.zip")));
+		} finally {
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path f : (Iterable<Path>) files::iterator)
+					Files.delete(f);
+			}
+			Files.delete(dir);
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.core.ReleaseDownloader;
+import de.damios.jpapi.core.ReleaseMirror;
+import de.damios.jpapi.model.Download;
+import de.damios.jpapi.model.Release;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+public class ReleaseMirrorTest {
+
+	@Test
+	public void test() throws IOException {
+		Path dir = Files.createTempDirectory("jpapi");
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(100, 20, 42)).start()) {
+			PewnClient client = simulator.newClientBuilder().build();
+			Release[] releases = client.getReleasesByProjectId(8568);
+			Download[] downloads = releases[0].getDownloads();
+			// Dieselbe Datei für zwei Plattformen
+			byte[] content = simulator.getDownloadContent(downloads[0].getId());
+			simulator.setDownloadContent(downloads[1].getId(), content);
+			long total = Arrays.stream(releases)
+					.mapToLong(r -> r.getDownloads().length).sum();
+
+			ReleaseMirror mirror = new ReleaseMirror(
+					new ReleaseDownloader(client, 2, 64 * 1024, -1), dir, 3);
+			ReleaseMirror.Result result = mirror.sync(releases);
+			assertTrue(result.getFailures().isEmpty(), result.toString());
+			assertEquals(total - 1, result.getDownloadedCount());
+			assertEquals(1, result.getDeduplicatedCount());
+			assertEquals(mirror.getSha256(downloads[0]),
+					mirror.getSha256(downloads[1]));
+			assertNotEquals(mirror.getSha256(downloads[0]),
+					mirror.getSha256(downloads[2]));
+			assertTrue(Files.isSameFile(mirror.getFile(downloads[0]),
+					mirror.getFile(downloads[1])));
+			assertArrayEquals(content,
+					Files.readAllBytes(mirror.getFile(downloads[1])));
+			assertEquals(total - 1, countObjects(dir));
+
+			// Unverändert
+			long requests = simulator.getRequestCount();
+			mirror = new ReleaseMirror(client, dir);
+			result = mirror.sync(releases);
+			assertEquals(releases.length, result.getSkippedReleases());
+			assertEquals(0, result.getDownloadedCount());
+			assertEquals(requests, simulator.getRequestCount());
+
+			// Geändertes Release
+			Gson gson = client.getGson();
+			JsonObject json = gson.toJsonTree(releases[0]).getAsJsonObject();
+			json.add("lastUpdate", gson.toJsonTree(
+					new Timestamp(System.currentTimeMillis())));
+			Release updated = gson.fromJson(json, Release.class);
+			byte[] changed = new byte[100_000];
+			Arrays.fill(changed, (byte) 42);
+			simulator.setDownloadContent(downloads[2].getId(), changed);
+			result = mirror.sync(updated);
+			assertEquals(1, result.getDownloadedCount());
+			assertEquals(2, result.getDeduplicatedCount());
+			assertEquals(changed.length, result.getDownloadedBytes());
+			assertArrayEquals(changed,
+					Files.readAllBytes(mirror.getFile(downloads[2])));
+			assertEquals(1, mirror.prune());
+			assertEquals(total - 1, countObjects(dir));
+		} finally {
+			try (Stream<Path> files = Files.walk(dir)) {
+				for (Path f : (Iterable<Path>) files
+						.sorted(Comparator.reverseOrder())::iterator)
+					Files.delete(f);
+			}
+		}
+	}
+
+	private static long countObjects(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir.resolve("objects"))) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+public class RequestCoalescingTest {
+
+	@Test
+	public void test() throws Exception {
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(50, 10, 8568)).start()) {
+			simulator.setLatency(PewnSimulator.Latency.fixed(300));
+			PewnClient client = simulator.newClientBuilder()
+					.coalesceRequests(true).build();
+
+			// Identische Anfragen werden zusammengefasst
+			CompletableFuture<Project> a = client
+					.getProjectByProjectIdAsync(8568);
+			CompletableFuture<Project> b = client
+					.getProjectByProjectIdAsync(8568);
+			assertTrue(a != b);
+
+			// Der Abbruch des einen Futures betrifft das andere nicht
+			a.cancel(true);
+			assertTrue(a.isCancelled());
+			assertEquals("Shooter Reloaded",
+					b.get(10, TimeUnit.SECONDS).getName());
+			assertEquals(1, simulator.getRequestCount());
+
+			// Das gilt auch, wenn der Aufrufer, der die Anfrage gestartet hat,
+			// noch wartet
+			CompletableFuture<Project> c = client
+					.getProjectByProjectIdAsync(8568);
+			CompletableFuture<Project> d = client
+					.getProjectByProjectIdAsync(8568);
+			d.cancel(true);
+			assertEquals("Shooter Reloaded",
+					c.get(10, TimeUnit.SECONDS).getName());
+			assertEquals(2, simulator.getRequestCount());
+
+			// Brechen alle ab, wird die gemeinsame Anfrage abgebrochen;
+			// spätere Anfragen schließen sich ihr nicht mehr an
+			CompletableFuture<Project> e = client
+					.getProjectByProjectIdAsync(8568);
+			CompletableFuture<Project> f = client
+					.getProjectByProjectIdAsync(8568);
+			e.cancel(true);
+			f.cancel(true);
+			assertEquals("Shooter Reloaded", client
+					.getProjectByProjectIdAsync(8568)
+					.get(10, TimeUnit.SECONDS).getName());
+		}
+	}
+
+}
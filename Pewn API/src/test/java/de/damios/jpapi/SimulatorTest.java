@@ -0,0 +1,267 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.DecodedImageCache;
+import de.damios.jpapi.core.DiskImageCache;
+import de.damios.jpapi.core.ImageBatch;
+import de.damios.jpapi.core.ImageDecodeOptions;
+import de.damios.jpapi.core.ImageInfo;
+import de.damios.jpapi.core.PewnClient;
+import de.damios.jpapi.core.RetryPolicy;
+import de.damios.jpapi.exception.JpapiInternalException;
+import de.damios.jpapi.model.Download;
+import de.damios.jpapi.model.Project;
+import de.damios.jpapi.model.Project.OrderedBy;
+import de.damios.jpapi.model.Release;
+import de.damios.jpapi.model.User;
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.SimulatorDataset;
+
+public class SimulatorTest {
+
+	@Test
+	public void test() throws IOException {
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(500, 60, 8568)).start()) {
+			PewnClient client = simulator.newClientBuilder().build();
+
+			// Dieselben Prüfungen wie in ProjectTest und UserTest
+			Project[] all = client.getAllProjects(OrderedBy.CREATION_DATE);
+			assertEquals(500, all.length);
+			assertEquals(all[0], client.getLatestProject());
+
+			Project p = client.getProjectByProjectId(8568);
+			assertEquals("Shooter Reloaded", p.getName());
+			assertEquals("damios", p.getAuthor().getName());
+			assertEquals("2014-08-09 14:45:50.0",
+					p.getCreationDate().toString());
+
+			User dev = client.getRandomProject().getAuthor();
+			assertEquals(dev, client.getUserByUserId(dev.getId()));
+			assertEquals(dev, client.getUserByUsername(dev.getName()));
+			assertTrue(Arrays.asList(client.getProjectsByUserId(dev.getId()))
+					.stream().allMatch(x -> x.getAuthor().equals(dev)));
+
+			assertNull(client.getProjectByProjectId(1));
+			try (Stream<Project> stream = client
+					.streamAllProjects(OrderedBy.RATING)) {
+				assertEquals(500, stream.count());
+			}
+
+			// Alle übrigen Anfragen
+			assertNotNull(client.getLastActivities(25));
+			assertNotNull(client.getBlogPostsByUserId(1));
+			assertNotNull(client.getDesignsByUserId(1));
+			assertNotNull(client.getNewsByUserId(1));
+			assertNotNull(client.getLikedProjectsByUserId(1));
+			assertNotNull(client.getRatingsByUserId(1));
+			assertNotNull(client.getTeamsByUserId(1)[0]);
+			assertEquals(p.getHashtags().length,
+					client.getHashtagsByProjectId(8568).length);
+			assertNotNull(client.getImagesByProjectId(8568));
+			assertNotNull(client.getRatingsByProjectId(8568));
+			assertNotNull(client.getReleasesByProjectId(8568)[0]
+					.getDownloads());
+			assertNotNull(client.getRecommendedProjectsByProjectId(8568));
+			assertNotNull(client.getProjectsInLatestBox());
+			assertNotNull(client.getProjectsInMostViewedBox());
+			assertNotNull(client.getTopProjectBox()[0].getProject());
+			assertNotNull(client.getStatus().getStatus());
+			assertEquals(1, client.getTeamByTeamId(1).getId());
+			assertNotNull(client.getAvatar(dev));
+
+			client.initAuth("id", "secret", "refresh");
+			assertEquals("damios", client.getUserData().getUsername());
+
+			BufferedImage image = client.getImage(8568,
+					p.getImages()[0].getFileName(), 64, 32);
+			assertEquals(64, image.getWidth());
+			assertEquals(36, image.getHeight());
+
+			// Bilder ohne Dekodieren
+			String filename = p.getImages()[0].getFileName();
+			byte[] bytes = client.getImageBytes(8568, filename, 64, 32);
+			assertEquals(64,
+					ImageIO.read(new ByteArrayInputStream(bytes)).getWidth());
+			try (InputStream in = client.getImageStream(8568, filename, 64,
+					32)) {
+				assertArrayEquals(bytes, in.readAllBytes());
+			}
+			assertArrayEquals(bytes, client
+					.getImageBytesAsync(8568, filename, 64, 32).join());
+			Path file = Files.createTempFile("jpapi", ".png");
+			try {
+				assertEquals(bytes.length,
+						client.writeImage(8568, filename, 64, 32, file));
+				assertArrayEquals(bytes, Files.readAllBytes(file));
+				Files.delete(file);
+				assertEquals(-1, client.writeImage(1, filename, 64, 32, file));
+				assertTrue(Files.notExists(file));
+				assertTrue(client.writeAvatar(dev, file) > 0);
+				assertArrayEquals(client.getAvatarBytes(dev),
+						Files.readAllBytes(file));
+			} finally {
+				Files.deleteIfExists(file);
+			}
+			assertNull(client.getImageBytes(1, filename, -1, -1));
+			assertNull(client.getImageStream(1, filename, -1, -1));
+
+			// Vorschaubilder und Header
+			ImageInfo info = client.getImageInfo(8568, filename, 64, 32);
+			assertEquals(64, info.getWidth());
+			assertEquals(36, info.getHeight());
+			assertEquals("png", info.getFormat());
+			assertNull(client.getImageInfo(1, filename, 64, 32));
+			BufferedImage preview = client.getImage(8568, filename, 64, 32,
+					ImageDecodeOptions.fit(20, 20));
+			assertEquals(22, preview.getWidth()); // Faktor 3
+			assertEquals(12, preview.getHeight());
+			BufferedImage region = client.getImage(8568, filename, 64, 32,
+					ImageDecodeOptions.region(new Rectangle(60, 0, 10, 10)));
+			assertEquals(4, region.getWidth()); // Auf das Bild beschränkt
+			assertEquals(10, region.getHeight());
+			assertEquals(image.getRGB(61, 5), region.getRGB(1, 5));
+			region = client.getImageAsync(8568, filename, 64, 32,
+					ImageDecodeOptions.subsampling(2)
+							.withRegion(new Rectangle(10, 10, 10, 10)))
+					.join();
+			assertEquals(5, region.getWidth());
+			assertEquals(image.getRGB(12, 14), region.getRGB(1, 2));
+
+			// Mehrere Bilder gleichzeitig
+			Project[] projects = client.getProjectsInLatestBox();
+			PewnClient prefetching = simulator.newClientBuilder()
+					.prefetchParallelism(4, 2).build();
+			ImageBatch batch = prefetching.prefetchImages(projects);
+			int count = 0;
+			for (ImageBatch.Result result : batch) {
+				assertTrue(result.isSuccessful(), result.toString());
+				assertEquals(result.isAvatar(), result.getImage() == null);
+				count++;
+			}
+			assertEquals(batch.size(), count);
+			assertTrue(count >= projects.length);
+			assertEquals(count, batch.getAll().join().size());
+			assertEquals(1,
+					prefetching.prefetchImages(projects[0], projects[0])
+							.getAll().join().stream()
+							.filter(ImageBatch.Result::isAvatar).count());
+
+			// Weiterleitungen von Downloads
+			PewnClient resolving = simulator.newClientBuilder()
+					.downloadUrlCache(1, TimeUnit.MINUTES, 100).build();
+			Release[] releases = resolving.getReleasesByProjectId(8568);
+			Map<Download, URL> urls = resolving.resolveDownloadUrls(releases);
+			assertEquals(Arrays.stream(releases)
+					.flatMap(r -> Arrays.stream(r.getDownloads())).distinct()
+					.count(), urls.size());
+			for (Map.Entry<Download, URL> e : urls.entrySet())
+				assertEquals("/files/downloads/" + e.getKey().getId(),
+						e.getValue().getPath());
+			long resolved = simulator.getRequestCount();
+			Download download = releases[0].getDownloads()[0];
+			assertEquals(urls.get(download),
+					resolving.resolveDownloadUrl(download));
+			assertEquals(urls, resolving.resolveDownloadUrlsAsync(releases)
+					.join());
+			assertEquals(resolved, simulator.getRequestCount());
+
+			// Bilder aus dem Cache
+			Path cacheDir = Files.createTempDirectory("jpapi");
+			try {
+				PewnClient cached = simulator.newClientBuilder()
+						.imageCache(new DiskImageCache(cacheDir, 1 << 20))
+						.decodedImageCache(new DecodedImageCache(1 << 20))
+						.build();
+				assertArrayEquals(bytes,
+						cached.getImageBytes(8568, filename, 64, 32));
+				long requests = simulator.getRequestCount();
+				BufferedImage decoded = cached.getImage(8568, filename, 64,
+						32);
+				assertEquals(64, decoded.getWidth());
+				assertSame(decoded, cached.getImage(8568, filename, 64, 32));
+				assertSame(decoded,
+						cached.getImageAsync(8568, filename, 64, 32).join());
+				assertEquals(22, cached.getImage(8568, filename, 64, 32,
+						ImageDecodeOptions.fit(20, 20)).getWidth());
+				assertEquals(2,
+						cached.getDecodedImageCache().getHitCount());
+				assertArrayEquals(bytes, cached
+						.getImageBytesAsync(8568, filename, 64, 32).join());
+				assertEquals(requests, simulator.getRequestCount());
+				assertNull(cached.getImageBytes(1, filename, 64, 32));
+				assertEquals(1, cached.getImageCache().size());
+
+				// Dateien und Streams über die Datei im Cache
+				Path target = Files.createTempFile("jpapi", ".png");
+				try {
+					assertTrue(cached.writeAvatar(dev, target) > 0);
+					assertEquals(2, cached.getImageCache().size());
+					requests = simulator.getRequestCount();
+					try (InputStream in = cached.getAvatarStream(dev)) {
+						assertArrayEquals(Files.readAllBytes(target),
+								in.readAllBytes());
+					}
+					assertEquals(requests, simulator.getRequestCount());
+				} finally {
+					Files.delete(target);
+				}
+			} finally {
+				try (Stream<Path> files = Files.list(cacheDir)) {
+					for (Path f : (Iterable<Path>) files::iterator)
+						Files.delete(f);
+				}
+				Files.delete(cacheDir);
+			}
+
+			// Fehlerhaftes JSON (HTML-Seite bzw. abgeschnittene Antwort)
+			simulator.setMalformedJsonRate(1);
+			for (int i = 0; i < 10; i++) {
+				Exception e = assertThrows(Exception.class,
+						() -> client.getProjectByProjectId(8568));
+				assertTrue(e instanceof JpapiInternalException
+						|| e instanceof EOFException, e.toString());
+			}
+			assertEquals(10, simulator.getMalformedCount());
+			simulator.setMalformedJsonRate(0);
+
+			// Überlastung und Serverfehler
+			PewnClient resilient = simulator.newClientBuilder()
+					.rateLimit(10000, 100)
+					.retryPolicy(new RetryPolicy(5, 1, 10,
+							TimeUnit.MILLISECONDS, 1))
+					.build();
+			simulator.setRetryAfter(0).setThrottleRate(0.05).setErrorRate(0.05);
+			for (int i = 0; i < 200; i++)
+				assertNotNull(resilient.getUserByUserId(1 + i % 60));
+			assertTrue(simulator.getThrottledCount() > 0);
+			assertTrue(resilient.getRateLimiter().getThrottleCount() > 0);
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package de.damios.jpapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonSyntaxException;
+
+import de.damios.jpapi.core.TimestampAdapter;
+
+public class TimestampAdapterTest {
+
+	@Test
+	public void test() throws ParseException {
+		ZoneId zone = ZoneId.of("Europe/Berlin");
+		TimestampAdapter adapter = new TimestampAdapter(zone);
+		SimpleDateFormat format = new SimpleDateFormat(
+				TimestampAdapter.PATTERN, Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone(zone));
+
+		// Zufällige Zeitpunkte zwischen 1970 und 2038
+		Random random = new Random(8568);
+		for (int i = 0; i < 10000; i++) {
+			Timestamp t = new Timestamp(
+					(random.nextInt() & Integer.MAX_VALUE) * 1000L);
+			String text = format.format(t);
+
+			assertEquals(text, adapter.format(t));
+			assertEquals(format.parse(text).getTime(),
+					adapter.parse(text).getTime());
+		}
+
+		// Zeitumstellungen und Werte, die nachsichtig gelesen werden
+		for (String text : new String[] { "2018-03-25 02:30:00",
+				"2018-10-28 02:30:00", "0000-00-00 00:00:00",
+				"2018-02-30 25:61:00", "1500-01-01 00:00:00",
+				"2018-01-01 00:00:00.0" })
+			assertEquals(format.parse(text).getTime(),
+					adapter.parse(text).getTime(), text);
+
+		// ISO-8601 wird wie bei Gson als letzte Möglichkeit gelesen
+		assertEquals(1514764800000L,
+				adapter.parse("2018-01-01T00:00:00Z").getTime());
+		assertEquals(1514761200000L,
+				adapter.parse("2018-01-01T00:00:00.000+01:00").getTime());
+		// Ohne Uhrzeit wie bei Gson in UTC
+		assertEquals(1527811200000L, adapter.parse("2018-06-01").getTime());
+
+		assertThrows(JsonSyntaxException.class, () -> adapter.parse("gestern"));
+	}
+
+}
@@ -0,0 +1,106 @@
+package de.damios.jpapi.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.core.CircuitBreaker.State;
+import de.damios.jpapi.exception.CircuitBreakerOpenException;
+
+public class CircuitBreakerTest {
+
+	@Test
+	public void test() throws Exception {
+		AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+		CircuitBreaker breaker = new CircuitBreaker("test", 3, 10,
+				TimeUnit.SECONDS, now::get);
+
+		// Geschlossen, bis zu viele Fehler aufeinander folgen
+		for (int i = 0; i < 2; i++) {
+			breaker.acquire();
+			breaker.onFailure();
+		}
+		breaker.acquire();
+		breaker.onSuccess();
+		for (int i = 0; i < 2; i++) {
+			breaker.acquire();
+			breaker.onFailure();
+		}
+		assertEquals(State.CLOSED, breaker.getState());
+		breaker.acquire();
+		breaker.onFailure();
+		assertEquals(State.OPEN, breaker.getState());
+
+		// Geöffnet
+		assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+		now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+		assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+		assertEquals(2, breaker.getRejectedCount());
+
+		// Halb offen: nur eine Probe-Anfrage; schlägt sie fehl, wird der
+		// Breaker wieder geöffnet
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		breaker.acquire();
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+		breaker.onFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		assertThrows(CircuitBreakerOpenException.class, breaker::acquire);
+
+		// Ist die Probe erfolgreich, wird er geschlossen
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		breaker.acquire();
+		breaker.onSuccess();
+		assertEquals(State.CLOSED, breaker.getState());
+		for (int i = 0; i < 5; i++)
+			breaker.acquire();
+		assertEquals(4, breaker.getRejectedCount());
+
+		// Auch bei gleichzeitigen Anfragen gibt es nur eine Probe
+		for (int i = 0; i < 3; i++)
+			breaker.onFailure();
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger acquired = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			Thread t = new Thread(() -> {
+				try {
+					start.await();
+					breaker.acquire();
+					acquired.incrementAndGet();
+				} catch (CircuitBreakerOpenException e) {
+					// Erwartet
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			t.start();
+			threads.add(t);
+		}
+		start.countDown();
+		for (Thread t : threads)
+			t.join();
+		assertEquals(1, acquired.get());
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		assertEquals(4 + 15, breaker.getRejectedCount());
+
+		// Eine abgebrochene Probe zählt nicht als Fehler und gibt die Probe
+		// wieder frei
+		breaker.onCanceled();
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		breaker.acquire();
+		breaker.onSuccess();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertEquals(4 + 15, breaker.getRejectedCount());
+	}
+
+}
@@ -0,0 +1,49 @@
+package de.damios.jpapi.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimiterTest {
+
+	@Test
+	public void test() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+		CompletableFuture<Integer> blocking = new CompletableFuture<>();
+		CompletableFuture<Integer> first = limiter.submit(() -> blocking);
+
+		// Aufgaben, die sofort abgeschlossen sind (z.B. Treffer im Cache)
+		List<Integer> started = new ArrayList<>();
+		List<CompletableFuture<Integer>> results = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			int n = i;
+			results.add(limiter.submit(() -> {
+				started.add(n);
+				return CompletableFuture.completedFuture(n);
+			}));
+		}
+		// Abgebrochene Aufgaben werden nicht mehr gestartet
+		for (int i = 0; i < results.size(); i += 2)
+			results.get(i).cancel(false);
+		assertEquals(1, limiter.getRunningCount());
+		assertEquals(20000, limiter.getPendingCount());
+
+		// Darf nicht zu einem StackOverflowError führen
+		blocking.complete(-1);
+		assertTrue(results.get(results.size() - 1).isDone());
+		assertEquals(-1, (int) first.join());
+		for (int i = 1; i < results.size(); i += 2)
+			assertEquals(i, (int) results.get(i).join());
+		assertEquals(10000, started.size());
+		for (int i = 0; i < started.size(); i++)
+			assertEquals(2 * i + 1, (int) started.get(i));
+		assertEquals(0, limiter.getRunningCount());
+		assertEquals(0, limiter.getPendingCount());
+	}
+
+}
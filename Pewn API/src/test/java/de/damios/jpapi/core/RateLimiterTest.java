@@ -0,0 +1,118 @@
+package de.damios.jpapi.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import de.damios.jpapi.simulator.PewnSimulator;
+import de.damios.jpapi.simulator.SimulatorDataset;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public class RateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	public void test() throws IOException {
+		AtomicLong now = new AtomicLong(SECOND);
+		RateLimiter limiter = new RateLimiter(10, 2, now::get);
+
+		// Token-Bucket
+		assertEquals(0, limiter.reserve());
+		assertEquals(0, limiter.reserve());
+		assertEquals(SECOND / 10, limiter.reserve(), 1000);
+
+		// Überlastung: Rate halbieren und pausieren
+		limiter.throttle(2, TimeUnit.SECONDS);
+		assertEquals(5, limiter.getRate(), 1e-9);
+		assertEquals(1, limiter.getThrottleCount());
+		assertEquals(2 * SECOND + 2 * SECOND / 5, limiter.reserve(), 1000);
+
+		// Gleichzeitige Überlastungen verringern die Rate nur einmal
+		now.addAndGet(SECOND / 2);
+		limiter.throttle(0, TimeUnit.SECONDS);
+		assertEquals(5, limiter.getRate(), 1e-9);
+		assertEquals(2, limiter.getThrottleCount());
+
+		now.addAndGet(5 * SECOND / 2);
+		limiter.throttle(0, TimeUnit.SECONDS);
+		assertEquals(2.5, limiter.getRate(), 1e-9);
+
+		// Die Rate steigt höchstens bis knapp unter die letzte Überlastung
+		limiter.onSuccess();
+		assertEquals(2.6, limiter.getRate(), 1e-9);
+		for (int i = 0; i < 100; i++)
+			limiter.onSuccess();
+		assertEquals(4.5, limiter.getRate(), 1e-9);
+
+		// Nach einiger Zeit wird die Obergrenze aufgehoben
+		now.addAndGet(TimeUnit.SECONDS
+				.toNanos(RateLimiter.CEILING_RESET_SECONDS + 1));
+		limiter.onSuccess();
+		assertEquals(4.6, limiter.getRate(), 1e-9);
+		for (int i = 0; i < 100; i++)
+			limiter.onSuccess();
+		assertEquals(10, limiter.getRate(), 1e-9);
+
+		// Die Rate fällt nicht beliebig weit
+		for (int i = 0; i < 20; i++) {
+			now.addAndGet(2 * SECOND);
+			limiter.throttle(0, TimeUnit.SECONDS);
+		}
+		assertEquals(10.0 / 64, limiter.getRate(), 1e-9);
+
+		// Retry-After
+		assertEquals(-1, retryAfter(200, null));
+		assertEquals(-1, retryAfter(503, null));
+		assertEquals(1000, retryAfter(429, null));
+		assertEquals(5000, retryAfter(429, " 5 "));
+		assertEquals(2000, retryAfter(503, "2"));
+		assertEquals(0, retryAfter(429, "-3"));
+		assertEquals(1000, retryAfter(429, "bald"));
+		long millis = retryAfter(429,
+				DateTimeFormatter.RFC_1123_DATE_TIME.format(
+						ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30)));
+		assertTrue(millis > 25000 && millis <= 30000);
+		assertEquals(0, retryAfter(429,
+				DateTimeFormatter.RFC_1123_DATE_TIME.format(
+						ZonedDateTime.now(ZoneOffset.UTC).minusHours(1))));
+
+		// Abgewiesene Anfragen werden höchstens dreimal wiederholt
+		try (PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(10, 5, 8568)).start()) {
+			simulator.setThrottleRate(1).setRetryAfter(0);
+			PewnClient client = simulator.newClientBuilder()
+					.rateLimit(1000, 10).build();
+			try {
+				client.getProjectByProjectId(8568);
+			} catch (IOException e) {
+				// Erwartet
+			}
+			assertEquals(RateLimitInterceptor.MAX_THROTTLED_RETRIES + 1,
+					simulator.getRequestCount());
+			assertEquals(RateLimitInterceptor.MAX_THROTTLED_RETRIES + 1,
+					client.getRateLimiter().getThrottleCount());
+		}
+	}
+
+	private static long retryAfter(int code, String retryAfter) {
+		Response.Builder builder = new Response.Builder()
+				.request(new Request.Builder().url("http://localhost/")
+						.build())
+				.protocol(Protocol.HTTP_1_1).code(code).message("");
+		if (retryAfter != null)
+			builder.header("Retry-After", retryAfter);
+		return RateLimitInterceptor.getRetryAfterMillis(builder.build());
+	}
+
+}
@@ -0,0 +1,236 @@
+package de.damios.jpapi.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.stream.MalformedJsonException;
+
+import de.damios.jpapi.core.CircuitBreaker.State;
+import de.damios.jpapi.exception.CircuitBreakerOpenException;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class ResilientCallTest {
+
+	@Test
+	public void test() throws Exception {
+		// Budget: ohne Nachschub sind 10 Wiederholungen möglich
+		RetryPolicy policy = new RetryPolicy(5, 0, 0, TimeUnit.MILLISECONDS,
+				0);
+		assertFalse(policy.tryRetry(6));
+		for (int i = 0; i < 10; i++)
+			assertTrue(policy.tryRetry(1));
+		assertFalse(policy.tryRetry(1));
+		assertEquals(10, policy.getRetryCount());
+
+		// Serverfehler werden bis zu maxRetries Mal wiederholt
+		policy = new RetryPolicy(3, 0, 0, TimeUnit.MILLISECONDS);
+		AtomicInteger attempts = new AtomicInteger();
+		Response<String> response = call("GET", attempts, i -> error(503),
+				policy, null).execute();
+		assertEquals(503, response.code());
+		assertEquals(4, attempts.get());
+
+		attempts.set(0);
+		response = call("GET", attempts,
+				i -> i < 2 ? error(502) : Response.success("ok"), policy,
+				null).execute();
+		assertEquals("ok", response.body());
+		assertEquals(3, attempts.get());
+
+		// Ist das Budget erschöpft, wird nicht mehr wiederholt
+		policy = new RetryPolicy(5, 0, 0, TimeUnit.MILLISECONDS, 0);
+		for (int expected : new int[] { 6, 6, 1 }) {
+			attempts.set(0);
+			assertThrows(IOException.class, call("GET", attempts,
+					i -> new IOException("Verbindung abgebrochen"), policy,
+					null)::execute);
+			assertEquals(expected, attempts.get());
+		}
+		assertEquals(0, policy.getRetryBudget(), 1e-9);
+
+		// POST-Anfragen werden nie wiederholt
+		policy = new RetryPolicy(3, 0, 0, TimeUnit.MILLISECONDS);
+		attempts.set(0);
+		assertEquals(503, call("POST", attempts, i -> error(503), policy,
+				null).execute().code());
+		assertEquals(1, attempts.get());
+		attempts.set(0);
+		assertThrows(IOException.class,
+				call("POST", attempts, i -> new IOException(), policy,
+						null)::execute);
+		assertEquals(1, attempts.get());
+
+		// Ungültiges JSON wird nicht wiederholt
+		attempts.set(0);
+		assertThrows(MalformedJsonException.class,
+				call("GET", attempts, i -> new MalformedJsonException("{"),
+						policy, null)::execute);
+		assertEquals(1, attempts.get());
+
+		// Öffnet sich der Circuit-Breaker, wird nicht weiter wiederholt
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, 1,
+				TimeUnit.HOURS);
+		attempts.set(0);
+		assertEquals(503, call("GET", attempts, i -> error(503), policy,
+				breaker).execute().code());
+		assertEquals(2, attempts.get());
+		attempts.set(0);
+		assertThrows(CircuitBreakerOpenException.class,
+				call("GET", attempts, i -> Response.success("ok"), policy,
+						breaker)::execute);
+		assertEquals(0, attempts.get());
+
+		// Abgebrochene Anfragen öffnen den Circuit-Breaker nicht
+		breaker = new CircuitBreaker("test", 2, 1, TimeUnit.HOURS);
+		for (int i = 0; i < 2; i++) {
+			attempts.set(0);
+			Call<String> canceled = cancelingCall(attempts, policy, breaker);
+			assertThrows(IOException.class, canceled::execute);
+			assertEquals(1, attempts.get());
+		}
+		for (int i = 0; i < 2; i++) {
+			CompletableFuture<Response<String>> future;
+			future = new CompletableFuture<>();
+			cancelingCall(attempts, policy, breaker)
+					.enqueue(callback(future));
+			assertThrows(Exception.class,
+					() -> future.get(10, TimeUnit.SECONDS));
+		}
+		assertEquals(State.CLOSED, breaker.getState());
+
+		// Asynchrone Wiederholungen
+		attempts.set(0);
+		CompletableFuture<Response<String>> future = new CompletableFuture<>();
+		call("GET", attempts,
+				i -> i < 2 ? new IOException() : Response.success("ok"),
+				policy, null).enqueue(callback(future));
+		assertEquals("ok", future.get(10, TimeUnit.SECONDS).body());
+		assertEquals(3, attempts.get());
+	}
+
+	private static Response<String> error(int code) {
+		return Response.error(code, ResponseBody.create(null, ""));
+	}
+
+	private static Callback<String> callback(
+			CompletableFuture<Response<String>> future) {
+		return new Callback<String>() {
+			@Override
+			public void onResponse(Call<String> call, Response<String> r) {
+				future.complete(r);
+			}
+
+			@Override
+			public void onFailure(Call<String> call, Throwable t) {
+				future.completeExceptionally(t);
+			}
+		};
+	}
+
+	/**
+	 * @return Eine Anfrage, die während des ersten Versuchs vom Aufrufer
+	 *         abgebrochen wird.
+	 */
+	private static Call<String> cancelingCall(AtomicInteger attempts,
+			RetryPolicy policy, CircuitBreaker breaker) {
+		AtomicReference<Call<String>> self = new AtomicReference<>();
+		self.set(call("GET", attempts, i -> {
+			self.get().cancel();
+			return new IOException("Canceled");
+		}, policy, breaker));
+		return self.get();
+	}
+
+	private static Call<String> call(String method, AtomicInteger attempts,
+			IntFunction<Object> outcomes, RetryPolicy policy,
+			CircuitBreaker breaker) {
+		Request request = new Request.Builder().url("http://localhost/")
+				.method(method,
+						"GET".equals(method) ? null
+								: RequestBody.create(null, ""))
+				.build();
+		return new ResilientCall<>(
+				new ScriptedCall(request, attempts, outcomes), policy,
+				breaker);
+	}
+
+	/**
+	 * Eine Anfrage, deren Versuche der Reihe nach die vorgegebenen
+	 * Antworten bzw. Fehler liefern.
+	 */
+	private static class ScriptedCall implements Call<String> {
+
+		private final Request request;
+		private final AtomicInteger attempts;
+		private final IntFunction<Object> outcomes;
+		private boolean executed;
+
+		ScriptedCall(Request request, AtomicInteger attempts,
+				IntFunction<Object> outcomes) {
+			this.request = request;
+			this.attempts = attempts;
+			this.outcomes = outcomes;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Response<String> execute() throws IOException {
+			executed = true;
+			Object outcome = outcomes.apply(attempts.getAndIncrement());
+			if (outcome instanceof IOException)
+				throw (IOException) outcome;
+			return (Response<String>) outcome;
+		}
+
+		@Override
+		public void enqueue(Callback<String> callback) {
+			try {
+				callback.onResponse(this, execute());
+			} catch (IOException e) {
+				callback.onFailure(this, e);
+			}
+		}
+
+		@Override
+		public boolean isExecuted() {
+			return executed;
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return false;
+		}
+
+		@Override
+		public Call<String> clone() {
+			return new ScriptedCall(request, attempts, outcomes);
+		}
+
+		@Override
+		public Request request() {
+			return request;
+		}
+
+	}
+
+}
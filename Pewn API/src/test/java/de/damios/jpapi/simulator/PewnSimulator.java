@@ -0,0 +1,910 @@
+package de.damios.jpapi.simulator;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import de.damios.jpapi.core.PewnClient;
+
+/**
+ * Ein lokaler Ersatz für die Pewn-API, gegen den sich der Client ohne
+ * Netzwerkzugang testen und vermessen lässt.
+ * <p>
+ * Der Simulator beantwortet alle Anfragen der Service-Interfaces von jpapi
+ * (<code>v1/games/...</code>, <code>v1/users/...</code>,
+ * <code>v1/oauth/token</code>, <code>/image/projects/...</code> usw.) mit den
+ * Daten eines {@link SimulatorDataset}. Zusätzlich lassen sich Latenz,
+ * Serverfehler, Überlastung (<code>429</code>) und fehlerhaftes JSON
+ * simulieren; diese Einstellungen können auch während des Betriebs geändert
+ * werden.
+ * <p>
+ * Ein Client wird über {@link PewnClient.Builder#host(String)} mit dem
+ * Simulator verbunden:
+ *
+ * <pre>
+ * try (PewnSimulator simulator = new PewnSimulator(
+ * 		new SimulatorDataset(1000, 100, 42)).start()) {
+ * 	simulator.setLatency(PewnSimulator.Latency.logNormal(20, 0.5));
+ * 	PewnClient client = new PewnClient.Builder().host(simulator.getHost())
+ * 			.build();
+ * 	...
+ * }
+ * </pre>
+ *
+ * Die Tests gegen Pewn lassen sich über die System-Property
+ * {@value de.damios.jpapi.core.Constants#HOST_PROPERTY} auf einen Simulator
+ * umleiten, der über {@link #main(String[])} gestartet wurde.
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public final class PewnSimulator implements Closeable {
+
+	private static final String API = "/api/";
+	private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+	private static final String JSON = "application/json;charset=UTF-8";
+	private static final String MAINTENANCE_PAGE = "<html><body>"
+			+ "Pewn wird gerade gewartet.</body></html>";
+	/**
+	 * Die ursprüngliche Breite aller Bilder.
+	 */
+	private static final int IMAGE_WIDTH = 640;
+	/**
+	 * Die ursprüngliche Höhe aller Bilder.
+	 */
+	private static final int IMAGE_HEIGHT = 360;
+	private static final int[] ERROR_CODES = { 500, 502, 503, 504 };
+
+	private final SimulatorDataset dataset;
+	private final List<Route> routes = new ArrayList<>();
+	private final Map<String, byte[]> images = new ConcurrentHashMap<>();
+	private final Map<Long, byte[]> downloads = new ConcurrentHashMap<>();
+	private HttpServer server;
+	private ExecutorService executor;
+
+	private volatile Latency latency = Latency.none();
+	private volatile Latency projectLatency = Latency.none();
+	private volatile double errorRate;
+	private volatile double throttleRate;
+	private volatile double malformedJsonRate;
+	private volatile int retryAfterSeconds = 1;
+	private volatile boolean rejectTokens;
+	private final Set<String> issuedTokens = ConcurrentHashMap.newKeySet();
+	private final Set<String> revokedTokens = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong requestCount = new AtomicLong();
+	private final AtomicLong errorCount = new AtomicLong();
+	private final AtomicLong throttledCount = new AtomicLong();
+	private final AtomicLong malformedCount = new AtomicLong();
+	private final AtomicLong servedProjectCount = new AtomicLong();
+	private final AtomicLong tokenCount = new AtomicLong();
+
+	/**
+	 * @param dataset
+	 *            Die Daten, die der Simulator ausliefert.
+	 */
+	public PewnSimulator(SimulatorDataset dataset) {
+		this.dataset = dataset;
+		registerRoutes();
+	}
+
+	/**
+	 * Startet den Simulator auf einem freien Port.
+	 *
+	 * @return Dieser Simulator.
+	 * @throws IOException
+	 *             wenn der Server nicht gestartet werden kann.
+	 */
+	public PewnSimulator start() throws IOException {
+		return start(0);
+	}
+
+	/**
+	 * Startet den Simulator.
+	 *
+	 * @param port
+	 *            Der Port; <code>0</code> für einen beliebigen freien Port.
+	 * @return Dieser Simulator.
+	 * @throws IOException
+	 *             wenn der Server nicht gestartet werden kann.
+	 */
+	public synchronized PewnSimulator start(int port) throws IOException {
+		if (server != null)
+			throw new IllegalStateException("Der Simulator läuft bereits");
+
+		// Ohne TCP_NODELAY verzögern sich kleine Antworten um ca. 40 ms;
+		// wird nur beim ersten Start im Prozess ausgewertet
+		if (System.getProperty(NODELAY_PROPERTY) == null)
+			System.setProperty(NODELAY_PROPERTY, "true");
+
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = Executors.newCachedThreadPool(r -> {
+			Thread thread = new Thread(r,
+					"pewn-simulator-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		server = HttpServer.create(
+				new InetSocketAddress("localhost", port), 128);
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+		server.start();
+		return this;
+	}
+
+	/**
+	 * Beendet den Simulator. Laufende Anfragen werden abgebrochen.
+	 */
+	@Override
+	public synchronized void close() {
+		if (server == null)
+			return;
+		server.stop(0);
+		executor.shutdownNow();
+		server = null;
+	}
+
+	/**
+	 * @return Die Adresse des Simulators, wie sie
+	 *         {@link PewnClient.Builder#host(String)} erwartet.
+	 */
+	public String getHost() {
+		if (server == null)
+			throw new IllegalStateException("Der Simulator läuft nicht");
+		return "http://localhost:" + server.getAddress().getPort() + "/";
+	}
+
+	/**
+	 * @return Ein Builder für einen Client, der mit diesem Simulator
+	 *         verbunden ist.
+	 */
+	public PewnClient.Builder newClientBuilder() {
+		return new PewnClient.Builder().host(getHost());
+	}
+
+	/**
+	 * @return Die Daten, die der Simulator ausliefert.
+	 */
+	public SimulatorDataset getDataset() {
+		return dataset;
+	}
+
+	/*
+	 * Einstellungen
+	 */
+	/**
+	 * Setzt die Verteilung der Antwortzeiten. Die Verzögerung wird vor dem
+	 * Senden jeder Antwort abgewartet.
+	 *
+	 * @param latency
+	 *            Die Verteilung.
+	 * @return Dieser Simulator.
+	 */
+	public PewnSimulator setLatency(Latency latency) {
+		if (latency == null)
+			throw new IllegalArgumentException(
+					"Die Latenz darf nicht null sein");
+		this.latency = latency;
+		return this;
+	}
+
+	/**
+	 * Setzt die Verteilung der Verzögerung vor jedem Spiel, das über
+	 * <code>v1/games/all</code> gestreamt wird, um z.B. eine langsame
+	 * Verbindung zu simulieren. Die bis dahin geschriebenen Spiele werden
+	 * vorher gesendet.
+	 *
+	 * @param projectLatency
+	 *            Die Verteilung.
+	 * @return Dieser Simulator.
+	 * @see #getServedProjectCount()
+	 */
+	public PewnSimulator setProjectLatency(Latency projectLatency) {
+		if (projectLatency == null)
+			throw new IllegalArgumentException(
+					"Die Latenz darf nicht null sein");
+		this.projectLatency = projectLatency;
+		return this;
+	}
+
+	/**
+	 * @param errorRate
+	 *            Der Anteil der Anfragen, die mit einem Serverfehler
+	 *            (<code>500</code>, <code>502</code>, <code>503</code> oder
+	 *            <code>504</code>) beantwortet werden.
+	 * @return Dieser Simulator.
+	 */
+	public PewnSimulator setErrorRate(double errorRate) {
+		this.errorRate = checkRate(errorRate);
+		return this;
+	}
+
+	/**
+	 * @param throttleRate
+	 *            Der Anteil der Anfragen, die mit <code>429 Too Many
+	 *            Requests</code> beantwortet werden.
+	 * @return Dieser Simulator.
+	 * @see #setRetryAfter(int)
+	 */
+	public PewnSimulator setThrottleRate(double throttleRate) {
+		this.throttleRate = checkRate(throttleRate);
+		return this;
+	}
+
+	/**
+	 * @param retryAfterSeconds
+	 *            Der Wert des <code>Retry-After</code>-Headers, der mit
+	 *            <code>429</code> gesendet wird; bei einem negativen Wert wird
+	 *            der Header weggelassen.
+	 * @return Dieser Simulator.
+	 */
+	public PewnSimulator setRetryAfter(int retryAfterSeconds) {
+		this.retryAfterSeconds = retryAfterSeconds;
+		return this;
+	}
+
+	/**
+	 * @param malformedJsonRate
+	 *            Der Anteil der JSON-Antworten, die zwar mit <code>200</code>
+	 *            beantwortet werden, aber kein gültiges JSON enthalten (eine
+	 *            HTML-Seite oder eine abgeschnittene Antwort).
+	 * @return Dieser Simulator.
+	 */
+	public PewnSimulator setMalformedJsonRate(double malformedJsonRate) {
+		this.malformedJsonRate = checkRate(malformedJsonRate);
+		return this;
+	}
+
+	/**
+	 * Erklärt alle bisher ausgestellten Access-Token für ungültig. Anfragen
+	 * mit einem dieser Token werden mit <code>401</code> beantwortet; neu
+	 * ausgestellte Token sind wieder gültig.
+	 *
+	 * @return Dieser Simulator.
+	 */
+	public PewnSimulator revokeTokens() {
+		revokedTokens.addAll(issuedTokens);
+		return this;
+	}
+
+	/**
+	 * @param rejectTokens
+	 *            Ob Anfragen mit Authentifizierung unabhängig vom Access-Token
+	 *            mit <code>401</code> beantwortet werden.
+	 * @return Dieser Simulator.
+	 */
+	public PewnSimulator setRejectTokens(boolean rejectTokens) {
+		this.rejectTokens = rejectTokens;
+		return this;
+	}
+
+	private static double checkRate(double rate) {
+		if (rate < 0 || rate > 1)
+			throw new IllegalArgumentException(
+					"Der Anteil muss zwischen 0 und 1 liegen");
+		return rate;
+	}
+
+	/*
+	 * Statistiken
+	 */
+	/**
+	 * @return Die Anzahl aller bisherigen Anfragen.
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * @return Die Anzahl der Anfragen, die mit einem simulierten
+	 *         Serverfehler beantwortet wurden.
+	 */
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * @return Die Anzahl der Anfragen, die mit <code>429</code> beantwortet
+	 *         wurden.
+	 */
+	public long getThrottledCount() {
+		return throttledCount.get();
+	}
+
+	/**
+	 * @return Die Anzahl der Antworten mit fehlerhaftem JSON.
+	 */
+	public long getMalformedCount() {
+		return malformedCount.get();
+	}
+
+	/**
+	 * @return Die Anzahl der Spiele, die bisher über
+	 *         <code>v1/games/all</code> gesendet wurden. Bricht der Client
+	 *         das Lesen vorzeitig ab, werden die restlichen Spiele nicht
+	 *         mehr gesendet.
+	 */
+	public long getServedProjectCount() {
+		return servedProjectCount.get();
+	}
+
+	/**
+	 * @return Die Anzahl der bisher über <code>v1/oauth/token</code>
+	 *         ausgestellten Access-Token.
+	 */
+	public long getTokenCount() {
+		return tokenCount.get();
+	}
+
+	/*
+	 * Anfragen
+	 */
+	private void registerRoutes() {
+		SimulatorDataset d = dataset;
+
+		json("status", (out, m, q) -> {
+			out.beginObject();
+			out.name("status").value("online");
+			out.name("lastUpdated").value("2018-01-01 00:00:00");
+			out.endObject();
+			return true;
+		});
+		json("v1/oauth/token", (out, m, q) -> {
+			String token = Long
+					.toHexString(ThreadLocalRandom.current().nextLong());
+			issuedTokens.add(token);
+			tokenCount.incrementAndGet();
+			out.beginObject();
+			out.name("access_token").value(token);
+			out.name("refresh_token").value(q.getOrDefault("refresh_token",
+					"simulator-refresh-token"));
+			out.name("token_type").value("bearer");
+			out.name("expires_in").value("3600");
+			out.name("username").value("damios");
+			out.endObject();
+			return true;
+		});
+		authenticatedJson("v1/self/details", (out, m, q) -> {
+			d.writeUserData(out, 0);
+			return true;
+		});
+
+		// Spiele
+		json("v1/games/id/(\\d+)", (out, m, q) -> project(m,
+				p -> d.writeProject(out, p)));
+		json("v1/games/id/(\\d+)/hashtags", (out, m, q) -> project(m,
+				p -> d.writeHashtags(out, p)));
+		json("v1/games/id/(\\d+)/images", (out, m, q) -> project(m,
+				p -> d.writeImages(out, p)));
+		json("v1/games/id/(\\d+)/ratings", (out, m, q) -> project(m,
+				p -> d.writeRatings(out, p, -1)));
+		json("v1/games/id/(\\d+)/releases", (out, m, q) -> project(m,
+				p -> d.writeReleases(out, p)));
+		json("v1/games/id/(\\d+)/recommendations",
+				(out, m, q) -> project(m, p -> d.writeProjects(out,
+						d.getRelatedProjects(Long.parseLong(m.group(1)), 5))));
+		json("v1/games/last", (out, m, q) -> {
+			d.writeProject(out, d.getProjects("creation")[0]);
+			return true;
+		});
+		json("v1/games/random", (out, m, q) -> {
+			d.writeProject(out, ThreadLocalRandom.current()
+					.nextInt(d.getProjectCount()));
+			return true;
+		});
+		json("v1/games/all", (out, m, q) -> {
+			out.beginArray();
+			for (int project : d.getProjects(q.get("order"))) {
+				long delay = projectLatency
+						.nextMillis(ThreadLocalRandom.current());
+				if (delay > 0) {
+					out.flush();
+					sleep(delay);
+				}
+				d.writeProject(out, project);
+				servedProjectCount.incrementAndGet();
+			}
+			out.endArray();
+			return true;
+		});
+
+		// Boxen der Startseite
+		json("v1/contents/games/views", (out, m, q) -> {
+			d.writeProjects(out, d.getRelatedProjects(0, 10));
+			return true;
+		});
+		json("v1/contents/games/update", (out, m, q) -> {
+			int[] projects = d.getProjects("update");
+			d.writeProjects(out, Arrays.copyOf(projects,
+					Math.min(10, projects.length)));
+			return true;
+		});
+		json("v1/contents/games/top", (out, m, q) -> {
+			d.writeProjectWrappers(out, 5);
+			return true;
+		});
+		json("v1/contents/activities", (out, m, q) -> {
+			d.writeActivities(out,
+					Integer.parseInt(q.getOrDefault("size", "10")));
+			return true;
+		});
+
+		// Nutzer und Teams
+		json("v1/users/id/(\\d+)",
+				(out, m, q) -> user(m, u -> d.writeUser(out, u)));
+		json("v1/users/name/([^/]+)", (out, m, q) -> {
+			int user = d.getUserIndex(m.group(1));
+			if (user < 0)
+				return false;
+			d.writeUser(out, user);
+			return true;
+		});
+		json("v1/users/id/(\\d+)/games", (out, m, q) -> user(m,
+				u -> d.writeProjects(out, d.getProjectsOfUser(u))));
+		json("v1/users/id/(\\d+)/likes", (out, m, q) -> user(m,
+				u -> d.writeProjects(out, d.getRelatedProjects(-u - 1, 3))));
+		json("v1/users/id/(\\d+)/ratings", (out, m, q) -> user(m,
+				u -> d.writeRatings(out, -1, u)));
+		json("v1/users/id/(\\d+)/(blogs|news|designs)", (out, m, q) -> user(m,
+				u -> d.writeUserContents(out, u, m.group(2))));
+		json("v1/users/id/(\\d+)/teams", (out, m, q) -> user(m, u -> {
+			out.beginArray();
+			d.writeTeam(out, d.getTeamOfUser(u));
+			out.endArray();
+		}));
+		json("v1/teams/id/(\\d+)", (out, m, q) -> {
+			int team = d.getTeamIndex(Long.parseLong(m.group(1)));
+			if (team < 0)
+				return false;
+			d.writeTeam(out, team);
+			return true;
+		});
+
+		// Bilder
+		routes.add(new Route("/image/projects/(\\d+)/files/([^/]+)", null,
+				(exchange, m, q) -> {
+					if (d.getProjectIndex(Long.parseLong(m.group(1))) < 0)
+						return false;
+					int width = Integer.parseInt(q.getOrDefault("width", "-1"));
+					int height = Integer
+							.parseInt(q.getOrDefault("height", "-1"));
+					// Wie bei Pewn wird nur der Wert mit der kleineren
+					// relativen Änderung verwendet
+					if (width <= 0 || height <= 0)
+						width = IMAGE_WIDTH;
+					else if (Math.abs(width - IMAGE_WIDTH) * IMAGE_HEIGHT > Math
+							.abs(height - IMAGE_HEIGHT) * IMAGE_WIDTH)
+						width = height * IMAGE_WIDTH / IMAGE_HEIGHT;
+					width = Math.max(1, Math.min(4 * IMAGE_WIDTH, width));
+					sendImage(exchange, width,
+							Math.max(1, width * IMAGE_HEIGHT / IMAGE_WIDTH));
+					return true;
+				}));
+		routes.add(new Route("/download/users/([^/]+)/avatar/([^/]+)", null,
+				(exchange, m, q) -> {
+					if (d.getUserIndex(m.group(1)) < 0)
+						return false;
+					sendImage(exchange, 128, 128);
+					return true;
+				}));
+
+		// Downloads; wie bei Pewn wird zunächst weitergeleitet
+		routes.add(new Route(API + "v1/analytics/downloads/(\\d+)", null,
+				(exchange, m, q) -> {
+					exchange.getResponseHeaders().set("Location",
+							"/files/downloads/" + m.group(1));
+					exchange.sendResponseHeaders(302, -1);
+					return true;
+				}));
+		routes.add(new Route("/files/downloads/(\\d+)", null,
+				(exchange, m, q) -> {
+					sendDownload(exchange, Long.parseLong(m.group(1)));
+					return true;
+				}));
+	}
+
+	private boolean project(Matcher m, IndexWriter writer) throws IOException {
+		int project = dataset.getProjectIndex(Long.parseLong(m.group(1)));
+		if (project < 0)
+			return false;
+		writer.write(project);
+		return true;
+	}
+
+	private boolean user(Matcher m, IndexWriter writer) throws IOException {
+		int user = dataset.getUserIndex(Long.parseLong(m.group(1)));
+		if (user < 0)
+			return false;
+		writer.write(user);
+		return true;
+	}
+
+	private void json(String path, JsonHandler handler) {
+		routes.add(new Route(API + path, handler, null));
+	}
+
+	private void authenticatedJson(String path, JsonHandler handler) {
+		Route route = new Route(API + path, handler, null);
+		route.authenticated = true;
+		routes.add(route);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			requestCount.incrementAndGet();
+			String path = exchange.getRequestURI().getPath();
+			Map<String, String> query = parseQuery(
+					exchange.getRequestURI().getRawQuery());
+			if ("POST".equals(exchange.getRequestMethod()))
+				query.putAll(parseQuery(new String(
+						exchange.getRequestBody().readAllBytes(),
+						StandardCharsets.UTF_8)));
+
+			sleep(latency.nextMillis(ThreadLocalRandom.current()));
+
+			Random random = ThreadLocalRandom.current();
+			if (random.nextDouble() < throttleRate) {
+				throttledCount.incrementAndGet();
+				if (retryAfterSeconds >= 0)
+					exchange.getResponseHeaders().set("Retry-After",
+							Integer.toString(retryAfterSeconds));
+				exchange.sendResponseHeaders(429, -1);
+				return;
+			}
+			if (random.nextDouble() < errorRate) {
+				errorCount.incrementAndGet();
+				exchange.sendResponseHeaders(
+						ERROR_CODES[random.nextInt(ERROR_CODES.length)], -1);
+				return;
+			}
+
+			for (Route route : routes) {
+				Matcher matcher = route.pattern.matcher(path);
+				if (!matcher.matches())
+					continue;
+
+				if (route.json != null ? sendJson(exchange, route, matcher,
+						query) : route.raw.handle(exchange, matcher, query))
+					return;
+				break;
+			}
+			exchange.sendResponseHeaders(404, -1);
+		} catch (NumberFormatException e) {
+			exchange.sendResponseHeaders(400, -1);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private boolean sendJson(HttpExchange exchange, Route route,
+			Matcher matcher, Map<String, String> query) throws IOException {
+		if (route.authenticated && !isAuthorized(exchange)) {
+			exchange.sendResponseHeaders(401, -1);
+			return true;
+		}
+		exchange.getResponseHeaders().set("Content-Type", JSON);
+		boolean malformed = ThreadLocalRandom.current()
+				.nextDouble() < malformedJsonRate;
+
+		// Antworten ohne ID im Pfad werden direkt gestreamt; alle übrigen
+		// werden gepuffert, damit unbekannte IDs noch mit 404 beantwortet
+		// werden können
+		if (route.streaming && !malformed) {
+			exchange.sendResponseHeaders(200, 0);
+			try (OutputStream out = exchange.getResponseBody()) {
+				writeJson(out, route, matcher, query);
+			}
+			return true;
+		}
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		if (!writeJson(buffer, route, matcher, query))
+			return false;
+		byte[] body = buffer.toByteArray();
+		if (malformed) {
+			malformedCount.incrementAndGet();
+			body = ThreadLocalRandom.current().nextBoolean()
+					? MAINTENANCE_PAGE.getBytes(StandardCharsets.UTF_8)
+					: Arrays.copyOf(body, body.length / 2);
+		}
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+		return true;
+	}
+
+	private static boolean writeJson(OutputStream stream, Route route,
+			Matcher matcher, Map<String, String> query) throws IOException {
+		Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+		JsonWriter out = new JsonWriter(writer);
+		if (!route.json.write(out, matcher, query))
+			return false;
+		out.flush();
+		return true;
+	}
+
+	private boolean isAuthorized(HttpExchange exchange) {
+		String authorization = exchange.getRequestHeaders()
+				.getFirst("Authorization");
+		return authorization != null && authorization.startsWith("Bearer ")
+				&& !rejectTokens && !revokedTokens
+						.contains(authorization.substring("Bearer ".length()));
+	}
+
+	private void sendImage(HttpExchange exchange, int width, int height)
+			throws IOException {
+		byte[] image = images.computeIfAbsent(width + "x" + height,
+				k -> createImage(width, height));
+		exchange.getResponseHeaders().set("Content-Type", "image/png");
+		exchange.sendResponseHeaders(200, image.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(image);
+		}
+	}
+
+	/**
+	 * Sendet die Datei eines Downloads. Unterstützt Range-Anfragen mit einem
+	 * einzelnen Bereich sowie <code>If-Range</code>.
+	 */
+	private void sendDownload(HttpExchange exchange, long id)
+			throws IOException {
+		byte[] content = getDownloadContent(id);
+		String etag = "\"" + id + "-" + content.length + "\"";
+		exchange.getResponseHeaders().set("ETag", etag);
+		exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+		exchange.getResponseHeaders().set("Content-Type",
+				"application/octet-stream");
+
+		int start = 0, end = content.length - 1;
+		String range = exchange.getRequestHeaders().getFirst("Range");
+		String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+		Matcher matcher = range == null ? null
+				: Pattern.compile("bytes=(\\d+)-(\\d*)").matcher(range);
+		boolean partial = matcher != null && matcher.matches()
+				&& (ifRange == null || ifRange.equals(etag));
+		if (partial) {
+			start = Integer.parseInt(matcher.group(1));
+			if (!matcher.group(2).isEmpty())
+				end = Math.min(end, Integer.parseInt(matcher.group(2)));
+			if (start > end) {
+				exchange.getResponseHeaders().set("Content-Range",
+						"bytes */" + content.length);
+				exchange.sendResponseHeaders(416, -1);
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Range",
+					"bytes " + start + "-" + end + "/" + content.length);
+		}
+		exchange.sendResponseHeaders(partial ? 206 : 200, end - start + 1);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content, start, end - start + 1);
+		}
+	}
+
+	/**
+	 * Liefert den Inhalt der Datei eines Downloads. Dieser ist zufällig,
+	 * aber für jede ID immer gleich.
+	 *
+	 * @param id
+	 *            Die ID des Downloads.
+	 * @return Der Inhalt; zwischen 256 und etwa 356 KB groß.
+	 */
+	public byte[] getDownloadContent(long id) {
+		return downloads.computeIfAbsent(id, k -> {
+			Random random = new Random(id);
+			byte[] content = new byte[256 * 1024 + random.nextInt(100_000)];
+			random.nextBytes(content);
+			return content;
+		});
+	}
+
+	/**
+	 * Ersetzt den Inhalt einer Datei, die über einen Download ausgeliefert
+	 * wird.
+	 *
+	 * @param id
+	 *            Die ID des Downloads.
+	 * @param content
+	 *            Der neue Inhalt.
+	 */
+	public void setDownloadContent(long id, byte[] content) {
+		downloads.put(id, content);
+	}
+
+	private static byte[] createImage(int width, int height) {
+		BufferedImage image = new BufferedImage(width, height,
+				BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				image.setRGB(x, y, (x * 255 / width) << 16
+						| (y * 255 / height) << 8 | 0x80);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			ImageIO.write(image, "png", out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static Map<String, String> parseQuery(String query) {
+		Map<String, String> result = new HashMap<>();
+		if (query == null || query.isEmpty())
+			return result;
+		for (String pair : query.split("&")) {
+			int separator = pair.indexOf('=');
+			if (separator < 0)
+				continue;
+			result.put(decode(pair.substring(0, separator)),
+					decode(pair.substring(separator + 1)));
+		}
+		return result;
+	}
+
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, "UTF-8");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void sleep(long millis) {
+		if (millis <= 0)
+			return;
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Startet einen Simulator, bis der Prozess beendet wird.
+	 *
+	 * @param args
+	 *            Optional: Port, Anzahl an Spielen, Anzahl an Nutzern.
+	 * @throws IOException
+	 *             wenn der Server nicht gestartet werden kann.
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8568;
+		int projects = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int users = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+		PewnSimulator simulator = new PewnSimulator(
+				new SimulatorDataset(projects, users, 8568)).start(port);
+		System.out.println(simulator.getDataset() + " läuft unter "
+				+ simulator.getHost());
+	}
+
+	/**
+	 * Eine Verteilung der Antwortzeiten.
+	 *
+	 * @author damios
+	 * @since 0.7.0
+	 */
+	@FunctionalInterface
+	public interface Latency {
+
+		/**
+		 * @param random
+		 *            Der Zufallsgenerator.
+		 * @return Die Verzögerung der nächsten Antwort in Millisekunden.
+		 */
+		long nextMillis(Random random);
+
+		/**
+		 * @return Keine Verzögerung.
+		 */
+		static Latency none() {
+			return r -> 0;
+		}
+
+		/**
+		 * @param millis
+		 *            Die Verzögerung in Millisekunden.
+		 * @return Eine konstante Verzögerung.
+		 */
+		static Latency fixed(long millis) {
+			return r -> millis;
+		}
+
+		/**
+		 * @param minMillis
+		 *            Die minimale Verzögerung in Millisekunden.
+		 * @param maxMillis
+		 *            Die maximale Verzögerung in Millisekunden.
+		 * @return Eine gleichverteilte Verzögerung.
+		 */
+		static Latency uniform(long minMillis, long maxMillis) {
+			return r -> minMillis
+					+ (long) (r.nextDouble() * (maxMillis - minMillis));
+		}
+
+		/**
+		 * Eine log-normalverteilte Verzögerung, wie sie für Antwortzeiten
+		 * typisch ist: die meisten Antworten liegen nahe am Median, einige
+		 * wenige dauern deutlich länger.
+		 *
+		 * @param medianMillis
+		 *            Der Median der Verzögerung in Millisekunden.
+		 * @param sigma
+		 *            Die Streuung; bei <code>1</code> ist etwa jede
+		 *            hundertste Antwort zehnmal langsamer als der Median.
+		 * @return Die Verteilung.
+		 */
+		static Latency logNormal(double medianMillis, double sigma) {
+			return r -> Math
+					.round(medianMillis * Math.exp(sigma * r.nextGaussian()));
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface JsonHandler {
+		/**
+		 * @return <code>false</code>, wenn die angefragten Daten nicht
+		 *         vorhanden sind.
+		 */
+		boolean write(JsonWriter out, Matcher path, Map<String, String> query)
+				throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface RawHandler {
+		boolean handle(HttpExchange exchange, Matcher path,
+				Map<String, String> query) throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface IndexWriter {
+		void write(int index) throws IOException;
+	}
+
+	private static final class Route {
+		private final Pattern pattern;
+		private final JsonHandler json;
+		private final RawHandler raw;
+		private final boolean streaming;
+		private boolean authenticated = false;
+
+		private Route(String pattern, JsonHandler json, RawHandler raw) {
+			this.pattern = Pattern.compile(pattern);
+			this.json = json;
+			this.raw = raw;
+			this.streaming = !pattern.contains("(");
+		}
+	}
+
+}
@@ -0,0 +1,608 @@
+package de.damios.jpapi.simulator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Erzeugt die Daten, die der {@link PewnSimulator} ausliefert.
+ * <p>
+ * Alle Daten werden aus einem Seed abgeleitet und sind daher bei gleicher
+ * Größe reproduzierbar. Im Speicher werden nur die Beziehungen zwischen
+ * Spielen, Nutzern, Teams und Hashtags gehalten; Texte, Bilder, Bewertungen
+ * usw. werden bei jeder Anfrage neu erzeugt, sodass auch große Datensätze
+ * wenig Speicher benötigen.
+ * <p>
+ * Das erste Spiel entspricht dem Spiel, das auch die Tests gegen Pewn
+ * verwenden ({@value #FIRST_PROJECT_ID}, "Shooter Reloaded" von "damios").
+ *
+ * @author damios
+ * @since 0.7.0
+ */
+public final class SimulatorDataset {
+
+	/**
+	 * Die ID des ersten Spiels ({@value}); alle weiteren IDs folgen
+	 * fortlaufend.
+	 */
+	public static final long FIRST_PROJECT_ID = 8568;
+
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter
+			.ofPattern("yyyy-MM-dd HH:mm:ss");
+	/**
+	 * 2012-01-01 00:00:00 UTC.
+	 */
+	private static final long START_SECONDS = 1325376000L;
+	private static final long SPAN_SECONDS = 7L * 365 * 24 * 3600;
+	private static final String[] WORDS = { "spiel", "abenteuer", "pixel",
+			"welt", "held", "level", "boss", "rätsel", "schwert", "magie",
+			"drache", "stadt", "raum", "zeit", "weg", "licht", "schatten",
+			"kampf", "freund", "insel" };
+	private static final String[] CATEGORIES = { "Genre", "Plattform",
+			"Engine" };
+	private static final int HASHTAG_COUNT = 40;
+	private static final int TEAM_SIZE = 10;
+
+	private final long seed;
+	private final int projectCount;
+	private final int userCount;
+
+	private final int[] projectAuthor;
+	private final long[] projectCreated;
+	private final long[] projectUpdated;
+	private final int[] projectRating;
+	private final int[][] projectHashtags;
+	private final int[][] userProjects;
+	private final int[] hashtagUsage = new int[HASHTAG_COUNT];
+	private final Map<String, Integer> usersByName = new HashMap<>();
+	private final int[] byCreation;
+	private final int[] byUpdate;
+	private final int[] byRating;
+
+	/**
+	 * @param projectCount
+	 *            Die Anzahl an Spielen.
+	 * @param userCount
+	 *            Die Anzahl an Nutzern.
+	 * @param seed
+	 *            Der Seed, aus dem alle Daten abgeleitet werden.
+	 */
+	public SimulatorDataset(int projectCount, int userCount, long seed) {
+		if (projectCount < 1 || userCount < 1)
+			throw new IllegalArgumentException(
+					"Es wird mindestens ein Spiel und ein Nutzer benötigt");
+
+		this.seed = seed;
+		this.projectCount = projectCount;
+		this.userCount = userCount;
+
+		Random random = new Random(seed);
+		projectAuthor = new int[projectCount];
+		projectCreated = new long[projectCount];
+		projectUpdated = new long[projectCount];
+		projectRating = new int[projectCount];
+		projectHashtags = new int[projectCount][];
+		int[] userProjectCount = new int[userCount];
+
+		for (int i = 0; i < projectCount; i++) {
+			projectAuthor[i] = i == 0 ? 0 : random.nextInt(userCount);
+			// 2014-08-09 14:45:50
+			projectCreated[i] = i == 0 ? 1407595550L : time(random);
+			projectUpdated[i] = projectCreated[i]
+					+ (long) (random.nextDouble() * 90 * 24 * 3600);
+			projectRating[i] = random.nextInt(6);
+			projectHashtags[i] = random.ints(0, HASHTAG_COUNT).distinct()
+					.limit(2 + random.nextInt(5)).toArray();
+			for (int tag : projectHashtags[i])
+				hashtagUsage[tag]++;
+			userProjectCount[projectAuthor[i]]++;
+		}
+
+		userProjects = new int[userCount][];
+		for (int u = 0; u < userCount; u++) {
+			userProjects[u] = new int[userProjectCount[u]];
+			usersByName.put(getUsername(u), u);
+		}
+		int[] fill = new int[userCount];
+		for (int i = 0; i < projectCount; i++)
+			userProjects[projectAuthor[i]][fill[projectAuthor[i]]++] = i;
+
+		byCreation = sort(Comparator
+				.comparingLong((Integer i) -> -projectCreated[i]));
+		byUpdate = sort(
+				Comparator.comparingLong((Integer i) -> -projectUpdated[i]));
+		byRating = sort(
+				Comparator.comparingInt((Integer i) -> -projectRating[i])
+						.thenComparingLong(i -> -projectCreated[i]));
+	}
+
+	/**
+	 * Simuliert ein Update eines Spiels: Der Zeitpunkt des letzten Updates
+	 * wird auf eine Minute nach dem bisher neuesten Update gesetzt.
+	 * <p>
+	 * Sollte nicht aufgerufen werden, während der Simulator Anfragen
+	 * beantwortet.
+	 *
+	 * @param id
+	 *            Die Spiele-ID.
+	 */
+	public void updateProject(long id) {
+		int index = getProjectIndex(id);
+		if (index < 0)
+			throw new IllegalArgumentException("Unbekanntes Spiel: " + id);
+		projectUpdated[index] = projectUpdated[byUpdate[0]] + 60;
+		int[] sorted = sort(
+				Comparator.comparingLong((Integer i) -> -projectUpdated[i]));
+		System.arraycopy(sorted, 0, byUpdate, 0, sorted.length);
+	}
+
+	private int[] sort(Comparator<Integer> order) {
+		return IntStream.range(0, projectCount).boxed().sorted(order)
+				.mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * @return Die Anzahl an Spielen.
+	 */
+	public int getProjectCount() {
+		return projectCount;
+	}
+
+	/**
+	 * @return Die Anzahl an Nutzern.
+	 */
+	public int getUserCount() {
+		return userCount;
+	}
+
+	/**
+	 * @return Die Anzahl an Teams.
+	 */
+	public int getTeamCount() {
+		return (userCount + TEAM_SIZE - 1) / TEAM_SIZE;
+	}
+
+	/*
+	 * Indizes
+	 */
+	int getProjectIndex(long id) {
+		long index = id - FIRST_PROJECT_ID;
+		return index >= 0 && index < projectCount ? (int) index : -1;
+	}
+
+	int getUserIndex(long id) {
+		return id >= 1 && id <= userCount ? (int) id - 1 : -1;
+	}
+
+	int getUserIndex(String name) {
+		Integer index = usersByName.get(name);
+		return index == null ? -1 : index;
+	}
+
+	int getTeamIndex(long id) {
+		return id >= 1 && id <= getTeamCount() ? (int) id - 1 : -1;
+	}
+
+	/**
+	 * @param order
+	 *            Der Wert des Query-Parameters <code>order</code>.
+	 * @return Die Spiele in der jeweiligen Reihenfolge.
+	 */
+	int[] getProjects(String order) {
+		if ("update".equals(order))
+			return byUpdate;
+		if ("rating".equals(order))
+			return byRating;
+		return byCreation;
+	}
+
+	int[] getProjectsOfUser(int user) {
+		return userProjects[user];
+	}
+
+	/**
+	 * @return Einige Spiele, die sich aus dem Schlüssel ableiten lassen (z.B.
+	 *         für Likes und Empfehlungen).
+	 */
+	int[] getRelatedProjects(long key, int count) {
+		return random(key).ints(0, projectCount).distinct()
+				.limit(Math.min(count, projectCount)).toArray();
+	}
+
+	/*
+	 * JSON
+	 */
+	void writeProject(JsonWriter out, int index) throws IOException {
+		long id = FIRST_PROJECT_ID + index;
+		Random random = random(id);
+		int author = projectAuthor[index];
+
+		out.beginObject();
+		out.name("id").value(id);
+		out.name("content").value(text(random, 60));
+		out.name("headline").value(
+				index == 0 ? "Shooter Reloaded" : title(random, 3));
+		out.name("creationDate").value(date(projectCreated[index]));
+		out.name("lastUpdate").value(date(projectUpdated[index]));
+		out.name("customer");
+		writeUser(out, author);
+		out.name("rating").value(projectRating[index]);
+		out.name("version").value(random.nextInt(3) + "." + random.nextInt(10));
+		out.name("fileContainers");
+		writeImages(out, index);
+		out.name("hashtags");
+		writeHashtags(out, index);
+		out.name("team");
+		if (index % 10 == 5)
+			writeTeam(out, author / TEAM_SIZE);
+		else
+			out.nullValue();
+		out.name("advertisement").value("");
+		out.endObject();
+	}
+
+	void writeProjects(JsonWriter out, int[] indices) throws IOException {
+		out.beginArray();
+		for (int index : indices)
+			writeProject(out, index);
+		out.endArray();
+	}
+
+	void writeUser(JsonWriter out, int index) throws IOException {
+		long id = index + 1;
+		Random random = random(-id);
+
+		out.beginObject();
+		out.name("id").value(id);
+		out.name("username").value(getUsername(index));
+		out.name("profile").beginObject();
+		out.name("about").value(text(random, 12));
+		out.name("website").value(random.nextBoolean() ? ""
+				: "https://" + getUsername(index) + ".de/");
+		out.name("avatar").value("avatar_" + id + ".png");
+		out.endObject();
+		out.name("gamificationLevel").value(1 + random.nextInt(40));
+		out.name("xp").value(random.nextInt(50000));
+		out.name("registrationDate").value(
+				date(START_SECONDS - (long) (random.nextDouble() * 1e8)));
+		out.endObject();
+	}
+
+	private String getUsername(int index) {
+		return index == 0 ? "damios" : "nutzer" + (index + 1);
+	}
+
+	void writeUserData(JsonWriter out, int index) throws IOException {
+		out.beginObject();
+		out.name("id").value(index + 1);
+		out.name("username").value(getUsername(index));
+		out.name("email").value(getUsername(index) + "@example.org");
+		out.endObject();
+	}
+
+	void writeTeam(JsonWriter out, int index) throws IOException {
+		Random random = random(1_000_000L + index);
+		int firstMember = index * TEAM_SIZE;
+		int memberCount = Math.min(TEAM_SIZE, userCount - firstMember);
+
+		out.beginObject();
+		out.name("id").value(index + 1);
+		out.name("teamName").value(title(random, 2));
+		out.name("description").value(text(random, 30));
+		long created = START_SECONDS + (long) (random.nextDouble() * 1e8);
+		out.name("creationDate").value(date(created));
+		out.name("lastUpdate").value(date(created + 86400));
+		out.name("customerFounderId").value(firstMember + 1);
+		out.name("customerMemberId").beginArray();
+		for (int i = 0; i < memberCount; i++)
+			out.value(firstMember + i + 1);
+		out.endArray();
+		out.name("projectId").beginArray();
+		for (int i = 5; i < projectCount; i += 10)
+			if (projectAuthor[i] / TEAM_SIZE == index)
+				out.value(FIRST_PROJECT_ID + i);
+		out.endArray();
+		out.endObject();
+	}
+
+	void writeHashtags(JsonWriter out, int project) throws IOException {
+		out.beginArray();
+		for (int tag : projectHashtags[project]) {
+			out.beginObject();
+			out.name("id").value(tag + 1);
+			out.name("name").value(WORDS[tag % WORDS.length] + (tag + 1));
+			out.name("usedInProjectsCount").value(hashtagUsage[tag]);
+			out.name("hashtagCategory").beginObject();
+			out.name("id").value(tag % CATEGORIES.length + 1);
+			out.name("name").value(CATEGORIES[tag % CATEGORIES.length]);
+			out.endObject();
+			out.name("hashtagMetaTag");
+			if (tag % 5 == 0) {
+				out.beginObject();
+				out.name("id").value(100 + tag);
+				out.name("name").value(WORDS[(tag + 7) % WORDS.length]);
+				out.endObject();
+			} else {
+				out.nullValue();
+			}
+			out.endObject();
+		}
+		out.endArray();
+	}
+
+	void writeImages(JsonWriter out, int project) throws IOException {
+		long id = FIRST_PROJECT_ID + project;
+		Random random = random(id * 7);
+		int count = 1 + random.nextInt(5);
+
+		out.beginArray();
+		for (int i = 0; i < count; i++)
+			writeImage(out, random, id * 10 + i, projectAuthor[project]);
+		out.endArray();
+	}
+
+	private void writeImage(JsonWriter out, Random random, long id,
+			int author) throws IOException {
+		out.beginObject();
+		out.name("id").value(id);
+		out.name("fileName").value(Long.toHexString(id * 2654435761L) + ".png");
+		out.name("fileSize").value(20000 + random.nextInt(900000));
+		out.name("uploadDate").value(date(random));
+		out.name("customer");
+		if (author < 0)
+			out.nullValue();
+		else
+			writeUser(out, author);
+		out.endObject();
+	}
+
+	/**
+	 * Schreibt die Bewertungen eines Spiels bzw., falls <code>user</code>
+	 * nicht negativ ist, die eines Nutzers.
+	 */
+	void writeRatings(JsonWriter out, int project, int user)
+			throws IOException {
+		Random random = random(user < 0 ? 31L * project : -31L * user);
+		int count = random.nextInt(11);
+
+		out.beginArray();
+		for (int i = 0; i < count; i++) {
+			out.beginObject();
+			out.name("id").value(random.nextInt(Integer.MAX_VALUE));
+			out.name("rating").value(1 + random.nextInt(5));
+			out.name("ratingDate").value(date(random));
+			out.name("customer");
+			writeUser(out, user < 0 ? random.nextInt(userCount) : user);
+			out.name("ratingReason").value(text(random, 20));
+			out.name("ratingComment");
+			if (random.nextInt(3) == 0) {
+				out.beginObject();
+				out.name("id").value(random.nextInt(Integer.MAX_VALUE));
+				out.name("content").value(text(random, 10));
+				out.name("creationDate").value(date(random));
+				out.name("customer");
+				writeUser(out, projectAuthor[project < 0 ? 0 : project]);
+				out.endObject();
+			} else {
+				out.nullValue();
+			}
+			out.name("ratedVersion").value("1." + random.nextInt(10));
+			out.name("curated").value(random.nextInt(20) == 0);
+			out.endObject();
+		}
+		out.endArray();
+	}
+
+	void writeReleases(JsonWriter out, int project) throws IOException {
+		long projectId = FIRST_PROJECT_ID + project;
+		Random random = random(projectId * 13);
+		int count = 1 + random.nextInt(3);
+
+		out.beginArray();
+		for (int i = 0; i < count; i++) {
+			long id = projectId * 10 + i;
+			out.beginObject();
+			out.name("id").value(id);
+			out.name("customer");
+			writeUser(out, projectAuthor[project]);
+			out.name("title").value("Version 1." + i);
+			out.name("description").value(text(random, 15));
+			String date = date(random);
+			out.name("releaseDate").value(date);
+			out.name("lastUpdate").value(date);
+			out.name("projectId").value(projectId);
+			out.name("downloads").beginArray();
+			for (String platform : new String[] { "Windows", "Linux",
+					"Mac" }) {
+				out.beginObject();
+				out.name("id").value(id * 10 + platform.length());
+				out.name("title").value(platform);
+				out.name("creationDate").value(date);
+				out.name("icon").value(platform.toLowerCase());
+				out.name("count").value(random.nextInt(5000));
+				out.endObject();
+			}
+			out.endArray();
+			out.endObject();
+		}
+		out.endArray();
+	}
+
+	void writeProjectWrappers(JsonWriter out, int count) throws IOException {
+		out.beginArray();
+		for (int i = 0; i < Math.min(count, projectCount); i++) {
+			out.beginObject();
+			out.name("reason").value(i % 2 == 0 ? "rating" : "staff");
+			out.name("project");
+			writeProject(out, byRating[i]);
+			out.endObject();
+		}
+		out.endArray();
+	}
+
+	/**
+	 * Schreibt Blog-Posts, News oder Designs eines Nutzers.
+	 *
+	 * @param type
+	 *            <code>blogs</code>, <code>news</code> oder
+	 *            <code>designs</code>.
+	 */
+	void writeUserContents(JsonWriter out, int user, String type)
+			throws IOException {
+		Random random = random(type.hashCode() * 31L + user);
+		int count = random.nextInt(4);
+
+		out.beginArray();
+		for (int i = 0; i < count; i++)
+			writeContent(out, random, type, user);
+		out.endArray();
+	}
+
+	private void writeContent(JsonWriter out, Random random, String type,
+			int user) throws IOException {
+		boolean design = "designs".equals(type);
+
+		out.beginObject();
+		out.name("id").value(random.nextInt(Integer.MAX_VALUE));
+		out.name(design ? "description" : "content").value(text(random, 40));
+		out.name(design ? "title" : "headline").value(title(random, 4));
+		String date = date(random);
+		out.name("creationDate").value(date);
+		out.name("lastUpdate").value(date);
+		out.name("customer");
+		writeUser(out, user);
+		out.name("hashtags").beginArray().endArray();
+		if (design) {
+			out.name("fileContainer");
+			writeImage(out, random, random.nextInt(Integer.MAX_VALUE), -1);
+		} else if ("news".equals(type)) {
+			out.name("fileContainer").beginArray();
+			writeImage(out, random, random.nextInt(Integer.MAX_VALUE), -1);
+			out.endArray();
+		} else {
+			out.name("projectId").value(FIRST_PROJECT_ID
+					+ random.nextInt(projectCount));
+		}
+		out.endObject();
+	}
+
+	void writeActivities(JsonWriter out, int size) throws IOException {
+		Random random = random(Long.MIN_VALUE);
+		String[] types = { "blogPost", "projectComment", "designComment",
+				"newsComment", "forumTopic" };
+
+		out.beginArray();
+		for (int i = 0; i < size; i++) {
+			String type = types[random.nextInt(types.length)];
+			int user = random.nextInt(userCount);
+
+			out.beginObject();
+			out.name("type").value(type);
+			out.name(type);
+			switch (type) {
+			case "blogPost":
+				writeContent(out, random, "blogs", user);
+				break;
+			case "forumTopic":
+				out.beginObject();
+				out.name("id").value(i);
+				out.name("content").value(text(random, 30));
+				out.name("headline").value(title(random, 4));
+				out.name("forumSectionId").value(1 + random.nextInt(20));
+				out.name("hashtags").beginArray().endArray();
+				out.name("sticky").value(false);
+				out.name("locked").value(random.nextInt(10) == 0);
+				String date = date(random);
+				out.name("creationDate").value(date);
+				out.name("lastUpdate").value(date);
+				out.name("customer");
+				writeUser(out, user);
+				out.endObject();
+				break;
+			default:
+				out.beginObject();
+				out.name("content").value(text(random, 20));
+				String commentDate = date(random);
+				out.name("creationDate").value(commentDate);
+				out.name("lastUpdate").value(commentDate);
+				out.name("customer");
+				writeUser(out, user);
+				if ("projectComment".equals(type)) {
+					out.name("project");
+					writeProject(out, random.nextInt(projectCount));
+				} else if ("designComment".equals(type)) {
+					out.name("design");
+					writeContent(out, random, "designs", user);
+				} else {
+					out.name("news");
+					writeContent(out, random, "news", user);
+				}
+				out.endObject();
+			}
+			out.endObject();
+		}
+		out.endArray();
+	}
+
+	/**
+	 * @return Das Team, in dem der Nutzer Mitglied ist; jeder Nutzer ist in
+	 *         genau einem Team.
+	 */
+	int getTeamOfUser(int user) {
+		return user / TEAM_SIZE;
+	}
+
+	/*
+	 * Hilfsmethoden
+	 */
+	private Random random(long key) {
+		return new Random(seed * 0x9E3779B97F4A7C15L + key);
+	}
+
+	private static String text(Random random, int words) {
+		StringBuilder builder = new StringBuilder(words * 7);
+		for (int i = 0; i < words; i++) {
+			if (i > 0)
+				builder.append(' ');
+			builder.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		builder.setCharAt(0, Character.toUpperCase(builder.charAt(0)));
+		return builder.append('.').toString();
+	}
+
+	private static String title(Random random, int words) {
+		String text = text(random, words);
+		return text.substring(0, text.length() - 1);
+	}
+
+	private static String date(long epochSeconds) {
+		return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC)
+				.format(DATE_FORMAT);
+	}
+
+	private static String date(Random random) {
+		return date(time(random));
+	}
+
+	/**
+	 * @return Ein zufälliger Zeitpunkt zwischen 2012 und 2018 in Sekunden.
+	 */
+	private static long time(Random random) {
+		return START_SECONDS + (long) (random.nextDouble() * SPAN_SECONDS);
+	}
+
+	@Override
+	public String toString() {
+		return "SimulatorDataset [projects=" + projectCount + ", users="
+				+ userCount + ", teams=" + getTeamCount() + "]";
+	}
+
+}